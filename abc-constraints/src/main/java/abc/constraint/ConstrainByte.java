@@ -93,4 +93,430 @@ public class ConstrainByte {
   public static final byte constrainByteRange(byte val, byte max, byte min) {
     return (val > max) ? max : (val < min) ? min : val;
   }
+
+  /**
+   * Constrain a {@link Byte} array to a maximum value, in place. Each element is replaced as if by
+   * {@link #constrainByteMax(byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be constrained.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @see ConstrainByte
+   * @see #constrainByteArrayMax(byte[],int,int,byte)
+   */
+  public static final void constrainByteArrayMax(byte[] vals, byte max) {
+    constrainByteArrayMax(vals, 0, vals.length, max);
+  }
+
+  /**
+   * Constrain a slice of a {@link Byte} array to a maximum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainByteMax(byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainByte
+   * @see #constrainByteMax(byte,byte)
+   */
+  public static final void constrainByteArrayMax(byte[] vals, int off, int len, byte max) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = (byte)Math.min(vals[off + i], max);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Byte} array to a maximum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainByteMax(byte, byte)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Byte} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Byte} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainByte
+   * @see #constrainByteMax(byte,byte)
+   */
+  public static final void constrainByteArrayMax(byte[] src, int srcOff, byte[] dst, int dstOff, int len, byte max) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (byte)Math.min(src[srcOff + i], max);
+    }
+  }
+
+  /**
+   * Constrain a {@link Byte} array to a minimum value, in place. Each element is replaced as if by
+   * {@link #constrainByteMin(byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be constrained.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @see ConstrainByte
+   * @see #constrainByteArrayMin(byte[],int,int,byte)
+   */
+  public static final void constrainByteArrayMin(byte[] vals, byte min) {
+    constrainByteArrayMin(vals, 0, vals.length, min);
+  }
+
+  /**
+   * Constrain a slice of a {@link Byte} array to a minimum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainByteMin(byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainByte
+   * @see #constrainByteMin(byte,byte)
+   */
+  public static final void constrainByteArrayMin(byte[] vals, int off, int len, byte min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = (byte)Math.max(vals[off + i], min);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Byte} array to a minimum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainByteMin(byte, byte)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Byte} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Byte} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainByte
+   * @see #constrainByteMin(byte,byte)
+   */
+  public static final void constrainByteArrayMin(byte[] src, int srcOff, byte[] dst, int dstOff, int len, byte min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (byte)Math.max(src[srcOff + i], min);
+    }
+  }
+
+  /**
+   * Constrain a {@link Byte} array to a particular range of values, in place. Each element is replaced as if by
+   * {@link #constrainByteRange(byte, byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be constrained.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @see ConstrainByte
+   * @see #constrainByteArrayRange(byte[],int,int,byte,byte)
+   */
+  public static final void constrainByteArrayRange(byte[] vals, byte max, byte min) {
+    constrainByteArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of a {@link Byte} array to a particular range of values, in place. Each element from {@code off}
+   * up to {@code off + len} is replaced as if by {@link #constrainByteRange(byte, byte, byte)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(int,int)} and
+   * {@link Math#max(int,int)} so that it can be auto-vectorized, and the result matches
+   * {@link #constrainByteRange(byte, byte, byte)}; otherwise, every element falls back to that method.
+   * @param vals A {@link Byte} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainByte
+   * @see #constrainByteRange(byte,byte,byte)
+   */
+  public static final void constrainByteArrayRange(byte[] vals, int off, int len, byte max, byte min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = (byte)Math.min(Math.max(vals[off + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = constrainByteRange(vals[off + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Byte} array to a particular range of values, into another array. Each element from
+   * the source slice is written into the target slice as if by {@link #constrainByteRange(byte, byte, byte)}; the
+   * source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(int,int)} and
+   * {@link Math#max(int,int)} so that it can be auto-vectorized, and the result matches
+   * {@link #constrainByteRange(byte, byte, byte)}; otherwise, every element falls back to that method.
+   * @param src A {@link Byte} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Byte} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainByte
+   * @see #constrainByteRange(byte,byte,byte)
+   */
+  public static final void constrainByteArrayRange(byte[] src, int srcOff, byte[] dst, int dstOff, int len, byte max,
+      byte min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = (byte)Math.min(Math.max(src[srcOff + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = constrainByteRange(src[srcOff + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a {@link Byte} array to outside a particular range of values, in place. Each element is replaced as if by
+   * {@link #constrainByteOuter(byte, byte, byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be constrained.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @param alt A {@link Byte} value, representing the digit to use if not outside the max/min ranges.
+   * @see ConstrainByte
+   * @see #constrainByteArrayOuter(byte[],int,int,byte,byte,byte)
+   */
+  public static final void constrainByteArrayOuter(byte[] vals, byte max, byte min, byte alt) {
+    constrainByteArrayOuter(vals, 0, vals.length, max, min, alt);
+  }
+
+  /**
+   * Constrain a slice of a {@link Byte} array to outside a particular range of values, in place. Each element from
+   * {@code off} up to {@code off + len} is replaced as if by {@link #constrainByteOuter(byte, byte, byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @param alt A {@link Byte} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainByte
+   * @see #constrainByteOuter(byte,byte,byte,byte)
+   */
+  public static final void constrainByteArrayOuter(byte[] vals, int off, int len, byte max, byte min, byte alt) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = constrainByteOuter(vals[off + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Byte} array to outside a particular range of values, into another array. Each element
+   * from the source slice is written into the target slice as if by
+   * {@link #constrainByteOuter(byte, byte, byte, byte)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Byte} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Byte} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @param alt A {@link Byte} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainByte
+   * @see #constrainByteOuter(byte,byte,byte,byte)
+   */
+  public static final void constrainByteArrayOuter(byte[] src, int srcOff, byte[] dst, int dstOff, int len, byte max,
+      byte min, byte alt) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = constrainByteOuter(src[srcOff + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Saturating addition. This returns the sum of {@code val} and {@code add}, but where that would overflow a
+   * {@link Byte}, it returns {@link Byte#MAX_VALUE} or {@link Byte#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as an {@link Integer} value, then constrained to the limits of the Byte type.
+   * @param val A {@link Byte} value, representing the first operand.
+   * @param add A {@link Byte} value, representing the second operand.
+   * @return A {@link Byte} value.
+   * @see ConstrainByte
+   * @see #saturateByteAdd(byte,byte,byte,byte)
+   */
+  public static final byte saturateByteAdd(byte val, byte add) {
+    return (byte)Math.min(Math.max(val + add, Byte.MIN_VALUE), Byte.MAX_VALUE);
+  }
+
+  /**
+   * Saturating addition to a particular range of values. This returns the sum of {@code val} and {@code add},
+   * constrained as if by {@link ConstrainInteger#constrainIntegerRange(int,int,int)}; unlike constraining after the
+   * fact, the operation itself never overflows, so a result past the limits of the type still ends up at the bound on
+   * its own side.
+   * @param val A {@link Byte} value, representing the first operand.
+   * @param add A {@link Byte} value, representing the second operand.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @return A {@link Byte} value.
+   * @see ConstrainByte
+   * @see #saturateByteAdd(byte,byte)
+   */
+  public static final byte saturateByteAdd(byte val, byte add, byte max, byte min) {
+    return (byte)ConstrainInteger.constrainIntegerRange(val + add, max, min);
+  }
+
+  /**
+   * Saturating subtract. This returns the difference of {@code val} and {@code sub}, but where that would overflow a
+   * {@link Byte}, it returns {@link Byte#MAX_VALUE} or {@link Byte#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as an {@link Integer} value, then constrained to the limits of the Byte type.
+   * @param val A {@link Byte} value, representing the first operand.
+   * @param sub A {@link Byte} value, representing the second operand.
+   * @return A {@link Byte} value.
+   * @see ConstrainByte
+   * @see #saturateByteSubtract(byte,byte,byte,byte)
+   */
+  public static final byte saturateByteSubtract(byte val, byte sub) {
+    return (byte)Math.min(Math.max(val - sub, Byte.MIN_VALUE), Byte.MAX_VALUE);
+  }
+
+  /**
+   * Saturating subtract to a particular range of values. This returns the difference of {@code val} and {@code sub},
+   * constrained as if by {@link ConstrainInteger#constrainIntegerRange(int,int,int)}; unlike constraining after the
+   * fact, the operation itself never overflows, so a result past the limits of the type still ends up at the bound on
+   * its own side.
+   * @param val A {@link Byte} value, representing the first operand.
+   * @param sub A {@link Byte} value, representing the second operand.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @return A {@link Byte} value.
+   * @see ConstrainByte
+   * @see #saturateByteSubtract(byte,byte)
+   */
+  public static final byte saturateByteSubtract(byte val, byte sub, byte max, byte min) {
+    return (byte)ConstrainInteger.constrainIntegerRange(val - sub, max, min);
+  }
+
+  /**
+   * Saturating multiply. This returns the product of {@code val} and {@code mul}, but where that would overflow a
+   * {@link Byte}, it returns {@link Byte#MAX_VALUE} or {@link Byte#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as an {@link Integer} value, then constrained to the limits of the Byte type.
+   * @param val A {@link Byte} value, representing the first operand.
+   * @param mul A {@link Byte} value, representing the second operand.
+   * @return A {@link Byte} value.
+   * @see ConstrainByte
+   * @see #saturateByteMultiply(byte,byte,byte,byte)
+   */
+  public static final byte saturateByteMultiply(byte val, byte mul) {
+    return (byte)Math.min(Math.max(val * mul, Byte.MIN_VALUE), Byte.MAX_VALUE);
+  }
+
+  /**
+   * Saturating multiply to a particular range of values. This returns the product of {@code val} and {@code mul},
+   * constrained as if by {@link ConstrainInteger#constrainIntegerRange(int,int,int)}; unlike constraining after the
+   * fact, the operation itself never overflows, so a result past the limits of the type still ends up at the bound on
+   * its own side.
+   * @param val A {@link Byte} value, representing the first operand.
+   * @param mul A {@link Byte} value, representing the second operand.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @return A {@link Byte} value.
+   * @see ConstrainByte
+   * @see #saturateByteMultiply(byte,byte)
+   */
+  public static final byte saturateByteMultiply(byte val, byte mul, byte max, byte min) {
+    return (byte)ConstrainInteger.constrainIntegerRange(val * mul, max, min);
+  }
+
+  /**
+   * Saturating addition over a {@link Byte} array, in place. Each element is replaced as if by
+   * {@link #saturateByteAdd(byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be added to.
+   * @param add A {@link Byte} value, representing the second operand for every element.
+   * @see ConstrainByte
+   * @see #saturateByteArrayAdd(byte[],int,int,byte,byte,byte)
+   */
+  public static final void saturateByteArrayAdd(byte[] vals, byte add) {
+    saturateByteArrayAdd(vals, 0, vals.length, add, Byte.MAX_VALUE, Byte.MIN_VALUE);
+  }
+
+  /**
+   * Saturating addition over a slice of a {@link Byte} array to a particular range of values, in place. Each element
+   * from {@code off} up to {@code off + len} is replaced as if by {@link #saturateByteAdd(byte, byte, byte, byte)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the exact results are computed as {@link Integer} values and
+   * constrained with {@link Math#min(int,int)} and {@link Math#max(int,int)}, so that the loop can be auto-vectorized;
+   * otherwise, every element falls back to that method.
+   * @param vals A {@link Byte} array, representing the values to be added to.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param add A {@link Byte} value, representing the second operand for every element.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainByte
+   * @see #saturateByteAdd(byte,byte,byte,byte)
+   */
+  public static final void saturateByteArrayAdd(byte[] vals, int off, int len, byte add, byte max, byte min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = (byte)Math.min(Math.max(vals[off + i] + add, min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = saturateByteAdd(vals[off + i], add, max, min);
+      }
+    }
+  }
+
+  /**
+   * Saturating multiply over a {@link Byte} array, in place. Each element is replaced as if by
+   * {@link #saturateByteMultiply(byte, byte)}.
+   * @param vals A {@link Byte} array, representing the values to be multiplied.
+   * @param mul A {@link Byte} value, representing the second operand for every element.
+   * @see ConstrainByte
+   * @see #saturateByteArrayMultiply(byte[],int,int,byte,byte,byte)
+   */
+  public static final void saturateByteArrayMultiply(byte[] vals, byte mul) {
+    saturateByteArrayMultiply(vals, 0, vals.length, mul, Byte.MAX_VALUE, Byte.MIN_VALUE);
+  }
+
+  /**
+   * Saturating multiply over a slice of a {@link Byte} array to a particular range of values, in place. Each element
+   * from {@code off} up to {@code off + len} is replaced as if by
+   * {@link #saturateByteMultiply(byte, byte, byte, byte)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the exact results are computed as {@link Integer} values and
+   * constrained with {@link Math#min(int,int)} and {@link Math#max(int,int)}, so that the loop can be auto-vectorized;
+   * otherwise, every element falls back to that method.
+   * @param vals A {@link Byte} array, representing the values to be multiplied.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mul A {@link Byte} value, representing the second operand for every element.
+   * @param max A {@link Byte} value, representing the maximum value to not be more than.
+   * @param min A {@link Byte} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainByte
+   * @see #saturateByteMultiply(byte,byte,byte,byte)
+   */
+  public static final void saturateByteArrayMultiply(byte[] vals, int off, int len, byte mul, byte max, byte min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = (byte)Math.min(Math.max(vals[off + i] * mul, min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = saturateByteMultiply(vals[off + i], mul, max, min);
+      }
+    }
+  }
 }
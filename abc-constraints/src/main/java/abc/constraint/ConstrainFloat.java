@@ -1,4 +1,7 @@
 package abc.constraint;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.BitSet;
 
 
 /**
@@ -92,4 +95,513 @@ public class ConstrainFloat {
   public static final float constrainFloatRange(float val, float max, float min) {
     return (val > max) ? max : (val < min) ? min : val;
   }
+
+  /**
+   * Constrain a {@link Float} array to a maximum value, in place. Each element is replaced as if by
+   * {@link #constrainFloatMax(float, float)}.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @see ConstrainFloat
+   * @see #constrainFloatArrayMax(float[],int,int,float)
+   */
+  public static final void constrainFloatArrayMax(float[] vals, float max) {
+    constrainFloatArrayMax(vals, 0, vals.length, max);
+  }
+
+  /**
+   * Constrain a slice of a {@link Float} array to a maximum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainFloatMax(float, float)}.
+   * <p/>
+   * The loop is written with {@link Math#min(float,float)} so that it can be auto-vectorized; the result matches
+   * {@link #constrainFloatMax(float, float)}, except that a zero result may differ in sign. When {@code max} is NaN, no
+   * value is more than it, so every element is left as it is.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainFloat
+   * @see #constrainFloatMax(float,float)
+   */
+  public static final void constrainFloatArrayMax(float[] vals, int off, int len, float max) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(max == max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = Math.min(vals[off + i], max);
+      }
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Float} array to a maximum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainFloatMax(float, float)}; the source is not
+   * changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * <p/>
+   * The loop is written with {@link Math#min(float,float)} so that it can be auto-vectorized; the result matches
+   * {@link #constrainFloatMax(float, float)}, except that a zero result may differ in sign. When {@code max} is NaN, no
+   * value is more than it, so the slice is copied as it is.
+   * @param src A {@link Float} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainFloat
+   * @see #constrainFloatMax(float,float)
+   */
+  public static final void constrainFloatArrayMax(float[] src, int srcOff, float[] dst, int dstOff, int len,
+      float max) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    if(max == max) {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = Math.min(src[srcOff + i], max);
+      }
+    } else {
+      System.arraycopy(src, srcOff, dst, dstOff, len);
+    }
+  }
+
+  /**
+   * Constrain a {@link Float} array to a minimum value, in place. Each element is replaced as if by
+   * {@link #constrainFloatMin(float, float)}.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @see ConstrainFloat
+   * @see #constrainFloatArrayMin(float[],int,int,float)
+   */
+  public static final void constrainFloatArrayMin(float[] vals, float min) {
+    constrainFloatArrayMin(vals, 0, vals.length, min);
+  }
+
+  /**
+   * Constrain a slice of a {@link Float} array to a minimum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainFloatMin(float, float)}.
+   * <p/>
+   * The loop is written with {@link Math#max(float,float)} so that it can be auto-vectorized; the result matches
+   * {@link #constrainFloatMin(float, float)}, except that a zero result may differ in sign. When {@code min} is NaN, no
+   * value is less than it, so every element is left as it is.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainFloat
+   * @see #constrainFloatMin(float,float)
+   */
+  public static final void constrainFloatArrayMin(float[] vals, int off, int len, float min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min == min) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = Math.max(vals[off + i], min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Float} array to a minimum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainFloatMin(float, float)}; the source is not
+   * changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * <p/>
+   * The loop is written with {@link Math#max(float,float)} so that it can be auto-vectorized; the result matches
+   * {@link #constrainFloatMin(float, float)}, except that a zero result may differ in sign. When {@code min} is NaN, no
+   * value is less than it, so the slice is copied as it is.
+   * @param src A {@link Float} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainFloat
+   * @see #constrainFloatMin(float,float)
+   */
+  public static final void constrainFloatArrayMin(float[] src, int srcOff, float[] dst, int dstOff, int len,
+      float min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    if(min == min) {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = Math.max(src[srcOff + i], min);
+      }
+    } else {
+      System.arraycopy(src, srcOff, dst, dstOff, len);
+    }
+  }
+
+  /**
+   * Constrain a {@link Float} array to a particular range of values, in place. Each element is replaced as if by
+   * {@link #constrainFloatRange(float, float, float)}.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @see ConstrainFloat
+   * @see #constrainFloatArrayRange(float[],int,int,float,float)
+   */
+  public static final void constrainFloatArrayRange(float[] vals, float max, float min) {
+    constrainFloatArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of a {@link Float} array to a particular range of values, in place. Each element from {@code off}
+   * up to {@code off + len} is replaced as if by {@link #constrainFloatRange(float, float, float)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(float,float)} and
+   * {@link Math#max(float,float)} so that it can be auto-vectorized; the result matches
+   * {@link #constrainFloatRange(float, float, float)}, except that a zero result may differ in sign. Otherwise, every
+   * element falls back to that method.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainFloat
+   * @see #constrainFloatRange(float,float,float)
+   */
+  public static final void constrainFloatArrayRange(float[] vals, int off, int len, float max, float min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = Math.min(Math.max(vals[off + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = constrainFloatRange(vals[off + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Float} array to a particular range of values, into another array. Each element from
+   * the source slice is written into the target slice as if by {@link #constrainFloatRange(float, float, float)}; the
+   * source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(float,float)} and
+   * {@link Math#max(float,float)} so that it can be auto-vectorized; the result matches
+   * {@link #constrainFloatRange(float, float, float)}, except that a zero result may differ in sign. Otherwise, every
+   * element falls back to that method.
+   * @param src A {@link Float} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainFloat
+   * @see #constrainFloatRange(float,float,float)
+   */
+  public static final void constrainFloatArrayRange(float[] src, int srcOff, float[] dst, int dstOff, int len,
+      float max, float min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = Math.min(Math.max(src[srcOff + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = constrainFloatRange(src[srcOff + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a {@link Float} array to outside a particular range of values, in place. Each element is replaced as if
+   * by {@link #constrainFloatOuter(float, float, float, float)}.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @param alt A {@link Float} value, representing the digit to use if not outside the max/min ranges.
+   * @see ConstrainFloat
+   * @see #constrainFloatArrayOuter(float[],int,int,float,float,float)
+   */
+  public static final void constrainFloatArrayOuter(float[] vals, float max, float min, float alt) {
+    constrainFloatArrayOuter(vals, 0, vals.length, max, min, alt);
+  }
+
+  /**
+   * Constrain a slice of a {@link Float} array to outside a particular range of values, in place. Each element from
+   * {@code off} up to {@code off + len} is replaced as if by {@link #constrainFloatOuter(float, float, float, float)}.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @param alt A {@link Float} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainFloat
+   * @see #constrainFloatOuter(float,float,float,float)
+   */
+  public static final void constrainFloatArrayOuter(float[] vals, int off, int len, float max, float min, float alt) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = constrainFloatOuter(vals[off + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Float} array to outside a particular range of values, into another array. Each
+   * element from the source slice is written into the target slice as if by
+   * {@link #constrainFloatOuter(float, float, float, float)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Float} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @param alt A {@link Float} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainFloat
+   * @see #constrainFloatOuter(float,float,float,float)
+   */
+  public static final void constrainFloatArrayOuter(float[] src, int srcOff, float[] dst, int dstOff, int len,
+      float max, float min, float alt) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = constrainFloatOuter(src[srcOff + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Constrain a {@link FloatBuffer} to a particular range of values, in place. Every element from the buffer's position
+   * up to its limit is replaced as if by {@link #constrainFloatRange(float, float, float)}; the position, limit and
+   * mark are not changed.
+   * <p/>
+   * A buffer backed by an accessible array is handed to {@link #constrainFloatArrayRange(float[],int,int,float,float)};
+   * any other buffer, such as a direct or mapped one, is constrained through absolute gets and puts, without copying it
+   * onto the heap.
+   * @param buf A {@link FloatBuffer} object, representing the values to be constrained.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+   * @see ConstrainFloat
+   * @see #constrainFloatRange(float,float,float)
+   */
+  public static final void constrainFloatBufferRange(FloatBuffer buf, float max, float min) {
+    final int start = buf.position();
+    final int end = buf.limit();
+    if(buf.hasArray()) {
+      constrainFloatArrayRange(buf.array(), buf.arrayOffset() + start, end - start, max, min);
+    } else {
+      for(int i = start; i < end; i++) {
+        buf.put(i, constrainFloatRange(buf.get(i), max, min));
+      }
+    }
+  }
+
+  /**
+   * Constrain a strided region of a {@link ByteBuffer} to a particular range of values, in place. The region holds
+   * {@code count} float values, the first at byte index {@code off} and each following one {@code stride} bytes later;
+   * they are read and written in the buffer's byte order, and each is replaced as if by
+   * {@link #constrainFloatRange(float, float, float)}. The position, limit and mark are not changed.
+   * <p/>
+   * This is meant for packed records kept off the heap, such as one field of an entity-state struct in a direct or
+   * mapped buffer; a {@code stride} of {@link Float#BYTES} covers a plain run of values.
+   * @param bb A {@link ByteBuffer} object, representing the memory region holding the values.
+   * @param off An {@link Integer} value, representing the byte index of the first value.
+   * @param stride An {@link Integer} value, representing the number of bytes from one value to the next.
+   * @param count An {@link Integer} value, representing the number of values.
+   * @param max A {@link Float} value, representing the maximum value to not be more than.
+   * @param min A {@link Float} value, representing the minimum value to not be less than.
+   * @throws IndexOutOfBoundsException if the region is not inside of the buffer's limit.
+   * @throws IllegalArgumentException if {@code stride} is less than {@link Float#BYTES}.
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+   * @see ConstrainFloat
+   * @see #constrainFloatRange(float,float,float)
+   */
+  public static final void constrainFloatBufferRange(ByteBuffer bb, int off, int stride, int count, float max,
+      float min) {
+    ConstraintCommon.checkRegion(bb.limit(), off, stride, count, Float.BYTES);
+    for(int i = 0, j = off; i < count; i++, j += stride) {
+      bb.putFloat(j, constrainFloatRange(bb.getFloat(j), max, min));
+    }
+  }
+
+  /**
+   * If every value of a {@link FloatBuffer} is within a particular range. This checks every element from the buffer's
+   * position up to its limit as if by {@link #isFloatInside(float, float, float)}, and stops at the first one outside
+   * the range; the position, limit and mark are not changed.
+   * @param buf A {@link FloatBuffer} object, representing the values to be tested against.
+   * @param max A {@link Float} value, representing the maximum to be equal or less than.
+   * @param min A {@link Float} value, representing the minimum to be equal or more than.
+   * @return A {@link Boolean} value.
+   * @see ConstrainFloat
+   * @see #isFloatInside(float,float,float)
+   */
+  public static final boolean isFloatBufferInside(FloatBuffer buf, float max, float min) {
+    final int start = buf.position();
+    final int end = buf.limit();
+    if(buf.hasArray()) {
+      final float[] vals = buf.array();
+      final int shift = buf.arrayOffset();
+      for(int i = start + shift; i < end + shift; i++) {
+        if(!isFloatInside(vals[i], max, min)) {
+          return false;
+        }
+      }
+    } else {
+      for(int i = start; i < end; i++) {
+        if(!isFloatInside(buf.get(i), max, min)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * If every value of a strided region of a {@link ByteBuffer} is within a particular range. The region is laid out as
+   * for {@link #constrainFloatBufferRange(ByteBuffer,int,int,int,float,float)}; each value is checked as if by
+   * {@link #isFloatInside(float, float, float)}, and this stops at the first one outside the range.
+   * @param bb A {@link ByteBuffer} object, representing the memory region holding the values.
+   * @param off An {@link Integer} value, representing the byte index of the first value.
+   * @param stride An {@link Integer} value, representing the number of bytes from one value to the next.
+   * @param count An {@link Integer} value, representing the number of values.
+   * @param max A {@link Float} value, representing the maximum to be equal or less than.
+   * @param min A {@link Float} value, representing the minimum to be equal or more than.
+   * @return A {@link Boolean} value.
+   * @throws IndexOutOfBoundsException if the region is not inside of the buffer's limit.
+   * @throws IllegalArgumentException if {@code stride} is less than {@link Float#BYTES}.
+   * @see ConstrainFloat
+   * @see #isFloatInside(float,float,float)
+   */
+  public static final boolean isFloatBufferInside(ByteBuffer bb, int off, int stride, int count, float max, float min) {
+    ConstraintCommon.checkRegion(bb.limit(), off, stride, count, Float.BYTES);
+    for(int i = 0, j = off; i < count; i++, j += stride) {
+      if(!isFloatInside(bb.getFloat(j), max, min)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Scan a slice of a {@link Float} array for values outside of a particular range. Bit {@code k} of {@code mask} is
+   * set when {@code vals[off + k]} is not inside the range, as by {@link #isFloatInside(float, float, float)}; every
+   * mask word that covers the slice is overwritten, and the number of set bits is returned.
+   * <p/>
+   * Each mask word is built without short-circuit branches, so the loop compiles to compares and conditional moves.
+   * @param vals A {@link Float} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Float} value, representing the maximum to be equal or less than.
+   * @param min A {@link Float} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of the range.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see ConstrainFloat
+   * @see #scanFloatArrayOutsideParallel(float[],int,int,float,float,long[])
+   */
+  public static final int scanFloatArrayOutside(float[] vals, int off, int len, float max, float min, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    if(!(min <= max)) {
+      return MaskScan.fill(mask, len);
+    }
+    return scanFloatWords(vals, off, len, max, min, mask, 0, MaskScan.words(len));
+  }
+
+  /**
+   * Scan a {@link Float} array for values outside of a particular range. This returns a {@link BitSet} with a bit set
+   * for the index of each value that is not inside the range; its {@link BitSet#cardinality() cardinality()} is their
+   * count.
+   * @param vals A {@link Float} array, representing the values to be tested against.
+   * @param max A {@link Float} value, representing the maximum to be equal or less than.
+   * @param min A {@link Float} value, representing the minimum to be equal or more than.
+   * @return A {@link BitSet} object.
+   * @see ConstrainFloat
+   * @see #scanFloatArrayOutside(float[],int,int,float,float,long[])
+   */
+  public static final BitSet scanFloatArrayOutside(float[] vals, float max, float min) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanFloatArrayOutside(vals, 0, vals.length, max, min, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Scan a slice of a {@link Float} array for values outside of a particular range, in parallel. This fills
+   * {@code mask} and returns the same count as {@link #scanFloatArrayOutside(float[],int,int,float,float,long[])}, but
+   * a slice of more than 16384 values is split over the common {@link java.util.concurrent.ForkJoinPool} in runs of
+   * whole mask words, so that no two threads write the same word.
+   * @param vals A {@link Float} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Float} value, representing the maximum to be equal or less than.
+   * @param min A {@link Float} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of the range.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see ConstrainFloat
+   * @see #scanFloatArrayOutside(float[],int,int,float,float,long[])
+   */
+  public static final int scanFloatArrayOutsideParallel(float[] vals, int off, int len, float max, float min,
+      long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    if(!(min <= max)) {
+      return MaskScan.fill(mask, len);
+    }
+    return MaskScan.invoke(len, (int from, int to) -> scanFloatWords(vals, off, len, max, min, mask, from, to));
+  }
+
+  /**
+   * Scan a {@link Float} array for values outside of a particular range, in parallel. This returns the same
+   * {@link BitSet} as {@link #scanFloatArrayOutside(float[],float,float)}, splitting a large array over the common
+   * {@link java.util.concurrent.ForkJoinPool}.
+   * @param vals A {@link Float} array, representing the values to be tested against.
+   * @param max A {@link Float} value, representing the maximum to be equal or less than.
+   * @param min A {@link Float} value, representing the minimum to be equal or more than.
+   * @return A {@link BitSet} object.
+   * @see ConstrainFloat
+   * @see #scanFloatArrayOutsideParallel(float[],int,int,float,float,long[])
+   */
+  public static final BitSet scanFloatArrayOutsideParallel(float[] vals, float max, float min) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanFloatArrayOutsideParallel(vals, 0, vals.length, max, min, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Fill a run of mask words. Word {@code w} holds the bits of the values from {@code off + 64 * w}; the range must not
+   * be empty, which the callers check beforehand.
+   * @param vals A {@link Float} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element of the whole scan.
+   * @param len An {@link Integer} value, representing the number of elements of the whole scan.
+   * @param max A {@link Float} value, representing the maximum to be equal or less than.
+   * @param min A {@link Float} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill.
+   * @param from An {@link Integer} value, representing the first mask word to fill.
+   * @param to An {@link Integer} value, representing the mask word after the last one to fill.
+   * @return An {@link Integer} value, representing the number of bits set.
+   * @see ConstrainFloat
+   */
+  private static int scanFloatWords(float[] vals, int off, int len, float max, float min, long[] mask, int from,
+      int to) {
+    int count = 0;
+    for(int w = from; w < to; w++) {
+      final int base = off + (w << 6);
+      final int n = Math.min(64, len - (w << 6));
+      long word = 0L;
+      for(int b = 0; b < n; b++) {
+        final float v = vals[base + b];
+        word |= ((v >= min & v <= max) ? 0L : 1L) << b;
+      }
+      mask[w] = word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
 }
@@ -1,4 +1,8 @@
 package abc.constraint;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.BitSet;
+import java.util.stream.IntStream;
 
 
 /**
@@ -92,4 +96,706 @@ public class ConstrainInteger {
   public static final int constrainIntegerRange(int val, int max, int min) {
     return (val > max) ? max : (val < min) ? min : val;
   }
+
+  /**
+   * Constrain an {@link Integer} array to a maximum value, in place. Each element is replaced as if by
+   * {@link #constrainIntegerMax(int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @see ConstrainInteger
+   * @see #constrainIntegerArrayMax(int[],int,int,int)
+   */
+  public static final void constrainIntegerArrayMax(int[] vals, int max) {
+    constrainIntegerArrayMax(vals, 0, vals.length, max);
+  }
+
+  /**
+   * Constrain a slice of an {@link Integer} array to a maximum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainIntegerMax(int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainInteger
+   * @see #constrainIntegerMax(int,int)
+   */
+  public static final void constrainIntegerArrayMax(int[] vals, int off, int len, int max) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = Math.min(vals[off + i], max);
+    }
+  }
+
+  /**
+   * Constrain a slice of an {@link Integer} array to a maximum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainIntegerMax(int, int)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src An {@link Integer} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst An {@link Integer} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainInteger
+   * @see #constrainIntegerMax(int,int)
+   */
+  public static final void constrainIntegerArrayMax(int[] src, int srcOff, int[] dst, int dstOff, int len, int max) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = Math.min(src[srcOff + i], max);
+    }
+  }
+
+  /**
+   * Constrain an {@link Integer} array to a minimum value, in place. Each element is replaced as if by
+   * {@link #constrainIntegerMin(int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @see ConstrainInteger
+   * @see #constrainIntegerArrayMin(int[],int,int,int)
+   */
+  public static final void constrainIntegerArrayMin(int[] vals, int min) {
+    constrainIntegerArrayMin(vals, 0, vals.length, min);
+  }
+
+  /**
+   * Constrain a slice of an {@link Integer} array to a minimum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainIntegerMin(int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainInteger
+   * @see #constrainIntegerMin(int,int)
+   */
+  public static final void constrainIntegerArrayMin(int[] vals, int off, int len, int min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = Math.max(vals[off + i], min);
+    }
+  }
+
+  /**
+   * Constrain a slice of an {@link Integer} array to a minimum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainIntegerMin(int, int)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src An {@link Integer} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst An {@link Integer} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainInteger
+   * @see #constrainIntegerMin(int,int)
+   */
+  public static final void constrainIntegerArrayMin(int[] src, int srcOff, int[] dst, int dstOff, int len, int min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = Math.max(src[srcOff + i], min);
+    }
+  }
+
+  /**
+   * Constrain an {@link Integer} array to a particular range of values, in place. Each element is replaced as if by
+   * {@link #constrainIntegerRange(int, int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @see ConstrainInteger
+   * @see #constrainIntegerArrayRange(int[],int,int,int,int)
+   */
+  public static final void constrainIntegerArrayRange(int[] vals, int max, int min) {
+    constrainIntegerArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of an {@link Integer} array to a particular range of values, in place. Each element from
+   * {@code off} up to {@code off + len} is replaced as if by {@link #constrainIntegerRange(int, int, int)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(int,int)} and
+   * {@link Math#max(int,int)} so that it can be auto-vectorized, and the result matches
+   * {@link #constrainIntegerRange(int, int, int)}; otherwise, every element falls back to that method.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainInteger
+   * @see #constrainIntegerRange(int,int,int)
+   */
+  public static final void constrainIntegerArrayRange(int[] vals, int off, int len, int max, int min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = Math.min(Math.max(vals[off + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = constrainIntegerRange(vals[off + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a slice of an {@link Integer} array to a particular range of values, into another array. Each element
+   * from the source slice is written into the target slice as if by {@link #constrainIntegerRange(int, int, int)}; the
+   * source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(int,int)} and
+   * {@link Math#max(int,int)} so that it can be auto-vectorized, and the result matches
+   * {@link #constrainIntegerRange(int, int, int)}; otherwise, every element falls back to that method.
+   * @param src An {@link Integer} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst An {@link Integer} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainInteger
+   * @see #constrainIntegerRange(int,int,int)
+   */
+  public static final void constrainIntegerArrayRange(int[] src, int srcOff, int[] dst, int dstOff, int len, int max,
+      int min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = Math.min(Math.max(src[srcOff + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = constrainIntegerRange(src[srcOff + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain an {@link Integer} array to outside a particular range of values, in place. Each element is replaced as
+   * if by {@link #constrainIntegerOuter(int, int, int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @param alt An {@link Integer} value, representing the digit to use if not outside the max/min ranges.
+   * @see ConstrainInteger
+   * @see #constrainIntegerArrayOuter(int[],int,int,int,int,int)
+   */
+  public static final void constrainIntegerArrayOuter(int[] vals, int max, int min, int alt) {
+    constrainIntegerArrayOuter(vals, 0, vals.length, max, min, alt);
+  }
+
+  /**
+   * Constrain a slice of an {@link Integer} array to outside a particular range of values, in place. Each element from
+   * {@code off} up to {@code off + len} is replaced as if by {@link #constrainIntegerOuter(int, int, int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @param alt An {@link Integer} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainInteger
+   * @see #constrainIntegerOuter(int,int,int,int)
+   */
+  public static final void constrainIntegerArrayOuter(int[] vals, int off, int len, int max, int min, int alt) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = constrainIntegerOuter(vals[off + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Constrain a slice of an {@link Integer} array to outside a particular range of values, into another array. Each
+   * element from the source slice is written into the target slice as if by
+   * {@link #constrainIntegerOuter(int, int, int, int)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src An {@link Integer} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst An {@link Integer} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @param alt An {@link Integer} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainInteger
+   * @see #constrainIntegerOuter(int,int,int,int)
+   */
+  public static final void constrainIntegerArrayOuter(int[] src, int srcOff, int[] dst, int dstOff, int len, int max,
+      int min, int alt) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = constrainIntegerOuter(src[srcOff + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Constrain an {@link IntBuffer} to a particular range of values, in place. Every element from the buffer's position
+   * up to its limit is replaced as if by {@link #constrainIntegerRange(int, int, int)}; the position, limit and mark
+   * are not changed.
+   * <p/>
+   * A buffer backed by an accessible array is handed to {@link #constrainIntegerArrayRange(int[],int,int,int,int)}; any
+   * other buffer, such as a direct or mapped one, is constrained through absolute gets and puts, without copying it
+   * onto the heap.
+   * @param buf An {@link IntBuffer} object, representing the values to be constrained.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+   * @see ConstrainInteger
+   * @see #constrainIntegerRange(int,int,int)
+   */
+  public static final void constrainIntegerBufferRange(IntBuffer buf, int max, int min) {
+    final int start = buf.position();
+    final int end = buf.limit();
+    if(buf.hasArray()) {
+      constrainIntegerArrayRange(buf.array(), buf.arrayOffset() + start, end - start, max, min);
+    } else {
+      for(int i = start; i < end; i++) {
+        buf.put(i, constrainIntegerRange(buf.get(i), max, min));
+      }
+    }
+  }
+
+  /**
+   * Constrain a strided region of a {@link ByteBuffer} to a particular range of values, in place. The region holds
+   * {@code count} int values, the first at byte index {@code off} and each following one {@code stride} bytes later;
+   * they are read and written in the buffer's byte order, and each is replaced as if by
+   * {@link #constrainIntegerRange(int, int, int)}. The position, limit and mark are not changed.
+   * <p/>
+   * This is meant for packed records kept off the heap, such as one field of an entity-state struct in a direct or
+   * mapped buffer; a {@code stride} of {@link Integer#BYTES} covers a plain run of values.
+   * @param bb A {@link ByteBuffer} object, representing the memory region holding the values.
+   * @param off An {@link Integer} value, representing the byte index of the first value.
+   * @param stride An {@link Integer} value, representing the number of bytes from one value to the next.
+   * @param count An {@link Integer} value, representing the number of values.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @throws IndexOutOfBoundsException if the region is not inside of the buffer's limit.
+   * @throws IllegalArgumentException if {@code stride} is less than {@link Integer#BYTES}.
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+   * @see ConstrainInteger
+   * @see #constrainIntegerRange(int,int,int)
+   */
+  public static final void constrainIntegerBufferRange(ByteBuffer bb, int off, int stride, int count, int max,
+      int min) {
+    ConstraintCommon.checkRegion(bb.limit(), off, stride, count, Integer.BYTES);
+    for(int i = 0, j = off; i < count; i++, j += stride) {
+      bb.putInt(j, constrainIntegerRange(bb.getInt(j), max, min));
+    }
+  }
+
+  /**
+   * If every value of an {@link IntBuffer} is within a particular range. This checks every element from the buffer's
+   * position up to its limit as if by {@link #isIntegerInside(int, int, int)}, and stops at the first one outside the
+   * range; the position, limit and mark are not changed.
+   * @param buf An {@link IntBuffer} object, representing the values to be tested against.
+   * @param max An {@link Integer} value, representing the maximum to be equal or less than.
+   * @param min An {@link Integer} value, representing the minimum to be equal or more than.
+   * @return A {@link Boolean} value.
+   * @see ConstrainInteger
+   * @see #isIntegerInside(int,int,int)
+   */
+  public static final boolean isIntegerBufferInside(IntBuffer buf, int max, int min) {
+    final int start = buf.position();
+    final int end = buf.limit();
+    if(buf.hasArray()) {
+      final int[] vals = buf.array();
+      final int shift = buf.arrayOffset();
+      for(int i = start + shift; i < end + shift; i++) {
+        if(!isIntegerInside(vals[i], max, min)) {
+          return false;
+        }
+      }
+    } else {
+      for(int i = start; i < end; i++) {
+        if(!isIntegerInside(buf.get(i), max, min)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * If every value of a strided region of a {@link ByteBuffer} is within a particular range. The region is laid out as
+   * for {@link #constrainIntegerBufferRange(ByteBuffer,int,int,int,int,int)}; each value is checked as if by
+   * {@link #isIntegerInside(int, int, int)}, and this stops at the first one outside the range.
+   * @param bb A {@link ByteBuffer} object, representing the memory region holding the values.
+   * @param off An {@link Integer} value, representing the byte index of the first value.
+   * @param stride An {@link Integer} value, representing the number of bytes from one value to the next.
+   * @param count An {@link Integer} value, representing the number of values.
+   * @param max An {@link Integer} value, representing the maximum to be equal or less than.
+   * @param min An {@link Integer} value, representing the minimum to be equal or more than.
+   * @return A {@link Boolean} value.
+   * @throws IndexOutOfBoundsException if the region is not inside of the buffer's limit.
+   * @throws IllegalArgumentException if {@code stride} is less than {@link Integer#BYTES}.
+   * @see ConstrainInteger
+   * @see #isIntegerInside(int,int,int)
+   */
+  public static final boolean isIntegerBufferInside(ByteBuffer bb, int off, int stride, int count, int max, int min) {
+    ConstraintCommon.checkRegion(bb.limit(), off, stride, count, Integer.BYTES);
+    for(int i = 0, j = off; i < count; i++, j += stride) {
+      if(!isIntegerInside(bb.getInt(j), max, min)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Scan a slice of an {@link Integer} array for values outside of a particular range. Bit {@code k} of {@code mask} is
+   * set when {@code vals[off + k]} is not inside the range, as by {@link #isIntegerInside(int, int, int)}; every mask
+   * word that covers the slice is overwritten, and the number of set bits is returned.
+   * <p/>
+   * Each mask word is built without branches, by an unsigned compare of {@code val - min} against {@code max - min}.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max An {@link Integer} value, representing the maximum to be equal or less than.
+   * @param min An {@link Integer} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of the range.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see ConstrainInteger
+   * @see #scanIntegerArrayOutsideParallel(int[],int,int,int,int,long[])
+   */
+  public static final int scanIntegerArrayOutside(int[] vals, int off, int len, int max, int min, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    if(!(min <= max)) {
+      return MaskScan.fill(mask, len);
+    }
+    return scanIntegerWords(vals, off, len, max, min, mask, 0, MaskScan.words(len));
+  }
+
+  /**
+   * Scan an {@link Integer} array for values outside of a particular range. This returns a {@link BitSet} with a bit
+   * set for the index of each value that is not inside the range; its {@link BitSet#cardinality() cardinality()} is
+   * their count.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @param max An {@link Integer} value, representing the maximum to be equal or less than.
+   * @param min An {@link Integer} value, representing the minimum to be equal or more than.
+   * @return A {@link BitSet} object.
+   * @see ConstrainInteger
+   * @see #scanIntegerArrayOutside(int[],int,int,int,int,long[])
+   */
+  public static final BitSet scanIntegerArrayOutside(int[] vals, int max, int min) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanIntegerArrayOutside(vals, 0, vals.length, max, min, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Scan a slice of an {@link Integer} array for values outside of a particular range, in parallel. This fills
+   * {@code mask} and returns the same count as {@link #scanIntegerArrayOutside(int[],int,int,int,int,long[])}, but a
+   * slice of more than 16384 values is split over the common {@link java.util.concurrent.ForkJoinPool} in runs of whole
+   * mask words, so that no two threads write the same word.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max An {@link Integer} value, representing the maximum to be equal or less than.
+   * @param min An {@link Integer} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of the range.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see ConstrainInteger
+   * @see #scanIntegerArrayOutside(int[],int,int,int,int,long[])
+   */
+  public static final int scanIntegerArrayOutsideParallel(int[] vals, int off, int len, int max, int min, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    if(!(min <= max)) {
+      return MaskScan.fill(mask, len);
+    }
+    return MaskScan.invoke(len, (int from, int to) -> scanIntegerWords(vals, off, len, max, min, mask, from, to));
+  }
+
+  /**
+   * Scan an {@link Integer} array for values outside of a particular range, in parallel. This returns the same
+   * {@link BitSet} as {@link #scanIntegerArrayOutside(int[],int,int)}, splitting a large array over the common
+   * {@link java.util.concurrent.ForkJoinPool}.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @param max An {@link Integer} value, representing the maximum to be equal or less than.
+   * @param min An {@link Integer} value, representing the minimum to be equal or more than.
+   * @return A {@link BitSet} object.
+   * @see ConstrainInteger
+   * @see #scanIntegerArrayOutsideParallel(int[],int,int,int,int,long[])
+   */
+  public static final BitSet scanIntegerArrayOutsideParallel(int[] vals, int max, int min) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanIntegerArrayOutsideParallel(vals, 0, vals.length, max, min, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Fill a run of mask words. Word {@code w} holds the bits of the values from {@code off + 64 * w}; the range must not
+   * be empty, which the callers check beforehand.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element of the whole scan.
+   * @param len An {@link Integer} value, representing the number of elements of the whole scan.
+   * @param max An {@link Integer} value, representing the maximum to be equal or less than.
+   * @param min An {@link Integer} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill.
+   * @param from An {@link Integer} value, representing the first mask word to fill.
+   * @param to An {@link Integer} value, representing the mask word after the last one to fill.
+   * @return An {@link Integer} value, representing the number of bits set.
+   * @see ConstrainInteger
+   */
+  private static int scanIntegerWords(int[] vals, int off, int len, int max, int min, long[] mask, int from, int to) {
+    final long span = (max - min) & 0xFFFFFFFFL;
+    int count = 0;
+    for(int w = from; w < to; w++) {
+      final int base = off + (w << 6);
+      final int n = Math.min(64, len - (w << 6));
+      long word = 0L;
+      for(int b = 0; b < n; b++) {
+        word |= ((span - ((vals[base + b] - min) & 0xFFFFFFFFL)) >>> 63) << b;
+      }
+      mask[w] = word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Saturating addition. This returns the sum of {@code val} and {@code add}, but where that would overflow an
+   * {@link Integer}, it returns {@link Integer#MAX_VALUE} or {@link Integer#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as a {@link Long} value, then constrained to the limits of the Integer type.
+   * @param val An {@link Integer} value, representing the first operand.
+   * @param add An {@link Integer} value, representing the second operand.
+   * @return An {@link Integer} value.
+   * @see ConstrainInteger
+   * @see #saturateIntegerAdd(int,int,int,int)
+   */
+  public static final int saturateIntegerAdd(int val, int add) {
+    return (int)Math.min(Math.max((long)val + add, Integer.MIN_VALUE), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Saturating addition to a particular range of values. This returns the sum of {@code val} and {@code add},
+   * constrained as if by {@link ConstrainLong#constrainLongRange(long,long,long)}; unlike constraining after the fact,
+   * the operation itself never overflows, so a result past the limits of the type still ends up at the bound on its own
+   * side.
+   * @param val An {@link Integer} value, representing the first operand.
+   * @param add An {@link Integer} value, representing the second operand.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @return An {@link Integer} value.
+   * @see ConstrainInteger
+   * @see #saturateIntegerAdd(int,int)
+   */
+  public static final int saturateIntegerAdd(int val, int add, int max, int min) {
+    return (int)ConstrainLong.constrainLongRange((long)val + add, max, min);
+  }
+
+  /**
+   * Saturating subtract. This returns the difference of {@code val} and {@code sub}, but where that would overflow an
+   * {@link Integer}, it returns {@link Integer#MAX_VALUE} or {@link Integer#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as a {@link Long} value, then constrained to the limits of the Integer type.
+   * @param val An {@link Integer} value, representing the first operand.
+   * @param sub An {@link Integer} value, representing the second operand.
+   * @return An {@link Integer} value.
+   * @see ConstrainInteger
+   * @see #saturateIntegerSubtract(int,int,int,int)
+   */
+  public static final int saturateIntegerSubtract(int val, int sub) {
+    return (int)Math.min(Math.max((long)val - sub, Integer.MIN_VALUE), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Saturating subtract to a particular range of values. This returns the difference of {@code val} and {@code sub},
+   * constrained as if by {@link ConstrainLong#constrainLongRange(long,long,long)}; unlike constraining after the fact,
+   * the operation itself never overflows, so a result past the limits of the type still ends up at the bound on its own
+   * side.
+   * @param val An {@link Integer} value, representing the first operand.
+   * @param sub An {@link Integer} value, representing the second operand.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @return An {@link Integer} value.
+   * @see ConstrainInteger
+   * @see #saturateIntegerSubtract(int,int)
+   */
+  public static final int saturateIntegerSubtract(int val, int sub, int max, int min) {
+    return (int)ConstrainLong.constrainLongRange((long)val - sub, max, min);
+  }
+
+  /**
+   * Saturating multiply. This returns the product of {@code val} and {@code mul}, but where that would overflow an
+   * {@link Integer}, it returns {@link Integer#MAX_VALUE} or {@link Integer#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as a {@link Long} value, then constrained to the limits of the Integer type.
+   * @param val An {@link Integer} value, representing the first operand.
+   * @param mul An {@link Integer} value, representing the second operand.
+   * @return An {@link Integer} value.
+   * @see ConstrainInteger
+   * @see #saturateIntegerMultiply(int,int,int,int)
+   */
+  public static final int saturateIntegerMultiply(int val, int mul) {
+    return (int)Math.min(Math.max((long)val * mul, Integer.MIN_VALUE), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Saturating multiply to a particular range of values. This returns the product of {@code val} and {@code mul},
+   * constrained as if by {@link ConstrainLong#constrainLongRange(long,long,long)}; unlike constraining after the fact,
+   * the operation itself never overflows, so a result past the limits of the type still ends up at the bound on its own
+   * side.
+   * @param val An {@link Integer} value, representing the first operand.
+   * @param mul An {@link Integer} value, representing the second operand.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @return An {@link Integer} value.
+   * @see ConstrainInteger
+   * @see #saturateIntegerMultiply(int,int)
+   */
+  public static final int saturateIntegerMultiply(int val, int mul, int max, int min) {
+    return (int)ConstrainLong.constrainLongRange((long)val * mul, max, min);
+  }
+
+  /**
+   * Saturating addition over an {@link Integer} array, in place. Each element is replaced as if by
+   * {@link #saturateIntegerAdd(int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be added to.
+   * @param add An {@link Integer} value, representing the second operand for every element.
+   * @see ConstrainInteger
+   * @see #saturateIntegerArrayAdd(int[],int,int,int,int,int)
+   */
+  public static final void saturateIntegerArrayAdd(int[] vals, int add) {
+    saturateIntegerArrayAdd(vals, 0, vals.length, add, Integer.MAX_VALUE, Integer.MIN_VALUE);
+  }
+
+  /**
+   * Saturating addition over a slice of an {@link Integer} array to a particular range of values, in place. Each
+   * element from {@code off} up to {@code off + len} is replaced as if by
+   * {@link #saturateIntegerAdd(int, int, int, int)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the exact results are computed as {@link Long} values and
+   * constrained with {@link Math#min(long,long)} and {@link Math#max(long,long)}, so that the loop can be
+   * auto-vectorized; otherwise, every element falls back to that method.
+   * @param vals An {@link Integer} array, representing the values to be added to.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param add An {@link Integer} value, representing the second operand for every element.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainInteger
+   * @see #saturateIntegerAdd(int,int,int,int)
+   */
+  public static final void saturateIntegerArrayAdd(int[] vals, int off, int len, int add, int max, int min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = (int)Math.min(Math.max((long)vals[off + i] + add, min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = saturateIntegerAdd(vals[off + i], add, max, min);
+      }
+    }
+  }
+
+  /**
+   * Saturating multiply over an {@link Integer} array, in place. Each element is replaced as if by
+   * {@link #saturateIntegerMultiply(int, int)}.
+   * @param vals An {@link Integer} array, representing the values to be multiplied.
+   * @param mul An {@link Integer} value, representing the second operand for every element.
+   * @see ConstrainInteger
+   * @see #saturateIntegerArrayMultiply(int[],int,int,int,int,int)
+   */
+  public static final void saturateIntegerArrayMultiply(int[] vals, int mul) {
+    saturateIntegerArrayMultiply(vals, 0, vals.length, mul, Integer.MAX_VALUE, Integer.MIN_VALUE);
+  }
+
+  /**
+   * Saturating multiply over a slice of an {@link Integer} array to a particular range of values, in place. Each
+   * element from {@code off} up to {@code off + len} is replaced as if by
+   * {@link #saturateIntegerMultiply(int, int, int, int)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the exact results are computed as {@link Long} values and
+   * constrained with {@link Math#min(long,long)} and {@link Math#max(long,long)}, so that the loop can be
+   * auto-vectorized; otherwise, every element falls back to that method.
+   * @param vals An {@link Integer} array, representing the values to be multiplied.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mul An {@link Integer} value, representing the second operand for every element.
+   * @param max An {@link Integer} value, representing the maximum value to not be more than.
+   * @param min An {@link Integer} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainInteger
+   * @see #saturateIntegerMultiply(int,int,int,int)
+   */
+  public static final void saturateIntegerArrayMultiply(int[] vals, int off, int len, int mul, int max, int min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = (int)Math.min(Math.max((long)vals[off + i] * mul, min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = saturateIntegerMultiply(vals[off + i], mul, max, min);
+      }
+    }
+  }
+
+  /**
+   * Saturating sum of an {@link Integer} array.
+   * @param vals An {@link Integer} array, representing the values to add up.
+   * @return An {@link Integer} value.
+   * @see ConstrainInteger
+   * @see #saturateIntegerSum(int[],int,int)
+   */
+  public static final int saturateIntegerSum(int[] vals) {
+    return saturateIntegerSum(vals, 0, vals.length);
+  }
+
+  /**
+   * Saturating sum of a slice of an {@link Integer} array. This returns the exact sum of the elements from {@code off}
+   * up to {@code off + len}, or {@link Integer#MAX_VALUE} or {@link Integer#MIN_VALUE} where that sum is past the
+   * limits of the type.
+   * <p/>
+   * The running sum is kept as a {@link Long}, which cannot overflow for any array, and is only saturated at the end;
+   * this is exact, unlike saturating after every addition, where the order of the values could change the result.
+   * @param vals An {@link Integer} array, representing the values to add up.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @return An {@link Integer} value.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainInteger
+   * @see SaturatingSum
+   */
+  public static final int saturateIntegerSum(int[] vals, int off, int len) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    long sum = 0L;
+    for(int i = 0; i < len; i++) {
+      sum += vals[off + i];
+    }
+    return (int)Math.min(Math.max(sum, Integer.MIN_VALUE), Integer.MAX_VALUE);
+  }
+
+  /**
+   * Saturating sum of an {@link IntStream}. This collects the stream into a {@link SaturatingSum}, which is exact
+   * however a parallel stream is split, and returns its {@link SaturatingSum#getInt() getInt()} value.
+   * @param is An {@link IntStream} object, representing the values to add up.
+   * @return An {@link Integer} value.
+   * @see ConstrainInteger
+   * @see SaturatingSum
+   */
+  public static final int saturateIntegerSum(IntStream is) {
+    return is.collect(SaturatingSum::new, SaturatingSum::accept, SaturatingSum::combine).getInt();
+  }
 }
@@ -1,4 +1,8 @@
 package abc.constraint;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.BitSet;
+import java.util.stream.LongStream;
 
 
 /**
@@ -90,4 +94,714 @@ public class ConstrainLong {
   public static final long constrainLongRange(long val, long max, long min) {
     return (val > max) ? max : (val < min) ? min : val;
   }
+
+  /**
+   * Constrain a {@link Long} array to a maximum value, in place. Each element is replaced as if by
+   * {@link #constrainLongMax(long, long)}.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @see ConstrainLong
+   * @see #constrainLongArrayMax(long[],int,int,long)
+   */
+  public static final void constrainLongArrayMax(long[] vals, long max) {
+    constrainLongArrayMax(vals, 0, vals.length, max);
+  }
+
+  /**
+   * Constrain a slice of a {@link Long} array to a maximum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainLongMax(long, long)}.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainLong
+   * @see #constrainLongMax(long,long)
+   */
+  public static final void constrainLongArrayMax(long[] vals, int off, int len, long max) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = Math.min(vals[off + i], max);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Long} array to a maximum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainLongMax(long, long)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Long} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Long} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainLong
+   * @see #constrainLongMax(long,long)
+   */
+  public static final void constrainLongArrayMax(long[] src, int srcOff, long[] dst, int dstOff, int len, long max) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = Math.min(src[srcOff + i], max);
+    }
+  }
+
+  /**
+   * Constrain a {@link Long} array to a minimum value, in place. Each element is replaced as if by
+   * {@link #constrainLongMin(long, long)}.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @see ConstrainLong
+   * @see #constrainLongArrayMin(long[],int,int,long)
+   */
+  public static final void constrainLongArrayMin(long[] vals, long min) {
+    constrainLongArrayMin(vals, 0, vals.length, min);
+  }
+
+  /**
+   * Constrain a slice of a {@link Long} array to a minimum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainLongMin(long, long)}.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainLong
+   * @see #constrainLongMin(long,long)
+   */
+  public static final void constrainLongArrayMin(long[] vals, int off, int len, long min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = Math.max(vals[off + i], min);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Long} array to a minimum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainLongMin(long, long)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Long} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Long} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainLong
+   * @see #constrainLongMin(long,long)
+   */
+  public static final void constrainLongArrayMin(long[] src, int srcOff, long[] dst, int dstOff, int len, long min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = Math.max(src[srcOff + i], min);
+    }
+  }
+
+  /**
+   * Constrain a {@link Long} array to a particular range of values, in place. Each element is replaced as if by
+   * {@link #constrainLongRange(long, long, long)}.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @see ConstrainLong
+   * @see #constrainLongArrayRange(long[],int,int,long,long)
+   */
+  public static final void constrainLongArrayRange(long[] vals, long max, long min) {
+    constrainLongArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of a {@link Long} array to a particular range of values, in place. Each element from {@code off}
+   * up to {@code off + len} is replaced as if by {@link #constrainLongRange(long, long, long)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(long,long)} and
+   * {@link Math#max(long,long)} so that it can be auto-vectorized, and the result matches
+   * {@link #constrainLongRange(long, long, long)}; otherwise, every element falls back to that method.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainLong
+   * @see #constrainLongRange(long,long,long)
+   */
+  public static final void constrainLongArrayRange(long[] vals, int off, int len, long max, long min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = Math.min(Math.max(vals[off + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = constrainLongRange(vals[off + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Long} array to a particular range of values, into another array. Each element from
+   * the source slice is written into the target slice as if by {@link #constrainLongRange(long, long, long)}; the
+   * source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(long,long)} and
+   * {@link Math#max(long,long)} so that it can be auto-vectorized, and the result matches
+   * {@link #constrainLongRange(long, long, long)}; otherwise, every element falls back to that method.
+   * @param src A {@link Long} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Long} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainLong
+   * @see #constrainLongRange(long,long,long)
+   */
+  public static final void constrainLongArrayRange(long[] src, int srcOff, long[] dst, int dstOff, int len, long max,
+      long min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = Math.min(Math.max(src[srcOff + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = constrainLongRange(src[srcOff + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a {@link Long} array to outside a particular range of values, in place. Each element is replaced as if by
+   * {@link #constrainLongOuter(long, long, long, long)}.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @param alt A {@link Long} value, representing the digit to use if not outside the max/min ranges.
+   * @see ConstrainLong
+   * @see #constrainLongArrayOuter(long[],int,int,long,long,long)
+   */
+  public static final void constrainLongArrayOuter(long[] vals, long max, long min, long alt) {
+    constrainLongArrayOuter(vals, 0, vals.length, max, min, alt);
+  }
+
+  /**
+   * Constrain a slice of a {@link Long} array to outside a particular range of values, in place. Each element from
+   * {@code off} up to {@code off + len} is replaced as if by {@link #constrainLongOuter(long, long, long, long)}.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @param alt A {@link Long} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainLong
+   * @see #constrainLongOuter(long,long,long,long)
+   */
+  public static final void constrainLongArrayOuter(long[] vals, int off, int len, long max, long min, long alt) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = constrainLongOuter(vals[off + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Long} array to outside a particular range of values, into another array. Each element
+   * from the source slice is written into the target slice as if by
+   * {@link #constrainLongOuter(long, long, long, long)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Long} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Long} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @param alt A {@link Long} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainLong
+   * @see #constrainLongOuter(long,long,long,long)
+   */
+  public static final void constrainLongArrayOuter(long[] src, int srcOff, long[] dst, int dstOff, int len, long max,
+      long min, long alt) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = constrainLongOuter(src[srcOff + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Constrain a {@link LongBuffer} to a particular range of values, in place. Every element from the buffer's position
+   * up to its limit is replaced as if by {@link #constrainLongRange(long, long, long)}; the position, limit and mark
+   * are not changed.
+   * <p/>
+   * A buffer backed by an accessible array is handed to {@link #constrainLongArrayRange(long[],int,int,long,long)}; any
+   * other buffer, such as a direct or mapped one, is constrained through absolute gets and puts, without copying it
+   * onto the heap.
+   * @param buf A {@link LongBuffer} object, representing the values to be constrained.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+   * @see ConstrainLong
+   * @see #constrainLongRange(long,long,long)
+   */
+  public static final void constrainLongBufferRange(LongBuffer buf, long max, long min) {
+    final int start = buf.position();
+    final int end = buf.limit();
+    if(buf.hasArray()) {
+      constrainLongArrayRange(buf.array(), buf.arrayOffset() + start, end - start, max, min);
+    } else {
+      for(int i = start; i < end; i++) {
+        buf.put(i, constrainLongRange(buf.get(i), max, min));
+      }
+    }
+  }
+
+  /**
+   * Constrain a strided region of a {@link ByteBuffer} to a particular range of values, in place. The region holds
+   * {@code count} long values, the first at byte index {@code off} and each following one {@code stride} bytes later;
+   * they are read and written in the buffer's byte order, and each is replaced as if by
+   * {@link #constrainLongRange(long, long, long)}. The position, limit and mark are not changed.
+   * <p/>
+   * This is meant for packed records kept off the heap, such as one field of an entity-state struct in a direct or
+   * mapped buffer; a {@code stride} of {@link Long#BYTES} covers a plain run of values.
+   * @param bb A {@link ByteBuffer} object, representing the memory region holding the values.
+   * @param off An {@link Integer} value, representing the byte index of the first value.
+   * @param stride An {@link Integer} value, representing the number of bytes from one value to the next.
+   * @param count An {@link Integer} value, representing the number of values.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @throws IndexOutOfBoundsException if the region is not inside of the buffer's limit.
+   * @throws IllegalArgumentException if {@code stride} is less than {@link Long#BYTES}.
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+   * @see ConstrainLong
+   * @see #constrainLongRange(long,long,long)
+   */
+  public static final void constrainLongBufferRange(ByteBuffer bb, int off, int stride, int count, long max, long min) {
+    ConstraintCommon.checkRegion(bb.limit(), off, stride, count, Long.BYTES);
+    for(int i = 0, j = off; i < count; i++, j += stride) {
+      bb.putLong(j, constrainLongRange(bb.getLong(j), max, min));
+    }
+  }
+
+  /**
+   * If every value of a {@link LongBuffer} is within a particular range. This checks every element from the buffer's
+   * position up to its limit as if by {@link #isLongInside(long, long, long)}, and stops at the first one outside the
+   * range; the position, limit and mark are not changed.
+   * @param buf A {@link LongBuffer} object, representing the values to be tested against.
+   * @param max A {@link Long} value, representing the maximum to be equal or less than.
+   * @param min A {@link Long} value, representing the minimum to be equal or more than.
+   * @return A {@link Boolean} value.
+   * @see ConstrainLong
+   * @see #isLongInside(long,long,long)
+   */
+  public static final boolean isLongBufferInside(LongBuffer buf, long max, long min) {
+    final int start = buf.position();
+    final int end = buf.limit();
+    if(buf.hasArray()) {
+      final long[] vals = buf.array();
+      final int shift = buf.arrayOffset();
+      for(int i = start + shift; i < end + shift; i++) {
+        if(!isLongInside(vals[i], max, min)) {
+          return false;
+        }
+      }
+    } else {
+      for(int i = start; i < end; i++) {
+        if(!isLongInside(buf.get(i), max, min)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * If every value of a strided region of a {@link ByteBuffer} is within a particular range. The region is laid out as
+   * for {@link #constrainLongBufferRange(ByteBuffer,int,int,int,long,long)}; each value is checked as if by
+   * {@link #isLongInside(long, long, long)}, and this stops at the first one outside the range.
+   * @param bb A {@link ByteBuffer} object, representing the memory region holding the values.
+   * @param off An {@link Integer} value, representing the byte index of the first value.
+   * @param stride An {@link Integer} value, representing the number of bytes from one value to the next.
+   * @param count An {@link Integer} value, representing the number of values.
+   * @param max A {@link Long} value, representing the maximum to be equal or less than.
+   * @param min A {@link Long} value, representing the minimum to be equal or more than.
+   * @return A {@link Boolean} value.
+   * @throws IndexOutOfBoundsException if the region is not inside of the buffer's limit.
+   * @throws IllegalArgumentException if {@code stride} is less than {@link Long#BYTES}.
+   * @see ConstrainLong
+   * @see #isLongInside(long,long,long)
+   */
+  public static final boolean isLongBufferInside(ByteBuffer bb, int off, int stride, int count, long max, long min) {
+    ConstraintCommon.checkRegion(bb.limit(), off, stride, count, Long.BYTES);
+    for(int i = 0, j = off; i < count; i++, j += stride) {
+      if(!isLongInside(bb.getLong(j), max, min)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Scan a slice of a {@link Long} array for values outside of a particular range. Bit {@code k} of {@code mask} is set
+   * when {@code vals[off + k]} is not inside the range, as by {@link #isLongInside(long, long, long)}; every mask word
+   * that covers the slice is overwritten, and the number of set bits is returned.
+   * <p/>
+   * Each mask word is built without short-circuit branches, so the loop compiles to compares and conditional moves.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Long} value, representing the maximum to be equal or less than.
+   * @param min A {@link Long} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of the range.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see ConstrainLong
+   * @see #scanLongArrayOutsideParallel(long[],int,int,long,long,long[])
+   */
+  public static final int scanLongArrayOutside(long[] vals, int off, int len, long max, long min, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    if(!(min <= max)) {
+      return MaskScan.fill(mask, len);
+    }
+    return scanLongWords(vals, off, len, max, min, mask, 0, MaskScan.words(len));
+  }
+
+  /**
+   * Scan a {@link Long} array for values outside of a particular range. This returns a {@link BitSet} with a bit set
+   * for the index of each value that is not inside the range; its {@link BitSet#cardinality() cardinality()} is their
+   * count.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @param max A {@link Long} value, representing the maximum to be equal or less than.
+   * @param min A {@link Long} value, representing the minimum to be equal or more than.
+   * @return A {@link BitSet} object.
+   * @see ConstrainLong
+   * @see #scanLongArrayOutside(long[],int,int,long,long,long[])
+   */
+  public static final BitSet scanLongArrayOutside(long[] vals, long max, long min) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanLongArrayOutside(vals, 0, vals.length, max, min, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Scan a slice of a {@link Long} array for values outside of a particular range, in parallel. This fills {@code mask}
+   * and returns the same count as {@link #scanLongArrayOutside(long[],int,int,long,long,long[])}, but a slice of more
+   * than {@code 64 * MaskScan.threshold} values is split over the common {@link java.util.concurrent.ForkJoinPool} in
+   * runs of whole mask words, so that no two threads write the same word.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Long} value, representing the maximum to be equal or less than.
+   * @param min A {@link Long} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of the range.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see ConstrainLong
+   * @see #scanLongArrayOutside(long[],int,int,long,long,long[])
+   */
+  public static final int scanLongArrayOutsideParallel(long[] vals, int off, int len, long max, long min, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    if(!(min <= max)) {
+      return MaskScan.fill(mask, len);
+    }
+    return MaskScan.invoke(len, (int from, int to) -> scanLongWords(vals, off, len, max, min, mask, from, to));
+  }
+
+  /**
+   * Scan a {@link Long} array for values outside of a particular range, in parallel. This returns the same
+   * {@link BitSet} as {@link #scanLongArrayOutside(long[],long,long)}, splitting a large array over the common
+   * {@link java.util.concurrent.ForkJoinPool}.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @param max A {@link Long} value, representing the maximum to be equal or less than.
+   * @param min A {@link Long} value, representing the minimum to be equal or more than.
+   * @return A {@link BitSet} object.
+   * @see ConstrainLong
+   * @see #scanLongArrayOutsideParallel(long[],int,int,long,long,long[])
+   */
+  public static final BitSet scanLongArrayOutsideParallel(long[] vals, long max, long min) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanLongArrayOutsideParallel(vals, 0, vals.length, max, min, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Fill a run of mask words. Word {@code w} holds the bits of the values from {@code off + 64 * w}; the range must not
+   * be empty, which the callers check beforehand.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element of the whole scan.
+   * @param len An {@link Integer} value, representing the number of elements of the whole scan.
+   * @param max A {@link Long} value, representing the maximum to be equal or less than.
+   * @param min A {@link Long} value, representing the minimum to be equal or more than.
+   * @param mask A {@link Long} array, representing the bit mask to fill.
+   * @param from An {@link Integer} value, representing the first mask word to fill.
+   * @param to An {@link Integer} value, representing the mask word after the last one to fill.
+   * @return An {@link Integer} value, representing the number of bits set.
+   * @see ConstrainLong
+   */
+  private static int scanLongWords(long[] vals, int off, int len, long max, long min, long[] mask, int from, int to) {
+    int count = 0;
+    for(int w = from; w < to; w++) {
+      final int base = off + (w << 6);
+      final int n = Math.min(64, len - (w << 6));
+      long word = 0L;
+      for(int b = 0; b < n; b++) {
+        final long v = vals[base + b];
+        word |= ((v >= min & v <= max) ? 0L : 1L) << b;
+      }
+      mask[w] = word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  /**
+   * Saturating addition. This returns the sum of {@code val} and {@code add}, but where that would overflow a
+   * {@link Long}, it returns {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * Overflow is detected from the signs of the operands and the wrapped result, and replaced by the limit on the side
+   * it overflowed to; there is no branch but a conditional move.
+   * @param val A {@link Long} value, representing the first operand.
+   * @param add A {@link Long} value, representing the second operand.
+   * @return A {@link Long} value.
+   * @see ConstrainLong
+   * @see #saturateLongAdd(long,long,long,long)
+   */
+  public static final long saturateLongAdd(long val, long add) {
+    long r = val + add;
+    return (((val ^ r) & (add ^ r)) < 0) ? ((val >> 63) ^ Long.MAX_VALUE) : r;
+  }
+
+  /**
+   * Saturating addition to a particular range of values. This returns the sum of {@code val} and {@code add},
+   * constrained as if by {@link #constrainLongRange(long,long,long)}; unlike constraining after the fact, the operation
+   * itself never overflows, so a result past the limits of the type still ends up at the bound on its own side.
+   * @param val A {@link Long} value, representing the first operand.
+   * @param add A {@link Long} value, representing the second operand.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @return A {@link Long} value.
+   * @see ConstrainLong
+   * @see #saturateLongAdd(long,long)
+   */
+  public static final long saturateLongAdd(long val, long add, long max, long min) {
+    return constrainLongRange(saturateLongAdd(val, add), max, min);
+  }
+
+  /**
+   * Saturating subtract. This returns the difference of {@code val} and {@code sub}, but where that would overflow a
+   * {@link Long}, it returns {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * Overflow is detected from the signs of the operands and the wrapped result, and replaced by the limit on the side
+   * it overflowed to; there is no branch but a conditional move.
+   * @param val A {@link Long} value, representing the first operand.
+   * @param sub A {@link Long} value, representing the second operand.
+   * @return A {@link Long} value.
+   * @see ConstrainLong
+   * @see #saturateLongSubtract(long,long,long,long)
+   */
+  public static final long saturateLongSubtract(long val, long sub) {
+    long r = val - sub;
+    return (((val ^ sub) & (val ^ r)) < 0) ? ((val >> 63) ^ Long.MAX_VALUE) : r;
+  }
+
+  /**
+   * Saturating subtract to a particular range of values. This returns the difference of {@code val} and {@code sub},
+   * constrained as if by {@link #constrainLongRange(long,long,long)}; unlike constraining after the fact, the operation
+   * itself never overflows, so a result past the limits of the type still ends up at the bound on its own side.
+   * @param val A {@link Long} value, representing the first operand.
+   * @param sub A {@link Long} value, representing the second operand.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @return A {@link Long} value.
+   * @see ConstrainLong
+   * @see #saturateLongSubtract(long,long)
+   */
+  public static final long saturateLongSubtract(long val, long sub, long max, long min) {
+    return constrainLongRange(saturateLongSubtract(val, sub), max, min);
+  }
+
+  /**
+   * Saturating multiply. This returns the product of {@code val} and {@code mul}, but where that would overflow a
+   * {@link Long}, it returns {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * Operands that both fit in 31 bits cannot overflow and skip the check; otherwise overflow is detected the same way
+   * as {@link Math#multiplyExact(long,long)} does, but replaced by the limit on the side it overflowed to instead of
+   * throwing.
+   * @param val A {@link Long} value, representing the first operand.
+   * @param mul A {@link Long} value, representing the second operand.
+   * @return A {@link Long} value.
+   * @see ConstrainLong
+   * @see #saturateLongMultiply(long,long,long,long)
+   */
+  public static final long saturateLongMultiply(long val, long mul) {
+    long r = val * mul;
+    if(((Math.abs(val) | Math.abs(mul)) >>> 31 != 0)
+        && ((mul != 0 && r / mul != val) || (val == Long.MIN_VALUE && mul == -1))) {
+      return ((val ^ mul) < 0) ? Long.MIN_VALUE : Long.MAX_VALUE;
+    }
+    return r;
+  }
+
+  /**
+   * Saturating multiply to a particular range of values. This returns the product of {@code val} and {@code mul},
+   * constrained as if by {@link #constrainLongRange(long,long,long)}; unlike constraining after the fact, the operation
+   * itself never overflows, so a result past the limits of the type still ends up at the bound on its own side.
+   * @param val A {@link Long} value, representing the first operand.
+   * @param mul A {@link Long} value, representing the second operand.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @return A {@link Long} value.
+   * @see ConstrainLong
+   * @see #saturateLongMultiply(long,long)
+   */
+  public static final long saturateLongMultiply(long val, long mul, long max, long min) {
+    return constrainLongRange(saturateLongMultiply(val, mul), max, min);
+  }
+
+  /**
+   * Saturating addition over a {@link Long} array, in place. Each element is replaced as if by
+   * {@link #saturateLongAdd(long, long)}.
+   * @param vals A {@link Long} array, representing the values to be added to.
+   * @param add A {@link Long} value, representing the second operand for every element.
+   * @see ConstrainLong
+   * @see #saturateLongArrayAdd(long[],int,int,long,long,long)
+   */
+  public static final void saturateLongArrayAdd(long[] vals, long add) {
+    saturateLongArrayAdd(vals, 0, vals.length, add, Long.MAX_VALUE, Long.MIN_VALUE);
+  }
+
+  /**
+   * Saturating addition over a slice of a {@link Long} array to a particular range of values, in place. Each element
+   * from {@code off} up to {@code off + len} is replaced as if by {@link #saturateLongAdd(long, long, long, long)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the saturated results are constrained with
+   * {@link Math#min(long,long)} and {@link Math#max(long,long)}; otherwise, every element falls back to that method.
+   * @param vals A {@link Long} array, representing the values to be added to.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param add A {@link Long} value, representing the second operand for every element.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainLong
+   * @see #saturateLongAdd(long,long,long,long)
+   */
+  public static final void saturateLongArrayAdd(long[] vals, int off, int len, long add, long max, long min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = Math.min(Math.max(saturateLongAdd(vals[off + i], add), min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = saturateLongAdd(vals[off + i], add, max, min);
+      }
+    }
+  }
+
+  /**
+   * Saturating multiply over a {@link Long} array, in place. Each element is replaced as if by
+   * {@link #saturateLongMultiply(long, long)}.
+   * @param vals A {@link Long} array, representing the values to be multiplied.
+   * @param mul A {@link Long} value, representing the second operand for every element.
+   * @see ConstrainLong
+   * @see #saturateLongArrayMultiply(long[],int,int,long,long,long)
+   */
+  public static final void saturateLongArrayMultiply(long[] vals, long mul) {
+    saturateLongArrayMultiply(vals, 0, vals.length, mul, Long.MAX_VALUE, Long.MIN_VALUE);
+  }
+
+  /**
+   * Saturating multiply over a slice of a {@link Long} array to a particular range of values, in place. Each element
+   * from {@code off} up to {@code off + len} is replaced as if by
+   * {@link #saturateLongMultiply(long, long, long, long)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the saturated results are constrained with
+   * {@link Math#min(long,long)} and {@link Math#max(long,long)}; otherwise, every element falls back to that method.
+   * @param vals A {@link Long} array, representing the values to be multiplied.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mul A {@link Long} value, representing the second operand for every element.
+   * @param max A {@link Long} value, representing the maximum value to not be more than.
+   * @param min A {@link Long} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainLong
+   * @see #saturateLongMultiply(long,long,long,long)
+   */
+  public static final void saturateLongArrayMultiply(long[] vals, int off, int len, long mul, long max, long min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = Math.min(Math.max(saturateLongMultiply(vals[off + i], mul), min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = saturateLongMultiply(vals[off + i], mul, max, min);
+      }
+    }
+  }
+
+  /**
+   * Saturating sum of a {@link Long} array.
+   * @param vals A {@link Long} array, representing the values to add up.
+   * @return A {@link Long} value.
+   * @see ConstrainLong
+   * @see #saturateLongSum(long[],int,int)
+   */
+  public static final long saturateLongSum(long[] vals) {
+    return saturateLongSum(vals, 0, vals.length);
+  }
+
+  /**
+   * Saturating sum of a slice of a {@link Long} array. This returns the exact sum of the elements from {@code off} up
+   * to {@code off + len}, or {@link Long#MAX_VALUE} or {@link Long#MIN_VALUE} where that sum is past the limits of the
+   * type.
+   * <p/>
+   * The running sum counts how many times it wraps, as {@link SaturatingSum} does, and is only saturated at the end;
+   * this is exact, unlike saturating after every addition, where the order of the values could change the result.
+   * @param vals A {@link Long} array, representing the values to add up.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @return A {@link Long} value.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainLong
+   * @see SaturatingSum
+   */
+  public static final long saturateLongSum(long[] vals, int off, int len) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    long sum = 0L;
+    long wraps = 0L;
+    for(int i = 0; i < len; i++) {
+      final long val = vals[off + i];
+      final long r = sum + val;
+      wraps += (((sum ^ r) & (val ^ r)) < 0) ? ((val < 0) ? -1 : 1) : 0;
+      sum = r;
+    }
+    return (wraps > 0) ? Long.MAX_VALUE : (wraps < 0) ? Long.MIN_VALUE : sum;
+  }
+
+  /**
+   * Saturating sum of a {@link LongStream}. This collects the stream into a {@link SaturatingSum}, which is exact
+   * however a parallel stream is split, and returns its {@link SaturatingSum#getLong() getLong()} value.
+   * @param ls A {@link LongStream} object, representing the values to add up.
+   * @return A {@link Long} value.
+   * @see ConstrainLong
+   * @see SaturatingSum
+   */
+  public static final long saturateLongSum(LongStream ls) {
+    return ls.collect(SaturatingSum::new, SaturatingSum::accept, SaturatingSum::combine).getLong();
+  }
 }
@@ -91,4 +91,435 @@ public class ConstrainShort {
   public static final short constrainShortRange(short val, short max, short min) {
     return (val > max) ? max : (val < min) ? min : val;
   }
+
+  /**
+   * Constrain a {@link Short} array to a maximum value, in place. Each element is replaced as if by
+   * {@link #constrainShortMax(short, short)}.
+   * @param vals A {@link Short} array, representing the values to be constrained.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @see ConstrainShort
+   * @see #constrainShortArrayMax(short[],int,int,short)
+   */
+  public static final void constrainShortArrayMax(short[] vals, short max) {
+    constrainShortArrayMax(vals, 0, vals.length, max);
+  }
+
+  /**
+   * Constrain a slice of a {@link Short} array to a maximum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainShortMax(short, short)}.
+   * @param vals A {@link Short} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainShort
+   * @see #constrainShortMax(short,short)
+   */
+  public static final void constrainShortArrayMax(short[] vals, int off, int len, short max) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = (short)Math.min(vals[off + i], max);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Short} array to a maximum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainShortMax(short, short)}; the source is not
+   * changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Short} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Short} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainShort
+   * @see #constrainShortMax(short,short)
+   */
+  public static final void constrainShortArrayMax(short[] src, int srcOff, short[] dst, int dstOff, int len,
+      short max) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (short)Math.min(src[srcOff + i], max);
+    }
+  }
+
+  /**
+   * Constrain a {@link Short} array to a minimum value, in place. Each element is replaced as if by
+   * {@link #constrainShortMin(short, short)}.
+   * @param vals A {@link Short} array, representing the values to be constrained.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @see ConstrainShort
+   * @see #constrainShortArrayMin(short[],int,int,short)
+   */
+  public static final void constrainShortArrayMin(short[] vals, short min) {
+    constrainShortArrayMin(vals, 0, vals.length, min);
+  }
+
+  /**
+   * Constrain a slice of a {@link Short} array to a minimum value, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainShortMin(short, short)}.
+   * @param vals A {@link Short} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainShort
+   * @see #constrainShortMin(short,short)
+   */
+  public static final void constrainShortArrayMin(short[] vals, int off, int len, short min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = (short)Math.max(vals[off + i], min);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Short} array to a minimum value, into another array. Each element from the source
+   * slice is written into the target slice as if by {@link #constrainShortMin(short, short)}; the source is not
+   * changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Short} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Short} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainShort
+   * @see #constrainShortMin(short,short)
+   */
+  public static final void constrainShortArrayMin(short[] src, int srcOff, short[] dst, int dstOff, int len,
+      short min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (short)Math.max(src[srcOff + i], min);
+    }
+  }
+
+  /**
+   * Constrain a {@link Short} array to a particular range of values, in place. Each element is replaced as if by
+   * {@link #constrainShortRange(short, short, short)}.
+   * @param vals A {@link Short} array, representing the values to be constrained.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @see ConstrainShort
+   * @see #constrainShortArrayRange(short[],int,int,short,short)
+   */
+  public static final void constrainShortArrayRange(short[] vals, short max, short min) {
+    constrainShortArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of a {@link Short} array to a particular range of values, in place. Each element from {@code off}
+   * up to {@code off + len} is replaced as if by {@link #constrainShortRange(short, short, short)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(int,int)} and
+   * {@link Math#max(int,int)} so that it can be auto-vectorized, and the result matches
+   * {@link #constrainShortRange(short, short, short)}; otherwise, every element falls back to that method.
+   * @param vals A {@link Short} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainShort
+   * @see #constrainShortRange(short,short,short)
+   */
+  public static final void constrainShortArrayRange(short[] vals, int off, int len, short max, short min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = (short)Math.min(Math.max(vals[off + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = constrainShortRange(vals[off + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Short} array to a particular range of values, into another array. Each element from
+   * the source slice is written into the target slice as if by {@link #constrainShortRange(short, short, short)}; the
+   * source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the loop is written with {@link Math#min(int,int)} and
+   * {@link Math#max(int,int)} so that it can be auto-vectorized, and the result matches
+   * {@link #constrainShortRange(short, short, short)}; otherwise, every element falls back to that method.
+   * @param src A {@link Short} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Short} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainShort
+   * @see #constrainShortRange(short,short,short)
+   */
+  public static final void constrainShortArrayRange(short[] src, int srcOff, short[] dst, int dstOff, int len,
+      short max, short min) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = (short)Math.min(Math.max(src[srcOff + i], min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        dst[dstOff + i] = constrainShortRange(src[srcOff + i], max, min);
+      }
+    }
+  }
+
+  /**
+   * Constrain a {@link Short} array to outside a particular range of values, in place. Each element is replaced as if
+   * by {@link #constrainShortOuter(short, short, short, short)}.
+   * @param vals A {@link Short} array, representing the values to be constrained.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @param alt A {@link Short} value, representing the digit to use if not outside the max/min ranges.
+   * @see ConstrainShort
+   * @see #constrainShortArrayOuter(short[],int,int,short,short,short)
+   */
+  public static final void constrainShortArrayOuter(short[] vals, short max, short min, short alt) {
+    constrainShortArrayOuter(vals, 0, vals.length, max, min, alt);
+  }
+
+  /**
+   * Constrain a slice of a {@link Short} array to outside a particular range of values, in place. Each element from
+   * {@code off} up to {@code off + len} is replaced as if by {@link #constrainShortOuter(short, short, short, short)}.
+   * @param vals A {@link Short} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @param alt A {@link Short} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainShort
+   * @see #constrainShortOuter(short,short,short,short)
+   */
+  public static final void constrainShortArrayOuter(short[] vals, int off, int len, short max, short min, short alt) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    for(int i = 0; i < len; i++) {
+      vals[off + i] = constrainShortOuter(vals[off + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Constrain a slice of a {@link Short} array to outside a particular range of values, into another array. Each
+   * element from the source slice is written into the target slice as if by
+   * {@link #constrainShortOuter(short, short, short, short)}; the source is not changed.
+   * <p/>
+   * Both arrays may be the same array, but then the two slices should either match or not overlap at all.
+   * @param src A {@link Short} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Short} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @param alt A {@link Short} value, representing the digit to use if not outside the max/min ranges.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see ConstrainShort
+   * @see #constrainShortOuter(short,short,short,short)
+   */
+  public static final void constrainShortArrayOuter(short[] src, int srcOff, short[] dst, int dstOff, int len,
+      short max, short min, short alt) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = constrainShortOuter(src[srcOff + i], max, min, alt);
+    }
+  }
+
+  /**
+   * Saturating addition. This returns the sum of {@code val} and {@code add}, but where that would overflow a
+   * {@link Short}, it returns {@link Short#MAX_VALUE} or {@link Short#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as an {@link Integer} value, then constrained to the limits of the Short type.
+   * @param val A {@link Short} value, representing the first operand.
+   * @param add A {@link Short} value, representing the second operand.
+   * @return A {@link Short} value.
+   * @see ConstrainShort
+   * @see #saturateShortAdd(short,short,short,short)
+   */
+  public static final short saturateShortAdd(short val, short add) {
+    return (short)Math.min(Math.max(val + add, Short.MIN_VALUE), Short.MAX_VALUE);
+  }
+
+  /**
+   * Saturating addition to a particular range of values. This returns the sum of {@code val} and {@code add},
+   * constrained as if by {@link ConstrainInteger#constrainIntegerRange(int,int,int)}; unlike constraining after the
+   * fact, the operation itself never overflows, so a result past the limits of the type still ends up at the bound on
+   * its own side.
+   * @param val A {@link Short} value, representing the first operand.
+   * @param add A {@link Short} value, representing the second operand.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @return A {@link Short} value.
+   * @see ConstrainShort
+   * @see #saturateShortAdd(short,short)
+   */
+  public static final short saturateShortAdd(short val, short add, short max, short min) {
+    return (short)ConstrainInteger.constrainIntegerRange(val + add, max, min);
+  }
+
+  /**
+   * Saturating subtract. This returns the difference of {@code val} and {@code sub}, but where that would overflow a
+   * {@link Short}, it returns {@link Short#MAX_VALUE} or {@link Short#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as an {@link Integer} value, then constrained to the limits of the Short type.
+   * @param val A {@link Short} value, representing the first operand.
+   * @param sub A {@link Short} value, representing the second operand.
+   * @return A {@link Short} value.
+   * @see ConstrainShort
+   * @see #saturateShortSubtract(short,short,short,short)
+   */
+  public static final short saturateShortSubtract(short val, short sub) {
+    return (short)Math.min(Math.max(val - sub, Short.MIN_VALUE), Short.MAX_VALUE);
+  }
+
+  /**
+   * Saturating subtract to a particular range of values. This returns the difference of {@code val} and {@code sub},
+   * constrained as if by {@link ConstrainInteger#constrainIntegerRange(int,int,int)}; unlike constraining after the
+   * fact, the operation itself never overflows, so a result past the limits of the type still ends up at the bound on
+   * its own side.
+   * @param val A {@link Short} value, representing the first operand.
+   * @param sub A {@link Short} value, representing the second operand.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @return A {@link Short} value.
+   * @see ConstrainShort
+   * @see #saturateShortSubtract(short,short)
+   */
+  public static final short saturateShortSubtract(short val, short sub, short max, short min) {
+    return (short)ConstrainInteger.constrainIntegerRange(val - sub, max, min);
+  }
+
+  /**
+   * Saturating multiply. This returns the product of {@code val} and {@code mul}, but where that would overflow a
+   * {@link Short}, it returns {@link Short#MAX_VALUE} or {@link Short#MIN_VALUE} instead of wrapping around.
+   * <p/>
+   * The exact result is computed as an {@link Integer} value, then constrained to the limits of the Short type.
+   * @param val A {@link Short} value, representing the first operand.
+   * @param mul A {@link Short} value, representing the second operand.
+   * @return A {@link Short} value.
+   * @see ConstrainShort
+   * @see #saturateShortMultiply(short,short,short,short)
+   */
+  public static final short saturateShortMultiply(short val, short mul) {
+    return (short)Math.min(Math.max(val * mul, Short.MIN_VALUE), Short.MAX_VALUE);
+  }
+
+  /**
+   * Saturating multiply to a particular range of values. This returns the product of {@code val} and {@code mul},
+   * constrained as if by {@link ConstrainInteger#constrainIntegerRange(int,int,int)}; unlike constraining after the
+   * fact, the operation itself never overflows, so a result past the limits of the type still ends up at the bound on
+   * its own side.
+   * @param val A {@link Short} value, representing the first operand.
+   * @param mul A {@link Short} value, representing the second operand.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @return A {@link Short} value.
+   * @see ConstrainShort
+   * @see #saturateShortMultiply(short,short)
+   */
+  public static final short saturateShortMultiply(short val, short mul, short max, short min) {
+    return (short)ConstrainInteger.constrainIntegerRange(val * mul, max, min);
+  }
+
+  /**
+   * Saturating addition over a {@link Short} array, in place. Each element is replaced as if by
+   * {@link #saturateShortAdd(short, short)}.
+   * @param vals A {@link Short} array, representing the values to be added to.
+   * @param add A {@link Short} value, representing the second operand for every element.
+   * @see ConstrainShort
+   * @see #saturateShortArrayAdd(short[],int,int,short,short,short)
+   */
+  public static final void saturateShortArrayAdd(short[] vals, short add) {
+    saturateShortArrayAdd(vals, 0, vals.length, add, Short.MAX_VALUE, Short.MIN_VALUE);
+  }
+
+  /**
+   * Saturating addition over a slice of a {@link Short} array to a particular range of values, in place. Each element
+   * from {@code off} up to {@code off + len} is replaced as if by
+   * {@link #saturateShortAdd(short, short, short, short)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the exact results are computed as {@link Integer} values and
+   * constrained with {@link Math#min(int,int)} and {@link Math#max(int,int)}, so that the loop can be auto-vectorized;
+   * otherwise, every element falls back to that method.
+   * @param vals A {@link Short} array, representing the values to be added to.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param add A {@link Short} value, representing the second operand for every element.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainShort
+   * @see #saturateShortAdd(short,short,short,short)
+   */
+  public static final void saturateShortArrayAdd(short[] vals, int off, int len, short add, short max, short min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = (short)Math.min(Math.max(vals[off + i] + add, min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = saturateShortAdd(vals[off + i], add, max, min);
+      }
+    }
+  }
+
+  /**
+   * Saturating multiply over a {@link Short} array, in place. Each element is replaced as if by
+   * {@link #saturateShortMultiply(short, short)}.
+   * @param vals A {@link Short} array, representing the values to be multiplied.
+   * @param mul A {@link Short} value, representing the second operand for every element.
+   * @see ConstrainShort
+   * @see #saturateShortArrayMultiply(short[],int,int,short,short,short)
+   */
+  public static final void saturateShortArrayMultiply(short[] vals, short mul) {
+    saturateShortArrayMultiply(vals, 0, vals.length, mul, Short.MAX_VALUE, Short.MIN_VALUE);
+  }
+
+  /**
+   * Saturating multiply over a slice of a {@link Short} array to a particular range of values, in place. Each element
+   * from {@code off} up to {@code off + len} is replaced as if by
+   * {@link #saturateShortMultiply(short, short, short, short)}.
+   * <p/>
+   * When {@code min} is not more than {@code max}, the exact results are computed as {@link Integer} values and
+   * constrained with {@link Math#min(int,int)} and {@link Math#max(int,int)}, so that the loop can be auto-vectorized;
+   * otherwise, every element falls back to that method.
+   * @param vals A {@link Short} array, representing the values to be multiplied.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mul A {@link Short} value, representing the second operand for every element.
+   * @param max A {@link Short} value, representing the maximum value to not be more than.
+   * @param min A {@link Short} value, representing the minimum value to not be less than.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see ConstrainShort
+   * @see #saturateShortMultiply(short,short,short,short)
+   */
+  public static final void saturateShortArrayMultiply(short[] vals, int off, int len, short mul, short max, short min) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    if(min <= max) {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = (short)Math.min(Math.max(vals[off + i] * mul, min), max);
+      }
+    } else {
+      for(int i = 0; i < len; i++) {
+        vals[off + i] = saturateShortMultiply(vals[off + i], mul, max, min);
+      }
+    }
+  }
 }
@@ -0,0 +1,273 @@
+package abc.constraint;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Range-enforcing float array. This fixed-size array holds {@link Float} values, such as entity stats, that are
+ * constrained on every write: either to one range for the whole array, or to a range of its own for each slot. Every
+ * element is therefore always inside its range, and a stat table never has to be re-validated after it is written to.
+ * <p/>
+ * The values are held in a {@link FloatBuffer}, either on the heap or off-heap in a direct buffer in native byte order;
+ * the ranges are always held on the heap. A write constrains its value as {@link ConstrainFloat#constrainFloatRange}
+ * does, inline, so nothing is boxed; except that NaN, which that method passes through, is stored as the minimum. An
+ * instance is not thread-safe.
+ * @author Gregory
+ * @see #buf buf
+ * @see #max max
+ * @see #min min
+ * @see #maxs maxs
+ * @see #mins mins
+ * @see #ConstrainedFloatArray(int,float,float,boolean) ConstrainedFloatArray(int,float,float,boolean)
+ * @see #ConstrainedFloatArray(float[],float[],boolean) ConstrainedFloatArray(float[],float[],boolean)
+ */
+public final class ConstrainedFloatArray {
+  /**
+   * The values.
+   * @see ConstrainedFloatArray
+   */
+  private final FloatBuffer buf;
+  /**
+   * The maximum value of every slot, when the array has one range.
+   * @see ConstrainedFloatArray
+   */
+  private final float max;
+  /**
+   * The minimum value of every slot, when the array has one range.
+   * @see ConstrainedFloatArray
+   */
+  private final float min;
+  /**
+   * The maximum value of each slot, or {@code null} when the array has one range.
+   * @see ConstrainedFloatArray
+   */
+  private final float[] maxs;
+  /**
+   * The minimum value of each slot, or {@code null} when the array has one range.
+   * @see ConstrainedFloatArray
+   */
+  private final float[] mins;
+
+  /**
+   * A public constructor. This makes an array with one range for every slot; each element starts at zero, constrained
+   * to that range.
+   * @param l An {@link Integer} value, representing the length of the array.
+   * @param i A {@link Float} value, representing the {@link #min min}.
+   * @param j A {@link Float} value, representing the {@link #max max}.
+   * @param b A {@link Boolean} value, representing whether the values are held off-heap, in a direct buffer.
+   * @throws IllegalArgumentException if the length is negative or too large, or {@code i} is NaN or more than j.
+   * @see ConstrainedFloatArray
+   */
+  public ConstrainedFloatArray(int l, float i, float j, boolean b) {
+    if(!(i <= j)) {
+      throw new IllegalArgumentException(String.format("min=%s is not less than or equal to max=%s", i, j));
+    }
+    buf = allocate(l, b);
+    min = i;
+    max = j;
+    mins = null;
+    maxs = null;
+    fill(0);
+  }
+
+  /**
+   * A public constructor. This makes an array with a range for each slot, taken from matching indexes of two arrays;
+   * the arrays are copied, and each element starts at zero, constrained to its range.
+   * @param is A {@link Float} array, representing the minimum of each slot.
+   * @param js A {@link Float} array, representing the maximum of each slot.
+   * @param b A {@link Boolean} value, representing whether the values are held off-heap, in a direct buffer.
+   * @throws IllegalArgumentException if the arrays differ in length, or a minimum is NaN or more than its maximum.
+   * @see ConstrainedFloatArray
+   */
+  public ConstrainedFloatArray(float[] is, float[] js, boolean b) {
+    if(is.length != js.length) {
+      throw new IllegalArgumentException(String.format("%d minimums, but %d maximums", is.length, js.length));
+    }
+    for(int k = 0; k < is.length; k++) {
+      if(!(is[k] <= js[k])) {
+        throw new IllegalArgumentException(String.format("min=%s is not less than or equal to max=%s at %d",
+            is[k], js[k], k));
+      }
+    }
+    buf = allocate(is.length, b);
+    min = Float.NEGATIVE_INFINITY;
+    max = Float.POSITIVE_INFINITY;
+    mins = is.clone();
+    maxs = js.clone();
+    fill(0);
+  }
+
+  /**
+   * Allocate the value buffer.
+   * @param l An {@link Integer} value, representing the length of the array.
+   * @param b A {@link Boolean} value, representing whether the buffer is direct.
+   * @return An {@link FloatBuffer} object.
+   * @throws IllegalArgumentException if the length is negative or too large.
+   * @see ConstrainedFloatArray
+   */
+  private static FloatBuffer allocate(int l, boolean b) {
+    if(l < 0 || l > Integer.MAX_VALUE / Float.BYTES) {
+      throw new IllegalArgumentException(String.format("length=%d", l));
+    }
+    return b ? ByteBuffer.allocateDirect(l * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer()
+        : FloatBuffer.allocate(l);
+  }
+
+  /**
+   * Get the length of the array.
+   * @return An {@link Integer} value.
+   * @see ConstrainedFloatArray
+   */
+  public int length() {
+    return buf.capacity();
+  }
+
+  /**
+   * If the values are held off-heap.
+   * @return A {@link Boolean} value.
+   * @see ConstrainedFloatArray
+   */
+  public boolean isDirect() {
+    return buf.isDirect();
+  }
+
+  /**
+   * Get the maximum value of a slot.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @return A {@link Float} value.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedFloatArray
+   */
+  public float getMax(int i) {
+    if(i < 0 || i >= buf.capacity()) {
+      throw new IndexOutOfBoundsException(String.format("index=%d, length=%d", i, buf.capacity()));
+    }
+    return (maxs == null) ? max : maxs[i];
+  }
+
+  /**
+   * Get the minimum value of a slot.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @return A {@link Float} value.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedFloatArray
+   */
+  public float getMin(int i) {
+    if(i < 0 || i >= buf.capacity()) {
+      throw new IndexOutOfBoundsException(String.format("index=%d, length=%d", i, buf.capacity()));
+    }
+    return (mins == null) ? min : mins[i];
+  }
+
+  /**
+   * Get a value.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @return A {@link Float} value.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedFloatArray
+   */
+  public float get(int i) {
+    return buf.get(i);
+  }
+
+  /**
+   * Set a value. The value is constrained to the slot's range before it is stored; NaN is stored as the minimum.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @param val A {@link Float} value, representing the value to store.
+   * @return A {@link Float} value, the value actually stored.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedFloatArray
+   */
+  public float set(int i, float val) {
+    final float lo = (mins == null) ? min : mins[i];
+    final float v = (val >= lo) ? Math.min(val, (maxs == null) ? max : maxs[i]) : lo;
+    buf.put(i, v);
+    return v;
+  }
+
+  /**
+   * Add to a value. The sum is constrained to the slot's range before it is stored.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @param add A {@link Float} value, representing the amount to add; it may be negative.
+   * @return A {@link Float} value, the value actually stored.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedFloatArray
+   */
+  public float add(int i, float add) {
+    return set(i, buf.get(i) + add);
+  }
+
+  /**
+   * Set every value to the same value, each constrained to its slot's range.
+   * @param val A {@link Float} value, representing the value to store.
+   * @see ConstrainedFloatArray
+   */
+  public void fill(float val) {
+    final int n = buf.capacity();
+    for(int k = 0; k < n; k++) {
+      set(k, val);
+    }
+  }
+
+  /**
+   * Set a run of values from an array. Each value is constrained to its slot's range before it is stored.
+   * @param off An {@link Integer} value, representing the index of the first slot.
+   * @param src A {@link Float} array, representing the values to store.
+   * @param srcOff An {@link Integer} value, representing the index of the first value.
+   * @param len An {@link Integer} value, representing the number of values.
+   * @throws ArrayIndexOutOfBoundsException if the run is not inside of this array, or the slice is not inside of src.
+   * @see ConstrainedFloatArray
+   */
+  public void set(int off, float[] src, int srcOff, int len) {
+    ConstraintCommon.checkBounds(buf.capacity(), off, len);
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    for(int k = 0; k < len; k++) {
+      set(off + k, src[srcOff + k]);
+    }
+  }
+
+  /**
+   * Get a run of values into an array.
+   * @param off An {@link Integer} value, representing the index of the first slot.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target value.
+   * @param len An {@link Integer} value, representing the number of values.
+   * @throws ArrayIndexOutOfBoundsException if the run is not inside of this array, or the slice is not inside of dst.
+   * @see ConstrainedFloatArray
+   */
+  public void get(int off, float[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(buf.capacity(), off, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    FloatBuffer ib = buf.duplicate();
+    ib.position(off);
+    ib.get(dst, dstOff, len);
+  }
+
+  /**
+   * Get a copy of the values.
+   * @return A {@link Float} array.
+   * @see ConstrainedFloatArray
+   */
+  public float[] toArray() {
+    float[] is = new float[buf.capacity()];
+    get(0, is, 0, is.length);
+    return is;
+  }
+
+  /**
+   * Get a read-only view of the values. The view shares the values of this array, so it sees every later write, but
+   * cannot be used to store a value outside of its range.
+   * @return An {@link FloatBuffer} object.
+   * @see ConstrainedFloatArray
+   */
+  public FloatBuffer asReadOnlyBuffer() {
+    return buf.asReadOnlyBuffer();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(toArray()));
+  }
+}
@@ -0,0 +1,275 @@
+package abc.constraint;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Range-enforcing integer array. This fixed-size array holds {@link Integer} values, such as entity stats, that are
+ * constrained on every write: either to one range for the whole array, or to a range of its own for each slot. Every
+ * element is therefore always inside its range, and a stat table never has to be re-validated after it is written to.
+ * <p/>
+ * The values are held in an {@link IntBuffer}, either on the heap or off-heap in a direct buffer in native byte order;
+ * the ranges are always held on the heap. A write constrains its value as
+ * {@link ConstrainInteger#constrainIntegerRange} does, inline, so nothing is boxed. An instance is not thread-safe.
+ * @author Gregory
+ * @see #buf buf
+ * @see #max max
+ * @see #min min
+ * @see #maxs maxs
+ * @see #mins mins
+ * @see #ConstrainedIntArray(int,int,int,boolean) ConstrainedIntArray(int,int,int,boolean)
+ * @see #ConstrainedIntArray(int[],int[],boolean) ConstrainedIntArray(int[],int[],boolean)
+ */
+public final class ConstrainedIntArray {
+  /**
+   * The values.
+   * @see ConstrainedIntArray
+   */
+  private final IntBuffer buf;
+  /**
+   * The maximum value of every slot, when the array has one range.
+   * @see ConstrainedIntArray
+   */
+  private final int max;
+  /**
+   * The minimum value of every slot, when the array has one range.
+   * @see ConstrainedIntArray
+   */
+  private final int min;
+  /**
+   * The maximum value of each slot, or {@code null} when the array has one range.
+   * @see ConstrainedIntArray
+   */
+  private final int[] maxs;
+  /**
+   * The minimum value of each slot, or {@code null} when the array has one range.
+   * @see ConstrainedIntArray
+   */
+  private final int[] mins;
+
+  /**
+   * A public constructor. This makes an array with one range for every slot; each element starts at zero, constrained
+   * to that range.
+   * @param l An {@link Integer} value, representing the length of the array.
+   * @param i An {@link Integer} value, representing the {@link #min min}.
+   * @param j An {@link Integer} value, representing the {@link #max max}.
+   * @param b A {@link Boolean} value, representing whether the values are held off-heap, in a direct buffer.
+   * @throws IllegalArgumentException if the length is negative or too large, or {@code i} is more than {@code j}.
+   * @see ConstrainedIntArray
+   */
+  public ConstrainedIntArray(int l, int i, int j, boolean b) {
+    if(i > j) {
+      throw new IllegalArgumentException(String.format("min=%d is more than max=%d", i, j));
+    }
+    buf = allocate(l, b);
+    min = i;
+    max = j;
+    mins = null;
+    maxs = null;
+    fill(0);
+  }
+
+  /**
+   * A public constructor. This makes an array with a range for each slot, taken from matching indexes of two arrays;
+   * the arrays are copied, and each element starts at zero, constrained to its range.
+   * @param is An {@link Integer} array, representing the minimum of each slot.
+   * @param js An {@link Integer} array, representing the maximum of each slot.
+   * @param b A {@link Boolean} value, representing whether the values are held off-heap, in a direct buffer.
+   * @throws IllegalArgumentException if the arrays differ in length, or a minimum is more than its maximum.
+   * @see ConstrainedIntArray
+   */
+  public ConstrainedIntArray(int[] is, int[] js, boolean b) {
+    if(is.length != js.length) {
+      throw new IllegalArgumentException(String.format("%d minimums, but %d maximums", is.length, js.length));
+    }
+    for(int k = 0; k < is.length; k++) {
+      if(is[k] > js[k]) {
+        throw new IllegalArgumentException(String.format("min=%d is more than max=%d at %d", is[k], js[k], k));
+      }
+    }
+    buf = allocate(is.length, b);
+    min = Integer.MIN_VALUE;
+    max = Integer.MAX_VALUE;
+    mins = is.clone();
+    maxs = js.clone();
+    fill(0);
+  }
+
+  /**
+   * Allocate the value buffer.
+   * @param l An {@link Integer} value, representing the length of the array.
+   * @param b A {@link Boolean} value, representing whether the buffer is direct.
+   * @return An {@link IntBuffer} object.
+   * @throws IllegalArgumentException if the length is negative or too large.
+   * @see ConstrainedIntArray
+   */
+  private static IntBuffer allocate(int l, boolean b) {
+    if(l < 0 || l > Integer.MAX_VALUE / Integer.BYTES) {
+      throw new IllegalArgumentException(String.format("length=%d", l));
+    }
+    return b ? ByteBuffer.allocateDirect(l * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer()
+        : IntBuffer.allocate(l);
+  }
+
+  /**
+   * Get the length of the array.
+   * @return An {@link Integer} value.
+   * @see ConstrainedIntArray
+   */
+  public int length() {
+    return buf.capacity();
+  }
+
+  /**
+   * If the values are held off-heap.
+   * @return A {@link Boolean} value.
+   * @see ConstrainedIntArray
+   */
+  public boolean isDirect() {
+    return buf.isDirect();
+  }
+
+  /**
+   * Get the maximum value of a slot.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @return An {@link Integer} value.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedIntArray
+   */
+  public int getMax(int i) {
+    if(i < 0 || i >= buf.capacity()) {
+      throw new IndexOutOfBoundsException(String.format("index=%d, length=%d", i, buf.capacity()));
+    }
+    return (maxs == null) ? max : maxs[i];
+  }
+
+  /**
+   * Get the minimum value of a slot.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @return An {@link Integer} value.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedIntArray
+   */
+  public int getMin(int i) {
+    if(i < 0 || i >= buf.capacity()) {
+      throw new IndexOutOfBoundsException(String.format("index=%d, length=%d", i, buf.capacity()));
+    }
+    return (mins == null) ? min : mins[i];
+  }
+
+  /**
+   * Get a value.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @return An {@link Integer} value.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedIntArray
+   */
+  public int get(int i) {
+    return buf.get(i);
+  }
+
+  /**
+   * Set a value. The value is constrained to the slot's range before it is stored.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @param val An {@link Integer} value, representing the value to store.
+   * @return An {@link Integer} value, the value actually stored.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedIntArray
+   */
+  public int set(int i, int val) {
+    final int v = (mins == null) ? Math.min(Math.max(val, min), max) : Math.min(Math.max(val, mins[i]), maxs[i]);
+    buf.put(i, v);
+    return v;
+  }
+
+  /**
+   * Add to a value. The sum is computed as if by {@link ConstrainInteger#saturateIntegerAdd(int,int,int,int)}, so it
+   * never overflows, and ends up inside the slot's range.
+   * @param i An {@link Integer} value, representing the index of the slot.
+   * @param add An {@link Integer} value, representing the amount to add; it may be negative.
+   * @return An {@link Integer} value, the value actually stored.
+   * @throws IndexOutOfBoundsException if there is no such slot.
+   * @see ConstrainedIntArray
+   */
+  public int add(int i, int add) {
+    return set(i, ConstrainInteger.saturateIntegerAdd(buf.get(i), add));
+  }
+
+  /**
+   * Set every value to the same value, each constrained to its slot's range.
+   * @param val An {@link Integer} value, representing the value to store.
+   * @see ConstrainedIntArray
+   */
+  public void fill(int val) {
+    final int n = buf.capacity();
+    for(int k = 0; k < n; k++) {
+      set(k, val);
+    }
+  }
+
+  /**
+   * Set a run of values from an array. Each value is constrained to its slot's range before it is stored.
+   * @param off An {@link Integer} value, representing the index of the first slot.
+   * @param src An {@link Integer} array, representing the values to store.
+   * @param srcOff An {@link Integer} value, representing the index of the first value.
+   * @param len An {@link Integer} value, representing the number of values.
+   * @throws ArrayIndexOutOfBoundsException if the run is not inside of this array, or the slice is not inside of src.
+   * @see ConstrainedIntArray
+   */
+  public void set(int off, int[] src, int srcOff, int len) {
+    ConstraintCommon.checkBounds(buf.capacity(), off, len);
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    if(mins == null && buf.hasArray()) {
+      ConstrainInteger.constrainIntegerArrayRange(src, srcOff, buf.array(), buf.arrayOffset() + off, len, max, min);
+    } else {
+      for(int k = 0; k < len; k++) {
+        set(off + k, src[srcOff + k]);
+      }
+    }
+  }
+
+  /**
+   * Get a run of values into an array.
+   * @param off An {@link Integer} value, representing the index of the first slot.
+   * @param dst An {@link Integer} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target value.
+   * @param len An {@link Integer} value, representing the number of values.
+   * @throws ArrayIndexOutOfBoundsException if the run is not inside of this array, or the slice is not inside of dst.
+   * @see ConstrainedIntArray
+   */
+  public void get(int off, int[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(buf.capacity(), off, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    IntBuffer vb = buf.duplicate();
+    vb.position(off);
+    vb.get(dst, dstOff, len);
+  }
+
+  /**
+   * Get a copy of the values.
+   * @return An {@link Integer} array.
+   * @see ConstrainedIntArray
+   */
+  public int[] toArray() {
+    int[] is = new int[buf.capacity()];
+    get(0, is, 0, is.length);
+    return is;
+  }
+
+  /**
+   * Get a read-only view of the values. The view shares the values of this array, so it sees every later write, but
+   * cannot be used to store a value outside of its range.
+   * @return An {@link IntBuffer} object.
+   * @see ConstrainedIntArray
+   */
+  public IntBuffer asReadOnlyBuffer() {
+    return buf.asReadOnlyBuffer();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(toArray()));
+  }
+}
@@ -1,68 +1,251 @@
 package abc.constraint;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.DoubleBuffer;
 
 
 /**
  * Constraint Commons. This contains static methods for common constraining functionality that do not go into the other
  * constraint classes.
+ * <p/>
+ * None of the methods herein hold a lock; each call only reads its own parameters and the constant tables below, so any
+ * number of threads may round values at the same time.
  * @author Gregory <gregory.cheyney@gmail.com>
  */
 public class ConstraintCommon {
+  /**
+   * The powers of ten. Index {@code n} holds ten to the power of {@code n}; every value up to {@code 1e22} is exactly
+   * representable as a {@link Double}, so scaling by a table value is a single correctly-rounded operation.
+   * @see ConstraintCommon
+   */
+  private static final double[] powersOfTen;
+  /**
+   * The most decimal places in the {@link #powersOfTen powersOfTen} table, either way of the decimal point.
+   * @see ConstraintCommon
+   */
+  static final int tablePlaces;
+  /**
+   * The long-safe magnitude. A {@link Double} value at or above two to the 52nd power has no fractional part, so there
+   * is nothing left to round, and anything below it fits in a {@link Long} without overflow.
+   * @see ConstraintCommon
+   */
+  private static final double longSafe;
+
+  static {
+    powersOfTen = new double[23];
+    powersOfTen[0] = 1.0D;
+    for(int i = 1; i < powersOfTen.length; i++) {
+      powersOfTen[i] = powersOfTen[i - 1] * 10.0D;
+    }
+    tablePlaces = powersOfTen.length - 1;
+    longSafe = 4503599627370496.0D;
+  }
+
   private ConstraintCommon() {
   }
 
   /**
-   * Move the decimal point in a non-integer floating-point value.
-   * @param d A {@link Double} value, representing the source value to change.
-   * @param i An {@link Integer} value, representing the decimal places to move.
+   * Check an array slice. This is shared by the bulk array methods of the constraint classes, so that an invalid slice
+   * is rejected before any element is changed, and so the loops themselves need no further range checks.
+   * @param length An {@link Integer} value, representing the length of the array.
+   * @param off An {@link Integer} value, representing the index of the first element in the slice.
+   * @param len An {@link Integer} value, representing the number of elements in the slice.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of the array.
+   * @see ConstraintCommon
+   */
+  static void checkBounds(int length, int off, int len) {
+    if(off < 0 || len < 0 || off > length - len) {
+      throw new ArrayIndexOutOfBoundsException(String.format("off=%d, len=%d, length=%d", off, len, length));
+    }
+  }
+
+  /**
+   * Check a strided buffer region. This is shared by the {@link java.nio.ByteBuffer} methods of the constraint classes;
+   * the region holds {@code count} values of {@code size} bytes each, the first at {@code off}, each following one
+   * {@code stride} bytes after the one before it.
+   * @param limit An {@link Integer} value, representing the limit of the buffer.
+   * @param off An {@link Integer} value, representing the byte index of the first value.
+   * @param stride An {@link Integer} value, representing the number of bytes from one value to the next.
+   * @param count An {@link Integer} value, representing the number of values.
+   * @param size An {@link Integer} value, representing the number of bytes in one value.
+   * @throws IndexOutOfBoundsException if the region is not inside of the buffer's limit.
+   * @throws IllegalArgumentException if {@code stride} is less than {@code size}.
+   * @see ConstraintCommon
+   */
+  static void checkRegion(int limit, int off, int stride, int count, int size) {
+    if(stride < size) {
+      throw new IllegalArgumentException(String.format("stride=%d, size=%d", stride, size));
+    }
+    if(off < 0 || count < 0 || (count > 0 && off + (long)(count - 1) * stride + size > limit)) {
+      throw new IndexOutOfBoundsException(String.format("off=%d, stride=%d, count=%d, limit=%d", off, stride, count,
+          limit));
+    }
+  }
+
+  /**
+   * Truncate a value to zero decimal places. Values too large to have a fractional part, as well as infinities and NaN,
+   * are returned as they are.
+   * @param d A {@link Double} value, representing the value to truncate.
    * @return A {@link Double} value.
+   * @see ConstraintCommon
    */
-  private static synchronized double moveDecimalPoint(double d, int i) {
-    if(d != 0.0D && i != 0) {
-      double d1 = d;
-      int i1 = i;
-      if(i1 > 0) {
-        do {
-          d1 *= 10.0D;
-          i1--;
-        } while(i > 0);
-      } else {
-        do {
-          d1 /= 10.0D;
-          i1++;
-        } while(i < 0);
-      }
-      return d1;
+  private static double truncate(double d) {
+    return (Math.abs(d) < longSafe) ? (double)(long)d : d;
+  }
+
+  /**
+   * Round a value to decimal places after the decimal point. The value is moved by {@code p}, rounded by
+   * {@link Math#round(double)}, and moved back; values with no precision left at that scale are returned as they are.
+   * @param d A {@link Double} value, representing the value to round.
+   * @param p A {@link Double} value, representing the power of ten to move the decimal point by.
+   * @return A {@link Double} value.
+   * @see ConstraintCommon
+   */
+  private static double roundAfterPoint(double d, double p) {
+    double e = d * p;
+    return (Math.abs(e) < longSafe) ? Math.round(e) / p : d;
+  }
+
+  /**
+   * Round a value to decimal places before the decimal point. The value is moved by {@code p}, rounded by
+   * {@link Math#round(double)}, and moved back; values with no precision left at that scale are returned as they are.
+   * @param d A {@link Double} value, representing the value to round.
+   * @param p A {@link Double} value, representing the power of ten to move the decimal point by.
+   * @return A {@link Double} value.
+   * @see ConstraintCommon
+   */
+  private static double roundBeforePoint(double d, double p) {
+    double e = d / p;
+    return (Math.abs(e) < longSafe) ? Math.round(e) * p : d;
+  }
+
+  /**
+   * Round a value to decimal places outside of the {@link #powersOfTen powersOfTen} table. This is the slow path, using
+   * {@link BigDecimal}; the rounding mode is picked by sign so that halves round up, the same as {@link Math#round}.
+   * @param d A {@link Double} value, representing the value to round.
+   * @param i An {@link Integer} value, representing the number of decimal places.
+   * @return A {@link Double} value.
+   * @see ConstraintCommon
+   */
+  private static double roundDecimal(double d, int i) {
+    if(Double.isNaN(d) || Double.isInfinite(d) || d == 0.0D) {
+      return d;
+    } else if(i > 1074) { // finer than the least double: there is nothing left to round.
+      return d;
+    } else if(i < -308) { // coarser than the greatest double: everything rounds to zero.
+      return 0.0D;
     }
-    return d;
+    RoundingMode rm = (d < 0.0D) ? RoundingMode.HALF_DOWN : RoundingMode.HALF_UP;
+    return BigDecimal.valueOf(d).setScale(i, rm).doubleValue();
   }
 
   /**
    * Constrain a double value to a number of decimal places. Note that parameter {@code i} can be a zero, positive, or
-   * negative value; a positive value.
+   * negative value:<ul>
+   * <li/>A zero truncates the value toward zero, dropping everything after the decimal point.
+   * <li/>A positive value rounds to {@code i} places after the decimal point.
+   * <li/>A negative value rounds to {@code -i} places before the decimal point; e.g. {@code -2} rounds to hundreds.
+   * </ul>
+   * Rounding follows {@link Math#round(double)}, and the intermediate value is a {@link Long}, so large values do not
+   * overflow. Scales up to 22 places either way use a power-of-ten table; anything beyond uses {@link BigDecimal}.
    * @param d A {@link Double} value, representing the value to constrain.
    * @param i An {@link Integer} value, representing the number of decimal places.
    * @return A {@link Double} value.
+   * @see ConstraintCommon
+   * @see #constrainToDecimalPlaces(double[],int,int,int)
    */
-  public static synchronized final double constrainToDecimalPlaces(double d, int i) {
-    double e = d;
-    int j = i;
-    int k;
-
-    if(j == 0) {       // constrain to zero decimal places? means convert to an int and back to double...
-      k = (int)e;
-      return k;
+  public static final double constrainToDecimalPlaces(double d, int i) {
+    if(i == 0) {       // constrain to zero decimal places? means truncate to a whole number...
+      return truncate(d);
+    } else if(i > 0) { // constrain to 'i' number of decimal places after the decimal point.
+      return (i < powersOfTen.length) ? roundAfterPoint(d, powersOfTen[i]) : roundDecimal(d, i);
+    } else {           // constrain to 'i' number of decimal places before the decimal point.
+      return (i > -powersOfTen.length) ? roundBeforePoint(d, powersOfTen[-i]) : roundDecimal(d, i);
+    }
+  }
 
-    } else if(j > 0) { // constrain to 'i' number of decimal places after the decimal point.
-      e = ConstraintCommon.moveDecimalPoint(e, i);
-      k = (int)Math.round(e);
-      e = ConstraintCommon.moveDecimalPoint(k, -i);
+  /**
+   * Constrain a double array to a number of decimal places, in place. Each element is replaced as if by
+   * {@link #constrainToDecimalPlaces(double, int)}.
+   * @param ds A {@link Double} array, representing the values to constrain.
+   * @param i An {@link Integer} value, representing the number of decimal places.
+   * @see ConstraintCommon
+   * @see #constrainToDecimalPlaces(double[],int,int,int)
+   */
+  public static final void constrainToDecimalPlaces(double[] ds, int i) {
+    constrainToDecimalPlaces(ds, 0, ds.length, i);
+  }
 
-    } else if(j < 0) { // constrain to 'i' number of decimal places before the decimal point.
-      e = ConstraintCommon.moveDecimalPoint(e, i);
-      k = (int)Math.round(e);
-      e = ConstraintCommon.moveDecimalPoint(k, -i);
+  /**
+   * Constrain a slice of a double array to a number of decimal places, in place. Each element from {@code off} up to
+   * {@code off + len} is replaced as if by {@link #constrainToDecimalPlaces(double, int)}; the scale is looked up only
+   * once for the whole slice.
+   * @param ds A {@link Double} array, representing the values to constrain.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param i An {@link Integer} value, representing the number of decimal places.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code ds}.
+   * @see ConstraintCommon
+   * @see #constrainToDecimalPlaces(double,int)
+   */
+  public static final void constrainToDecimalPlaces(double[] ds, int off, int len, int i) {
+    checkBounds(ds.length, off, len);
+    final int end = off + len;
+    if(i == 0) {
+      for(int j = off; j < end; j++) {
+        ds[j] = truncate(ds[j]);
+      }
+    } else if(i > 0 && i < powersOfTen.length) {
+      final double p = powersOfTen[i];
+      for(int j = off; j < end; j++) {
+        ds[j] = roundAfterPoint(ds[j], p);
+      }
+    } else if(i < 0 && i > -powersOfTen.length) {
+      final double p = powersOfTen[-i];
+      for(int j = off; j < end; j++) {
+        ds[j] = roundBeforePoint(ds[j], p);
+      }
+    } else {
+      for(int j = off; j < end; j++) {
+        ds[j] = roundDecimal(ds[j], i);
+      }
+    }
+  }
 
+  /**
+   * Constrain a double buffer to a number of decimal places, in place. Every element from the buffer's position up to
+   * its limit is replaced as if by {@link #constrainToDecimalPlaces(double, int)}; the position, limit and mark are not
+   * changed. A buffer backed by an accessible array is handled by the array method; any other buffer, such as a direct
+   * or mapped one, is rounded through absolute gets and puts.
+   * @param db A {@link DoubleBuffer} object, representing the values to constrain.
+   * @param i An {@link Integer} value, representing the number of decimal places.
+   * @throws java.nio.ReadOnlyBufferException if the buffer is read-only.
+   * @see ConstraintCommon
+   * @see #constrainToDecimalPlaces(double[],int,int,int)
+   */
+  public static final void constrainToDecimalPlaces(DoubleBuffer db, int i) {
+    final int start = db.position();
+    final int end = db.limit();
+    if(db.hasArray()) {
+      constrainToDecimalPlaces(db.array(), db.arrayOffset() + start, end - start, i);
+    } else if(i == 0) {
+      for(int j = start; j < end; j++) {
+        db.put(j, truncate(db.get(j)));
+      }
+    } else if(i > 0 && i < powersOfTen.length) {
+      final double p = powersOfTen[i];
+      for(int j = start; j < end; j++) {
+        db.put(j, roundAfterPoint(db.get(j), p));
+      }
+    } else if(i < 0 && i > -powersOfTen.length) {
+      final double p = powersOfTen[-i];
+      for(int j = start; j < end; j++) {
+        db.put(j, roundBeforePoint(db.get(j), p));
+      }
+    } else {
+      for(int j = start; j < end; j++) {
+        db.put(j, roundDecimal(db.get(j), i));
+      }
     }
-    return e;
   }
 }
@@ -0,0 +1,214 @@
+package abc.constraint;
+import java.util.Arrays;
+import java.util.function.DoubleToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.DoubleStream;
+
+
+/**
+ * Double bucketizer. This immutable class maps a value to the index of the bucket it falls in, given a strictly
+ * ascending array of boundaries, such as loot tiers, damage bands or histogram bins: bucket {@code 0} holds every value
+ * below the first boundary, and bucket {@code i} holds every value from boundary {@code i - 1} up to, but not
+ * including, boundary {@code i}; so there is one bucket more than there are boundaries.
+ * <p/>
+ * The boundaries are kept in breadth-first (Eytzinger) order, so the first levels of every search share the same few
+ * cache lines, and each step of the search is a conditional move rather than a branch; a lookup takes O(log n) steps
+ * for n boundaries, in place of a chain of {@link ConstrainDouble#isDoubleInside} calls.
+ * @author Gregory
+ * @see #tree tree
+ * @see #ranks ranks
+ * @see #DoubleBucketizer(double...) DoubleBucketizer(double...)
+ */
+public final class DoubleBucketizer implements DoubleToIntFunction {
+  /**
+   * The boundaries, in breadth-first order. Index {@code 0} is unused; the children of index {@code k} are at
+   * {@code 2k} and {@code 2k + 1}.
+   * @see DoubleBucketizer
+   */
+  private final double[] tree;
+  /**
+   * The bucket of each tree index. This is the ascending index of the boundary at the same index of {@link #tree tree},
+   * and index {@code 0} holds the last bucket, for values at or above every boundary.
+   * @see DoubleBucketizer
+   */
+  private final int[] ranks;
+
+  /**
+   * A public constructor. This takes the boundaries in ascending order; the array is copied.
+   * @param is A {@link Double} array, representing the boundaries.
+   * @throws IllegalArgumentException if the boundaries are not strictly ascending, or any one is NaN.
+   * @see DoubleBucketizer
+   */
+  public DoubleBucketizer(double... is) {
+    if(is.length > 0 && Double.isNaN(is[0])) {
+      throw new IllegalArgumentException("bounds[0]=NaN");
+    }
+    for(int k = 1; k < is.length; k++) {
+      if(!(is[k - 1] < is[k])) {
+        throw new IllegalArgumentException(String.format("bounds[%d]=%s is not less than bounds[%d]=%s", k - 1,
+            is[k - 1], k, is[k]));
+      }
+    }
+    tree = new double[is.length + 1];
+    ranks = new int[is.length + 1];
+    ranks[0] = is.length;
+    build(is, 0, 1);
+  }
+
+  /**
+   * Fill the subtree under a tree index, in order.
+   * @param is A {@link Double} array, representing the boundaries in ascending order.
+   * @param i An {@link Integer} value, representing the index of the next boundary to place.
+   * @param k An {@link Integer} value, representing the tree index of the subtree.
+   * @return An {@link Integer} value, the index of the next boundary to place after this subtree.
+   * @see DoubleBucketizer
+   */
+  private int build(double[] is, int i, int k) {
+    if(k < tree.length) {
+      i = build(is, i, k << 1);
+      tree[k] = is[i];
+      ranks[k] = i++;
+      i = build(is, i, (k << 1) + 1);
+    }
+    return i;
+  }
+
+  /**
+   * Get the number of buckets. This is one more than the number of boundaries.
+   * @return An {@link Integer} value.
+   * @see DoubleBucketizer
+   */
+  public int size() {
+    return tree.length;
+  }
+
+  /**
+   * Get the boundaries.
+   * @return A {@link Double} array, holding a copy of the boundaries in ascending order.
+   * @see DoubleBucketizer
+   */
+  public double[] getBounds() {
+    double[] is = new double[tree.length - 1];
+    for(int k = 1; k < tree.length; k++) {
+      is[ranks[k]] = tree[k];
+    }
+    return is;
+  }
+
+  /**
+   * Get the bucket of a value.
+   * @param val A {@link Double} value, representing the value to look up.
+   * @return An {@link Integer} value, from {@code 0} up to {@link #size()}{@code - 1}; NaN is in bucket 0.
+   * @see DoubleBucketizer
+   */
+  public int bucket(double val) {
+    int k = 1;
+    while(k < tree.length) {
+      k = (k << 1) + ((tree[k] <= val) ? 1 : 0);
+    }
+    return ranks[k >>> (Integer.numberOfTrailingZeros(~k) + 1)];
+  }
+
+  /**
+   * Get the bucket of a value. This is the same as {@link #bucket(double)}, so that a bucketizer can be used wherever a
+   * {@link DoubleToIntFunction} is taken.
+   * @param val A {@link Double} value, representing the value to look up.
+   * @return An {@link Integer} value.
+   * @see DoubleBucketizer
+   */
+  @Override
+  public int applyAsInt(double val) {
+    return bucket(val);
+  }
+
+  /**
+   * Get the buckets of a slice of an array, into another array.
+   * @param src A {@link Double} array, representing the values to look up.
+   * @param srcOff An {@link Integer} value, representing the index of the first value.
+   * @param dst An {@link Integer} array, representing the buckets.
+   * @param dstOff An {@link Integer} value, representing the index of the first bucket.
+   * @param len An {@link Integer} value, representing the number of values.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see DoubleBucketizer
+   */
+  public void bucket(double[] src, int srcOff, int[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int j = 0; j < len; j++) {
+      dst[dstOff + j] = bucket(src[srcOff + j]);
+    }
+  }
+
+  /**
+   * Get the buckets of an array.
+   * @param vals A {@link Double} array, representing the values to look up.
+   * @return An {@link Integer} array, holding the bucket of each value.
+   * @see DoubleBucketizer
+   */
+  public int[] bucket(double[] vals) {
+    int[] is = new int[vals.length];
+    bucket(vals, 0, is, 0, vals.length);
+    return is;
+  }
+
+  /**
+   * Get the buckets of a stream. The returned stream is lazy, and keeps the order and parallelism of {@code ds}.
+   * @param ds A {@link DoubleStream} object, representing the values to look up.
+   * @return An {@link IntStream} object.
+   * @see DoubleBucketizer
+   */
+  public IntStream bucket(DoubleStream ds) {
+    return ds.mapToInt(this);
+  }
+
+  /**
+   * Count the values of a slice of an array by bucket. The count of each value's bucket in {@code counts} is increased
+   * by one, so one histogram can be built up over several calls.
+   * @param vals A {@link Double} array, representing the values to count.
+   * @param off An {@link Integer} value, representing the index of the first value.
+   * @param len An {@link Integer} value, representing the number of values.
+   * @param counts A {@link Long} array, representing the counts; it needs {@link #size()} elements.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code counts} is too short.
+   * @see DoubleBucketizer
+   */
+  public void histogram(double[] vals, int off, int len, long[] counts) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    ConstraintCommon.checkBounds(counts.length, 0, tree.length);
+    final int end = off + len;
+    for(int j = off; j < end; j++) {
+      counts[bucket(vals[j])]++;
+    }
+  }
+
+  /**
+   * Count the values of an array by bucket.
+   * @param vals A {@link Double} array, representing the values to count.
+   * @return A {@link Long} array, holding the count of each bucket.
+   * @see DoubleBucketizer
+   */
+  public long[] histogram(double[] vals) {
+    long[] counts = new long[tree.length];
+    histogram(vals, 0, vals.length, counts);
+    return counts;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof DoubleBucketizer)) {
+      return false;
+    }
+    return Arrays.equals(tree, ((DoubleBucketizer)o).tree);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(tree);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(getBounds()));
+  }
+}
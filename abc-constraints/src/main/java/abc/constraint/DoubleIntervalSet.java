@@ -0,0 +1,274 @@
+package abc.constraint;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.DoublePredicate;
+
+
+/**
+ * Double interval set. This immutable class holds any number of closed {@link Double} intervals, such as level
+ * brackets or legal value bands, as one sorted list in two primitive arrays; overlapping or touching intervals are
+ * merged when the set is built, so no two intervals ever touch.
+ * <p/>
+ * A membership test is a binary search over the interval minimums, written so that each step is a conditional move
+ * rather than a branch; it takes O(log n) steps for n intervals, in place of a chain of
+ * {@link ConstrainDouble#isDoubleInside} calls.
+ * @author Gregory
+ * @see #mins mins
+ * @see #maxs maxs
+ * @see #DoubleIntervalSet(double[],double[]) DoubleIntervalSet(double[],double[])
+ * @see #DoubleIntervalSet(DoubleRange...) DoubleIntervalSet(DoubleRange...)
+ * @see DoubleRange
+ */
+public final class DoubleIntervalSet implements DoublePredicate {
+  /**
+   * The interval minimums, in ascending order.
+   * @see DoubleIntervalSet
+   */
+  private final double[] mins;
+  /**
+   * The interval maximums. The maximum at each index belongs to the minimum at the same index of {@link #mins mins}.
+   * @see DoubleIntervalSet
+   */
+  private final double[] maxs;
+
+  /**
+   * A public constructor. This takes the minimum and maximum of each interval, at matching indexes of two arrays, in
+   * any order; the arrays are copied.
+   * @param is A {@link Double} array, representing the minimum of each interval.
+   * @param js A {@link Double} array, representing the maximum of each interval.
+   * @throws IllegalArgumentException if the arrays differ in length, or a minimum is NaN or more than its maximum.
+   * @see DoubleIntervalSet
+   */
+  public DoubleIntervalSet(double[] is, double[] js) {
+    if(is.length != js.length) {
+      throw new IllegalArgumentException(String.format("%d minimums, but %d maximums", is.length, js.length));
+    }
+    for(int k = 0; k < is.length; k++) {
+      if(!(is[k] <= js[k])) {
+        throw new IllegalArgumentException(String.format("min=%s is not less than or equal to max=%s", is[k], js[k]));
+      }
+    }
+    Integer[] order = new Integer[is.length];
+    for(int k = 0; k < order.length; k++) {
+      order[k] = k;
+    }
+    Arrays.sort(order, (Integer a, Integer b) -> Double.compare(is[a], is[b]));
+    double[] lows = new double[is.length];
+    double[] highs = new double[is.length];
+    int n = 0;
+    for(int k : order) {
+      if(n > 0 && is[k] <= highs[n - 1]) {
+        highs[n - 1] = Math.max(highs[n - 1], js[k]);
+      } else {
+        lows[n] = is[k];
+        highs[n] = js[k];
+        n++;
+      }
+    }
+    mins = Arrays.copyOf(lows, n);
+    maxs = Arrays.copyOf(highs, n);
+  }
+
+  /**
+   * A public constructor. This takes each interval as an {@link DoubleRange}, in any order.
+   * @param rs A {@link DoubleRange} array, representing the intervals.
+   * @see DoubleIntervalSet
+   */
+  public DoubleIntervalSet(DoubleRange... rs) {
+    this(Arrays.stream(rs).mapToDouble(DoubleRange::getMin).toArray(),
+        Arrays.stream(rs).mapToDouble(DoubleRange::getMax).toArray());
+  }
+
+  /**
+   * Get the number of intervals, after merging.
+   * @return An {@link Integer} value.
+   * @see DoubleIntervalSet
+   */
+  public int size() {
+    return mins.length;
+  }
+
+  /**
+   * Get an interval.
+   * @param i An {@link Integer} value, representing the index of the interval, in ascending order.
+   * @return A {@link DoubleRange} object.
+   * @throws ArrayIndexOutOfBoundsException if there is no such interval.
+   * @see DoubleIntervalSet
+   */
+  public DoubleRange getInterval(int i) {
+    return new DoubleRange(mins[i], maxs[i]);
+  }
+
+  /**
+   * Find the interval holding a value.
+   * @param val A {@link Double} value, representing the value to look up.
+   * @return An {@link Integer} value, the index of the interval, or {@code -1} if none holds the value, or it is NaN.
+   * @see DoubleIntervalSet
+   */
+  public int indexOf(double val) {
+    int n = mins.length;
+    if(n == 0) {
+      return -1;
+    }
+    int base = 0;
+    while(n > 1) {
+      final int half = n >>> 1;
+      base = (mins[base + half] <= val) ? base + half : base;
+      n -= half;
+    }
+    return (mins[base] <= val && val <= maxs[base]) ? base : -1;
+  }
+
+  /**
+   * If a value is inside any interval of this set.
+   * @param val A {@link Double} value, representing the value to be tested against.
+   * @return A {@link Boolean} value.
+   * @see DoubleIntervalSet
+   */
+  @Override
+  public boolean test(double val) {
+    return indexOf(val) >= 0;
+  }
+
+  /**
+   * Get the union of this set and another one. The result holds every value that is inside either set.
+   * @param s A {@link DoubleIntervalSet} object, representing the other set.
+   * @return A {@link DoubleIntervalSet} object.
+   * @see DoubleIntervalSet
+   */
+  public DoubleIntervalSet union(DoubleIntervalSet s) {
+    double[] is = Arrays.copyOf(mins, mins.length + s.mins.length);
+    double[] js = Arrays.copyOf(maxs, maxs.length + s.maxs.length);
+    System.arraycopy(s.mins, 0, is, mins.length, s.mins.length);
+    System.arraycopy(s.maxs, 0, js, maxs.length, s.maxs.length);
+    return new DoubleIntervalSet(is, js);
+  }
+
+  /**
+   * Get the intersection of this set and another one. The result holds every value that is inside both sets; it is
+   * found in one pass over the two sorted interval lists.
+   * @param s A {@link DoubleIntervalSet} object, representing the other set.
+   * @return A {@link DoubleIntervalSet} object.
+   * @see DoubleIntervalSet
+   */
+  public DoubleIntervalSet intersection(DoubleIntervalSet s) {
+    double[] is = new double[mins.length + s.mins.length];
+    double[] js = new double[is.length];
+    int n = 0;
+    for(int i = 0, j = 0; i < mins.length && j < s.mins.length;) {
+      final double lo = Math.max(mins[i], s.mins[j]);
+      final double hi = Math.min(maxs[i], s.maxs[j]);
+      if(lo <= hi) {
+        is[n] = lo;
+        js[n] = hi;
+        n++;
+      }
+      if(maxs[i] < s.maxs[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return new DoubleIntervalSet(Arrays.copyOf(is, n), Arrays.copyOf(js, n));
+  }
+
+  /**
+   * Scan a slice of an array for values outside of this set. Bit {@code k} of {@code mask} is set when
+   * {@code vals[off + k]} is not inside any interval; every mask word that covers the slice is overwritten, and the
+   * number of set bits is returned.
+   * @param vals A {@link Double} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of this set.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see DoubleIntervalSet
+   * @see ConstrainDouble#scanDoubleArrayOutside(double[],int,int,double,double,long[])
+   */
+  public int scanOutside(double[] vals, int off, int len, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    return scanWords(vals, off, len, mask, 0, MaskScan.words(len));
+  }
+
+  /**
+   * Scan an array for values outside of this set.
+   * @param vals A {@link Double} array, representing the values to be tested against.
+   * @return A {@link BitSet} object, with a bit set for the index of each value outside of this set.
+   * @see DoubleIntervalSet
+   */
+  public BitSet scanOutside(double[] vals) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanOutside(vals, 0, vals.length, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Scan a slice of an array for values outside of this set, in parallel. This fills {@code mask} and returns the same
+   * count as {@link #scanOutside(double[],int,int,long[]) scanOutside(double[],int,int,long[])}, but a slice of more
+   * than 16384 values is split over the common {@link java.util.concurrent.ForkJoinPool}.
+   * @param vals A {@link Double} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of this set.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see DoubleIntervalSet
+   */
+  public int scanOutsideParallel(double[] vals, int off, int len, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    return MaskScan.invoke(len, (int from, int to) -> scanWords(vals, off, len, mask, from, to));
+  }
+
+  /**
+   * Fill a run of mask words. Word {@code w} holds the bits of the values from {@code off + 64 * w}.
+   * @param vals A {@link Double} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element of the whole scan.
+   * @param len An {@link Integer} value, representing the number of elements of the whole scan.
+   * @param mask A {@link Long} array, representing the bit mask to fill.
+   * @param from An {@link Integer} value, representing the first mask word to fill.
+   * @param to An {@link Integer} value, representing the mask word after the last one to fill.
+   * @return An {@link Integer} value, representing the number of bits set.
+   * @see DoubleIntervalSet
+   */
+  private int scanWords(double[] vals, int off, int len, long[] mask, int from, int to) {
+    int count = 0;
+    for(int w = from; w < to; w++) {
+      final int base = off + (w << 6);
+      final int n = Math.min(64, len - (w << 6));
+      long word = 0L;
+      for(int b = 0; b < n; b++) {
+        word |= ((indexOf(vals[base + b]) >>> 31) & 1L) << b;
+      }
+      mask[w] = word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof DoubleIntervalSet)) {
+      return false;
+    }
+    DoubleIntervalSet s = (DoubleIntervalSet)o;
+    return Arrays.equals(mins, s.mins) && Arrays.equals(maxs, s.maxs);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(mins) + Arrays.hashCode(maxs);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append(':');
+    for(int k = 0; k < mins.length; k++) {
+      sb.append(String.format("[%s, %s]", mins[k], maxs[k]));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,201 @@
+package abc.constraint;
+import java.nio.DoubleBuffer;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+
+
+/**
+ * Double value range. This immutable class holds the minimum and maximum of a range, checked only once in the
+ * constructor, so that a hot loop can hold a single range object instead of re-passing both bounds on every call.
+ * <p/>
+ * A range is itself a {@link DoubleUnaryOperator} that constrains a value as
+ * {@link ConstrainDouble#constrainDoubleRange} does, and a {@link DoublePredicate} that tests a value as
+ * {@link ConstrainDouble#isDoubleInside} does; neither boxes the value. Note that the constructor takes the bounds in
+ * their natural order, minimum first.
+ * @author Gregory
+ * @see #min min
+ * @see #max max
+ * @see #DoubleRange(double,double) DoubleRange(double,double)
+ * @see ConstrainDouble
+ */
+public final class DoubleRange implements DoubleUnaryOperator, DoublePredicate {
+  /**
+   * The maximum value. A constrained value is never more than this.
+   * @see DoubleRange
+   */
+  private final double max;
+  /**
+   * The minimum value. A constrained value is never less than this.
+   * @see DoubleRange
+   */
+  private final double min;
+
+  /**
+   * A public constructor. This takes the minimum and maximum values of the range, in that order.
+   * @param d A {@link Double} value, representing the {@link #min min}.
+   * @param e A {@link Double} value, representing the {@link #max max}.
+   * @throws IllegalArgumentException if {@code d} is more than {@code e}, or either one is NaN.
+   * @see DoubleRange
+   */
+  public DoubleRange(double d, double e) {
+    if(!(d <= e)) {
+      throw new IllegalArgumentException(String.format("min=%s is not less than or equal to max=%s", d, e));
+    }
+    min = d;
+    max = e;
+  }
+
+  /**
+   * Get the maximum value.
+   * @return A {@link Double} value.
+   * @see DoubleRange
+   */
+  public double getMax() {
+    return max;
+  }
+
+  /**
+   * Get the minimum value.
+   * @return A {@link Double} value.
+   * @see DoubleRange
+   */
+  public double getMin() {
+    return min;
+  }
+
+  /**
+   * Constrain a value to this range. This gives the same result as {@link ConstrainDouble#constrainDoubleRange},
+   * except that a zero result may differ in sign.
+   * @param val A {@link Double} value, representing the value to be constrained.
+   * @return A {@link Double} value.
+   * @see DoubleRange
+   */
+  @Override
+  public double applyAsDouble(double val) {
+    return Math.min(Math.max(val, min), max);
+  }
+
+  /**
+   * If a value is within this range. This gives the same result as {@link ConstrainDouble#isDoubleInside}.
+   * @param val A {@link Double} value, representing the value to be tested against.
+   * @return A {@link Boolean} value.
+   * @see DoubleRange
+   */
+  @Override
+  public boolean test(double val) {
+    return (val >= min) && (val <= max);
+  }
+
+  /**
+   * Get a mapping step. The returned operator applies {@code op} to a value, then constrains the result to this range.
+   * @param op A {@link DoubleUnaryOperator} object, representing the step to run before constraining.
+   * @return A {@link DoubleUnaryOperator} object.
+   * @see DoubleRange
+   */
+  public DoubleUnaryOperator mapped(DoubleUnaryOperator op) {
+    return (double val) -> applyAsDouble(op.applyAsDouble(val));
+  }
+
+  /**
+   * Get a scaling step. The returned operator multiplies a value by {@code factor}, then constrains the product to this
+   * range.
+   * @param factor A {@link Double} value, representing the factor to multiply by.
+   * @return A {@link DoubleUnaryOperator} object.
+   * @see DoubleRange
+   */
+  public DoubleUnaryOperator scaled(double factor) {
+    return (double val) -> applyAsDouble(val * factor);
+  }
+
+  /**
+   * Get a rounding step. The returned operator rounds a value by
+   * {@link ConstraintCommon#constrainToDecimalPlaces(double,int)}, then constrains the result to this range; rounding
+   * comes first so that it can never carry a value back outside of the range.
+   * @param i An {@link Integer} value, representing the number of decimal places.
+   * @return A {@link DoubleUnaryOperator} object.
+   * @see DoubleRange
+   */
+  public DoubleUnaryOperator rounded(int i) {
+    return (double val) -> applyAsDouble(ConstraintCommon.constrainToDecimalPlaces(val, i));
+  }
+
+  /**
+   * Constrain an array to this range, in place.
+   * @param vals A {@link Double} array, representing the values to be constrained.
+   * @see DoubleRange
+   * @see ConstrainDouble#constrainDoubleArrayRange(double[],int,int,double,double)
+   */
+  public void constrain(double[] vals) {
+    ConstrainDouble.constrainDoubleArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of an array to this range, in place.
+   * @param vals A {@link Double} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see DoubleRange
+   * @see ConstrainDouble#constrainDoubleArrayRange(double[],int,int,double,double)
+   */
+  public void constrain(double[] vals, int off, int len) {
+    ConstrainDouble.constrainDoubleArrayRange(vals, off, len, max, min);
+  }
+
+  /**
+   * Constrain a slice of an array to this range, into another array.
+   * @param src A {@link Double} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Double} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see DoubleRange
+   * @see ConstrainDouble#constrainDoubleArrayRange(double[],int,double[],int,int,double,double)
+   */
+  public void constrain(double[] src, int srcOff, double[] dst, int dstOff, int len) {
+    ConstrainDouble.constrainDoubleArrayRange(src, srcOff, dst, dstOff, len, max, min);
+  }
+
+  /**
+   * Constrain a buffer to this range, in place, from its position up to its limit.
+   * @param buf A {@link DoubleBuffer} object, representing the values to be constrained.
+   * @see DoubleRange
+   * @see ConstrainDouble#constrainDoubleBufferRange(DoubleBuffer,double,double)
+   */
+  public void constrain(DoubleBuffer buf) {
+    ConstrainDouble.constrainDoubleBufferRange(buf, max, min);
+  }
+
+  /**
+   * Constrain a stream to this range. This is a lazy, intermediate operation on the stream.
+   * @param ds A {@link DoubleStream} object, representing the values to be constrained.
+   * @return A {@link DoubleStream} object.
+   * @see DoubleRange
+   */
+  public DoubleStream constrain(DoubleStream ds) {
+    return ds.map(this);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof DoubleRange)) {
+      return false;
+    }
+    DoubleRange r = (DoubleRange)o;
+    return Double.compare(min, r.min) == 0 && Double.compare(max, r.max) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Double.hashCode(min) + Double.hashCode(max);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:[%s, %s]", getClass().getSimpleName(), min, max);
+  }
+}
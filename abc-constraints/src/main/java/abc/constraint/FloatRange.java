@@ -0,0 +1,186 @@
+package abc.constraint;
+import java.nio.FloatBuffer;
+
+
+/**
+ * Float value range. This immutable class holds the minimum and maximum of a range, checked only once in the
+ * constructor, so that a hot loop can hold a single range object instead of re-passing both bounds on every call.
+ * <p/>
+ * A range is itself a {@link FloatUnaryOperator} that constrains a value as {@link ConstrainFloat#constrainFloatRange}
+ * does, and its {@link #test(float) test(float)} method tests a value as {@link ConstrainFloat#isFloatInside} does;
+ * neither boxes the value. Note that the constructor takes the bounds in their natural order, minimum first.
+ * @author Gregory
+ * @see #min min
+ * @see #max max
+ * @see #FloatRange(float,float) FloatRange(float,float)
+ * @see ConstrainFloat
+ */
+public final class FloatRange implements FloatUnaryOperator {
+  /**
+   * The maximum value. A constrained value is never more than this.
+   * @see FloatRange
+   */
+  private final float max;
+  /**
+   * The minimum value. A constrained value is never less than this.
+   * @see FloatRange
+   */
+  private final float min;
+
+  /**
+   * A public constructor. This takes the minimum and maximum values of the range, in that order.
+   * @param d A {@link Float} value, representing the {@link #min min}.
+   * @param e A {@link Float} value, representing the {@link #max max}.
+   * @throws IllegalArgumentException if {@code d} is more than {@code e}, or either one is NaN.
+   * @see FloatRange
+   */
+  public FloatRange(float d, float e) {
+    if(!(d <= e)) {
+      throw new IllegalArgumentException(String.format("min=%s is not less than or equal to max=%s", d, e));
+    }
+    min = d;
+    max = e;
+  }
+
+  /**
+   * Get the maximum value.
+   * @return A {@link Float} value.
+   * @see FloatRange
+   */
+  public float getMax() {
+    return max;
+  }
+
+  /**
+   * Get the minimum value.
+   * @return A {@link Float} value.
+   * @see FloatRange
+   */
+  public float getMin() {
+    return min;
+  }
+
+  /**
+   * Constrain a value to this range. This gives the same result as {@link ConstrainFloat#constrainFloatRange},
+   * except that a zero result may differ in sign.
+   * @param val A {@link Float} value, representing the value to be constrained.
+   * @return A {@link Float} value.
+   * @see FloatRange
+   */
+  @Override
+  public float applyAsFloat(float val) {
+    return Math.min(Math.max(val, min), max);
+  }
+
+  /**
+   * If a value is within this range. This gives the same result as {@link ConstrainFloat#isFloatInside}.
+   * @param val A {@link Float} value, representing the value to be tested against.
+   * @return A {@link Boolean} value.
+   * @see FloatRange
+   */
+  public boolean test(float val) {
+    return (val >= min) && (val <= max);
+  }
+
+  /**
+   * Get a mapping step. The returned operator applies {@code op} to a value, then constrains the result to this range.
+   * @param op A {@link FloatUnaryOperator} object, representing the step to run before constraining.
+   * @return A {@link FloatUnaryOperator} object.
+   * @see FloatRange
+   */
+  public FloatUnaryOperator mapped(FloatUnaryOperator op) {
+    return (float val) -> applyAsFloat(op.applyAsFloat(val));
+  }
+
+  /**
+   * Get a scaling step. The returned operator multiplies a value by {@code factor}, then constrains the product to this
+   * range.
+   * @param factor A {@link Float} value, representing the factor to multiply by.
+   * @return A {@link FloatUnaryOperator} object.
+   * @see FloatRange
+   */
+  public FloatUnaryOperator scaled(float factor) {
+    return (float val) -> applyAsFloat(val * factor);
+  }
+
+  /**
+   * Get a rounding step. The returned operator rounds a value by
+   * {@link ConstraintCommon#constrainToDecimalPlaces(double,int)}, then constrains the result to this range; rounding
+   * comes first so that it can never carry a value back outside of the range.
+   * @param i An {@link Integer} value, representing the number of decimal places.
+   * @return A {@link FloatUnaryOperator} object.
+   * @see FloatRange
+   */
+  public FloatUnaryOperator rounded(int i) {
+    return (float val) -> applyAsFloat((float)ConstraintCommon.constrainToDecimalPlaces(val, i));
+  }
+
+  /**
+   * Constrain an array to this range, in place.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @see FloatRange
+   * @see ConstrainFloat#constrainFloatArrayRange(float[],int,int,float,float)
+   */
+  public void constrain(float[] vals) {
+    ConstrainFloat.constrainFloatArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of an array to this range, in place.
+   * @param vals A {@link Float} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see FloatRange
+   * @see ConstrainFloat#constrainFloatArrayRange(float[],int,int,float,float)
+   */
+  public void constrain(float[] vals, int off, int len) {
+    ConstrainFloat.constrainFloatArrayRange(vals, off, len, max, min);
+  }
+
+  /**
+   * Constrain a slice of an array to this range, into another array.
+   * @param src A {@link Float} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see FloatRange
+   * @see ConstrainFloat#constrainFloatArrayRange(float[],int,float[],int,int,float,float)
+   */
+  public void constrain(float[] src, int srcOff, float[] dst, int dstOff, int len) {
+    ConstrainFloat.constrainFloatArrayRange(src, srcOff, dst, dstOff, len, max, min);
+  }
+
+  /**
+   * Constrain a buffer to this range, in place, from its position up to its limit.
+   * @param buf A {@link FloatBuffer} object, representing the values to be constrained.
+   * @see FloatRange
+   * @see ConstrainFloat#constrainFloatBufferRange(FloatBuffer,float,float)
+   */
+  public void constrain(FloatBuffer buf) {
+    ConstrainFloat.constrainFloatBufferRange(buf, max, min);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof FloatRange)) {
+      return false;
+    }
+    FloatRange r = (FloatRange)o;
+    return Float.compare(min, r.min) == 0 && Float.compare(max, r.max) == 0;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Float.hashCode(min) + Float.hashCode(max);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:[%s, %s]", getClass().getSimpleName(), min, max);
+  }
+}
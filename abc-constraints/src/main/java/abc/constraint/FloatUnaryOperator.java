@@ -0,0 +1,40 @@
+package abc.constraint;
+
+
+/**
+ * A float operator. This is the {@link Float} counterpart of {@link java.util.function.DoubleUnaryOperator}, which the
+ * Java runtime does not provide; it takes and returns a primitive value, so that a {@link FloatRange} never boxes.
+ * @author Gregory
+ * @see #applyAsFloat(float) applyAsFloat(float)
+ * @see FloatRange
+ */
+@FunctionalInterface
+public interface FloatUnaryOperator {
+  /**
+   * Apply this operator to a value.
+   * @param val A {@link Float} value, representing the operand.
+   * @return A {@link Float} value.
+   * @see FloatUnaryOperator
+   */
+  float applyAsFloat(float val);
+
+  /**
+   * Get a composed operator. The returned operator applies {@code before} to a value, then applies this operator.
+   * @param before A {@link FloatUnaryOperator} object, representing the operator to apply first.
+   * @return A {@link FloatUnaryOperator} object.
+   * @see FloatUnaryOperator
+   */
+  default FloatUnaryOperator compose(FloatUnaryOperator before) {
+    return (float val) -> applyAsFloat(before.applyAsFloat(val));
+  }
+
+  /**
+   * Get a composed operator. The returned operator applies this operator to a value, then applies {@code after}.
+   * @param after A {@link FloatUnaryOperator} object, representing the operator to apply last.
+   * @return A {@link FloatUnaryOperator} object.
+   * @see FloatUnaryOperator
+   */
+  default FloatUnaryOperator andThen(FloatUnaryOperator after) {
+    return (float val) -> after.applyAsFloat(applyAsFloat(val));
+  }
+}
@@ -0,0 +1,210 @@
+package abc.constraint;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+
+/**
+ * Integer bucketizer. This immutable class maps a value to the index of the bucket it falls in, given a strictly
+ * ascending array of boundaries, such as loot tiers, damage bands or histogram bins: bucket {@code 0} holds every value
+ * below the first boundary, and bucket {@code i} holds every value from boundary {@code i - 1} up to, but not
+ * including, boundary {@code i}; so there is one bucket more than there are boundaries.
+ * <p/>
+ * The boundaries are kept in breadth-first (Eytzinger) order, so the first levels of every search share the same few
+ * cache lines, and each step of the search is a conditional move rather than a branch; a lookup takes O(log n) steps
+ * for n boundaries, in place of a chain of {@link ConstrainInteger#isIntegerInside} calls.
+ * @author Gregory
+ * @see #tree tree
+ * @see #ranks ranks
+ * @see #IntBucketizer(int...) IntBucketizer(int...)
+ */
+public final class IntBucketizer implements IntUnaryOperator {
+  /**
+   * The boundaries, in breadth-first order. Index {@code 0} is unused; the children of index {@code k} are at
+   * {@code 2k} and {@code 2k + 1}.
+   * @see IntBucketizer
+   */
+  private final int[] tree;
+  /**
+   * The bucket of each tree index. This is the ascending index of the boundary at the same index of {@link #tree tree},
+   * and index {@code 0} holds the last bucket, for values at or above every boundary.
+   * @see IntBucketizer
+   */
+  private final int[] ranks;
+
+  /**
+   * A public constructor. This takes the boundaries in ascending order; the array is copied.
+   * @param is An {@link Integer} array, representing the boundaries.
+   * @throws IllegalArgumentException if the boundaries are not strictly ascending.
+   * @see IntBucketizer
+   */
+  public IntBucketizer(int... is) {
+    for(int k = 1; k < is.length; k++) {
+      if(is[k - 1] >= is[k]) {
+        throw new IllegalArgumentException(String.format("bounds[%d]=%d is not less than bounds[%d]=%d", k - 1,
+            is[k - 1], k, is[k]));
+      }
+    }
+    tree = new int[is.length + 1];
+    ranks = new int[is.length + 1];
+    ranks[0] = is.length;
+    build(is, 0, 1);
+  }
+
+  /**
+   * Fill the subtree under a tree index, in order.
+   * @param is An {@link Integer} array, representing the boundaries in ascending order.
+   * @param i An {@link Integer} value, representing the index of the next boundary to place.
+   * @param k An {@link Integer} value, representing the tree index of the subtree.
+   * @return An {@link Integer} value, the index of the next boundary to place after this subtree.
+   * @see IntBucketizer
+   */
+  private int build(int[] is, int i, int k) {
+    if(k < tree.length) {
+      i = build(is, i, k << 1);
+      tree[k] = is[i];
+      ranks[k] = i++;
+      i = build(is, i, (k << 1) + 1);
+    }
+    return i;
+  }
+
+  /**
+   * Get the number of buckets. This is one more than the number of boundaries.
+   * @return An {@link Integer} value.
+   * @see IntBucketizer
+   */
+  public int size() {
+    return tree.length;
+  }
+
+  /**
+   * Get the boundaries.
+   * @return An {@link Integer} array, holding a copy of the boundaries in ascending order.
+   * @see IntBucketizer
+   */
+  public int[] getBounds() {
+    int[] is = new int[tree.length - 1];
+    for(int k = 1; k < tree.length; k++) {
+      is[ranks[k]] = tree[k];
+    }
+    return is;
+  }
+
+  /**
+   * Get the bucket of a value.
+   * @param val An {@link Integer} value, representing the value to look up.
+   * @return An {@link Integer} value, from {@code 0} up to {@link #size()}{@code - 1}.
+   * @see IntBucketizer
+   */
+  public int bucket(int val) {
+    int k = 1;
+    while(k < tree.length) {
+      k = (k << 1) + ((tree[k] <= val) ? 1 : 0);
+    }
+    return ranks[k >>> (Integer.numberOfTrailingZeros(~k) + 1)];
+  }
+
+  /**
+   * Get the bucket of a value. This is the same as {@link #bucket(int)}, so that a bucketizer can be used wherever an
+   * {@link IntUnaryOperator} is taken.
+   * @param val An {@link Integer} value, representing the value to look up.
+   * @return An {@link Integer} value.
+   * @see IntBucketizer
+   */
+  @Override
+  public int applyAsInt(int val) {
+    return bucket(val);
+  }
+
+  /**
+   * Get the buckets of a slice of an array, into another array.
+   * @param src An {@link Integer} array, representing the values to look up.
+   * @param srcOff An {@link Integer} value, representing the index of the first value.
+   * @param dst An {@link Integer} array, representing the buckets.
+   * @param dstOff An {@link Integer} value, representing the index of the first bucket.
+   * @param len An {@link Integer} value, representing the number of values.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see IntBucketizer
+   */
+  public void bucket(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int j = 0; j < len; j++) {
+      dst[dstOff + j] = bucket(src[srcOff + j]);
+    }
+  }
+
+  /**
+   * Get the buckets of an array.
+   * @param vals An {@link Integer} array, representing the values to look up.
+   * @return An {@link Integer} array, holding the bucket of each value.
+   * @see IntBucketizer
+   */
+  public int[] bucket(int[] vals) {
+    int[] is = new int[vals.length];
+    bucket(vals, 0, is, 0, vals.length);
+    return is;
+  }
+
+  /**
+   * Get the buckets of a stream. The returned stream is lazy, and keeps the order and parallelism of {@code is}.
+   * @param is An {@link IntStream} object, representing the values to look up.
+   * @return An {@link IntStream} object.
+   * @see IntBucketizer
+   */
+  public IntStream bucket(IntStream is) {
+    return is.map(this);
+  }
+
+  /**
+   * Count the values of a slice of an array by bucket. The count of each value's bucket in {@code counts} is increased
+   * by one, so one histogram can be built up over several calls.
+   * @param vals An {@link Integer} array, representing the values to count.
+   * @param off An {@link Integer} value, representing the index of the first value.
+   * @param len An {@link Integer} value, representing the number of values.
+   * @param counts A {@link Long} array, representing the counts; it needs {@link #size()} elements.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code counts} is too short.
+   * @see IntBucketizer
+   */
+  public void histogram(int[] vals, int off, int len, long[] counts) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    ConstraintCommon.checkBounds(counts.length, 0, tree.length);
+    final int end = off + len;
+    for(int j = off; j < end; j++) {
+      counts[bucket(vals[j])]++;
+    }
+  }
+
+  /**
+   * Count the values of an array by bucket.
+   * @param vals An {@link Integer} array, representing the values to count.
+   * @return A {@link Long} array, holding the count of each bucket.
+   * @see IntBucketizer
+   */
+  public long[] histogram(int[] vals) {
+    long[] counts = new long[tree.length];
+    histogram(vals, 0, vals.length, counts);
+    return counts;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof IntBucketizer)) {
+      return false;
+    }
+    return Arrays.equals(tree, ((IntBucketizer)o).tree);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(tree);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:%s", getClass().getSimpleName(), Arrays.toString(getBounds()));
+  }
+}
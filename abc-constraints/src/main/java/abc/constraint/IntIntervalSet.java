@@ -0,0 +1,274 @@
+package abc.constraint;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+
+/**
+ * Integer interval set. This immutable class holds any number of closed {@link Integer} intervals, such as level
+ * brackets or legal value bands, as one sorted list in two primitive arrays; overlapping or adjacent intervals are
+ * merged when the set is built, so no two intervals ever touch.
+ * <p/>
+ * A membership test is a binary search over the interval minimums, written so that each step is a conditional move
+ * rather than a branch; it takes O(log n) steps for n intervals, in place of a chain of
+ * {@link ConstrainInteger#isIntegerInside} calls.
+ * @author Gregory
+ * @see #mins mins
+ * @see #maxs maxs
+ * @see #IntIntervalSet(int[],int[]) IntIntervalSet(int[],int[])
+ * @see #IntIntervalSet(IntRange...) IntIntervalSet(IntRange...)
+ * @see IntRange
+ */
+public final class IntIntervalSet implements IntPredicate {
+  /**
+   * The interval minimums, in ascending order.
+   * @see IntIntervalSet
+   */
+  private final int[] mins;
+  /**
+   * The interval maximums. The maximum at each index belongs to the minimum at the same index of {@link #mins mins}.
+   * @see IntIntervalSet
+   */
+  private final int[] maxs;
+
+  /**
+   * A public constructor. This takes the minimum and maximum of each interval, at matching indexes of two arrays, in
+   * any order; the arrays are copied.
+   * @param is An {@link Integer} array, representing the minimum of each interval.
+   * @param js An {@link Integer} array, representing the maximum of each interval.
+   * @throws IllegalArgumentException if the arrays differ in length, or a minimum is more than its maximum.
+   * @see IntIntervalSet
+   */
+  public IntIntervalSet(int[] is, int[] js) {
+    if(is.length != js.length) {
+      throw new IllegalArgumentException(String.format("%d minimums, but %d maximums", is.length, js.length));
+    }
+    for(int k = 0; k < is.length; k++) {
+      if(is[k] > js[k]) {
+        throw new IllegalArgumentException(String.format("min=%d is more than max=%d", is[k], js[k]));
+      }
+    }
+    Integer[] order = new Integer[is.length];
+    for(int k = 0; k < order.length; k++) {
+      order[k] = k;
+    }
+    Arrays.sort(order, (Integer a, Integer b) -> Integer.compare(is[a], is[b]));
+    int[] lows = new int[is.length];
+    int[] highs = new int[is.length];
+    int n = 0;
+    for(int k : order) {
+      if(n > 0 && is[k] <= (long)highs[n - 1] + 1) {
+        highs[n - 1] = Math.max(highs[n - 1], js[k]);
+      } else {
+        lows[n] = is[k];
+        highs[n] = js[k];
+        n++;
+      }
+    }
+    mins = Arrays.copyOf(lows, n);
+    maxs = Arrays.copyOf(highs, n);
+  }
+
+  /**
+   * A public constructor. This takes each interval as an {@link IntRange}, in any order.
+   * @param rs An {@link IntRange} array, representing the intervals.
+   * @see IntIntervalSet
+   */
+  public IntIntervalSet(IntRange... rs) {
+    this(Arrays.stream(rs).mapToInt(IntRange::getMin).toArray(),
+        Arrays.stream(rs).mapToInt(IntRange::getMax).toArray());
+  }
+
+  /**
+   * Get the number of intervals, after merging.
+   * @return An {@link Integer} value.
+   * @see IntIntervalSet
+   */
+  public int size() {
+    return mins.length;
+  }
+
+  /**
+   * Get an interval.
+   * @param i An {@link Integer} value, representing the index of the interval, in ascending order.
+   * @return An {@link IntRange} object.
+   * @throws ArrayIndexOutOfBoundsException if there is no such interval.
+   * @see IntIntervalSet
+   */
+  public IntRange getInterval(int i) {
+    return new IntRange(mins[i], maxs[i]);
+  }
+
+  /**
+   * Find the interval holding a value.
+   * @param val An {@link Integer} value, representing the value to look up.
+   * @return An {@link Integer} value, the index of the interval, or {@code -1} if no interval holds the value.
+   * @see IntIntervalSet
+   */
+  public int indexOf(int val) {
+    int n = mins.length;
+    if(n == 0) {
+      return -1;
+    }
+    int base = 0;
+    while(n > 1) {
+      final int half = n >>> 1;
+      base = (mins[base + half] <= val) ? base + half : base;
+      n -= half;
+    }
+    return (mins[base] <= val && val <= maxs[base]) ? base : -1;
+  }
+
+  /**
+   * If a value is inside any interval of this set.
+   * @param val An {@link Integer} value, representing the value to be tested against.
+   * @return A {@link Boolean} value.
+   * @see IntIntervalSet
+   */
+  @Override
+  public boolean test(int val) {
+    return indexOf(val) >= 0;
+  }
+
+  /**
+   * Get the union of this set and another one. The result holds every value that is inside either set.
+   * @param s An {@link IntIntervalSet} object, representing the other set.
+   * @return An {@link IntIntervalSet} object.
+   * @see IntIntervalSet
+   */
+  public IntIntervalSet union(IntIntervalSet s) {
+    int[] is = Arrays.copyOf(mins, mins.length + s.mins.length);
+    int[] js = Arrays.copyOf(maxs, maxs.length + s.maxs.length);
+    System.arraycopy(s.mins, 0, is, mins.length, s.mins.length);
+    System.arraycopy(s.maxs, 0, js, maxs.length, s.maxs.length);
+    return new IntIntervalSet(is, js);
+  }
+
+  /**
+   * Get the intersection of this set and another one. The result holds every value that is inside both sets; it is
+   * found in one pass over the two sorted interval lists.
+   * @param s An {@link IntIntervalSet} object, representing the other set.
+   * @return An {@link IntIntervalSet} object.
+   * @see IntIntervalSet
+   */
+  public IntIntervalSet intersection(IntIntervalSet s) {
+    int[] is = new int[mins.length + s.mins.length];
+    int[] js = new int[is.length];
+    int n = 0;
+    for(int i = 0, j = 0; i < mins.length && j < s.mins.length;) {
+      final int lo = Math.max(mins[i], s.mins[j]);
+      final int hi = Math.min(maxs[i], s.maxs[j]);
+      if(lo <= hi) {
+        is[n] = lo;
+        js[n] = hi;
+        n++;
+      }
+      if(maxs[i] < s.maxs[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return new IntIntervalSet(Arrays.copyOf(is, n), Arrays.copyOf(js, n));
+  }
+
+  /**
+   * Scan a slice of an array for values outside of this set. Bit {@code k} of {@code mask} is set when
+   * {@code vals[off + k]} is not inside any interval; every mask word that covers the slice is overwritten, and the
+   * number of set bits is returned.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of this set.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see IntIntervalSet
+   * @see ConstrainInteger#scanIntegerArrayOutside(int[],int,int,int,int,long[])
+   */
+  public int scanOutside(int[] vals, int off, int len, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    return scanWords(vals, off, len, mask, 0, MaskScan.words(len));
+  }
+
+  /**
+   * Scan an array for values outside of this set.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @return A {@link BitSet} object, with a bit set for the index of each value outside of this set.
+   * @see IntIntervalSet
+   */
+  public BitSet scanOutside(int[] vals) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanOutside(vals, 0, vals.length, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Scan a slice of an array for values outside of this set, in parallel. This fills {@code mask} and returns the same
+   * count as {@link #scanOutside(int[],int,int,long[]) scanOutside(int[],int,int,long[])}, but a slice of more than
+   * 16384 values is split over the common {@link java.util.concurrent.ForkJoinPool}.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of this set.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see IntIntervalSet
+   */
+  public int scanOutsideParallel(int[] vals, int off, int len, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    return MaskScan.invoke(len, (int from, int to) -> scanWords(vals, off, len, mask, from, to));
+  }
+
+  /**
+   * Fill a run of mask words. Word {@code w} holds the bits of the values from {@code off + 64 * w}.
+   * @param vals An {@link Integer} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element of the whole scan.
+   * @param len An {@link Integer} value, representing the number of elements of the whole scan.
+   * @param mask A {@link Long} array, representing the bit mask to fill.
+   * @param from An {@link Integer} value, representing the first mask word to fill.
+   * @param to An {@link Integer} value, representing the mask word after the last one to fill.
+   * @return An {@link Integer} value, representing the number of bits set.
+   * @see IntIntervalSet
+   */
+  private int scanWords(int[] vals, int off, int len, long[] mask, int from, int to) {
+    int count = 0;
+    for(int w = from; w < to; w++) {
+      final int base = off + (w << 6);
+      final int n = Math.min(64, len - (w << 6));
+      long word = 0L;
+      for(int b = 0; b < n; b++) {
+        word |= ((indexOf(vals[base + b]) >>> 31) & 1L) << b;
+      }
+      mask[w] = word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof IntIntervalSet)) {
+      return false;
+    }
+    IntIntervalSet s = (IntIntervalSet)o;
+    return Arrays.equals(mins, s.mins) && Arrays.equals(maxs, s.maxs);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(mins) + Arrays.hashCode(maxs);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append(':');
+    for(int k = 0; k < mins.length; k++) {
+      sb.append(String.format("[%d, %d]", mins[k], maxs[k]));
+    }
+    return sb.toString();
+  }
+}
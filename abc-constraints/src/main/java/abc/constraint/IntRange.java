@@ -0,0 +1,188 @@
+package abc.constraint;
+import java.nio.IntBuffer;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+
+/**
+ * Integer value range. This immutable class holds the minimum and maximum of a range, checked only once in the
+ * constructor, so that a hot loop can hold a single range object instead of re-passing both bounds on every call.
+ * <p/>
+ * A range is itself an {@link IntUnaryOperator} that constrains a value as
+ * {@link ConstrainInteger#constrainIntegerRange} does, and an {@link IntPredicate} that tests a value as
+ * {@link ConstrainInteger#isIntegerInside} does; neither boxes the value. Note that the constructor takes the bounds in
+ * their natural order, minimum first.
+ * @author Gregory
+ * @see #min min
+ * @see #max max
+ * @see #IntRange(int,int) IntRange(int,int)
+ * @see ConstrainInteger
+ */
+public final class IntRange implements IntUnaryOperator, IntPredicate {
+  /**
+   * The maximum value. A constrained value is never more than this.
+   * @see IntRange
+   */
+  private final int max;
+  /**
+   * The minimum value. A constrained value is never less than this.
+   * @see IntRange
+   */
+  private final int min;
+
+  /**
+   * A public constructor. This takes the minimum and maximum values of the range, in that order.
+   * @param i An {@link Integer} value, representing the {@link #min min}.
+   * @param j An {@link Integer} value, representing the {@link #max max}.
+   * @throws IllegalArgumentException if {@code i} is more than {@code j}.
+   * @see IntRange
+   */
+  public IntRange(int i, int j) {
+    if(i > j) {
+      throw new IllegalArgumentException(String.format("min=%d is more than max=%d", i, j));
+    }
+    min = i;
+    max = j;
+  }
+
+  /**
+   * Get the maximum value.
+   * @return An {@link Integer} value.
+   * @see IntRange
+   */
+  public int getMax() {
+    return max;
+  }
+
+  /**
+   * Get the minimum value.
+   * @return An {@link Integer} value.
+   * @see IntRange
+   */
+  public int getMin() {
+    return min;
+  }
+
+  /**
+   * Constrain a value to this range. This gives the same result as {@link ConstrainInteger#constrainIntegerRange}.
+   * @param val An {@link Integer} value, representing the value to be constrained.
+   * @return An {@link Integer} value.
+   * @see IntRange
+   */
+  @Override
+  public int applyAsInt(int val) {
+    return Math.min(Math.max(val, min), max);
+  }
+
+  /**
+   * If a value is within this range. This gives the same result as {@link ConstrainInteger#isIntegerInside}.
+   * @param val An {@link Integer} value, representing the value to be tested against.
+   * @return A {@link Boolean} value.
+   * @see IntRange
+   */
+  @Override
+  public boolean test(int val) {
+    return (val >= min) && (val <= max);
+  }
+
+  /**
+   * Get a mapping step. The returned operator applies {@code op} to a value, then constrains the result to this range.
+   * @param op An {@link IntUnaryOperator} object, representing the step to run before constraining.
+   * @return An {@link IntUnaryOperator} object.
+   * @see IntRange
+   */
+  public IntUnaryOperator mapped(IntUnaryOperator op) {
+    return (int val) -> applyAsInt(op.applyAsInt(val));
+  }
+
+  /**
+   * Get a scaling step. The returned operator multiplies a value by {@code factor}, then constrains the product to this
+   * range; the product is computed as a {@link Long}, so it saturates at the bounds instead of overflowing.
+   * @param factor An {@link Integer} value, representing the factor to multiply by.
+   * @return An {@link IntUnaryOperator} object.
+   * @see IntRange
+   */
+  public IntUnaryOperator scaled(int factor) {
+    return (int val) -> (int)Math.min(Math.max((long)val * factor, min), max);
+  }
+
+  /**
+   * Constrain an array to this range, in place.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @see IntRange
+   * @see ConstrainInteger#constrainIntegerArrayRange(int[],int,int,int,int)
+   */
+  public void constrain(int[] vals) {
+    ConstrainInteger.constrainIntegerArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of an array to this range, in place.
+   * @param vals An {@link Integer} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see IntRange
+   * @see ConstrainInteger#constrainIntegerArrayRange(int[],int,int,int,int)
+   */
+  public void constrain(int[] vals, int off, int len) {
+    ConstrainInteger.constrainIntegerArrayRange(vals, off, len, max, min);
+  }
+
+  /**
+   * Constrain a slice of an array to this range, into another array.
+   * @param src An {@link Integer} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst An {@link Integer} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see IntRange
+   * @see ConstrainInteger#constrainIntegerArrayRange(int[],int,int[],int,int,int,int)
+   */
+  public void constrain(int[] src, int srcOff, int[] dst, int dstOff, int len) {
+    ConstrainInteger.constrainIntegerArrayRange(src, srcOff, dst, dstOff, len, max, min);
+  }
+
+  /**
+   * Constrain a buffer to this range, in place, from its position up to its limit.
+   * @param buf An {@link IntBuffer} object, representing the values to be constrained.
+   * @see IntRange
+   * @see ConstrainInteger#constrainIntegerBufferRange(IntBuffer,int,int)
+   */
+  public void constrain(IntBuffer buf) {
+    ConstrainInteger.constrainIntegerBufferRange(buf, max, min);
+  }
+
+  /**
+   * Constrain a stream to this range. This is a lazy, intermediate operation on the stream.
+   * @param is An {@link IntStream} object, representing the values to be constrained.
+   * @return An {@link IntStream} object.
+   * @see IntRange
+   */
+  public IntStream constrain(IntStream is) {
+    return is.map(this);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof IntRange)) {
+      return false;
+    }
+    IntRange r = (IntRange)o;
+    return min == r.min && max == r.max;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Integer.hashCode(min) + Integer.hashCode(max);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:[%d, %d]", getClass().getSimpleName(), min, max);
+  }
+}
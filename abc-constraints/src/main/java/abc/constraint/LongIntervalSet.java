@@ -0,0 +1,274 @@
+package abc.constraint;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.LongPredicate;
+
+
+/**
+ * Long interval set. This immutable class holds any number of closed {@link Long} intervals, such as level
+ * brackets or legal value bands, as one sorted list in two primitive arrays; overlapping or adjacent intervals are
+ * merged when the set is built, so no two intervals ever touch.
+ * <p/>
+ * A membership test is a binary search over the interval minimums, written so that each step is a conditional move
+ * rather than a branch; it takes O(log n) steps for n intervals, in place of a chain of
+ * {@link ConstrainLong#isLongInside} calls.
+ * @author Gregory
+ * @see #mins mins
+ * @see #maxs maxs
+ * @see #LongIntervalSet(long[],long[]) LongIntervalSet(long[],long[])
+ * @see #LongIntervalSet(LongRange...) LongIntervalSet(LongRange...)
+ * @see LongRange
+ */
+public final class LongIntervalSet implements LongPredicate {
+  /**
+   * The interval minimums, in ascending order.
+   * @see LongIntervalSet
+   */
+  private final long[] mins;
+  /**
+   * The interval maximums. The maximum at each index belongs to the minimum at the same index of {@link #mins mins}.
+   * @see LongIntervalSet
+   */
+  private final long[] maxs;
+
+  /**
+   * A public constructor. This takes the minimum and maximum of each interval, at matching indexes of two arrays, in
+   * any order; the arrays are copied.
+   * @param is A {@link Long} array, representing the minimum of each interval.
+   * @param js A {@link Long} array, representing the maximum of each interval.
+   * @throws IllegalArgumentException if the arrays differ in length, or a minimum is more than its maximum.
+   * @see LongIntervalSet
+   */
+  public LongIntervalSet(long[] is, long[] js) {
+    if(is.length != js.length) {
+      throw new IllegalArgumentException(String.format("%d minimums, but %d maximums", is.length, js.length));
+    }
+    for(int k = 0; k < is.length; k++) {
+      if(is[k] > js[k]) {
+        throw new IllegalArgumentException(String.format("min=%d is more than max=%d", is[k], js[k]));
+      }
+    }
+    Integer[] order = new Integer[is.length];
+    for(int k = 0; k < order.length; k++) {
+      order[k] = k;
+    }
+    Arrays.sort(order, (Integer a, Integer b) -> Long.compare(is[a], is[b]));
+    long[] lows = new long[is.length];
+    long[] highs = new long[is.length];
+    int n = 0;
+    for(int k : order) {
+      if(n > 0 && (highs[n - 1] == Long.MAX_VALUE || is[k] <= highs[n - 1] + 1)) {
+        highs[n - 1] = Math.max(highs[n - 1], js[k]);
+      } else {
+        lows[n] = is[k];
+        highs[n] = js[k];
+        n++;
+      }
+    }
+    mins = Arrays.copyOf(lows, n);
+    maxs = Arrays.copyOf(highs, n);
+  }
+
+  /**
+   * A public constructor. This takes each interval as an {@link LongRange}, in any order.
+   * @param rs A {@link LongRange} array, representing the intervals.
+   * @see LongIntervalSet
+   */
+  public LongIntervalSet(LongRange... rs) {
+    this(Arrays.stream(rs).mapToLong(LongRange::getMin).toArray(),
+        Arrays.stream(rs).mapToLong(LongRange::getMax).toArray());
+  }
+
+  /**
+   * Get the number of intervals, after merging.
+   * @return An {@link Integer} value.
+   * @see LongIntervalSet
+   */
+  public int size() {
+    return mins.length;
+  }
+
+  /**
+   * Get an interval.
+   * @param i An {@link Integer} value, representing the index of the interval, in ascending order.
+   * @return A {@link LongRange} object.
+   * @throws ArrayIndexOutOfBoundsException if there is no such interval.
+   * @see LongIntervalSet
+   */
+  public LongRange getInterval(int i) {
+    return new LongRange(mins[i], maxs[i]);
+  }
+
+  /**
+   * Find the interval holding a value.
+   * @param val A {@link Long} value, representing the value to look up.
+   * @return An {@link Integer} value, the index of the interval, or {@code -1} if no interval holds the value.
+   * @see LongIntervalSet
+   */
+  public int indexOf(long val) {
+    int n = mins.length;
+    if(n == 0) {
+      return -1;
+    }
+    int base = 0;
+    while(n > 1) {
+      final int half = n >>> 1;
+      base = (mins[base + half] <= val) ? base + half : base;
+      n -= half;
+    }
+    return (mins[base] <= val && val <= maxs[base]) ? base : -1;
+  }
+
+  /**
+   * If a value is inside any interval of this set.
+   * @param val A {@link Long} value, representing the value to be tested against.
+   * @return A {@link Boolean} value.
+   * @see LongIntervalSet
+   */
+  @Override
+  public boolean test(long val) {
+    return indexOf(val) >= 0;
+  }
+
+  /**
+   * Get the union of this set and another one. The result holds every value that is inside either set.
+   * @param s A {@link LongIntervalSet} object, representing the other set.
+   * @return A {@link LongIntervalSet} object.
+   * @see LongIntervalSet
+   */
+  public LongIntervalSet union(LongIntervalSet s) {
+    long[] is = Arrays.copyOf(mins, mins.length + s.mins.length);
+    long[] js = Arrays.copyOf(maxs, maxs.length + s.maxs.length);
+    System.arraycopy(s.mins, 0, is, mins.length, s.mins.length);
+    System.arraycopy(s.maxs, 0, js, maxs.length, s.maxs.length);
+    return new LongIntervalSet(is, js);
+  }
+
+  /**
+   * Get the intersection of this set and another one. The result holds every value that is inside both sets; it is
+   * found in one pass over the two sorted interval lists.
+   * @param s A {@link LongIntervalSet} object, representing the other set.
+   * @return A {@link LongIntervalSet} object.
+   * @see LongIntervalSet
+   */
+  public LongIntervalSet intersection(LongIntervalSet s) {
+    long[] is = new long[mins.length + s.mins.length];
+    long[] js = new long[is.length];
+    int n = 0;
+    for(int i = 0, j = 0; i < mins.length && j < s.mins.length;) {
+      final long lo = Math.max(mins[i], s.mins[j]);
+      final long hi = Math.min(maxs[i], s.maxs[j]);
+      if(lo <= hi) {
+        is[n] = lo;
+        js[n] = hi;
+        n++;
+      }
+      if(maxs[i] < s.maxs[j]) {
+        i++;
+      } else {
+        j++;
+      }
+    }
+    return new LongIntervalSet(Arrays.copyOf(is, n), Arrays.copyOf(js, n));
+  }
+
+  /**
+   * Scan a slice of an array for values outside of this set. Bit {@code k} of {@code mask} is set when
+   * {@code vals[off + k]} is not inside any interval; every mask word that covers the slice is overwritten, and the
+   * number of set bits is returned.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of this set.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see LongIntervalSet
+   * @see ConstrainLong#scanLongArrayOutside(long[],int,int,long,long,long[])
+   */
+  public int scanOutside(long[] vals, int off, int len, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    return scanWords(vals, off, len, mask, 0, MaskScan.words(len));
+  }
+
+  /**
+   * Scan an array for values outside of this set.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @return A {@link BitSet} object, with a bit set for the index of each value outside of this set.
+   * @see LongIntervalSet
+   */
+  public BitSet scanOutside(long[] vals) {
+    long[] mask = new long[MaskScan.words(vals.length)];
+    scanOutside(vals, 0, vals.length, mask);
+    return BitSet.valueOf(mask);
+  }
+
+  /**
+   * Scan a slice of an array for values outside of this set, in parallel. This fills {@code mask} and returns the same
+   * count as {@link #scanOutside(long[],int,int,long[]) scanOutside(long[],int,int,long[])}, but a slice of more than
+   * 16384 values is split over the common {@link java.util.concurrent.ForkJoinPool}.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param mask A {@link Long} array, representing the bit mask to fill; it needs {@code (len + 63) / 64} words.
+   * @return An {@link Integer} value, representing the number of values outside of this set.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}, or {@code mask} is too short.
+   * @see LongIntervalSet
+   */
+  public int scanOutsideParallel(long[] vals, int off, int len, long[] mask) {
+    ConstraintCommon.checkBounds(vals.length, off, len);
+    MaskScan.checkMask(mask, len);
+    return MaskScan.invoke(len, (int from, int to) -> scanWords(vals, off, len, mask, from, to));
+  }
+
+  /**
+   * Fill a run of mask words. Word {@code w} holds the bits of the values from {@code off + 64 * w}.
+   * @param vals A {@link Long} array, representing the values to be tested against.
+   * @param off An {@link Integer} value, representing the index of the first element of the whole scan.
+   * @param len An {@link Integer} value, representing the number of elements of the whole scan.
+   * @param mask A {@link Long} array, representing the bit mask to fill.
+   * @param from An {@link Integer} value, representing the first mask word to fill.
+   * @param to An {@link Integer} value, representing the mask word after the last one to fill.
+   * @return An {@link Integer} value, representing the number of bits set.
+   * @see LongIntervalSet
+   */
+  private int scanWords(long[] vals, int off, int len, long[] mask, int from, int to) {
+    int count = 0;
+    for(int w = from; w < to; w++) {
+      final int base = off + (w << 6);
+      final int n = Math.min(64, len - (w << 6));
+      long word = 0L;
+      for(int b = 0; b < n; b++) {
+        word |= ((indexOf(vals[base + b]) >>> 31) & 1L) << b;
+      }
+      mask[w] = word;
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof LongIntervalSet)) {
+      return false;
+    }
+    LongIntervalSet s = (LongIntervalSet)o;
+    return Arrays.equals(mins, s.mins) && Arrays.equals(maxs, s.maxs);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(mins) + Arrays.hashCode(maxs);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append(':');
+    for(int k = 0; k < mins.length; k++) {
+      sb.append(String.format("[%d, %d]", mins[k], maxs[k]));
+    }
+    return sb.toString();
+  }
+}
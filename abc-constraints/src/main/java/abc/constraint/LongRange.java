@@ -0,0 +1,188 @@
+package abc.constraint;
+import java.nio.LongBuffer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+
+
+/**
+ * Long value range. This immutable class holds the minimum and maximum of a range, checked only once in the
+ * constructor, so that a hot loop can hold a single range object instead of re-passing both bounds on every call.
+ * <p/>
+ * A range is itself a {@link LongUnaryOperator} that constrains a value as {@link ConstrainLong#constrainLongRange}
+ * does, and a {@link LongPredicate} that tests a value as {@link ConstrainLong#isLongInside} does; neither boxes the
+ * value. Note that the constructor takes the bounds in their natural order, minimum first.
+ * @author Gregory
+ * @see #min min
+ * @see #max max
+ * @see #LongRange(long,long) LongRange(long,long)
+ * @see ConstrainLong
+ */
+public final class LongRange implements LongUnaryOperator, LongPredicate {
+  /**
+   * The maximum value. A constrained value is never more than this.
+   * @see LongRange
+   */
+  private final long max;
+  /**
+   * The minimum value. A constrained value is never less than this.
+   * @see LongRange
+   */
+  private final long min;
+
+  /**
+   * A public constructor. This takes the minimum and maximum values of the range, in that order.
+   * @param i A {@link Long} value, representing the {@link #min min}.
+   * @param j A {@link Long} value, representing the {@link #max max}.
+   * @throws IllegalArgumentException if {@code i} is more than {@code j}.
+   * @see LongRange
+   */
+  public LongRange(long i, long j) {
+    if(i > j) {
+      throw new IllegalArgumentException(String.format("min=%d is more than max=%d", i, j));
+    }
+    min = i;
+    max = j;
+  }
+
+  /**
+   * Get the maximum value.
+   * @return A {@link Long} value.
+   * @see LongRange
+   */
+  public long getMax() {
+    return max;
+  }
+
+  /**
+   * Get the minimum value.
+   * @return A {@link Long} value.
+   * @see LongRange
+   */
+  public long getMin() {
+    return min;
+  }
+
+  /**
+   * Constrain a value to this range. This gives the same result as {@link ConstrainLong#constrainLongRange}.
+   * @param val A {@link Long} value, representing the value to be constrained.
+   * @return A {@link Long} value.
+   * @see LongRange
+   */
+  @Override
+  public long applyAsLong(long val) {
+    return Math.min(Math.max(val, min), max);
+  }
+
+  /**
+   * If a value is within this range. This gives the same result as {@link ConstrainLong#isLongInside}.
+   * @param val A {@link Long} value, representing the value to be tested against.
+   * @return A {@link Boolean} value.
+   * @see LongRange
+   */
+  @Override
+  public boolean test(long val) {
+    return (val >= min) && (val <= max);
+  }
+
+  /**
+   * Get a mapping step. The returned operator applies {@code op} to a value, then constrains the result to this range.
+   * @param op A {@link LongUnaryOperator} object, representing the step to run before constraining.
+   * @return A {@link LongUnaryOperator} object.
+   * @see LongRange
+   */
+  public LongUnaryOperator mapped(LongUnaryOperator op) {
+    return (long val) -> applyAsLong(op.applyAsLong(val));
+  }
+
+  /**
+   * Get a scaling step. The returned operator multiplies a value by {@code factor}, then constrains the product to this
+   * range; a product that overflows a {@link Long} saturates, as by {@link ConstrainLong#saturateLongMultiply}, instead
+   * of wrapping around.
+   * @param factor A {@link Long} value, representing the factor to multiply by.
+   * @return A {@link LongUnaryOperator} object.
+   * @see LongRange
+   */
+  public LongUnaryOperator scaled(long factor) {
+    return (long val) -> applyAsLong(ConstrainLong.saturateLongMultiply(val, factor));
+  }
+
+  /**
+   * Constrain an array to this range, in place.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @see LongRange
+   * @see ConstrainLong#constrainLongArrayRange(long[],int,int,long,long)
+   */
+  public void constrain(long[] vals) {
+    ConstrainLong.constrainLongArrayRange(vals, 0, vals.length, max, min);
+  }
+
+  /**
+   * Constrain a slice of an array to this range, in place.
+   * @param vals A {@link Long} array, representing the values to be constrained.
+   * @param off An {@link Integer} value, representing the index of the first element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code vals}.
+   * @see LongRange
+   * @see ConstrainLong#constrainLongArrayRange(long[],int,int,long,long)
+   */
+  public void constrain(long[] vals, int off, int len) {
+    ConstrainLong.constrainLongArrayRange(vals, off, len, max, min);
+  }
+
+  /**
+   * Constrain a slice of an array to this range, into another array.
+   * @param src A {@link Long} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Long} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see LongRange
+   * @see ConstrainLong#constrainLongArrayRange(long[],int,long[],int,int,long,long)
+   */
+  public void constrain(long[] src, int srcOff, long[] dst, int dstOff, int len) {
+    ConstrainLong.constrainLongArrayRange(src, srcOff, dst, dstOff, len, max, min);
+  }
+
+  /**
+   * Constrain a buffer to this range, in place, from its position up to its limit.
+   * @param buf A {@link LongBuffer} object, representing the values to be constrained.
+   * @see LongRange
+   * @see ConstrainLong#constrainLongBufferRange(LongBuffer,long,long)
+   */
+  public void constrain(LongBuffer buf) {
+    ConstrainLong.constrainLongBufferRange(buf, max, min);
+  }
+
+  /**
+   * Constrain a stream to this range. This is a lazy, intermediate operation on the stream.
+   * @param ls A {@link LongStream} object, representing the values to be constrained.
+   * @return A {@link LongStream} object.
+   * @see LongRange
+   */
+  public LongStream constrain(LongStream ls) {
+    return ls.map(this);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if(this == o) {
+      return true;
+    } else if(!(o instanceof LongRange)) {
+      return false;
+    }
+    LongRange r = (LongRange)o;
+    return min == r.min && max == r.max;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(min) + Long.hashCode(max);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:[%d, %d]", getClass().getSimpleName(), min, max);
+  }
+}
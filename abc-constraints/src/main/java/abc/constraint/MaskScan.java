@@ -0,0 +1,122 @@
+package abc.constraint;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+
+/**
+ * A range-mask scan task. This splits a bit-mask scan of the constraint classes into runs of whole {@code long} words,
+ * so that each fork writes its own words of the mask and no two threads ever share one; the counts of out-of-range
+ * values are summed on the way back up.
+ * @author Gregory
+ * @see #threshold threshold
+ * @see Kernel
+ */
+final class MaskScan extends RecursiveTask<Integer> {
+  private static final long serialVersionUID = 1L;
+  /**
+   * The split threshold, in mask words. A run this short or shorter (16K values) is scanned on the current thread.
+   * @see MaskScan
+   */
+  static final int threshold = 256;
+
+  /**
+   * The per-type scan. It fills the mask words from {@code from} up to {@code to}, and returns how many bits it set.
+   * @see MaskScan
+   */
+  @FunctionalInterface
+  interface Kernel {
+    int scan(int from, int to);
+  }
+
+  /**
+   * The scan to run.
+   * @see MaskScan
+   */
+  private final Kernel kernel;
+  /**
+   * The first mask word of this task.
+   * @see MaskScan
+   */
+  private final int from;
+  /**
+   * The mask word after the last one of this task.
+   * @see MaskScan
+   */
+  private final int to;
+
+  /**
+   * A private constructor.
+   * @param k A {@link Kernel} object, representing the {@link #kernel kernel}.
+   * @param i An {@link Integer} value, representing the {@link #from from} word.
+   * @param j An {@link Integer} value, representing the {@link #to to} word.
+   * @see MaskScan
+   */
+  private MaskScan(Kernel k, int i, int j) {
+    kernel = k;
+    from = i;
+    to = j;
+  }
+
+  @Override
+  protected Integer compute() {
+    if(to - from <= threshold) {
+      return kernel.scan(from, to);
+    }
+    int mid = (from + to) >>> 1;
+    MaskScan left = new MaskScan(kernel, from, mid);
+    left.fork();
+    int right = new MaskScan(kernel, mid, to).compute();
+    return right + left.join();
+  }
+
+  /**
+   * Get the number of mask words. One {@code long} word holds the bits for 64 values.
+   * @param len An {@link Integer} value, representing the number of values scanned.
+   * @return An {@link Integer} value.
+   * @see MaskScan
+   */
+  static int words(int len) {
+    return (len + 63) >>> 6;
+  }
+
+  /**
+   * Check a mask array. It must be long enough to hold a bit for each of {@code len} values.
+   * @param mask A {@link Long} array, representing the mask.
+   * @param len An {@link Integer} value, representing the number of values scanned.
+   * @throws ArrayIndexOutOfBoundsException if the mask is too short.
+   * @see MaskScan
+   */
+  static void checkMask(long[] mask, int len) {
+    ConstraintCommon.checkBounds(mask.length, 0, words(len));
+  }
+
+  /**
+   * Set every bit of a mask. This is used when the range itself is empty, so that every value is outside of it.
+   * @param mask A {@link Long} array, representing the mask.
+   * @param len An {@link Integer} value, representing the number of values scanned.
+   * @return An {@link Integer} value, always {@code len}.
+   * @see MaskScan
+   */
+  static int fill(long[] mask, int len) {
+    final int n = words(len);
+    for(int w = 0; w < n; w++) {
+      mask[w] = -1L;
+    }
+    if((len & 63) != 0) {
+      mask[n - 1] = -1L >>> (64 - (len & 63));
+    }
+    return len;
+  }
+
+  /**
+   * Run a scan. Short scans run on the current thread; longer ones are split over the common {@link ForkJoinPool}.
+   * @param len An {@link Integer} value, representing the number of values scanned.
+   * @param k A {@link Kernel} object, representing the per-type scan.
+   * @return An {@link Integer} value, the number of bits set.
+   * @see MaskScan
+   */
+  static int invoke(int len, Kernel k) {
+    final int n = words(len);
+    return (n <= threshold) ? k.scan(0, n) : ForkJoinPool.commonPool().invoke(new MaskScan(k, 0, n));
+  }
+}
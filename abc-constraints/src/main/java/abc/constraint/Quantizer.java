@@ -0,0 +1,496 @@
+package abc.constraint;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Fixed-point quantizer. This immutable class maps {@link Double} and {@link Float} values inside a declared range onto
+ * small unsigned integer codes and back, so that large arrays of positions or telemetry can be stored and sent at a
+ * fraction of their size.
+ * <p/>
+ * The codes are the steps of a grid from the range minimum, each step being ten to the power of {@code -places}, the
+ * same decimal precision as {@link ConstraintCommon#constrainToDecimalPlaces(double,int)}. A value is first constrained
+ * to the range, then rounded to the nearest step, so a decoded value inside the range is never more than half a step
+ * away from the original. The number of steps picks the code width: one byte for up to 256 codes, two bytes for up to
+ * 65536, or four bytes for up to two to the 32nd power.
+ * @author Gregory
+ * @see #min min
+ * @see #max max
+ * @see #scale scale
+ * @see #bytes bytes
+ * @see #Quantizer(double,double,int) Quantizer(double,double,int)
+ */
+public final class Quantizer {
+  /**
+   * The range maximum.
+   * @see Quantizer
+   */
+  private final double max;
+  /**
+   * The range minimum. This is the value of code zero.
+   * @see Quantizer
+   */
+  private final double min;
+  /**
+   * The number of steps per unit. This is ten to the power of the decimal places.
+   * @see Quantizer
+   */
+  private final double scale;
+  /**
+   * The highest code. Every value at or above {@link #max max} encodes as this code.
+   * @see Quantizer
+   */
+  private final double top;
+  /**
+   * The code width. This is one, two or four bytes.
+   * @see Quantizer
+   */
+  private final int bytes;
+
+  /**
+   * A public constructor. This takes the minimum and maximum of the range, in that order, and the number of decimal
+   * places to keep; the places may be negative, such as {@code -2} to keep only hundreds.
+   * @param d A {@link Double} value, representing the {@link #min min}.
+   * @param e A {@link Double} value, representing the {@link #max max}.
+   * @param i An {@link Integer} value, representing the number of decimal places.
+   * @throws IllegalArgumentException if the range is not finite, {@code d} is more than {@code e}, {@code i} is more
+   * than 22 places either way of the decimal point, or the range holds more than two to the 32nd power steps.
+   * @see Quantizer
+   */
+  public Quantizer(double d, double e, int i) {
+    if(Double.isNaN(d) || Double.isInfinite(d) || Double.isNaN(e) || Double.isInfinite(e) || d > e) {
+      throw new IllegalArgumentException(String.format("min=%s, max=%s", d, e));
+    } else if(i > ConstraintCommon.tablePlaces || i < -ConstraintCommon.tablePlaces) {
+      throw new IllegalArgumentException(String.format("places=%d", i));
+    }
+    double s = Math.pow(10.0D, i);
+    double t = Math.ceil((e - d) * s);
+    if(!(t < 4294967296.0D)) {
+      throw new IllegalArgumentException(String.format("min=%s, max=%s, places=%d needs more than 32 bits", d, e, i));
+    }
+    min = d;
+    max = e;
+    scale = s;
+    top = t;
+    bytes = (t < 256.0D) ? 1 : (t < 65536.0D) ? 2 : 4;
+  }
+
+  /**
+   * Get the code width. This is one, two or four bytes, from the number of steps in the range.
+   * @return An {@link Integer} value.
+   * @see Quantizer
+   */
+  public int getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Get the step size. A decoded value inside the range is never more than half of this away from the original.
+   * @return A {@link Double} value.
+   * @see Quantizer
+   */
+  public double getStep() {
+    return 1.0D / scale;
+  }
+
+  /**
+   * Encode a value. The value is constrained to the range and rounded to the nearest step; NaN encodes as code zero.
+   * The code is unsigned, so a four-byte code above {@link Integer#MAX_VALUE} comes back as a negative {@code int}.
+   * @param val A {@link Double} value, representing the value to encode.
+   * @return An {@link Integer} value.
+   * @see Quantizer
+   * @see #decode(int) decode(int)
+   */
+  public int encode(double val) {
+    return (int)Math.round(Math.min(Math.max((val - min) * scale, 0.0D), top));
+  }
+
+  /**
+   * Decode a value. The code is read as unsigned, in the width of this quantizer, and the result is never more than the
+   * range {@link #max max}.
+   * @param code An {@link Integer} value, representing the code to decode.
+   * @return A {@link Double} value.
+   * @see Quantizer
+   * @see #encode(double) encode(double)
+   */
+  public double decode(int code) {
+    return Math.min(min + (code & 0xFFFFFFFFL) / scale, max);
+  }
+
+  /**
+   * Check a code array width. The codes of this quantizer must fit in the array element without losing bits.
+   * @param i An {@link Integer} value, representing the element width in bytes.
+   * @throws IllegalStateException if the codes are wider than the element.
+   * @see Quantizer
+   */
+  private void checkWidth(int i) {
+    if(bytes > i) {
+      throw new IllegalStateException(String.format("%d-byte codes do not fit in %d-byte elements", bytes, i));
+    }
+  }
+
+  /**
+   * Encode a slice of a double array into a byte array. The codes must be one byte wide.
+   * @param src A {@link Double} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Byte} array, representing the target codes.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @throws IllegalStateException if the codes are wider than one byte.
+   * @see Quantizer
+   */
+  public void encode(double[] src, int srcOff, byte[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    checkWidth(1);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (byte)encode(src[srcOff + i]);
+    }
+  }
+
+  /**
+   * Encode a slice of a double array into a short array. The codes must be at most two bytes wide.
+   * @param src A {@link Double} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Short} array, representing the target codes.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @throws IllegalStateException if the codes are wider than two bytes.
+   * @see Quantizer
+   */
+  public void encode(double[] src, int srcOff, short[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    checkWidth(2);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (short)encode(src[srcOff + i]);
+    }
+  }
+
+  /**
+   * Encode a slice of a double array into an int array. Codes of any width fit.
+   * @param src A {@link Double} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst An {@link Integer} array, representing the target codes.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see Quantizer
+   */
+  public void encode(double[] src, int srcOff, int[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = encode(src[srcOff + i]);
+    }
+  }
+
+  /**
+   * Encode a slice of a float array into a byte array. The codes must be one byte wide.
+   * @param src A {@link Float} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Byte} array, representing the target codes.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @throws IllegalStateException if the codes are wider than one byte.
+   * @see Quantizer
+   */
+  public void encode(float[] src, int srcOff, byte[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    checkWidth(1);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (byte)encode(src[srcOff + i]);
+    }
+  }
+
+  /**
+   * Encode a slice of a float array into a short array. The codes must be at most two bytes wide.
+   * @param src A {@link Float} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Short} array, representing the target codes.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @throws IllegalStateException if the codes are wider than two bytes.
+   * @see Quantizer
+   */
+  public void encode(float[] src, int srcOff, short[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    checkWidth(2);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (short)encode(src[srcOff + i]);
+    }
+  }
+
+  /**
+   * Encode a slice of a float array into an int array. Codes of any width fit.
+   * @param src A {@link Float} array, representing the source values.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst An {@link Integer} array, representing the target codes.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see Quantizer
+   */
+  public void encode(float[] src, int srcOff, int[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = encode(src[srcOff + i]);
+    }
+  }
+
+  /**
+   * Encode a slice of a double array into a byte buffer. Each code is put at the buffer's position in its own width
+   * and the buffer's byte order, so the position moves forward by {@code len} times {@link #getBytes() getBytes()}.
+   * @param src A {@link Double} array, representing the source values.
+   * @param off An {@link Integer} value, representing the index of the first source element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param bb A {@link ByteBuffer} object, representing the target codes.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code src}.
+   * @throws BufferOverflowException if the buffer has too little room left; nothing is put.
+   * @see Quantizer
+   */
+  public void encode(double[] src, int off, int len, ByteBuffer bb) {
+    ConstraintCommon.checkBounds(src.length, off, len);
+    checkRoom(bb, len);
+    for(int i = 0; i < len; i++) {
+      put(bb, encode(src[off + i]));
+    }
+  }
+
+  /**
+   * Encode a slice of a float array into a byte buffer. This works the same way as
+   * {@link #encode(double[],int,int,ByteBuffer) encode(double[],int,int,ByteBuffer)}.
+   * @param src A {@link Float} array, representing the source values.
+   * @param off An {@link Integer} value, representing the index of the first source element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @param bb A {@link ByteBuffer} object, representing the target codes.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code src}.
+   * @throws BufferOverflowException if the buffer has too little room left; nothing is put.
+   * @see Quantizer
+   */
+  public void encode(float[] src, int off, int len, ByteBuffer bb) {
+    ConstraintCommon.checkBounds(src.length, off, len);
+    checkRoom(bb, len);
+    for(int i = 0; i < len; i++) {
+      put(bb, encode(src[off + i]));
+    }
+  }
+
+  /**
+   * Decode a slice of a byte array into a double array.
+   * @param src A {@link Byte} array, representing the source codes.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Double} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see Quantizer
+   */
+  public void decode(byte[] src, int srcOff, double[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = decode(src[srcOff + i] & 0xFF);
+    }
+  }
+
+  /**
+   * Decode a slice of a short array into a double array.
+   * @param src A {@link Short} array, representing the source codes.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Double} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see Quantizer
+   */
+  public void decode(short[] src, int srcOff, double[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = decode(src[srcOff + i] & 0xFFFF);
+    }
+  }
+
+  /**
+   * Decode a slice of an int array into a double array.
+   * @param src An {@link Integer} array, representing the source codes.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Double} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see Quantizer
+   */
+  public void decode(int[] src, int srcOff, double[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = decode(src[srcOff + i]);
+    }
+  }
+
+  /**
+   * Decode a slice of a byte array into a float array.
+   * @param src A {@link Byte} array, representing the source codes.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see Quantizer
+   */
+  public void decode(byte[] src, int srcOff, float[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (float)decode(src[srcOff + i] & 0xFF);
+    }
+  }
+
+  /**
+   * Decode a slice of a short array into a float array.
+   * @param src A {@link Short} array, representing the source codes.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see Quantizer
+   */
+  public void decode(short[] src, int srcOff, float[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (float)decode(src[srcOff + i] & 0xFFFF);
+    }
+  }
+
+  /**
+   * Decode a slice of an int array into a float array.
+   * @param src An {@link Integer} array, representing the source codes.
+   * @param srcOff An {@link Integer} value, representing the index of the first source element.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param dstOff An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if either slice is not inside of its array.
+   * @see Quantizer
+   */
+  public void decode(int[] src, int srcOff, float[] dst, int dstOff, int len) {
+    ConstraintCommon.checkBounds(src.length, srcOff, len);
+    ConstraintCommon.checkBounds(dst.length, dstOff, len);
+    for(int i = 0; i < len; i++) {
+      dst[dstOff + i] = (float)decode(src[srcOff + i]);
+    }
+  }
+
+  /**
+   * Decode codes from a byte buffer into a slice of a double array. Each code is read at the buffer's position in the
+   * width and byte order it was encoded with, so the position moves forward by {@code len} times
+   * {@link #getBytes() getBytes()}.
+   * @param bb A {@link ByteBuffer} object, representing the source codes.
+   * @param dst A {@link Double} array, representing the target values.
+   * @param off An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code dst}.
+   * @throws BufferUnderflowException if the buffer has too few codes left; nothing is read.
+   * @see Quantizer
+   */
+  public void decode(ByteBuffer bb, double[] dst, int off, int len) {
+    ConstraintCommon.checkBounds(dst.length, off, len);
+    checkLeft(bb, len);
+    for(int i = 0; i < len; i++) {
+      dst[off + i] = decode(get(bb));
+    }
+  }
+
+  /**
+   * Decode codes from a byte buffer into a slice of a float array. This works the same way as
+   * {@link #decode(ByteBuffer,double[],int,int) decode(ByteBuffer,double[],int,int)}.
+   * @param bb A {@link ByteBuffer} object, representing the source codes.
+   * @param dst A {@link Float} array, representing the target values.
+   * @param off An {@link Integer} value, representing the index of the first target element.
+   * @param len An {@link Integer} value, representing the number of elements.
+   * @throws ArrayIndexOutOfBoundsException if the slice is not inside of {@code dst}.
+   * @throws BufferUnderflowException if the buffer has too few codes left; nothing is read.
+   * @see Quantizer
+   */
+  public void decode(ByteBuffer bb, float[] dst, int off, int len) {
+    ConstraintCommon.checkBounds(dst.length, off, len);
+    checkLeft(bb, len);
+    for(int i = 0; i < len; i++) {
+      dst[off + i] = (float)decode(get(bb));
+    }
+  }
+
+  /**
+   * Check the room left in a buffer for {@code len} codes.
+   * @param bb A {@link ByteBuffer} object, representing the target buffer.
+   * @param len An {@link Integer} value, representing the number of codes.
+   * @throws BufferOverflowException if there is too little room left.
+   * @see Quantizer
+   */
+  private void checkRoom(ByteBuffer bb, int len) {
+    if((long)len * bytes > bb.remaining()) {
+      throw new BufferOverflowException();
+    }
+  }
+
+  /**
+   * Check the codes left in a buffer for {@code len} codes.
+   * @param bb A {@link ByteBuffer} object, representing the source buffer.
+   * @param len An {@link Integer} value, representing the number of codes.
+   * @throws BufferUnderflowException if there are too few codes left.
+   * @see Quantizer
+   */
+  private void checkLeft(ByteBuffer bb, int len) {
+    if((long)len * bytes > bb.remaining()) {
+      throw new BufferUnderflowException();
+    }
+  }
+
+  /**
+   * Put one code into a buffer, in the width of this quantizer.
+   * @param bb A {@link ByteBuffer} object, representing the target buffer.
+   * @param code An {@link Integer} value, representing the code.
+   * @see Quantizer
+   */
+  private void put(ByteBuffer bb, int code) {
+    if(bytes == 1) {
+      bb.put((byte)code);
+    } else if(bytes == 2) {
+      bb.putShort((short)code);
+    } else {
+      bb.putInt(code);
+    }
+  }
+
+  /**
+   * Get one code from a buffer, in the width of this quantizer.
+   * @param bb A {@link ByteBuffer} object, representing the source buffer.
+   * @return An {@link Integer} value.
+   * @see Quantizer
+   */
+  private int get(ByteBuffer bb) {
+    if(bytes == 1) {
+      return bb.get() & 0xFF;
+    } else if(bytes == 2) {
+      return bb.getShort() & 0xFFFF;
+    } else {
+      return bb.getInt();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:[%s, %s] step %s, %d byte(s)", getClass().getSimpleName(), min, max, getStep(), bytes);
+  }
+}
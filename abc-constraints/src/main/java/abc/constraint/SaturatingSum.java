@@ -0,0 +1,91 @@
+package abc.constraint;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+
+/**
+ * A saturating sum. This mutable accumulator adds up {@link Integer} or {@link Long} values without ever wrapping
+ * around: it keeps a running {@link Long} sum together with a count of how many times that sum has wrapped, so the
+ * total stays exact however the values are split and combined, and is only saturated to the type limits when it is
+ * read.
+ * <p/>
+ * It is meant to be used as a stream container, for example
+ * {@code ls.collect(SaturatingSum::new, SaturatingSum::accept, SaturatingSum::combine)}; because combining is exact,
+ * the result of a parallel stream is the same as that of a sequential one. An instance is not thread-safe by itself.
+ * @author Gregory
+ * @see #sum sum
+ * @see #wraps wraps
+ * @see ConstrainInteger#saturateIntegerSum(java.util.stream.IntStream)
+ * @see ConstrainLong#saturateLongSum(java.util.stream.LongStream)
+ */
+public final class SaturatingSum implements IntConsumer, LongConsumer {
+  /**
+   * The running sum, modulo two to the 64th power.
+   * @see SaturatingSum
+   */
+  private long sum;
+  /**
+   * The number of wraps. Each overflow of {@link #sum sum} past {@link Long#MAX_VALUE} adds one, and each overflow past
+   * {@link Long#MIN_VALUE} subtracts one.
+   * @see SaturatingSum
+   */
+  private long wraps;
+
+  /**
+   * A public constructor. The sum starts at zero.
+   * @see SaturatingSum
+   */
+  public SaturatingSum() {
+  }
+
+  @Override
+  public void accept(int val) {
+    accept((long)val);
+  }
+
+  @Override
+  public void accept(long val) {
+    long r = sum + val;
+    if(((sum ^ r) & (val ^ r)) < 0) {
+      wraps += (val < 0) ? -1 : 1;
+    }
+    sum = r;
+  }
+
+  /**
+   * Combine another sum into this one. The other sum is not changed.
+   * @param ss A {@link SaturatingSum} object, representing the sum to add.
+   * @see SaturatingSum
+   */
+  public void combine(SaturatingSum ss) {
+    long r = sum + ss.sum;
+    if(((sum ^ r) & (ss.sum ^ r)) < 0) {
+      wraps += (ss.sum < 0) ? -1 : 1;
+    }
+    sum = r;
+    wraps += ss.wraps;
+  }
+
+  /**
+   * Get the sum as a {@link Long} value, saturated to the limits of that type.
+   * @return A {@link Long} value.
+   * @see SaturatingSum
+   */
+  public long getLong() {
+    return (wraps > 0) ? Long.MAX_VALUE : (wraps < 0) ? Long.MIN_VALUE : sum;
+  }
+
+  /**
+   * Get the sum as an {@link Integer} value, saturated to the limits of that type.
+   * @return An {@link Integer} value.
+   * @see SaturatingSum
+   */
+  public int getInt() {
+    return (int)Math.min(Math.max(getLong(), Integer.MIN_VALUE), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s:%d", getClass().getSimpleName(), getLong());
+  }
+}
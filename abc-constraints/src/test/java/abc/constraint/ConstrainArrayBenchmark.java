@@ -0,0 +1,118 @@
+package abc.constraint;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * A JMH comparison of the bulk array constraints against a loop over the scalar methods, for {@link Integer},
+ * {@link Float} and {@link Double} arrays. This is not a unit test; run it with {@link #main(String[])}, from the test
+ * class path.
+ * @author Gregory
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstrainArrayBenchmark {
+  @Param({"64", "4096", "262144"})
+  public int size;
+
+  private int[] is;
+  private float[] fs;
+  private double[] ds;
+  private int[] isOut;
+  private float[] fsOut;
+  private double[] dsOut;
+
+  @Setup
+  public void setup() {
+    Random r = new Random(size);
+    is = new int[size];
+    fs = new float[size];
+    ds = new double[size];
+    for(int i = 0; i < size; i++) {
+      is[i] = r.nextInt(2001) - 1000;
+      fs[i] = (r.nextFloat() - 0.5F) * 2000.0F;
+      ds[i] = (r.nextDouble() - 0.5D) * 2000.0D;
+    }
+    isOut = new int[size];
+    fsOut = new float[size];
+    dsOut = new double[size];
+  }
+
+  @Benchmark
+  public int[] integerRangeScalar() {
+    for(int i = 0; i < size; i++) {
+      isOut[i] = ConstrainInteger.constrainIntegerRange(is[i], 500, -500);
+    }
+    return isOut;
+  }
+
+  @Benchmark
+  public int[] integerRangeBulk() {
+    ConstrainInteger.constrainIntegerArrayRange(is, 0, isOut, 0, size, 500, -500);
+    return isOut;
+  }
+
+  @Benchmark
+  public float[] floatRangeScalar() {
+    for(int i = 0; i < size; i++) {
+      fsOut[i] = ConstrainFloat.constrainFloatRange(fs[i], 500.0F, -500.0F);
+    }
+    return fsOut;
+  }
+
+  @Benchmark
+  public float[] floatRangeBulk() {
+    ConstrainFloat.constrainFloatArrayRange(fs, 0, fsOut, 0, size, 500.0F, -500.0F);
+    return fsOut;
+  }
+
+  @Benchmark
+  public double[] doubleMaxScalar() {
+    for(int i = 0; i < size; i++) {
+      dsOut[i] = ConstrainDouble.constrainDoubleMax(ds[i], 500.0D);
+    }
+    return dsOut;
+  }
+
+  @Benchmark
+  public double[] doubleMaxBulk() {
+    ConstrainDouble.constrainDoubleArrayMax(ds, 0, dsOut, 0, size, 500.0D);
+    return dsOut;
+  }
+
+  @Benchmark
+  public double[] doubleRangeScalar() {
+    for(int i = 0; i < size; i++) {
+      dsOut[i] = ConstrainDouble.constrainDoubleRange(ds[i], 500.0D, -500.0D);
+    }
+    return dsOut;
+  }
+
+  @Benchmark
+  public double[] doubleRangeBulk() {
+    ConstrainDouble.constrainDoubleArrayRange(ds, 0, dsOut, 0, size, 500.0D, -500.0D);
+    return dsOut;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ConstrainArrayBenchmark.class.getSimpleName()).build()).run();
+  }
+}
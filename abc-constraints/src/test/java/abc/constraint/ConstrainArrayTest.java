@@ -0,0 +1,270 @@
+package abc.constraint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import java.util.Random;
+import org.junit.Test;
+
+
+/**
+ * The bulk array constraints, checked element by element against the scalar methods they are documented to match.
+ * Every bulk call is made on a slice in the middle of a larger array, so that the elements around it can be checked to
+ * be left alone.
+ * @author Gregory
+ */
+public class ConstrainArrayTest {
+  private static final int length = 1031;
+  private static final int off = 5;
+  private static final int len = length - 2 * off;
+
+  private static int[] ints(long seed) {
+    Random r = new Random(seed);
+    int[] is = new int[length];
+    for(int i = 0; i < length; i++) {
+      is[i] = (i % 7 == 0) ? ((i % 2 == 0) ? Integer.MIN_VALUE : Integer.MAX_VALUE) : r.nextInt(2001) - 1000;
+    }
+    return is;
+  }
+
+  private static long[] longs(long seed) {
+    Random r = new Random(seed);
+    long[] ls = new long[length];
+    for(int i = 0; i < length; i++) {
+      ls[i] = (i % 7 == 0) ? ((i % 2 == 0) ? Long.MIN_VALUE : Long.MAX_VALUE) : r.nextInt(2001) - 1000L;
+    }
+    return ls;
+  }
+
+  private static double[] doubles(long seed) {
+    final double[] specials = {Double.NaN, -0.0D, 0.0D, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+        Double.MIN_VALUE, -Double.MAX_VALUE};
+    Random r = new Random(seed);
+    double[] ds = new double[length];
+    for(int i = 0; i < length; i++) {
+      ds[i] = (i % 5 == 0) ? specials[(i / 5) % specials.length] : (r.nextDouble() - 0.5D) * 2000.0D;
+    }
+    return ds;
+  }
+
+  private static float[] floats(long seed) {
+    double[] ds = doubles(seed);
+    float[] fs = new float[length];
+    for(int i = 0; i < length; i++) {
+      fs[i] = (float)ds[i];
+    }
+    return fs;
+  }
+
+  /**
+   * Check that two results are the same but for the sign of a zero, which the bulk methods document.
+   */
+  private static void assertMatches(String s, int i, double expected, double actual) {
+    assertTrue(String.format("%s[%d]: expected %s but was %s", s, i, expected, actual),
+        (expected == actual) || (expected != expected && actual != actual));
+  }
+
+  private static void assertOutsideUnchanged(String s, double[] before, double[] after) {
+    for(int i = 0; i < off; i++) {
+      assertEquals(s, Double.doubleToRawLongBits(before[i]), Double.doubleToRawLongBits(after[i]));
+      assertEquals(s, Double.doubleToRawLongBits(before[length - 1 - i]),
+          Double.doubleToRawLongBits(after[length - 1 - i]));
+    }
+  }
+
+  @Test
+  public void testIntegerArrays() {
+    final int[][] bounds = {{100, -100}, {0, 0}, {-100, 100}, {Integer.MAX_VALUE, Integer.MIN_VALUE},
+        {Integer.MIN_VALUE, Integer.MAX_VALUE}};
+    for(int[] b : bounds) {
+      final int max = b[0];
+      final int min = b[1];
+      int[] src = ints(max ^ min);
+      int[] expected = src.clone();
+      int[] actual = src.clone();
+      for(int i = off; i < off + len; i++) {
+        expected[i] = ConstrainInteger.constrainIntegerMax(src[i], max);
+      }
+      ConstrainInteger.constrainIntegerArrayMax(actual, off, len, max);
+      assertArrayEquals("max", expected, actual);
+      int[] copy = new int[length];
+      System.arraycopy(src, 0, copy, 0, off);
+      System.arraycopy(src, off + len, copy, off + len, off);
+      ConstrainInteger.constrainIntegerArrayMax(src, off, copy, off, len, max);
+      assertArrayEquals("max copy", expected, copy);
+
+      expected = src.clone();
+      actual = src.clone();
+      for(int i = off; i < off + len; i++) {
+        expected[i] = ConstrainInteger.constrainIntegerMin(src[i], min);
+      }
+      ConstrainInteger.constrainIntegerArrayMin(actual, off, len, min);
+      assertArrayEquals("min", expected, actual);
+
+      expected = src.clone();
+      actual = src.clone();
+      for(int i = off; i < off + len; i++) {
+        expected[i] = ConstrainInteger.constrainIntegerRange(src[i], max, min);
+      }
+      ConstrainInteger.constrainIntegerArrayRange(actual, off, len, max, min);
+      assertArrayEquals("range", expected, actual);
+      copy = src.clone();
+      ConstrainInteger.constrainIntegerArrayRange(src, off, copy, off, len, max, min);
+      assertArrayEquals("range copy", expected, copy);
+
+      expected = src.clone();
+      actual = src.clone();
+      for(int i = off; i < off + len; i++) {
+        expected[i] = ConstrainInteger.constrainIntegerOuter(src[i], max, min, 7);
+      }
+      ConstrainInteger.constrainIntegerArrayOuter(actual, off, len, max, min, 7);
+      assertArrayEquals("outer", expected, actual);
+    }
+  }
+
+  @Test
+  public void testLongArrays() {
+    final long[][] bounds = {{100L, -100L}, {0L, 0L}, {-100L, 100L}, {Long.MAX_VALUE, Long.MIN_VALUE}};
+    for(long[] b : bounds) {
+      final long max = b[0];
+      final long min = b[1];
+      long[] src = longs(max ^ min);
+      long[] expected = src.clone();
+      long[] actual = src.clone();
+      for(int i = off; i < off + len; i++) {
+        expected[i] = ConstrainLong.constrainLongRange(src[i], max, min);
+      }
+      ConstrainLong.constrainLongArrayRange(actual, off, len, max, min);
+      assertArrayEquals("range", expected, actual);
+
+      expected = src.clone();
+      actual = src.clone();
+      for(int i = off; i < off + len; i++) {
+        expected[i] = ConstrainLong.constrainLongMin(ConstrainLong.constrainLongMax(src[i], max), min);
+      }
+      ConstrainLong.constrainLongArrayMax(actual, off, len, max);
+      ConstrainLong.constrainLongArrayMin(actual, off, len, min);
+      assertArrayEquals("max then min", expected, actual);
+    }
+  }
+
+  @Test
+  public void testShortAndByteArrays() {
+    short[] ss = new short[length];
+    byte[] bs = new byte[length];
+    for(int i = 0; i < length; i++) {
+      ss[i] = (short)(i * 97);
+      bs[i] = (byte)(i * 31);
+    }
+    short[] se = ss.clone();
+    byte[] be = bs.clone();
+    for(int i = off; i < off + len; i++) {
+      se[i] = ConstrainShort.constrainShortRange(ss[i], (short)1000, (short)-1000);
+      be[i] = ConstrainByte.constrainByteRange(bs[i], (byte)50, (byte)-50);
+    }
+    ConstrainShort.constrainShortArrayRange(ss, off, len, (short)1000, (short)-1000);
+    ConstrainByte.constrainByteArrayRange(bs, off, len, (byte)50, (byte)-50);
+    assertArrayEquals(se, ss);
+    assertArrayEquals(be, bs);
+  }
+
+  @Test
+  public void testDoubleArrays() {
+    final double[][] bounds = {{100.0D, -100.0D}, {-0.0D, 0.0D}, {0.0D, -0.0D}, {-100.0D, 100.0D},
+        {Double.NaN, -100.0D}, {100.0D, Double.NaN}, {Double.NaN, Double.NaN},
+        {Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}};
+    for(double[] b : bounds) {
+      final double max = b[0];
+      final double min = b[1];
+      final String s = String.format("max=%s, min=%s", max, min);
+      double[] src = doubles(Double.doubleToLongBits(max) ^ Double.doubleToLongBits(min));
+      double[] actual = src.clone();
+      ConstrainDouble.constrainDoubleArrayMax(actual, off, len, max);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("max " + s, i, ConstrainDouble.constrainDoubleMax(src[i], max), actual[i]);
+      }
+      assertOutsideUnchanged(s, src, actual);
+      double[] copy = new double[length];
+      ConstrainDouble.constrainDoubleArrayMax(src, off, copy, off, len, max);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("max copy " + s, i, ConstrainDouble.constrainDoubleMax(src[i], max), copy[i]);
+      }
+
+      actual = src.clone();
+      ConstrainDouble.constrainDoubleArrayMin(actual, off, len, min);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("min " + s, i, ConstrainDouble.constrainDoubleMin(src[i], min), actual[i]);
+      }
+      assertOutsideUnchanged(s, src, actual);
+      copy = new double[length];
+      ConstrainDouble.constrainDoubleArrayMin(src, off, copy, off, len, min);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("min copy " + s, i, ConstrainDouble.constrainDoubleMin(src[i], min), copy[i]);
+      }
+
+      actual = src.clone();
+      ConstrainDouble.constrainDoubleArrayRange(actual, off, len, max, min);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("range " + s, i, ConstrainDouble.constrainDoubleRange(src[i], max, min), actual[i]);
+      }
+      assertOutsideUnchanged(s, src, actual);
+      copy = new double[length];
+      ConstrainDouble.constrainDoubleArrayRange(src, off, copy, off, len, max, min);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("range copy " + s, i, ConstrainDouble.constrainDoubleRange(src[i], max, min), copy[i]);
+      }
+
+      actual = src.clone();
+      ConstrainDouble.constrainDoubleArrayOuter(actual, off, len, max, min, 7.0D);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("outer " + s, i, ConstrainDouble.constrainDoubleOuter(src[i], max, min, 7.0D), actual[i]);
+      }
+    }
+  }
+
+  @Test
+  public void testFloatArrays() {
+    final float[][] bounds = {{100.0F, -100.0F}, {-0.0F, 0.0F}, {0.0F, -0.0F}, {-100.0F, 100.0F},
+        {Float.NaN, -100.0F}, {100.0F, Float.NaN}, {Float.NaN, Float.NaN}};
+    for(float[] b : bounds) {
+      final float max = b[0];
+      final float min = b[1];
+      final String s = String.format("max=%s, min=%s", max, min);
+      float[] src = floats(Float.floatToIntBits(max) ^ Float.floatToIntBits(min));
+      float[] actual = src.clone();
+      ConstrainFloat.constrainFloatArrayMax(actual, off, len, max);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("max " + s, i, ConstrainFloat.constrainFloatMax(src[i], max), actual[i]);
+      }
+      float[] copy = new float[length];
+      ConstrainFloat.constrainFloatArrayMax(src, off, copy, off, len, max);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("max copy " + s, i, ConstrainFloat.constrainFloatMax(src[i], max), copy[i]);
+      }
+
+      actual = src.clone();
+      ConstrainFloat.constrainFloatArrayMin(actual, off, len, min);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("min " + s, i, ConstrainFloat.constrainFloatMin(src[i], min), actual[i]);
+      }
+      copy = new float[length];
+      ConstrainFloat.constrainFloatArrayMin(src, off, copy, off, len, min);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("min copy " + s, i, ConstrainFloat.constrainFloatMin(src[i], min), copy[i]);
+      }
+
+      actual = src.clone();
+      ConstrainFloat.constrainFloatArrayRange(actual, off, len, max, min);
+      for(int i = off; i < off + len; i++) {
+        assertMatches("range " + s, i, ConstrainFloat.constrainFloatRange(src[i], max, min), actual[i]);
+      }
+      for(int i = 0; i < off; i++) {
+        assertEquals(Float.floatToRawIntBits(src[i]), Float.floatToRawIntBits(actual[i]));
+      }
+    }
+  }
+
+  @Test(expected = ArrayIndexOutOfBoundsException.class)
+  public void testSliceOutOfBounds() {
+    ConstrainDouble.constrainDoubleArrayMax(new double[8], 4, 5, 1.0D);
+  }
+}
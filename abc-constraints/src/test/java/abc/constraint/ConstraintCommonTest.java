@@ -0,0 +1,61 @@
+package abc.constraint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import org.junit.Test;
+
+
+/**
+ * The decimal-place constraints, for the table scales, the scales beyond the table, and the extreme scales whose
+ * negation overflows.
+ * @author Gregory
+ */
+public class ConstraintCommonTest {
+  private static final double[] values = {123456.789D, -123456.789D, 0.5D, -0.5D, 1.25D, 0.0D, Double.MAX_VALUE,
+      Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY};
+
+  @Test
+  public void testTableScales() {
+    assertEquals(123456.79D, ConstraintCommon.constrainToDecimalPlaces(123456.789D, 2), 0.0D);
+    assertEquals(123500.0D, ConstraintCommon.constrainToDecimalPlaces(123456.789D, -2), 0.0D);
+    assertEquals(123456.0D, ConstraintCommon.constrainToDecimalPlaces(123456.789D, 0), 0.0D);
+    assertEquals(-123456.0D, ConstraintCommon.constrainToDecimalPlaces(-123456.789D, 0), 0.0D);
+    assertEquals(1.3D, ConstraintCommon.constrainToDecimalPlaces(1.25D, 1), 0.0D);
+  }
+
+  @Test
+  public void testExtremeScales() {
+    final int[] scales = {Integer.MIN_VALUE, Integer.MIN_VALUE + 1, -400, -23, 23, 400, Integer.MAX_VALUE};
+    for(int i : scales) {
+      for(double d : values) {
+        double e = ConstraintCommon.constrainToDecimalPlaces(d, i);
+        if(Double.isNaN(d) || Double.isInfinite(d) || i > 1074) {
+          assertEquals(String.format("%s at %d", d, i), d, e, 0.0D);
+        } else if(i < -308) {
+          assertEquals(String.format("%s at %d", d, i), 0.0D, e, 0.0D);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testArraysAndBuffersMatchScalar() {
+    final int[] scales = {Integer.MIN_VALUE, -400, -22, -3, 0, 3, 22, 400, Integer.MAX_VALUE};
+    for(int i : scales) {
+      double[] expected = new double[values.length];
+      for(int j = 0; j < values.length; j++) {
+        expected[j] = ConstraintCommon.constrainToDecimalPlaces(values[j], i);
+      }
+      double[] ds = values.clone();
+      ConstraintCommon.constrainToDecimalPlaces(ds, i);
+      assertArrayEquals(expected, ds, 0.0D);
+      DoubleBuffer db = ByteBuffer.allocateDirect(values.length * 8).asDoubleBuffer();
+      db.put(values).flip();
+      ConstraintCommon.constrainToDecimalPlaces(db, i);
+      double[] fromBuffer = new double[values.length];
+      db.get(fromBuffer);
+      assertArrayEquals(expected, fromBuffer, 0.0D);
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package abc.constraint;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+
+/**
+ * The quantizer: its precision, and the decimal places it accepts.
+ * @author Gregory
+ */
+public class QuantizerTest {
+  @Test
+  public void testRoundTrip() {
+    Quantizer q = new Quantizer(-180.0D, 180.0D, 2);
+    assertEquals(2, q.getBytes());
+    for(double d = -180.0D; d <= 180.0D; d += 0.137D) {
+      assertTrue(Math.abs(q.decode(q.encode(d)) - d) <= q.getStep() / 2.0D + 1e-9D);
+    }
+    assertEquals(180.0D, q.decode(q.encode(1000.0D)), 0.0D);
+    assertEquals(-180.0D, q.decode(q.encode(-1000.0D)), 0.0D);
+  }
+
+  @Test
+  public void testTablePlaces() {
+    assertEquals(1, new Quantizer(0.0D, 1e22D, -22).getBytes());
+    assertEquals(1, new Quantizer(0.0D, 1e-20D, 22).getBytes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyPlaces() {
+    new Quantizer(0.0D, 0.0D, 23);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooFewPlaces() {
+    new Quantizer(0.0D, 1.0D, -23);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLeastPlaces() {
+    new Quantizer(0.0D, 1.0D, Integer.MIN_VALUE);
+  }
+}
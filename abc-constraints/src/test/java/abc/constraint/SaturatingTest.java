@@ -0,0 +1,162 @@
+package abc.constraint;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.junit.Test;
+
+
+/**
+ * The saturating arithmetic and sums, checked against exact {@link BigInteger} arithmetic clamped to the type limits.
+ * @author Gregory
+ */
+public class SaturatingTest {
+  private static final long[] longEdges = {0L, 1L, -1L, 2L, -2L, 3037000499L, -3037000499L, 3037000500L,
+      Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1L, Long.MIN_VALUE + 1L};
+  private static final int[] intEdges = {0, 1, -1, 2, -2, 46340, -46341, 65536, Short.MAX_VALUE, Short.MIN_VALUE,
+      Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE - 1, Integer.MIN_VALUE + 1};
+
+  private static long clamp(BigInteger b, long max, long min) {
+    if(b.compareTo(BigInteger.valueOf(max)) > 0) {
+      return max;
+    } else if(b.compareTo(BigInteger.valueOf(min)) < 0) {
+      return min;
+    }
+    return b.longValue();
+  }
+
+  @Test
+  public void testLongOperations() {
+    for(long a : longEdges) {
+      for(long b : longEdges) {
+        BigInteger x = BigInteger.valueOf(a);
+        BigInteger y = BigInteger.valueOf(b);
+        String s = a + ", " + b;
+        assertEquals(s, clamp(x.add(y), Long.MAX_VALUE, Long.MIN_VALUE), ConstrainLong.saturateLongAdd(a, b));
+        assertEquals(s, clamp(x.subtract(y), Long.MAX_VALUE, Long.MIN_VALUE),
+            ConstrainLong.saturateLongSubtract(a, b));
+        assertEquals(s, clamp(x.multiply(y), Long.MAX_VALUE, Long.MIN_VALUE),
+            ConstrainLong.saturateLongMultiply(a, b));
+        assertEquals(s, clamp(x.add(y), 1000L, -1000L), ConstrainLong.saturateLongAdd(a, b, 1000L, -1000L));
+        assertEquals(s, clamp(x.multiply(y), 1000L, -1000L),
+            ConstrainLong.saturateLongMultiply(a, b, 1000L, -1000L));
+      }
+    }
+  }
+
+  @Test
+  public void testIntegerOperations() {
+    for(int a : intEdges) {
+      for(int b : intEdges) {
+        BigInteger x = BigInteger.valueOf(a);
+        BigInteger y = BigInteger.valueOf(b);
+        String s = a + ", " + b;
+        assertEquals(s, clamp(x.add(y), Integer.MAX_VALUE, Integer.MIN_VALUE),
+            ConstrainInteger.saturateIntegerAdd(a, b));
+        assertEquals(s, clamp(x.subtract(y), Integer.MAX_VALUE, Integer.MIN_VALUE),
+            ConstrainInteger.saturateIntegerSubtract(a, b));
+        assertEquals(s, clamp(x.multiply(y), Integer.MAX_VALUE, Integer.MIN_VALUE),
+            ConstrainInteger.saturateIntegerMultiply(a, b));
+        assertEquals(s, clamp(x.subtract(y), 1000L, -1000L),
+            ConstrainInteger.saturateIntegerSubtract(a, b, 1000, -1000));
+      }
+    }
+  }
+
+  @Test
+  public void testShortAndByteOperations() {
+    for(int a = Short.MIN_VALUE; a <= Short.MAX_VALUE; a += 257) {
+      for(int b : new int[] {Short.MIN_VALUE, -300, -1, 0, 1, 300, Short.MAX_VALUE}) {
+        assertEquals(clamp(BigInteger.valueOf(a + b), Short.MAX_VALUE, Short.MIN_VALUE),
+            ConstrainShort.saturateShortAdd((short)a, (short)b));
+        assertEquals(clamp(BigInteger.valueOf((long)a * b), Short.MAX_VALUE, Short.MIN_VALUE),
+            ConstrainShort.saturateShortMultiply((short)a, (short)b));
+      }
+    }
+    for(int a = Byte.MIN_VALUE; a <= Byte.MAX_VALUE; a++) {
+      for(int b = Byte.MIN_VALUE; b <= Byte.MAX_VALUE; b++) {
+        assertEquals(clamp(BigInteger.valueOf(a - b), Byte.MAX_VALUE, Byte.MIN_VALUE),
+            ConstrainByte.saturateByteSubtract((byte)a, (byte)b));
+        assertEquals(clamp(BigInteger.valueOf(a * b), Byte.MAX_VALUE, Byte.MIN_VALUE),
+            ConstrainByte.saturateByteMultiply((byte)a, (byte)b));
+      }
+    }
+  }
+
+  @Test
+  public void testArraysMatchScalar() {
+    for(int mul : intEdges) {
+      int[] is = intEdges.clone();
+      int[] expected = new int[is.length];
+      for(int i = 0; i < is.length; i++) {
+        expected[i] = ConstrainInteger.saturateIntegerMultiply(is[i], mul);
+      }
+      ConstrainInteger.saturateIntegerArrayMultiply(is, mul);
+      assertArrayEquals(expected, is);
+
+      is = intEdges.clone();
+      for(int i = 0; i < is.length; i++) {
+        expected[i] = ConstrainInteger.saturateIntegerAdd(is[i], mul, 50, -50);
+      }
+      ConstrainInteger.saturateIntegerArrayAdd(is, 0, is.length, mul, 50, -50);
+      assertArrayEquals(expected, is);
+
+      long[] ls = longEdges.clone();
+      long[] expectedLongs = new long[ls.length];
+      for(int i = 0; i < ls.length; i++) {
+        expectedLongs[i] = ConstrainLong.saturateLongAdd(ls[i], mul);
+      }
+      ConstrainLong.saturateLongArrayAdd(ls, mul);
+      assertArrayEquals(expectedLongs, ls);
+    }
+  }
+
+  @Test
+  public void testSums() {
+    int[] is = new int[10000];
+    long[] ls = new long[10000];
+    Random r = new Random(6L);
+    BigInteger longTotal = BigInteger.ZERO;
+    long intTotal = 0L;
+    for(int i = 0; i < is.length; i++) {
+      is[i] = (i < 5000) ? Integer.MAX_VALUE - r.nextInt(10) : Integer.MIN_VALUE + r.nextInt(10);
+      ls[i] = (i % 3 == 0) ? Long.MIN_VALUE + r.nextInt(10) : Long.MAX_VALUE - r.nextInt(10);
+      intTotal += is[i];
+      longTotal = longTotal.add(BigInteger.valueOf(ls[i]));
+    }
+    // an int sum that passes the int limits on the way, but ends up inside them
+    assertEquals(clamp(BigInteger.valueOf(intTotal), Integer.MAX_VALUE, Integer.MIN_VALUE),
+        ConstrainInteger.saturateIntegerSum(is));
+    assertEquals(ConstrainInteger.saturateIntegerSum(is), ConstrainInteger.saturateIntegerSum(IntStream.of(is)));
+    assertEquals(ConstrainInteger.saturateIntegerSum(is),
+        ConstrainInteger.saturateIntegerSum(IntStream.of(is).parallel()));
+    assertEquals(Integer.MAX_VALUE, ConstrainInteger.saturateIntegerSum(is, 0, 5000));
+
+    // a long sum that wraps many times over, both ways
+    assertEquals(clamp(longTotal, Long.MAX_VALUE, Long.MIN_VALUE), ConstrainLong.saturateLongSum(ls));
+    assertEquals(ConstrainLong.saturateLongSum(ls), ConstrainLong.saturateLongSum(LongStream.of(ls)));
+    assertEquals(ConstrainLong.saturateLongSum(ls), ConstrainLong.saturateLongSum(LongStream.of(ls).parallel()));
+    long[] back = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE, 5L};
+    assertEquals(3L, ConstrainLong.saturateLongSum(back));
+    assertEquals(3L, ConstrainLong.saturateLongSum(LongStream.of(back).parallel()));
+  }
+
+  @Test
+  public void testSaturatingSumCombine() {
+    SaturatingSum a = new SaturatingSum();
+    SaturatingSum b = new SaturatingSum();
+    for(int i = 0; i < 3; i++) {
+      a.accept(Long.MAX_VALUE);
+      b.accept(Long.MIN_VALUE);
+    }
+    assertEquals(Long.MAX_VALUE, a.getLong());
+    assertEquals(Integer.MAX_VALUE, a.getInt());
+    assertEquals(Long.MIN_VALUE, b.getLong());
+    b.accept(-1);
+    a.combine(b);
+    assertEquals(-4L, a.getLong());
+    assertEquals(Long.MIN_VALUE, b.getLong());
+  }
+}
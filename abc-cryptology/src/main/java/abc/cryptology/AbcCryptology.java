@@ -1,12 +1,28 @@
 package abc.cryptology;
 import abc.cryptology.logics.Crypto;
+import abc.cryptology.logics.CryptoBuffer;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import javax.crypto.NoSuchPaddingException;
 
 
@@ -23,6 +39,66 @@ import javax.crypto.NoSuchPaddingException;
  * @see #AbcCryptology() AbcCryptology()
  * @see #performDecryption(long,Crypto,String,File,String) performDecryption(long,Crypto,String,File,String)
  * @see #performEncryption(long,Crypto,String,File,String) performEncryption(long,Crypto,String,File,String)
+ * @see #performAuthenticatedEncryption(long,Crypto,String,File,String)
+ *      performAuthenticatedEncryption(long,Crypto,String,File,String)
+ * @see #performAuthenticatedEncryption(long,Crypto,String,File,String,int)
+ *      performAuthenticatedEncryption(long,Crypto,String,File,String,int)
+ * @see #performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean)
+ *      performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean)
+ * @see #performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean,byte[])
+ *      performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean,byte[])
+ * @see #performMetadataReading(File) performMetadataReading(File)
+ * @see #performMetadataReading(File,String) performMetadataReading(File,String)
+ * @see #performDecryption(long,Crypto,String,byte[],int,int,String)
+ *      performDecryption(long,Crypto,String,byte[],int,int,String)
+ * @see #performDecryption(long,Crypto,String,ByteBuffer,String) performDecryption(long,Crypto,String,ByteBuffer,String)
+ * @see #performDecryption(long,Crypto,String,InputStream,String)
+ *      performDecryption(long,Crypto,String,InputStream,String)
+ * @see #performEncryption(long,Crypto,String,byte[],int,String) performEncryption(long,Crypto,String,byte[],int,String)
+ * @see #performEncryption(long,Crypto,String,ByteBuffer,String) performEncryption(long,Crypto,String,ByteBuffer,String)
+ * @see #performEncryption(long,Crypto,String,String) performEncryption(long,Crypto,String,String)
+ * @see #performEncryption(long,Crypto,String,OutputStream,String)
+ *      performEncryption(long,Crypto,String,OutputStream,String)
+ * @see #performDecryption(long,CryptoBuffer,String,File,String,int)
+ *      performDecryption(long,CryptoBuffer,String,File,String,int)
+ * @see #performEncryption(long,CryptoBuffer,String,File,String,int)
+ *      performEncryption(long,CryptoBuffer,String,File,String,int)
+ * @see #performSegmentedDecryption(long,Crypto,String,File,String)
+ *      performSegmentedDecryption(long,Crypto,String,File,String)
+ * @see #performSegmentedEncryption(long,Crypto,String,File,String,int)
+ *      performSegmentedEncryption(long,Crypto,String,File,String,int)
+ * @see #performSegmentedReading(long,String,File,String,long,ByteBuffer)
+ *      performSegmentedReading(long,String,File,String,long,ByteBuffer)
+ * @see #performArchiveDecryption(long,Map,String,File,String)
+ *      performArchiveDecryption(long,Map,String,File,String)
+ * @see #performArchiveEncryption(long,Map,String,File,String)
+ *      performArchiveEncryption(long,Map,String,File,String)
+ * @see #openArchive(long,String,File,String) openArchive(long,String,File,String)
+ * @see #performStringTableEncryption(long,String[],String,File,String)
+ *      performStringTableEncryption(long,String[],String,File,String)
+ * @see #performStringTableEncryption(long,String[],String,File,String,int)
+ *      performStringTableEncryption(long,String[],String,File,String,int)
+ * @see #openStringTable(long,String,File,String) openStringTable(long,String,File,String)
+ * @see #performBatchDecryption(long,String,Collection,int,int,Consumer)
+ *      performBatchDecryption(long,String,Collection,int,int,Consumer)
+ * @see #performBatchEncryption(long,String,Collection,int,int,Consumer)
+ *      performBatchEncryption(long,String,Collection,int,int,Consumer)
+ * @see #performBatchAuthenticatedEncryption(long,String,Collection,int,int,Consumer)
+ *      performBatchAuthenticatedEncryption(long,String,Collection,int,int,Consumer)
+ * @see #performHashing(File) performHashing(File)
+ * @see #performHashing(File,int) performHashing(File,int)
+ * @see #performVerification(CryptoHash,File,long...) performVerification(CryptoHash,File,long...)
+ * @see #performVerification(CryptoHash,File,boolean,long...) performVerification(CryptoHash,File,boolean,long...)
+ * @see #getExecutor() getExecutor()
+ * @see #setExecutor(Executor) setExecutor(Executor)
+ * @see #performAsyncDecryption(long,Crypto,String,File,String) performAsyncDecryption(long,Crypto,String,File,String)
+ * @see #performAsyncEncryption(long,Crypto,String,File,String) performAsyncEncryption(long,Crypto,String,File,String)
+ * @see #performAsyncAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean)
+ *      performAsyncAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean)
+ * @see #performAsyncDecryption(long,Crypto,String,byte[],int,int,String)
+ *      performAsyncDecryption(long,Crypto,String,byte[],int,int,String)
+ * @see #performAsyncEncryption(long,Crypto,String,String) performAsyncEncryption(long,Crypto,String,String)
+ * @see #clearKeys() clearKeys()
  */
 public class AbcCryptology {
   /**
@@ -31,16 +107,81 @@ public class AbcCryptology {
    * @see #AbcCryptology() AbcCryptology()
    */
   public static final AbcCryptology instance;
+  /**
+   * The executor of the asynchronous operations.
+   * @see AbcCryptology
+   * @see #setExecutor(Executor) setExecutor(Executor)
+   */
+  private volatile Executor executor;
 
   static {
     instance = new AbcCryptology();
   }
 
   /**
-   * A private constructor. Goes nowhere, does nothing.
+   * An asynchronous operation.
+   * @see AbcCryptology
+   */
+  @FunctionalInterface
+  private interface Operation<T> {
+    T perform() throws Exception;
+  }
+
+  /**
+   * A private constructor. Only sets the default executor.
    * @see AbcCryptology
    */
   private AbcCryptology() {
+    executor = defaultExecutor();
+  }
+
+  /**
+   * Make the default executor of the asynchronous operations: a pool of daemon platform threads, one per core, which
+   * time out when idle. A small set of long-lived threads keeps the per-thread cipher, scratch and deflater caches
+   * warm, where a new virtual thread per operation would start every one of them cold.
+   * @return An {@link Executor} object.
+   * @see AbcCryptology
+   */
+  private static Executor defaultExecutor() {
+    final int n = Math.max(2, Runtime.getRuntime().availableProcessors());
+    final AtomicInteger count = new AtomicInteger();
+    ThreadFactory tf = (Runnable r) -> {
+      Thread t = new Thread(r, "abc-cryptology-async-" + count.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+    ThreadPoolExecutor tpe = new ThreadPoolExecutor(n, n, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), tf);
+    tpe.allowCoreThreadTimeOut(true);
+    return tpe;
+  }
+
+  /**
+   * Run an operation on the executor. The future completes with the operation's result; or exceptionally with a
+   * {@link CryptoException}, if the operation fails, or the executor rejects it. Cancelling the future before the
+   * operation starts keeps it from running; after that, it runs to the end.
+   * @param o An {@link Operation} object, representing the operation.
+   * @return A {@link CompletableFuture} object.
+   * @see AbcCryptology
+   */
+  private <T> CompletableFuture<T> async(Operation<T> o) {
+    CompletableFuture<T> cf = new CompletableFuture<>();
+    try {
+      executor.execute(() -> {
+        if(!cf.isDone()) {
+          try {
+            cf.complete(o.perform());
+          } catch(Exception e) {
+            cf.completeExceptionally(CryptoException.wrap(e));
+          } catch(Error e) { // completed, so that nothing waits on it forever.
+            cf.completeExceptionally(e);
+            throw e;
+          }
+        }
+      });
+    } catch(RejectedExecutionException e) {
+      cf.completeExceptionally(CryptoException.wrap(e));
+    }
+    return cf;
   }
 
   /**
@@ -48,6 +189,9 @@ public class AbcCryptology {
    * <p/>
    * The parameter for {@code t} (the cipher key) can be any String value that Java Cryptography can use; however, the
    * example from the class javadoc used "PBEWithMD5AndDES" as the implementation.
+   * <p/>
+   * A file written by {@link #performAuthenticatedEncryption(long,Crypto,String,File,String,int)} is recognized by its
+   * header, and decrypted with AES-GCM instead; the cryptographic type is then not used.
    * @param l A {@link Long} value, representing a {@link #seed seed} value.
    * @param c A {@link Crypto} object, representing the implementation.
    * @param s A {@link String} object, representing the cryptographic type.
@@ -65,8 +209,8 @@ public class AbcCryptology {
   public final void performDecryption(long l, Crypto c, String s, File f, String t)
       throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
       InvalidAlgorithmParameterException, FileNotFoundException, IOException {
-    EncryptionBase eb = new EncryptionBase(l, c, s);
-    eb.performDecrypting(f, t);
+    EncryptionAead ea = new EncryptionAead(l, c, s, EncryptionAead.defaultCost);
+    ea.performDecrypting(f, t);
   }
 
   /**
@@ -94,4 +238,996 @@ public class AbcCryptology {
     EncryptionBase eb = new EncryptionBase(l, c, s);
     eb.performEncrypting(f, t);
   }
+
+  /**
+   * Perform the authenticated encryption operation. This is the same as
+   * {@link #performEncryption(long,Crypto,String,File,String)}, with a key derivation of 100000 iterations; see
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String,int)}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type (unused).
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @see AbcCryptology
+   * @see #performDecryption(long,Crypto,String,File,String)
+   */
+  public final void performAuthenticatedEncryption(long l, Crypto c, String s, File f, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    performAuthenticatedEncryption(l, c, s, f, t, EncryptionAead.defaultCost);
+  }
+
+  /**
+   * Perform the authenticated encryption operation. This is the same as
+   * {@link #performEncryption(long,Crypto,String,File,String)}, but encrypts with AES-256 in GCM mode: the AES key is
+   * derived from the cipher key by PBKDF2 (HMAC-SHA256), with {@code i} iterations and a salt made from the seed, once,
+   * and cached; each file then has a random nonce, and a tag that rejects a wrong key or a tampered file.
+   * <p/>
+   * The file begins with a header recording the mode, so that
+   * {@link #performDecryption(long,Crypto,String,File,String)} reads both these and legacy files.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type (unused).
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param i An {@link Integer} value, representing the iteration count of the key derivation; at most 1000000.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @throws IllegalArgumentException if {@code i} is not positive, or is more than 1000000.
+   * @see AbcCryptology
+   * @see #performDecryption(long,Crypto,String,File,String)
+   */
+  public final void performAuthenticatedEncryption(long l, Crypto c, String s, File f, String t, int i)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionAead ea = new EncryptionAead(l, c, s, i);
+    ea.performEncrypting(f, t);
+  }
+
+  /**
+   * Perform the authenticated encryption operation, optionally compressed. This is the same as
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String,int)}, but if {@code b} is {@code true}, the
+   * logic's bytes are compressed with raw Deflate before they are encrypted, and the header says so; this is worth it
+   * for anything that compresses well, such as text or saved state, since the cipher then has fewer bytes to encrypt
+   * and the disk fewer bytes to write.
+   * <p/>
+   * {@link #performDecryption(long,Crypto,String,File,String)} decompresses such a file by itself.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type (unused).
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param i An {@link Integer} value, representing the iteration count of the key derivation; at most 1000000.
+   * @param b A {@link Boolean} value, representing whether to compress.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @throws IllegalArgumentException if {@code i} is not positive, or is more than 1000000.
+   * @see AbcCryptology
+   * @see #performDecryption(long,Crypto,String,File,String)
+   */
+  public final void performAuthenticatedEncryption(long l, Crypto c, String s, File f, String t, int i, boolean b)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    performAuthenticatedEncryption(l, c, s, f, t, i, b, null);
+  }
+
+  /**
+   * Perform the authenticated encryption operation, with a content version. This is the same as
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean)}, but the file header also
+   * records {@code bs}, as the major, minor, release and build of the content, the same as
+   * {@link abc.cryptology.logics.CryptoLogicVersioning} does; {@link #performMetadataReading(File,String)} then reads
+   * it back, with the content length, without decrypting the file.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type (unused).
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param i An {@link Integer} value, representing the iteration count of the key derivation; at most 1000000.
+   * @param b A {@link Boolean} value, representing whether to compress.
+   * @param bs A {@link Byte} array, representing the content version: 4 bytes, or {@code null} for all zero.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @throws IllegalArgumentException if {@code i} is not positive, or is more than 1000000, or {@code bs} is not 4
+   *         bytes.
+   * @see AbcCryptology
+   * @see #performMetadataReading(File,String)
+   */
+  public final void performAuthenticatedEncryption(long l, Crypto c, String s, File f, String t, int i, boolean b,
+      byte[] bs) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionAead ea = new EncryptionAead(l, c, s, i, b, bs);
+    ea.performEncrypting(f, t);
+  }
+
+  /**
+   * Perform the metadata reading operation, unverified. This reads only the header of a file written by
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean,byte[])}, and needs no cipher
+   * key; the metadata is then only a hint, which anyone could have written.
+   * @param f A {@link File} object, representing the source file object.
+   * @return A {@link CryptoMetadata} object.
+   * @throws IOException if the file is not an authenticated file.
+   * @see AbcCryptology
+   * @see #performMetadataReading(File,String)
+   */
+  public final CryptoMetadata performMetadataReading(File f) throws IOException {
+    try {
+      return EncryptionAead.readMetadata(f, null);
+    } catch(GeneralSecurityException e) { // no cipher is used without a key.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Perform the metadata reading operation. This reads only the header of a file written by
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean,byte[])}, and verifies it
+   * against its own tag: the content version, the content length, the compression and the cipher mode, without
+   * decrypting, or even reading, the content. The key derivation is cached, so probing many files of the same cipher
+   * key costs one small read each.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return A {@link CryptoMetadata} object, verified, unless the file is of format version 1, which has no header
+   *         tag.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the file is not an authenticated file, or the header tag does not match: a wrong cipher
+   *         key, or a tampered header.
+   * @see AbcCryptology
+   * @see #performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean,byte[])
+   */
+  public final CryptoMetadata performMetadataReading(File f, String t) throws NoSuchAlgorithmException,
+      InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException,
+      IOException {
+    return EncryptionAead.readMetadata(f, t);
+  }
+
+  /**
+   * Perform the decryption operation, from a byte array. This is the same as
+   * {@link #performDecryption(long,Crypto,String,File,String)}, but the cipher text is the slice of {@code bs} of
+   * {@code j} bytes from {@code i}; nothing touches the disk.
+   * <p/>
+   * Cipher text in the authenticated format, such as the bytes of a file written by
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String,int)}, is recognized by its header, and
+   * decrypted with AES-GCM instead; the cryptographic type is then not used.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param bs A {@link Byte} array, representing the cipher text.
+   * @param i An {@link Integer} value, representing the offset of the cipher text.
+   * @param j An {@link Integer} value, representing the length of the cipher text.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the cipher text cannot be decrypted, or the logic fails.
+   * @see AbcCryptology
+   * @see #performEncryption(long,Crypto,String,byte[],int,String)
+   */
+  public final void performDecryption(long l, Crypto c, String s, byte[] bs, int i, int j, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, IOException {
+    if(EncryptionAead.isAuthenticated(bs, i, j)) {
+      EncryptionAead ea = new EncryptionAead(l, c, s, EncryptionAead.defaultCost);
+      ea.performDecrypting(bs, i, j, t);
+    } else {
+      EncryptionMemory em = new EncryptionMemory(l, c, s);
+      em.performDecrypting(bs, i, j, t);
+    }
+  }
+
+  /**
+   * Perform the decryption operation, from a buffer. This is the same as
+   * {@link #performDecryption(long,Crypto,String,File,String)}, but the cipher text is read from the buffer's position
+   * up to its limit; nothing touches the disk.
+   * <p/>
+   * Cipher text in the authenticated format is recognized by its header, and decrypted with AES-GCM instead, the same
+   * as {@link #performDecryption(long,Crypto,String,byte[],int,int,String)}; the buffer's position is then moved to
+   * its limit.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param bb A {@link ByteBuffer} object, representing the cipher text.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the cipher text cannot be decrypted, or the logic fails.
+   * @see AbcCryptology
+   * @see #performEncryption(long,Crypto,String,ByteBuffer,String)
+   */
+  public final void performDecryption(long l, Crypto c, String s, ByteBuffer bb, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, IOException {
+    if(bb != null && EncryptionAead.isAuthenticated(bb)) {
+      EncryptionAead ea = new EncryptionAead(l, c, s, EncryptionAead.defaultCost);
+      if(bb.hasArray()) {
+        ea.performDecrypting(bb.array(), bb.arrayOffset() + bb.position(), bb.remaining(), t);
+        bb.position(bb.limit());
+      } else {
+        byte[] bs = new byte[bb.remaining()];
+        bb.get(bs);
+        ea.performDecrypting(bs, 0, bs.length, t);
+      }
+    } else {
+      EncryptionMemory em = new EncryptionMemory(l, c, s);
+      em.performDecrypting(bb, t);
+    }
+  }
+
+  /**
+   * Perform the decryption operation, from a stream. This is the same as
+   * {@link #performDecryption(long,Crypto,String,File,String)}, but the cipher text is read from {@code is}, which is
+   * left open; a channel can be read through {@link java.nio.channels.Channels#newInputStream}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param is An {@link InputStream} object, representing the source of the cipher text.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException
+   * @see AbcCryptology
+   * @see #performEncryption(long,Crypto,String,OutputStream,String)
+   */
+  public final void performDecryption(long l, Crypto c, String s, InputStream is, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, IOException {
+    EncryptionBase eb = new EncryptionBase(l, c, s);
+    eb.performDecrypting(is, t);
+  }
+
+  /**
+   * Perform the encryption operation, into a byte array. This is the same as
+   * {@link #performEncryption(long,Crypto,String,File,String)}, but the cipher text is written into {@code bs} from
+   * {@code i} on; nothing touches the disk.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param bs A {@link Byte} array, representing the target of the cipher text.
+   * @param i An {@link Integer} value, representing the offset to write from.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return An {@link Integer} value, the number of bytes written.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the logic fails.
+   * @throws java.nio.BufferOverflowException if the cipher text does not fit; nothing is written then.
+   * @see AbcCryptology
+   * @see #performDecryption(long,Crypto,String,byte[],int,int,String)
+   */
+  public final int performEncryption(long l, Crypto c, String s, byte[] bs, int i, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, IOException {
+    EncryptionMemory em = new EncryptionMemory(l, c, s);
+    return em.performEncrypting(bs, i, t);
+  }
+
+  /**
+   * Perform the encryption operation, into a buffer. This is the same as
+   * {@link #performEncryption(long,Crypto,String,File,String)}, but the cipher text is put into {@code bb} from its
+   * position on; nothing touches the disk.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param bb A {@link ByteBuffer} object, representing the target of the cipher text.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return An {@link Integer} value, the number of bytes put.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the logic fails.
+   * @throws java.nio.BufferOverflowException if the cipher text does not fit; nothing is put then.
+   * @see AbcCryptology
+   * @see #performDecryption(long,Crypto,String,ByteBuffer,String)
+   */
+  public final int performEncryption(long l, Crypto c, String s, ByteBuffer bb, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, IOException {
+    EncryptionMemory em = new EncryptionMemory(l, c, s);
+    return em.performEncrypting(bb, t);
+  }
+
+  /**
+   * Perform the encryption operation, into a new byte array. This is the same as
+   * {@link #performEncryption(long,Crypto,String,File,String)}, but the cipher text is returned; nothing touches the
+   * disk.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return A {@link Byte} array, exactly as long as the cipher text.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the logic fails.
+   * @see AbcCryptology
+   * @see #performDecryption(long,Crypto,String,byte[],int,int,String)
+   */
+  public final byte[] performEncryption(long l, Crypto c, String s, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, IOException {
+    EncryptionMemory em = new EncryptionMemory(l, c, s);
+    return em.performEncrypting(t);
+  }
+
+  /**
+   * Perform the encryption operation, into a stream. This is the same as
+   * {@link #performEncryption(long,Crypto,String,File,String)}, but the cipher text is written to {@code os}, which is
+   * flushed and left open; a channel can be written through {@link java.nio.channels.Channels#newOutputStream}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param os An {@link OutputStream} object, representing the target of the cipher text.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException
+   * @see AbcCryptology
+   * @see #performDecryption(long,Crypto,String,InputStream,String)
+   */
+  public final void performEncryption(long l, Crypto c, String s, OutputStream os, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, IOException {
+    EncryptionBase eb = new EncryptionBase(l, c, s);
+    eb.performEncrypting(os, t);
+  }
+
+  /**
+   * Perform the decryption operation, through a file channel. This is the same as
+   * {@link #performDecryption(long,Crypto,String,File,String)}, but the decrypted bytes are handed to a
+   * {@link CryptoBuffer} logic in runs of up to 64 KiB; see
+   * {@link #performDecryption(long,CryptoBuffer,String,File,String,int)}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link CryptoBuffer} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @see AbcCryptology
+   * @see #performEncryption(long,CryptoBuffer,String,File,String)
+   */
+  public final void performDecryption(long l, CryptoBuffer c, String s, File f, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    performDecryption(l, c, s, f, t, EncryptionChannel.defaultSize);
+  }
+
+  /**
+   * Perform the decryption operation, through a file channel. This reads the source file through a
+   * {@link java.nio.channels.FileChannel} and a cipher, in runs of up to {@code i} bytes, and hands each run of
+   * decrypted bytes to a {@link CryptoBuffer} logic; the file format is the same as that of
+   * {@link #performEncryption(long,Crypto,String,File,String)}, so either kind of logic can read it.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link CryptoBuffer} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param i An {@link Integer} value, representing the buffer size, in bytes.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see AbcCryptology
+   * @see #performEncryption(long,CryptoBuffer,String,File,String,int)
+   */
+  public final void performDecryption(long l, CryptoBuffer c, String s, File f, String t, int i)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionChannel ec = new EncryptionChannel(l, c, s, i);
+    ec.performDecrypting(f, t);
+  }
+
+  /**
+   * Perform the encryption operation, through a file channel. This is the same as
+   * {@link #performEncryption(long,Crypto,String,File,String)}, but the plain bytes are taken from a
+   * {@link CryptoBuffer} logic in runs of up to 64 KiB; see
+   * {@link #performEncryption(long,CryptoBuffer,String,File,String,int)}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link CryptoBuffer} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @see AbcCryptology
+   * @see #performDecryption(long,CryptoBuffer,String,File,String)
+   */
+  public final void performEncryption(long l, CryptoBuffer c, String s, File f, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    performEncryption(l, c, s, f, t, EncryptionChannel.defaultSize);
+  }
+
+  /**
+   * Perform the encryption operation, through a file channel. This takes runs of up to {@code i} plain bytes from a
+   * {@link CryptoBuffer} logic, and writes them through a cipher and a {@link java.nio.channels.FileChannel} into the
+   * target file; the file format is the same as that of {@link #performEncryption(long,Crypto,String,File,String)}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link CryptoBuffer} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param i An {@link Integer} value, representing the buffer size, in bytes.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see AbcCryptology
+   * @see #performDecryption(long,CryptoBuffer,String,File,String,int)
+   */
+  public final void performEncryption(long l, CryptoBuffer c, String s, File f, String t, int i)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionChannel ec = new EncryptionChannel(l, c, s, i);
+    ec.performEncrypting(f, t);
+  }
+
+  /**
+   * Perform the decryption operation, on a segmented file. This is the same as
+   * {@link #performDecryption(long,Crypto,String,File,String)}, but for a file written by
+   * {@link #performSegmentedEncryption(long,Crypto,String,File,String,int)}; the segments are decrypted in parallel, a
+   * few ahead of the logic reading them.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @see AbcCryptology
+   * @see #performSegmentedEncryption(long,Crypto,String,File,String,int)
+   */
+  public final void performSegmentedDecryption(long l, Crypto c, String s, File f, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionSegments es = new EncryptionSegments(l, c, s, EncryptionSegments.defaultSize);
+    es.performDecrypting(f, t);
+  }
+
+  /**
+   * Perform the encryption operation, into a segmented file of 1 MiB segments; see
+   * {@link #performSegmentedEncryption(long,Crypto,String,File,String,int)}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @see AbcCryptology
+   * @see #performSegmentedDecryption(long,Crypto,String,File,String)
+   */
+  public final void performSegmentedEncryption(long l, Crypto c, String s, File f, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    performSegmentedEncryption(l, c, s, f, t, EncryptionSegments.defaultSize);
+  }
+
+  /**
+   * Perform the encryption operation, into a segmented file. The plain bytes written by the logic are split into
+   * segments of {@code i} bytes, each encrypted on its own under a random nonce, in parallel on the common
+   * {@link java.util.concurrent.ForkJoinPool}; an index of the segments is written at the end of the file, so that
+   * {@link #performSegmentedReading(long,String,File,String,long,ByteBuffer)} can later decrypt any byte range alone.
+   * <p/>
+   * The format is not the same as that of {@link #performEncryption(long,Crypto,String,File,String)}, and it is for
+   * confidentiality only: the segments and the index are not authenticated, so a file whose segments were reordered,
+   * swapped or cut off can still decrypt without any error. Where the file must be tamper-evident, use
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String)} instead.
+   * <p/>
+   * If the logic fails part of the way, the file is left empty rather than holding the segments written so far, so
+   * that it is not taken for a whole segmented file.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param i An {@link Integer} value, representing the segment size, in bytes.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see AbcCryptology
+   * @see #performSegmentedDecryption(long,Crypto,String,File,String)
+   */
+  public final void performSegmentedEncryption(long l, Crypto c, String s, File f, String t, int i)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionSegments es = new EncryptionSegments(l, c, s, i);
+    es.performEncrypting(f, t);
+  }
+
+  /**
+   * Perform a range reading, on a segmented file. Only the segments covering the plain bytes from {@code p} on are
+   * read and decrypted, in parallel; as many of those bytes as fit are put into {@code bb}, from its position on. The
+   * bytes are not authenticated; see {@link #performSegmentedEncryption(long,Crypto,String,File,String,int)}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param p A {@link Long} value, representing the plain position of the first byte to read.
+   * @param bb A {@link ByteBuffer} object, representing the target bytes.
+   * @return An {@link Integer} value, the number of bytes read, or {@code -1} if {@code p} is at or past the end.
+   * @throws IOException if the file is not a segmented file, or cannot be read or decrypted.
+   * @throws IllegalArgumentException if {@code p} is negative.
+   * @see AbcCryptology
+   * @see #performSegmentedEncryption(long,Crypto,String,File,String,int)
+   */
+  public final int performSegmentedReading(long l, String s, File f, String t, long p, ByteBuffer bb)
+      throws IOException {
+    EncryptionSegments es = new EncryptionSegments(l, null, s, EncryptionSegments.defaultSize);
+    return es.performReading(f, t, p, bb);
+  }
+
+  /**
+   * Perform the decryption operation, on an archive file. Each named logic is handed its own record of the archive, as
+   * written by {@link #performArchiveEncryption(long,Map,String,File,String)}; only those records are decrypted.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param m A {@link Map} object, representing the implementation of each record, by name.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException if a named record is not in the archive.
+   * @see AbcCryptology
+   * @see #performArchiveEncryption(long,Map,String,File,String)
+   */
+  public final void performArchiveDecryption(long l, Map<String, Crypto> m, String s, File f, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionArchive ea = new EncryptionArchive(l, m, s);
+    ea.performDecrypting(f, t);
+  }
+
+  /**
+   * Perform the encryption operation, into an archive file. Each named logic is written as a record of its own,
+   * encrypted on its own under a random nonce, in the map's iteration order; a separately encrypted index of the
+   * records is written at the end of the file, so that {@link #openArchive(long,String,File,String)} can later find
+   * and decrypt any one record alone.
+   * <p/>
+   * The format is not the same as that of {@link #performEncryption(long,Crypto,String,File,String)}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param m A {@link Map} object, representing the implementation of each record, by name.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @see AbcCryptology
+   * @see #performArchiveDecryption(long,Map,String,File,String)
+   */
+  public final void performArchiveEncryption(long l, Map<String, Crypto> m, String s, File f, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionArchive ea = new EncryptionArchive(l, m, s);
+    ea.performEncrypting(f, t);
+  }
+
+  /**
+   * Open an archive file, for reading records one at a time. The file is memory-mapped and its index decrypted once;
+   * each record read after that costs only its own bytes.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return A {@link CryptoArchive} object, which should be closed once done with.
+   * @throws FileNotFoundException
+   * @throws IOException if the file is not an archive file, or cannot be mapped.
+   * @throws GeneralSecurityException if the index cannot be decrypted.
+   * @see AbcCryptology
+   * @see #performArchiveEncryption(long,Map,String,File,String)
+   */
+  public final CryptoArchive openArchive(long l, String s, File f, String t) throws FileNotFoundException, IOException,
+      GeneralSecurityException {
+    return new CryptoArchive(new EncryptionArchive(l, null, s), f, t);
+  }
+
+  /**
+   * Perform the encryption operation, of a string table, into an archive file, in blocks of 64 strings.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param ss A {@link String} array, representing the strings; {@code null} elements are stored as empty strings.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @see AbcCryptology
+   * @see #performStringTableEncryption(long,String[],String,File,String,int)
+   */
+  public final void performStringTableEncryption(long l, String[] ss, String s, File f, String t)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    performStringTableEncryption(l, ss, s, f, t, CryptoStringTable.defaultBlock);
+  }
+
+  /**
+   * Perform the encryption operation, of a string table, into an archive file. Unlike
+   * {@link abc.cryptology.logics.CryptoLogicArrayStrings}, there is no limit of 255 strings, nor of 65535 bytes a
+   * string; each block of {@code i} strings is a record of its own, so that
+   * {@link #openStringTable(long,String,File,String)} can later decrypt any one string with only its block. Smaller
+   * blocks make single lookups cheaper; larger blocks make the file smaller, and iterating over it faster.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param ss A {@link String} array, representing the strings; {@code null} elements are stored as empty strings.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param i An {@link Integer} value, representing the number of strings in a block.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws FileNotFoundException
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see AbcCryptology
+   * @see #openStringTable(long,String,File,String)
+   */
+  public final void performStringTableEncryption(long l, String[] ss, String s, File f, String t, int i)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException, FileNotFoundException, IOException {
+    EncryptionArchive ea = new EncryptionArchive(l, CryptoStringTable.records(ss, i), s);
+    ea.performEncrypting(f, t);
+  }
+
+  /**
+   * Open a string table file, for reading strings by index, or lazily in order. Only the table's index is decrypted on
+   * opening; each string read after that costs only its block.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return A {@link CryptoStringTable} object, which should be closed once done with.
+   * @throws FileNotFoundException
+   * @throws IOException if the file is not a string table file, or cannot be mapped.
+   * @throws GeneralSecurityException if the index cannot be decrypted.
+   * @see AbcCryptology
+   * @see #performStringTableEncryption(long,String[],String,File,String,int)
+   */
+  public final CryptoStringTable openStringTable(long l, String s, File f, String t) throws FileNotFoundException,
+      IOException, GeneralSecurityException {
+    CryptoArchive ca = openArchive(l, s, f, t);
+    try {
+      return new CryptoStringTable(ca);
+    } catch(IOException | GeneralSecurityException | RuntimeException e) {
+      ca.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Perform the decryption operation, on a batch of files. Each job's file is decrypted as by
+   * {@link #performDecryption(long,Crypto,String,File,String)}, with the job's logic and cipher key; at most {@code j}
+   * files are read at once, and at most {@code i} ciphers run at once. This returns at once; the returned batch can be
+   * waited on or cancelled, and holds each job's result and the overall throughput.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param c A {@link Collection} object, representing the jobs.
+   * @param i An {@link Integer} value, representing the number of cipher threads.
+   * @param j An {@link Integer} value, representing the number of disk threads.
+   * @param p A {@link Consumer} object, representing the progress callback, or {@code null}.
+   * @return A {@link CryptoBatch} object, already running.
+   * @throws IllegalArgumentException if {@code i} or {@code j} is not positive.
+   * @see AbcCryptology
+   * @see #performBatchEncryption(long,String,Collection,int,int,Consumer)
+   */
+  public final CryptoBatch performBatchDecryption(long l, String s, Collection<CryptoJob> c, int i, int j,
+      Consumer<CryptoJob> p) {
+    return new CryptoBatch(false, l, s, 0, c, i, j, p);
+  }
+
+  /**
+   * Perform the encryption operation, on a batch of files. Each job's file is encrypted as by
+   * {@link #performEncryption(long,Crypto,String,File,String)}, with the job's logic and cipher key; at most {@code i}
+   * ciphers run at once, and at most {@code j} files are written at once. This returns at once; the returned batch can
+   * be waited on or cancelled, and holds each job's result and the overall throughput.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param c A {@link Collection} object, representing the jobs.
+   * @param i An {@link Integer} value, representing the number of cipher threads.
+   * @param j An {@link Integer} value, representing the number of disk threads.
+   * @param p A {@link Consumer} object, representing the progress callback, or {@code null}.
+   * @return A {@link CryptoBatch} object, already running.
+   * @throws IllegalArgumentException if {@code i} or {@code j} is not positive.
+   * @see AbcCryptology
+   * @see #performBatchDecryption(long,String,Collection,int,int,Consumer)
+   */
+  public final CryptoBatch performBatchEncryption(long l, String s, Collection<CryptoJob> c, int i, int j,
+      Consumer<CryptoJob> p) {
+    return new CryptoBatch(true, l, s, 0, c, i, j, p);
+  }
+
+  /**
+   * Perform the authenticated encryption operation, on a batch of files. This is the same as
+   * {@link #performBatchEncryption(long,String,Collection,int,int,Consumer)}, but each file is encrypted as by
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String)}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param c A {@link Collection} object, representing the jobs.
+   * @param i An {@link Integer} value, representing the number of cipher threads.
+   * @param j An {@link Integer} value, representing the number of disk threads.
+   * @param p A {@link Consumer} object, representing the progress callback, or {@code null}.
+   * @return A {@link CryptoBatch} object, already running.
+   * @throws IllegalArgumentException if {@code i} or {@code j} is not positive.
+   * @see AbcCryptology
+   * @see #performBatchDecryption(long,String,Collection,int,int,Consumer)
+   */
+  public final CryptoBatch performBatchAuthenticatedEncryption(long l, String s, Collection<CryptoJob> c, int i,
+      int j, Consumer<CryptoJob> p) {
+    return new CryptoBatch(true, l, s, EncryptionAead.defaultCost, c, i, j, p);
+  }
+
+  /**
+   * Perform the hashing operation, in chunks of 4 MiB.
+   * @param f A {@link File} object, representing the file to hash.
+   * @return A {@link CryptoHash} object.
+   * @throws IOException if the file cannot be read.
+   * @see AbcCryptology
+   * @see #performHashing(File,int)
+   */
+  public final CryptoHash performHashing(File f) throws IOException {
+    return CryptoHash.hash(f, CryptoHash.defaultChunk);
+  }
+
+  /**
+   * Perform the hashing operation. The file is memory-mapped and cut into chunks of {@code i} bytes, which are hashed
+   * (SHA-256 and CRC-32C) in parallel, on the common pool, and combined into a single root digest; see
+   * {@link CryptoHash}. Smaller chunks make a later {@link #performVerification(CryptoHash,File,boolean,long...)} of
+   * a few offsets cheaper, and the tree larger.
+   * @param f A {@link File} object, representing the file to hash.
+   * @param i An {@link Integer} value, representing the chunk size.
+   * @return A {@link CryptoHash} object.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see AbcCryptology
+   * @see #performVerification(CryptoHash,File,boolean,long...)
+   */
+  public final CryptoHash performHashing(File f, int i) throws IOException {
+    return CryptoHash.hash(f, i);
+  }
+
+  /**
+   * Perform the verification operation, of both the SHA-256 and the CRC-32C of each chunk.
+   * @param h A {@link CryptoHash} object, representing the trusted tree of the file.
+   * @param f A {@link File} object, representing the file to check.
+   * @param ls A {@link Long} array, representing offsets within the chunks to check; every chunk if empty.
+   * @return An {@link Integer} array, holding the indices of the chunks that failed, in order; empty if none failed.
+   * @throws IOException if the file cannot be read.
+   * @throws IndexOutOfBoundsException if an offset is not within the tree's length.
+   * @see AbcCryptology
+   * @see #performVerification(CryptoHash,File,boolean,long...)
+   */
+  public final int[] performVerification(CryptoHash h, File f, long... ls) throws IOException {
+    return CryptoHash.verify(h, f, false, ls);
+  }
+
+  /**
+   * Perform the verification operation. Only the chunks holding the given offsets are read and hashed again, in
+   * parallel, on the common pool; so checking the parts of a large file about to be used costs only those parts. If the
+   * file length is not the tree's, every chunk asked for fails.
+   * @param h A {@link CryptoHash} object, representing the trusted tree of the file.
+   * @param f A {@link File} object, representing the file to check.
+   * @param b A {@link Boolean} value, representing whether to check only the CRC-32C, which is much faster, and finds
+   *        accidental damage, but not deliberate tampering.
+   * @param ls A {@link Long} array, representing offsets within the chunks to check; every chunk if empty.
+   * @return An {@link Integer} array, holding the indices of the chunks that failed, in order; empty if none failed.
+   * @throws IOException if the file cannot be read.
+   * @throws IndexOutOfBoundsException if an offset is not within the tree's length.
+   * @see AbcCryptology
+   * @see #performHashing(File,int)
+   */
+  public final int[] performVerification(CryptoHash h, File f, boolean b, long... ls) throws IOException {
+    return CryptoHash.verify(h, f, b, ls);
+  }
+
+  /**
+   * Get the executor of the asynchronous operations.
+   * @return An {@link Executor} object.
+   * @see AbcCryptology
+   * @see #setExecutor(Executor)
+   */
+  public final Executor getExecutor() {
+    return executor;
+  }
+
+  /**
+   * Set the executor of the asynchronous operations, such as a pool sized for the application's own threads. Those
+   * already started stay on the executor they started on.
+   * @param e An {@link Executor} object, or {@code null} to go back to the default executor: a pool of daemon threads,
+   *        one per core.
+   * @see AbcCryptology
+   */
+  public final void setExecutor(Executor e) {
+    executor = (e == null) ? defaultExecutor() : e;
+  }
+
+  /**
+   * Perform the decryption operation, asynchronously. This is the same as
+   * {@link #performDecryption(long,Crypto,String,File,String)}, run on the {@link #getExecutor() executor}, so that key
+   * derivation, cipher setup and file reading all happen off the calling thread.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation; it should not be used until the future is done.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the source file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return A {@link CompletableFuture} object, which completes with {@code c}, once decrypted into; or exceptionally,
+   *         with a {@link CryptoException}.
+   * @see AbcCryptology
+   * @see #performAsyncEncryption(long,Crypto,String,File,String)
+   */
+  public final <C extends Crypto> CompletableFuture<C> performAsyncDecryption(long l, C c, String s, File f, String t) {
+    return async(() -> {
+      performDecryption(l, c, s, f, t);
+      return c;
+    });
+  }
+
+  /**
+   * Perform the encryption operation, asynchronously. This is the same as
+   * {@link #performEncryption(long,Crypto,String,File,String)}, run on the {@link #getExecutor() executor}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation; it should not be changed until the future is
+   *        done.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return A {@link CompletableFuture} object, which completes with {@code f}, once written; or exceptionally, with a
+   *         {@link CryptoException}.
+   * @see AbcCryptology
+   * @see #performAsyncDecryption(long,Crypto,String,File,String)
+   */
+  public final CompletableFuture<File> performAsyncEncryption(long l, Crypto c, String s, File f, String t) {
+    return async(() -> {
+      performEncryption(l, c, s, f, t);
+      return f;
+    });
+  }
+
+  /**
+   * Perform the authenticated encryption operation, asynchronously. This is the same as
+   * {@link #performAuthenticatedEncryption(long,Crypto,String,File,String,int,boolean)}, run on the
+   * {@link #getExecutor() executor}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation; it should not be changed until the future is
+   *        done.
+   * @param s A {@link String} object, representing the cryptographic type (unused).
+   * @param f A {@link File} object, representing the target file object.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @param i An {@link Integer} value, representing the iteration count of the key derivation; at most 1000000.
+   * @param b A {@link Boolean} value, representing whether to compress.
+   * @return A {@link CompletableFuture} object, which completes with {@code f}, once written; or exceptionally, with a
+   *         {@link CryptoException}.
+   * @see AbcCryptology
+   * @see #performAsyncDecryption(long,Crypto,String,File,String)
+   */
+  public final CompletableFuture<File> performAsyncAuthenticatedEncryption(long l, Crypto c, String s, File f,
+      String t, int i, boolean b) {
+    return async(() -> {
+      performAuthenticatedEncryption(l, c, s, f, t, i, b);
+      return f;
+    });
+  }
+
+  /**
+   * Perform the decryption operation, from a byte array, asynchronously. This is the same as
+   * {@link #performDecryption(long,Crypto,String,byte[],int,int,String)}, run on the {@link #getExecutor() executor}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation; it should not be used until the future is done.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param bs A {@link Byte} array, representing the cipher text; it should not be changed until the future is done.
+   * @param i An {@link Integer} value, representing the offset of the cipher text.
+   * @param j An {@link Integer} value, representing the length of the cipher text.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return A {@link CompletableFuture} object, which completes with {@code c}, once decrypted into; or exceptionally,
+   *         with a {@link CryptoException}.
+   * @see AbcCryptology
+   * @see #performAsyncEncryption(long,Crypto,String,String)
+   */
+  public final <C extends Crypto> CompletableFuture<C> performAsyncDecryption(long l, C c, String s, byte[] bs, int i,
+      int j, String t) {
+    return async(() -> {
+      performDecryption(l, c, s, bs, i, j, t);
+      return c;
+    });
+  }
+
+  /**
+   * Perform the encryption operation, into a new byte array, asynchronously. This is the same as
+   * {@link #performEncryption(long,Crypto,String,String)}, run on the {@link #getExecutor() executor}.
+   * @param l A {@link Long} value, representing a {@link #seed seed} value.
+   * @param c A {@link Crypto} object, representing the implementation; it should not be changed until the future is
+   *        done.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param t A {@link String} object, representing the cipher key to use.
+   * @return A {@link CompletableFuture} object, which completes with the cipher text; or exceptionally, with a
+   *         {@link CryptoException}.
+   * @see AbcCryptology
+   * @see #performAsyncDecryption(long,Crypto,String,byte[],int,int,String)
+   */
+  public final CompletableFuture<byte[]> performAsyncEncryption(long l, Crypto c, String s, String t) {
+    return async(() -> performEncryption(l, c, s, t));
+  }
+
+  /**
+   * Clear the cached keys. Derived secret keys are cached between operations, so that repeated operations with the same
+   * seed, type and cipher key skip the key setup; this destroys every cached key, zeroing the bytes of the AES keys of
+   * authenticated files, and of PBE keys where their provider allows it, and drops the calling thread's idle ciphers,
+   * such as when a user logs out.
+   * @see AbcCryptology
+   */
+  public final void clearKeys() {
+    CipherCache.clear();
+  }
 }
@@ -0,0 +1,513 @@
+package abc.cryptology;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.AlgorithmParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.PBEParameterSpec;
+import javax.security.auth.DestroyFailedException;
+
+
+/**
+ * A cipher cache. This holds the two expensive parts of {@link Encryption#getCipher(long,int,String)} so that they are
+ * not rebuilt on every call: derived secret keys, shared by all threads, and idle {@link Cipher} instances, pooled per
+ * thread.
+ * <p/>
+ * A derived key is looked up by its cryptographic type, its seed, and a SHA-256 digest of the cipher key, so the cache
+ * never holds a copy of the cipher key string itself. At most {@link #capacity capacity} keys are held; the least
+ * recently used key is evicted first, and any key unused for {@link #lifetime lifetime} is evicted as well. An evicted
+ * key is destroyed: an AES key is an {@link AesKey}, whose bytes are zeroed, and a PBE key is destroyed where its
+ * provider allows it.
+ * <p/>
+ * A pooled cipher is always initialized again before it is handed out, so it never carries state from its last use;
+ * only the provider lookup of {@link Cipher#getInstance(String)} is saved.
+ * <p/>
+ * AES keys for {@link EncryptionAead} are derived with {@link #kdf kdf} and cached the same way; their identity has
+ * the iteration count in place of the seed, and a digest of the salt and the cipher key.
+ * @author Gregory
+ * @see #kdf kdf
+ * @see #capacity capacity
+ * @see #lifetime lifetime
+ * @see #idle idle
+ * @see #keys keys
+ * @see #ciphers ciphers
+ * @see AesKey
+ * @see Encryption
+ */
+final class CipherCache {
+  /**
+   * The key derivation function of AES keys.
+   * @see CipherCache
+   */
+  static final String kdf = "PBKDF2WithHmacSHA256";
+  /**
+   * The maximum number of derived keys held.
+   * @see CipherCache
+   */
+  static final int capacity = 64;
+  /**
+   * The idle lifetime of a derived key, in nanoseconds (ten minutes).
+   * @see CipherCache
+   */
+  static final long lifetime = 600000000000L;
+  /**
+   * The maximum number of idle ciphers pooled for each type, on each thread.
+   * @see CipherCache
+   */
+  static final int idle = 4;
+  /**
+   * The derived keys, in least-recently-used order.
+   * @see CipherCache
+   */
+  private static final Map<Id, Derived> keys;
+  /**
+   * The idle ciphers of each thread, by type.
+   * @see CipherCache
+   */
+  private static final ThreadLocal<Map<String, Deque<Cipher>>> ciphers;
+  /**
+   * The SHA-256 digest of each thread.
+   * @see CipherCache
+   */
+  private static final ThreadLocal<MessageDigest> digests;
+
+  static {
+    keys = new LinkedHashMap<>(16, 0.75F, true);
+    ciphers = ThreadLocal.withInitial(HashMap::new);
+    digests = ThreadLocal.withInitial(() -> {
+      try {
+        return MessageDigest.getInstance("SHA-256");
+      } catch(NoSuchAlgorithmException e) { // every Java platform is required to support SHA-256.
+        throw new IllegalStateException(e);
+      }
+    });
+  }
+
+  /**
+   * The identity of a derived key.
+   * @see CipherCache
+   */
+  private static final class Id {
+    private final String type;
+    private final long seed;
+    private final byte[] digest;
+
+    private Id(String t, long l, byte[] bs) {
+      type = t;
+      seed = l;
+      digest = bs;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if(!(o instanceof Id)) {
+        return false;
+      }
+      Id id = (Id)o;
+      return seed == id.seed && type.equals(id.type) && MessageDigest.isEqual(digest, id.digest);
+    }
+
+    @Override
+    public int hashCode() {
+      return (31 * type.hashCode() + Long.hashCode(seed)) * 31 + Arrays.hashCode(digest);
+    }
+  }
+
+  /**
+   * A derived AES key. Unlike a {@link javax.crypto.spec.SecretKeySpec}, which cannot be destroyed, this owns its bytes
+   * and zeroes them when destroyed; a cipher initialized with it beforehand keeps a key schedule of its own.
+   * @see CipherCache
+   */
+  static final class AesKey implements SecretKey {
+    private static final long serialVersionUID = 1L;
+    private final byte[] key;
+    private volatile boolean destroyed;
+
+    /**
+     * A package-private constructor. The key takes the array over, rather than a copy of it.
+     * @param bs A {@link Byte} array, representing the key bytes.
+     */
+    AesKey(byte[] bs) {
+      key = bs;
+    }
+
+    @Override
+    public String getAlgorithm() {
+      return "AES";
+    }
+
+    @Override
+    public String getFormat() {
+      return "RAW";
+    }
+
+    @Override
+    public byte[] getEncoded() {
+      if(destroyed) {
+        throw new IllegalStateException("key destroyed");
+      }
+      return key.clone();
+    }
+
+    @Override
+    public void destroy() {
+      destroyed = true;
+      Arrays.fill(key, (byte)0);
+    }
+
+    @Override
+    public boolean isDestroyed() {
+      return destroyed;
+    }
+  }
+
+  /**
+   * A derived key, with the parameters it is used with ({@code null} for an AES key). Its {@link #users users} count
+   * the ciphers being initialized with it right now, and its sign bit is set once it has been evicted; an evicted key
+   * takes no more users, and is destroyed as soon as it has none, either by the eviction or by its last user.
+   * @see CipherCache
+   */
+  private static final class Derived {
+    private final SecretKey key;
+    private final PBEParameterSpec spec;
+    private final AtomicInteger users;
+    private long used;
+
+    private Derived(SecretKey k, PBEParameterSpec p, long l) {
+      key = k;
+      spec = p;
+      users = new AtomicInteger();
+      used = l;
+    }
+
+    private boolean acquire() {
+      for(;;) {
+        int n = users.get();
+        if(n < 0) { // evicted.
+          return false;
+        } else if(users.compareAndSet(n, n + 1)) {
+          return true;
+        }
+      }
+    }
+
+    private void release() {
+      if(users.decrementAndGet() == Integer.MIN_VALUE) { // evicted, and this was the last user.
+        destroy(key);
+      }
+    }
+
+    private void evict() {
+      if(users.getAndAdd(Integer.MIN_VALUE) == 0) {
+        destroy(key);
+      }
+    }
+  }
+
+  private CipherCache() {
+  }
+
+  /**
+   * Get a cipher from the current thread's pool, or a new one if the pool is empty. It should be given back to
+   * {@link #release(Cipher)} once its stream is closed.
+   * @param t A {@link String} object, representing the cryptographic type.
+   * @return A {@link Cipher} object, not yet initialized for this use.
+   * @throws NoSuchAlgorithmException
+   * @throws NoSuchPaddingException
+   * @see CipherCache
+   */
+  static Cipher borrow(String t) throws NoSuchAlgorithmException, NoSuchPaddingException {
+    Deque<Cipher> dq = ciphers.get().get(t);
+    Cipher c = (dq == null) ? null : dq.pollFirst();
+    return (c != null) ? c : Cipher.getInstance(t);
+  }
+
+  /**
+   * Give a cipher back to the current thread's pool. A cipher beyond the {@link #idle idle} limit is dropped.
+   * @param c A {@link Cipher} object, representing the cipher.
+   * @see CipherCache
+   */
+  static void release(Cipher c) {
+    Deque<Cipher> dq = ciphers.get().computeIfAbsent(c.getAlgorithm(), (String t) -> new ArrayDeque<>(idle));
+    if(dq.size() < idle) {
+      dq.push(c);
+    }
+  }
+
+  /**
+   * Initialize a cipher with a derived key. The key is taken from the cache, or derived and cached on a miss.
+   * @param c A {@link Cipher} object, representing the cipher to initialize.
+   * @param t A {@link String} object, representing the cryptographic type.
+   * @param l A {@link Long} value, representing the seed of the salt.
+   * @param i An {@link Integer} value, representing the cryptography "direction".
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @see CipherCache
+   */
+  static void init(Cipher c, String t, long l, int i, String s) throws NoSuchAlgorithmException,
+      InvalidKeySpecException, InvalidKeyException, InvalidAlgorithmParameterException {
+    init(c, t, l, i, s, null);
+  }
+
+  /**
+   * Initialize a cipher with a derived key and a varied salt. This is the same as
+   * {@link #init(Cipher,String,long,int,String)}, except that the salt derived from the seed is combined, by exclusive
+   * or, with {@code bs}; so each use of one cached key can still have a salt of its own.
+   * @param c A {@link Cipher} object, representing the cipher to initialize.
+   * @param t A {@link String} object, representing the cryptographic type.
+   * @param l A {@link Long} value, representing the seed of the salt.
+   * @param i An {@link Integer} value, representing the cryptography "direction".
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param bs A {@link Byte} array, representing the 8 bytes to vary the salt by, or {@code null} for none.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @see CipherCache
+   */
+  static void init(Cipher c, String t, long l, int i, String s, byte[] bs) throws NoSuchAlgorithmException,
+      InvalidKeySpecException, InvalidKeyException, InvalidAlgorithmParameterException {
+    final Id id = new Id(t, l, digests.get().digest(s.getBytes(StandardCharsets.UTF_8)));
+    for(;;) {
+      Derived d = lookup(id, s, null);
+      if(init(c, d, i, (bs == null) ? d.spec : vary(d.spec, bs))) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Initialize a cipher with a derived AES key. The key is derived from the cipher key by {@link #kdf kdf}, with the
+   * given salt and iteration count, and is taken from the cache, or derived and cached on a miss.
+   * @param c A {@link Cipher} object, representing the AES cipher to initialize.
+   * @param n An {@link Integer} value, representing the iteration count.
+   * @param salt A {@link Byte} array, representing the salt.
+   * @param i An {@link Integer} value, representing the cryptography "direction".
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param p An {@link AlgorithmParameterSpec} object, representing the cipher parameters, such as the nonce.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @see CipherCache
+   */
+  static void init(Cipher c, int n, byte[] salt, int i, String s, AlgorithmParameterSpec p)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, InvalidKeyException,
+      InvalidAlgorithmParameterException {
+    MessageDigest md = digests.get();
+    md.update(salt);
+    md.update((byte)0);
+    final Id id = new Id(kdf, n, md.digest(s.getBytes(StandardCharsets.UTF_8)));
+    for(;;) {
+      Derived d = lookup(id, s, salt);
+      if(init(c, d, i, p)) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Initialize a cipher with a cached key. No lock is held, so threads sharing a key initialize their ciphers at once;
+   * the key is only held as in use meanwhile, so that an eviction cannot destroy it under the cipher.
+   * @param c A {@link Cipher} object, representing the cipher to initialize.
+   * @param d A {@link Derived} object, representing the key.
+   * @param i An {@link Integer} value, representing the cryptography "direction".
+   * @param p An {@link AlgorithmParameterSpec} object, representing the cipher parameters.
+   * @return A {@link Boolean} value; {@code false}, with the cipher untouched, if the key was evicted since the lookup,
+   * and should be looked up again.
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @see CipherCache
+   */
+  private static boolean init(Cipher c, Derived d, int i, AlgorithmParameterSpec p) throws InvalidKeyException,
+      InvalidAlgorithmParameterException {
+    if(!d.acquire()) {
+      return false;
+    }
+    try {
+      c.init(i, d.key, p);
+      return true;
+    } finally {
+      d.release();
+    }
+  }
+
+  /**
+   * Vary the salt of a parameter spec.
+   * @param p A {@link PBEParameterSpec} object, representing the parameters derived from the seed.
+   * @param bs A {@link Byte} array, representing the bytes to combine with the salt.
+   * @return A {@link PBEParameterSpec} object, with the combined salt and the same iteration count.
+   * @throws InvalidAlgorithmParameterException if {@code bs} is not as long as the salt.
+   * @see CipherCache
+   */
+  private static PBEParameterSpec vary(PBEParameterSpec p, byte[] bs) throws InvalidAlgorithmParameterException {
+    byte[] salt = p.getSalt();
+    if(bs.length != salt.length) {
+      throw new InvalidAlgorithmParameterException(String.format("%d salt bytes, but %d given", salt.length,
+          bs.length));
+    }
+    for(int k = 0; k < salt.length; k++) {
+      salt[k] ^= bs[k];
+    }
+    return new PBEParameterSpec(salt, p.getIterationCount());
+  }
+
+  /**
+   * Look up a derived key, deriving it on a miss. The derivation runs outside of the cache lock; if two threads derive
+   * the same key at once, the first one stored wins and the other is destroyed.
+   * @param id An {@link Id} object, representing the identity of the key.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param salt A {@link Byte} array, representing the salt of an AES key, or {@code null} for a PBE key.
+   * @return A {@link Derived} object.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @see CipherCache
+   */
+  private static Derived lookup(Id id, String s, byte[] salt) throws NoSuchAlgorithmException,
+      InvalidKeySpecException {
+    long now = System.nanoTime();
+    synchronized(keys) {
+      evict(now);
+      Derived d = keys.get(id);
+      if(d != null) {
+        d.used = now;
+        return d;
+      }
+    }
+    Derived d = (salt == null) ? derive(id, s, now) : deriveAes(id, s, salt, now);
+    synchronized(keys) {
+      Derived e = keys.putIfAbsent(id, d);
+      if(e != null) {
+        wipe(d);
+        e.used = now;
+        return e;
+      }
+      evict(now);
+      return d;
+    }
+  }
+
+  /**
+   * Derive a PBE key, with its salt made from the seed.
+   * @param id An {@link Id} object, representing the identity of the key.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param now A {@link Long} value, representing the current {@link System#nanoTime()}.
+   * @return A {@link Derived} object.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @see CipherCache
+   */
+  private static Derived derive(Id id, String s, long now) throws NoSuchAlgorithmException, InvalidKeySpecException {
+    Random random = new Random(id.seed);
+    byte[] salt = new byte[8];
+    random.nextBytes(salt);
+    PBEKeySpec kspec = new PBEKeySpec(s.toCharArray());
+    try {
+      return new Derived(SecretKeyFactory.getInstance(id.type).generateSecret(kspec), new PBEParameterSpec(salt, 5),
+          now);
+    } finally {
+      kspec.clearPassword();
+    }
+  }
+
+  /**
+   * Derive a 256-bit AES key, by {@link #kdf kdf}.
+   * @param id An {@link Id} object, representing the identity of the key; its seed is the iteration count.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param salt A {@link Byte} array, representing the salt.
+   * @param now A {@link Long} value, representing the current {@link System#nanoTime()}.
+   * @return A {@link Derived} object.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @see CipherCache
+   */
+  private static Derived deriveAes(Id id, String s, byte[] salt, long now) throws NoSuchAlgorithmException,
+      InvalidKeySpecException {
+    PBEKeySpec kspec = new PBEKeySpec(s.toCharArray(), salt, (int)id.seed, 256);
+    SecretKey k = null;
+    try {
+      k = SecretKeyFactory.getInstance(id.type).generateSecret(kspec);
+      return new Derived(new AesKey(k.getEncoded()), null, now);
+    } finally {
+      kspec.clearPassword();
+      if(k != null) {
+        destroy(k);
+      }
+    }
+  }
+
+  /**
+   * Evict keys. Keys are visited from the least recently used; each is evicted while there are too many keys, or while
+   * it has been unused for longer than {@link #lifetime lifetime}. The caller holds the {@link #keys keys} lock.
+   * @param now A {@link Long} value, representing the current {@link System#nanoTime()}.
+   * @see CipherCache
+   */
+  private static void evict(long now) {
+    Iterator<Derived> it = keys.values().iterator();
+    while(it.hasNext()) {
+      Derived d = it.next();
+      if(keys.size() <= capacity && now - d.used <= lifetime) {
+        break;
+      }
+      it.remove();
+      wipe(d);
+    }
+  }
+
+  /**
+   * Evict a derived key. It is destroyed now, or by its last user if any cipher is being initialized with it.
+   * @param d A {@link Derived} object, representing the key to evict.
+   * @see CipherCache
+   */
+  private static void wipe(Derived d) {
+    d.evict();
+  }
+
+  /**
+   * Destroy a secret key. Not every provider's keys can be destroyed; such a key is only dropped, and left for the
+   * garbage collector.
+   * @param k A {@link SecretKey} object, representing the key to destroy.
+   * @see CipherCache
+   */
+  private static void destroy(SecretKey k) {
+    if(!k.isDestroyed()) {
+      try {
+        k.destroy();
+      } catch(DestroyFailedException e) { // the provider does not support it; nothing more can be done.
+      }
+    }
+  }
+
+  /**
+   * Evict every derived key, and drop the current thread's idle ciphers.
+   * @see CipherCache
+   */
+  static void clear() {
+    synchronized(keys) {
+      for(Derived d : keys.values()) {
+        wipe(d);
+      }
+      keys.clear();
+    }
+    ciphers.get().clear();
+  }
+}
@@ -0,0 +1,109 @@
+package abc.cryptology;
+import java.lang.reflect.Constructor;
+import java.util.function.Supplier;
+import java.util.zip.Checksum;
+
+
+/**
+ * A CRC-32C (Castagnoli) checksum. Java 8 has no CRC-32C of its own, so this is a table-driven one, eight bytes at a
+ * time; on Java 9 and later, {@link #supplier supplier} makes {@code java.util.zip.CRC32C} instead, which the JVM
+ * accelerates in hardware, and which gives the very same values.
+ * @author Gregory
+ * @see #supplier supplier
+ * @see #tables tables
+ * @see #Crc32c() Crc32c()
+ * @see Checksum
+ */
+final class Crc32c implements Checksum {
+  /**
+   * The supplier of new CRC-32C checksums: the platform's, if it has one, or else this class.
+   * @see Crc32c
+   */
+  static final Supplier<Checksum> supplier;
+  /**
+   * The lookup tables, of the reflected polynomial {@code 0x82F63B78}: table {@code k} holds the CRC of each byte
+   * followed by {@code k} zero bytes.
+   * @see Crc32c
+   */
+  private static final int[][] tables;
+  /**
+   * The running CRC, inverted.
+   * @see Crc32c
+   */
+  private int crc;
+
+  static {
+    tables = new int[8][256];
+    for(int i = 0; i < 256; i++) {
+      int c = i;
+      for(int j = 0; j < 8; j++) {
+        c = ((c & 1) != 0) ? (c >>> 1) ^ 0x82F63B78 : c >>> 1;
+      }
+      tables[0][i] = c;
+    }
+    for(int i = 0; i < 256; i++) {
+      for(int k = 1; k < 8; k++) {
+        tables[k][i] = (tables[k - 1][i] >>> 8) ^ tables[0][tables[k - 1][i] & 0xFF];
+      }
+    }
+    Supplier<Checksum> s;
+    try {
+      Constructor<? extends Checksum> ctor = Class.forName("java.util.zip.CRC32C").asSubclass(Checksum.class)
+          .getConstructor();
+      ctor.newInstance();
+      s = () -> {
+        try {
+          return ctor.newInstance();
+        } catch(ReflectiveOperationException e) { // it was made once already.
+          throw new IllegalStateException(e);
+        }
+      };
+    } catch(ReflectiveOperationException | LinkageError e) { // Java 8.
+      s = Crc32c::new;
+    }
+    supplier = s;
+  }
+
+  /**
+   * A package-private constructor. The checksum starts empty.
+   * @see Crc32c
+   */
+  Crc32c() {
+    crc = 0xFFFFFFFF;
+  }
+
+  @Override
+  public void update(int b) {
+    crc = (crc >>> 8) ^ tables[0][(crc ^ b) & 0xFF];
+  }
+
+  @Override
+  public void update(byte[] bs, int i, int j) {
+    if(i < 0 || j < 0 || i > bs.length - j) {
+      throw new ArrayIndexOutOfBoundsException();
+    }
+    final int[] t0 = tables[0], t1 = tables[1], t2 = tables[2], t3 = tables[3];
+    final int[] t4 = tables[4], t5 = tables[5], t6 = tables[6], t7 = tables[7];
+    int c = crc;
+    final int end = i + j;
+    for(; i + 8 <= end; i += 8) {
+      final int lo = c ^ ((bs[i] & 0xFF) | (bs[i + 1] & 0xFF) << 8 | (bs[i + 2] & 0xFF) << 16 | bs[i + 3] << 24);
+      c = t7[lo & 0xFF] ^ t6[(lo >>> 8) & 0xFF] ^ t5[(lo >>> 16) & 0xFF] ^ t4[lo >>> 24] ^ t3[bs[i + 4] & 0xFF]
+          ^ t2[bs[i + 5] & 0xFF] ^ t1[bs[i + 6] & 0xFF] ^ t0[bs[i + 7] & 0xFF];
+    }
+    for(; i < end; i++) {
+      c = (c >>> 8) ^ t0[(c ^ bs[i]) & 0xFF];
+    }
+    crc = c;
+  }
+
+  @Override
+  public long getValue() {
+    return ~crc & 0xFFFFFFFFL;
+  }
+
+  @Override
+  public void reset() {
+    crc = 0xFFFFFFFF;
+  }
+}
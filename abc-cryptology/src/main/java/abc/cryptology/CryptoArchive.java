@@ -0,0 +1,197 @@
+package abc.cryptology;
+import abc.cryptology.logics.Crypto;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * An open encrypted archive. This is a read-only view of a file written by
+ * {@link AbcCryptology#performArchiveEncryption(long,Map,String,File,String)}: the file is memory-mapped, and its index
+ * decrypted, once, when it is opened; after that, any one record is found by name and decrypted alone, straight from
+ * the mapped file into a caller-provided buffer, without reading the rest of the file.
+ * <p/>
+ * Records may be read by any number of threads at once. Once {@link #close() closed}, the archive can no longer be
+ * read; the mapping itself is released by the garbage collector, as Java offers no way to unmap a file.
+ * @author Gregory
+ * @see #CryptoArchive(EncryptionArchive,File,String) CryptoArchive(EncryptionArchive,File,String)
+ * @see #size() size()
+ * @see #names() names()
+ * @see #contains(String) contains(String)
+ * @see #length(String) length(String)
+ * @see #read(String,ByteBuffer) read(String,ByteBuffer)
+ * @see #read(String) read(String)
+ * @see #performDecryption(String,Crypto) performDecryption(String,Crypto)
+ * @see #close() close()
+ * @see AbcCryptology
+ */
+public final class CryptoArchive implements Closeable {
+  /**
+   * The archive encryption instance.
+   * @see CryptoArchive
+   */
+  private final EncryptionArchive encryption;
+  /**
+   * The index entry of each record, by name.
+   * @see CryptoArchive
+   */
+  private final Map<String, EncryptionArchive.Entry> entries;
+  /**
+   * The mapped archive file; {@code null} once closed.
+   * @see CryptoArchive
+   */
+  private volatile ByteBuffer mapped;
+  /**
+   * The cryptography "key"; {@code null} once closed.
+   * @see CryptoArchive
+   */
+  private volatile String key;
+
+  /**
+   * A package-private constructor. This maps the archive file, and decrypts its index.
+   * @param e An {@link EncryptionArchive} object, representing the archive encryption instance.
+   * @param f A {@link File} object, representing the archive file.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @throws FileNotFoundException if the file does not exist.
+   * @throws IOException if the file cannot be mapped, or is not an archive.
+   * @throws GeneralSecurityException if the index cannot be decrypted.
+   * @see CryptoArchive
+   */
+  CryptoArchive(EncryptionArchive e, File f, String s) throws FileNotFoundException, IOException,
+      GeneralSecurityException {
+    if(!f.exists()) {
+      throw new FileNotFoundException(f.getPath());
+    }
+    encryption = e;
+    mapped = EncryptionArchive.map(f);
+    entries = e.index(mapped, s);
+    key = s;
+  }
+
+  /**
+   * Get the index entry of a record.
+   * @param s A {@link String} object, representing the record's name.
+   * @return An {@link EncryptionArchive.Entry} object.
+   * @throws FileNotFoundException if there is no such record.
+   * @see CryptoArchive
+   */
+  private EncryptionArchive.Entry entry(String s) throws FileNotFoundException {
+    EncryptionArchive.Entry e = entries.get(s);
+    if(e == null) {
+      throw new FileNotFoundException(String.format("no record \"%s\" in the archive", s));
+    }
+    return e;
+  }
+
+  /**
+   * Get the number of records.
+   * @return An {@link Integer} value.
+   * @see CryptoArchive
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Get the record names, in the order the records were written.
+   * @return A {@link Set} object, which cannot be changed.
+   * @see CryptoArchive
+   */
+  public Set<String> names() {
+    return entries.keySet();
+  }
+
+  /**
+   * Check whether there is a record of a name.
+   * @param s A {@link String} object, representing the record's name.
+   * @return A {@link Boolean} value.
+   * @see CryptoArchive
+   */
+  public boolean contains(String s) {
+    return entries.containsKey(s);
+  }
+
+  /**
+   * Get the plain length of a record, in bytes; a buffer handed to {@link #read(String,ByteBuffer)} needs this much
+   * room.
+   * @param s A {@link String} object, representing the record's name.
+   * @return An {@link Integer} value.
+   * @throws FileNotFoundException if there is no such record.
+   * @see CryptoArchive
+   */
+  public int length(String s) throws FileNotFoundException {
+    return entry(s).plainLength;
+  }
+
+  /**
+   * Decrypt one record into a buffer. The plain bytes are put from the buffer's position on, and its position is then
+   * moved past them; only the record's own bytes are read from the file.
+   * @param s A {@link String} object, representing the record's name.
+   * @param bb A {@link ByteBuffer} object, representing the target bytes.
+   * @return An {@link Integer} value, the number of bytes put.
+   * @throws FileNotFoundException if there is no such record.
+   * @throws BufferOverflowException if {@code bb} has less room than {@link #length(String) length(s)}.
+   * @throws IOException if the archive is closed, or the record is corrupt.
+   * @throws GeneralSecurityException if the record cannot be decrypted.
+   * @see CryptoArchive
+   */
+  public int read(String s, ByteBuffer bb) throws FileNotFoundException, IOException, GeneralSecurityException {
+    final ByteBuffer mbb = mapped;
+    final String t = key;
+    if(mbb == null || t == null) {
+      throw new IOException("archive is closed");
+    }
+    EncryptionArchive.Entry e = entry(s);
+    encryption.decrypt(mbb, e, t, bb);
+    return e.plainLength;
+  }
+
+  /**
+   * Decrypt one record into a new array.
+   * @param s A {@link String} object, representing the record's name.
+   * @return A {@link Byte} array.
+   * @throws FileNotFoundException if there is no such record.
+   * @throws IOException if the archive is closed, or the record is corrupt.
+   * @throws GeneralSecurityException if the record cannot be decrypted.
+   * @see CryptoArchive
+   */
+  public byte[] read(String s) throws FileNotFoundException, IOException, GeneralSecurityException {
+    ByteBuffer bb = ByteBuffer.allocate(length(s));
+    read(s, bb);
+    return bb.array();
+  }
+
+  /**
+   * Decrypt one record through a cryptographic logic, as a {@link Crypto} logic would read the whole file.
+   * @param s A {@link String} object, representing the record's name.
+   * @param c A {@link Crypto} object, representing the cryptographic logic.
+   * @throws FileNotFoundException if there is no such record.
+   * @throws IOException if the archive is closed, or the record is corrupt.
+   * @throws GeneralSecurityException if the record cannot be decrypted.
+   * @see CryptoArchive
+   */
+  public void performDecryption(String s, Crypto c) throws FileNotFoundException, IOException,
+      GeneralSecurityException {
+    try(DataInputStream dis = new DataInputStream(new ByteArrayInputStream(read(s)))) {
+      c.performDecryption(dis);
+    }
+  }
+
+  /**
+   * Close the archive. Reads already running are finished; later reads fail.
+   * @see CryptoArchive
+   */
+  @Override
+  public void close() {
+    mapped = null;
+    key = null;
+  }
+}
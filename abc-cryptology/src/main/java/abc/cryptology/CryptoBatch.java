@@ -0,0 +1,506 @@
+package abc.cryptology;
+import abc.cryptology.logics.Crypto;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+
+/**
+ * A running batch of {@link CryptoJob}s. This encrypts or decrypts many files at once, splitting each job into its disk
+ * work (reading or writing the whole file) and its cipher work (running the logic and the cipher in memory), and runs
+ * each kind on a pool of its own; so the number of files read or written at once and the number of ciphers running at
+ * once are limited separately, and neither kind of work waits on the other.
+ * <p/>
+ * At most twice as many jobs as there are threads, in both pools together, are started at once, so the file bytes held
+ * in memory stay bounded however many jobs there are. Each finished job is handed to the progress callback, if any, on
+ * the thread that finished it. Once every job is finished, the pools are shut down.
+ * <p/>
+ * A batch writes and reads the same files as {@link AbcCryptology#performEncryption(long,Crypto,String,File,String)}
+ * or {@link AbcCryptology#performAuthenticatedEncryption(long,Crypto,String,File,String,int)}; decryption recognizes
+ * either kind by its header.
+ * @author Gregory
+ * @see #window window
+ * @see #isDone() isDone()
+ * @see #await() await()
+ * @see #await(long,TimeUnit) await(long,TimeUnit)
+ * @see #cancel() cancel()
+ * @see #isCancelled() isCancelled()
+ * @see #getJobs() getJobs()
+ * @see #getDone() getDone()
+ * @see #getFailed() getFailed()
+ * @see #getCancelled() getCancelled()
+ * @see #getBytes() getBytes()
+ * @see #getNanos() getNanos()
+ * @see #getThroughput() getThroughput()
+ * @see CryptoJob
+ * @see AbcCryptology
+ */
+public final class CryptoBatch {
+  /**
+   * The number of jobs started at once, per pool thread.
+   * @see CryptoBatch
+   */
+  static final int window = 2;
+  /**
+   * The number of batches created, for naming pool threads.
+   * @see CryptoBatch
+   */
+  private static final AtomicInteger batches;
+  /**
+   * The jobs.
+   * @see CryptoBatch
+   */
+  private final List<CryptoJob> jobs;
+  /**
+   * The random seed.
+   * @see CryptoBatch
+   */
+  private final long seed;
+  /**
+   * The cryptographic type.
+   * @see CryptoBatch
+   */
+  private final String type;
+  /**
+   * Whether this batch encrypts, rather than decrypts.
+   * @see CryptoBatch
+   */
+  private final boolean encrypting;
+  /**
+   * The iteration cost of authenticated encryption, or {@code 0} for the legacy cipher.
+   * @see CryptoBatch
+   */
+  private final int cost;
+  /**
+   * The progress callback, or {@code null}.
+   * @see CryptoBatch
+   */
+  private final Consumer<CryptoJob> progress;
+  /**
+   * The cipher pool.
+   * @see CryptoBatch
+   */
+  private final ThreadPoolExecutor cpu;
+  /**
+   * The disk pool.
+   * @see CryptoBatch
+   */
+  private final ThreadPoolExecutor disk;
+  /**
+   * The index of the next job to start.
+   * @see CryptoBatch
+   */
+  private final AtomicInteger next;
+  /**
+   * The number of jobs not yet finished.
+   * @see CryptoBatch
+   */
+  private final AtomicInteger remaining;
+  /**
+   * The number of jobs finished without errors.
+   * @see CryptoBatch
+   */
+  private final AtomicInteger done;
+  /**
+   * The number of jobs finished with an error.
+   * @see CryptoBatch
+   */
+  private final AtomicInteger failed;
+  /**
+   * The number of jobs cancelled.
+   * @see CryptoBatch
+   */
+  private final AtomicInteger cancelled;
+  /**
+   * The number of file bytes read or written by the jobs finished without errors.
+   * @see CryptoBatch
+   */
+  private final AtomicLong bytes;
+  /**
+   * Counted down once every job is finished.
+   * @see CryptoBatch
+   */
+  private final CountDownLatch finished;
+  /**
+   * The start time, in nanoseconds.
+   * @see CryptoBatch
+   */
+  private final long start;
+  /**
+   * The time taken, in nanoseconds, once finished.
+   * @see CryptoBatch
+   */
+  private volatile long nanos;
+  /**
+   * Whether the batch is cancelled.
+   * @see CryptoBatch
+   */
+  private volatile boolean stopped;
+
+  static {
+    batches = new AtomicInteger();
+  }
+
+  /**
+   * A package-private constructor. This starts the batch.
+   * @param b A {@link Boolean} value, {@code true} to encrypt, or {@code false} to decrypt.
+   * @param l A {@link Long} value, representing the random seed.
+   * @param s A {@link String} object, representing the cryptographic type.
+   * @param n An {@link Integer} value, representing the iteration cost of authenticated encryption, or {@code 0}.
+   * @param c A {@link Collection} object, representing the jobs.
+   * @param i An {@link Integer} value, representing the number of cipher threads.
+   * @param j An {@link Integer} value, representing the number of disk threads.
+   * @param p A {@link Consumer} object, representing the progress callback, or {@code null}.
+   * @throws IllegalArgumentException if {@code i} or {@code j} is not positive.
+   * @see CryptoBatch
+   */
+  CryptoBatch(boolean b, long l, String s, int n, Collection<CryptoJob> c, int i, int j, Consumer<CryptoJob> p) {
+    if(i <= 0 || j <= 0) {
+      throw new IllegalArgumentException(String.format("cpu=%d, disk=%d", i, j));
+    }
+    jobs = Collections.unmodifiableList(new ArrayList<>(c));
+    seed = l;
+    type = s;
+    encrypting = b;
+    cost = n;
+    progress = p;
+    final int k = batches.incrementAndGet();
+    cpu = pool(i, String.format("abc-cryptology-batch-%d-cpu-", k));
+    disk = pool(j, String.format("abc-cryptology-batch-%d-disk-", k));
+    next = new AtomicInteger();
+    remaining = new AtomicInteger(jobs.size());
+    done = new AtomicInteger();
+    failed = new AtomicInteger();
+    cancelled = new AtomicInteger();
+    bytes = new AtomicLong();
+    finished = new CountDownLatch(1);
+    start = System.nanoTime();
+    for(CryptoJob job : jobs) {
+      job.reset();
+    }
+    if(jobs.isEmpty()) {
+      close();
+    }
+    for(int m = Math.min(window * (i + j), jobs.size()); m > 0; m--) {
+      pull();
+    }
+  }
+
+  /**
+   * Create a fixed pool of daemon threads.
+   * @param n An {@link Integer} value, representing the number of threads.
+   * @param s A {@link String} object, representing the thread name prefix.
+   * @return A {@link ThreadPoolExecutor} object.
+   * @see CryptoBatch
+   */
+  private static ThreadPoolExecutor pool(int n, String s) {
+    final AtomicInteger count = new AtomicInteger();
+    ThreadFactory tf = (Runnable r) -> {
+      Thread t = new Thread(r, s + count.incrementAndGet());
+      t.setDaemon(true);
+      return t;
+    };
+    return new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), tf);
+  }
+
+  /**
+   * Start the next job, if any. Jobs pulled after the batch is cancelled are finished as cancelled instead.
+   * @see CryptoBatch
+   */
+  private void pull() {
+    for(;;) {
+      final int k = next.getAndIncrement();
+      if(k >= jobs.size()) {
+        return;
+      }
+      CryptoJob job = jobs.get(k);
+      if(stopped) {
+        job.cancel();
+        finish(job, false);
+      } else {
+        job.begin();
+        if(encrypting) {
+          cpu.execute(() -> seal(job));
+        } else {
+          disk.execute(() -> read(job));
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * The cipher work of an encryption job; the file bytes are then handed to the disk pool.
+   * @param job A {@link CryptoJob} object, representing the job.
+   * @see CryptoBatch
+   */
+  private void seal(CryptoJob job) {
+    final byte[] bs;
+    try {
+      if(cost > 0) {
+        bs = new EncryptionAead(seed, job.getLogic(), type, cost).performEncrypting(job.key);
+      } else {
+        bs = new EncryptionMemory(seed, job.getLogic(), type).performEncrypting(job.key);
+      }
+    } catch(Exception e) {
+      job.fail(e);
+      finish(job, true);
+      return;
+    } catch(Error e) { // the job still counts as finished, or the batch would never be done.
+      job.fail(e);
+      finish(job, true);
+      throw e;
+    }
+    disk.execute(() -> write(job, bs));
+  }
+
+  /**
+   * The disk work of an encryption job. The file must exist, the same as for
+   * {@link AbcCryptology#performEncryption(long,Crypto,String,File,String)}.
+   * @param job A {@link CryptoJob} object, representing the job.
+   * @param bs A {@link Byte} array, representing the file bytes.
+   * @see CryptoBatch
+   */
+  private void write(CryptoJob job, byte[] bs) {
+    try {
+      if(stopped) {
+        job.cancel();
+      } else if(!job.getFile().exists()) {
+        throw new FileNotFoundException(job.getFile().getPath());
+      } else {
+        Files.write(job.getFile().toPath(), bs, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        job.succeed(bs.length);
+      }
+    } catch(Exception e) {
+      job.fail(e);
+    } catch(Error e) {
+      job.fail(e);
+      throw e;
+    } finally { // the job still counts as finished, or the batch would never be done.
+      finish(job, true);
+    }
+  }
+
+  /**
+   * The disk work of a decryption job; the file bytes are then handed to the cipher pool.
+   * @param job A {@link CryptoJob} object, representing the job.
+   * @see CryptoBatch
+   */
+  private void read(CryptoJob job) {
+    final byte[] bs;
+    try {
+      bs = Files.readAllBytes(job.getFile().toPath());
+    } catch(Exception e) {
+      job.fail(e);
+      finish(job, true);
+      return;
+    } catch(Error e) { // the job still counts as finished, or the batch would never be done.
+      job.fail(e);
+      finish(job, true);
+      throw e;
+    }
+    cpu.execute(() -> open(job, bs));
+  }
+
+  /**
+   * The cipher work of a decryption job.
+   * @param job A {@link CryptoJob} object, representing the job.
+   * @param bs A {@link Byte} array, representing the file bytes.
+   * @see CryptoBatch
+   */
+  private void open(CryptoJob job, byte[] bs) {
+    try {
+      if(stopped) {
+        job.cancel();
+      } else if(EncryptionAead.isAuthenticated(bs, 0, bs.length)) {
+        new EncryptionAead(seed, job.getLogic(), type, EncryptionAead.defaultCost).performDecrypting(bs, 0, bs.length,
+            job.key);
+        job.succeed(bs.length);
+      } else {
+        new EncryptionMemory(seed, job.getLogic(), type).performDecrypting(bs, 0, bs.length, job.key);
+        job.succeed(bs.length);
+      }
+    } catch(Exception e) {
+      job.fail(e);
+    } catch(Error e) {
+      job.fail(e);
+      throw e;
+    } finally { // the job still counts as finished, or the batch would never be done.
+      finish(job, true);
+    }
+  }
+
+  /**
+   * Count a finished job, report it, and start the next one.
+   * @param job A {@link CryptoJob} object, representing the finished job.
+   * @param b A {@link Boolean} value, representing whether to start the next job.
+   * @see CryptoBatch
+   */
+  private void finish(CryptoJob job, boolean b) {
+    switch(job.getState()) {
+      case DONE:
+        done.incrementAndGet();
+        bytes.addAndGet(job.getBytes());
+        break;
+      case FAILED:
+        failed.incrementAndGet();
+        break;
+      default:
+        cancelled.incrementAndGet();
+        break;
+    }
+    try {
+      if(progress != null) {
+        progress.accept(job);
+      }
+    } catch(RuntimeException e) { // a failing callback must not stall the batch.
+    } finally {
+      if(remaining.decrementAndGet() == 0) {
+        close();
+      } else if(b) {
+        pull();
+      }
+    }
+  }
+
+  /**
+   * Shut down the pools, and release any waiting threads.
+   * @see CryptoBatch
+   */
+  private void close() {
+    nanos = System.nanoTime() - start;
+    cpu.shutdown();
+    disk.shutdown();
+    finished.countDown();
+  }
+
+  /**
+   * Check whether every job is finished.
+   * @return A {@link Boolean} value.
+   * @see CryptoBatch
+   */
+  public boolean isDone() {
+    return finished.getCount() == 0L;
+  }
+
+  /**
+   * Wait until every job is finished.
+   * @throws InterruptedException if interrupted while waiting.
+   * @see CryptoBatch
+   */
+  public void await() throws InterruptedException {
+    finished.await();
+  }
+
+  /**
+   * Wait until every job is finished, or the time is up.
+   * @param l A {@link Long} value, representing the most time to wait.
+   * @param u A {@link TimeUnit} object, representing the unit of {@code l}.
+   * @return A {@link Boolean} value, {@code true} if every job is finished.
+   * @throws InterruptedException if interrupted while waiting.
+   * @see CryptoBatch
+   */
+  public boolean await(long l, TimeUnit u) throws InterruptedException {
+    return finished.await(l, u);
+  }
+
+  /**
+   * Cancel the batch. Jobs not yet started are finished as cancelled at once; running jobs are cancelled before their
+   * last step, if they have not reached it yet, and otherwise finish as usual.
+   * @see CryptoBatch
+   */
+  public void cancel() {
+    stopped = true;
+    for(int k = next.getAndIncrement(); k < jobs.size(); k = next.getAndIncrement()) {
+      CryptoJob job = jobs.get(k);
+      job.cancel();
+      finish(job, false);
+    }
+  }
+
+  /**
+   * Check whether the batch is cancelled.
+   * @return A {@link Boolean} value.
+   * @see CryptoBatch
+   */
+  public boolean isCancelled() {
+    return stopped;
+  }
+
+  /**
+   * Get the jobs, in the order given; each holds its own result.
+   * @return A {@link List} object, which cannot be changed.
+   * @see CryptoBatch
+   */
+  public List<CryptoJob> getJobs() {
+    return jobs;
+  }
+
+  /**
+   * Get the number of jobs finished without errors.
+   * @return An {@link Integer} value.
+   * @see CryptoBatch
+   */
+  public int getDone() {
+    return done.get();
+  }
+
+  /**
+   * Get the number of jobs finished with an error.
+   * @return An {@link Integer} value.
+   * @see CryptoBatch
+   */
+  public int getFailed() {
+    return failed.get();
+  }
+
+  /**
+   * Get the number of jobs cancelled.
+   * @return An {@link Integer} value.
+   * @see CryptoBatch
+   */
+  public int getCancelled() {
+    return cancelled.get();
+  }
+
+  /**
+   * Get the number of file bytes read or written by the jobs finished without errors.
+   * @return A {@link Long} value.
+   * @see CryptoBatch
+   */
+  public long getBytes() {
+    return bytes.get();
+  }
+
+  /**
+   * Get the time taken so far, or in all once done, in nanoseconds.
+   * @return A {@link Long} value.
+   * @see CryptoBatch
+   */
+  public long getNanos() {
+    return isDone() ? nanos : System.nanoTime() - start;
+  }
+
+  /**
+   * Get the throughput so far, or in all once done.
+   * @return A {@link Double} value, in file bytes per second.
+   * @see CryptoBatch
+   */
+  public double getThroughput() {
+    final long l = getNanos();
+    return (l > 0L) ? getBytes() * 1e9 / l : 0.0;
+  }
+}
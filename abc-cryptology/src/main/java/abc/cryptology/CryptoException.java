@@ -0,0 +1,82 @@
+package abc.cryptology;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.GeneralSecurityException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+
+/**
+ * A cryptology failure. The asynchronous operations of {@link AbcCryptology} complete exceptionally with this, in place
+ * of the half-dozen checked exceptions of their blocking counterparts; the original exception is its
+ * {@link #getCause() cause}, so a caller that cares can still tell them apart, and a caller that does not catches just
+ * one type.
+ * @author Gregory
+ * @see #CryptoException(String,Throwable) CryptoException(String,Throwable)
+ * @see #isSecurityFailure() isSecurityFailure()
+ * @see #isRejected() isRejected()
+ * @see #isIoFailure() isIoFailure()
+ * @see AbcCryptology
+ */
+public class CryptoException extends Exception {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * A public constructor.
+   * @param s A {@link String} object, representing the message.
+   * @param t A {@link Throwable} object, representing the cause.
+   * @see CryptoException
+   */
+  public CryptoException(String s, Throwable t) {
+    super(s, t);
+  }
+
+  /**
+   * Wrap a failure. A {@link CryptoException} is returned as it is, and the wrappers of {@link CompletionException},
+   * {@link ExecutionException} and {@link UncheckedIOException} are taken off first.
+   * @param t A {@link Throwable} object, representing the failure.
+   * @return A {@link CryptoException} object.
+   * @see CryptoException
+   */
+  static CryptoException wrap(Throwable t) {
+    while((t instanceof CompletionException || t instanceof ExecutionException || t instanceof UncheckedIOException)
+        && t.getCause() != null) {
+      t = t.getCause();
+    }
+    return (t instanceof CryptoException) ? (CryptoException)t : new CryptoException(String.valueOf(t), t);
+  }
+
+  /**
+   * Check whether this failure came from the cryptography itself: a missing algorithm, a bad key or parameters, or
+   * cipher text that does not decrypt, such as from a wrong cipher key or a tampered file.
+   * @return A {@link Boolean} value.
+   * @see CryptoException
+   */
+  public boolean isSecurityFailure() {
+    for(Throwable t = getCause(); t != null; t = t.getCause()) {
+      if(t instanceof GeneralSecurityException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Check whether this failure is the executor refusing the operation, which then never ran.
+   * @return A {@link Boolean} value.
+   * @see CryptoException
+   */
+  public boolean isRejected() {
+    return getCause() instanceof RejectedExecutionException;
+  }
+
+  /**
+   * Check whether this failure came from reading or writing, rather than from the cryptography.
+   * @return A {@link Boolean} value.
+   * @see CryptoException
+   */
+  public boolean isIoFailure() {
+    return getCause() instanceof IOException && !isSecurityFailure();
+  }
+}
@@ -0,0 +1,433 @@
+package abc.cryptology;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.zip.Checksum;
+
+
+/**
+ * A hash tree of a file. The file is cut into chunks of a fixed size, the last one shorter; each chunk has a SHA-256
+ * digest and a CRC-32C checksum of its own, and the digests are combined, pairwise, into a single root digest (a Merkle
+ * tree), which also covers the file length and the chunk size. Two files of the same root have the same bytes.
+ * <p/>
+ * The chunks are hashed in parallel, on the common pool, from a memory-mapped file, so a large file is hashed as fast
+ * as the disk and the cores allow; and a file can later be checked against its tree chunk by chunk, so a startup check
+ * need only read the chunks it is about to use. The root is what should be trusted, or signed; the tree itself can be
+ * stored with {@link #toBytes()}, and {@link #fromBytes(byte[])} rejects a stored tree whose chunks do not add up to
+ * its root.
+ * <p/>
+ * A chunk digest is the SHA-256 of a zero byte and the chunk; an inner node is the SHA-256 of a one byte and its two
+ * children, an odd node out being carried up as it is; and the root is the SHA-256 of a two byte, the file length
+ * ({@code long}), the chunk size ({@code int}) and the top node (32 zero bytes for an empty file).
+ * @author Gregory
+ * @see #defaultChunk defaultChunk
+ * @see #getLength() getLength()
+ * @see #getChunkSize() getChunkSize()
+ * @see #getChunkCount() getChunkCount()
+ * @see #getChunk(long) getChunk(long)
+ * @see #getDigest(int) getDigest(int)
+ * @see #getChecksum(int) getChecksum(int)
+ * @see #getRoot() getRoot()
+ * @see #toBytes() toBytes()
+ * @see #fromBytes(byte[]) fromBytes(byte[])
+ * @see AbcCryptology#performHashing(File,int) AbcCryptology.performHashing(File,int)
+ * @see AbcCryptology#performVerification(CryptoHash,File,boolean,long...)
+ *      AbcCryptology.performVerification(CryptoHash,File,boolean,long...)
+ */
+public final class CryptoHash {
+  /**
+   * The default chunk size, in bytes (4 MiB).
+   * @see CryptoHash
+   */
+  static final int defaultChunk = 4 << 20;
+  /**
+   * The magic number of a stored tree, {@code "ABCH"}.
+   * @see CryptoHash
+   */
+  private static final int magic = 0x41424348;
+  /**
+   * The format version of a stored tree.
+   * @see CryptoHash
+   */
+  private static final byte version = 1;
+  /**
+   * The length of a digest, in bytes.
+   * @see CryptoHash
+   */
+  private static final int digestLength = 32;
+  /**
+   * The SHA-256 digest of each thread.
+   * @see CryptoHash
+   */
+  private static final ThreadLocal<MessageDigest> digests;
+  /**
+   * The scratch buffer of each thread, that mapped bytes are copied through.
+   * @see CryptoHash
+   */
+  private static final ThreadLocal<byte[]> scratches;
+  /**
+   * The file length.
+   * @see CryptoHash
+   */
+  private final long length;
+  /**
+   * The chunk size.
+   * @see CryptoHash
+   */
+  private final int chunk;
+  /**
+   * The digest of each chunk.
+   * @see CryptoHash
+   */
+  private final byte[][] chunkDigests;
+  /**
+   * The CRC-32C of each chunk.
+   * @see CryptoHash
+   */
+  private final int[] checksums;
+  /**
+   * The root digest.
+   * @see CryptoHash
+   */
+  private final byte[] root;
+
+  static {
+    digests = ThreadLocal.withInitial(() -> {
+      try {
+        return MessageDigest.getInstance("SHA-256");
+      } catch(NoSuchAlgorithmException e) { // every Java platform is required to support SHA-256.
+        throw new IllegalStateException(e);
+      }
+    });
+    scratches = ThreadLocal.withInitial(() -> new byte[65536]);
+  }
+
+  /**
+   * A private constructor. This computes the root.
+   * @param l A {@link Long} value, representing the file length.
+   * @param i An {@link Integer} value, representing the chunk size.
+   * @param bss A {@link Byte} array array, representing the digest of each chunk.
+   * @param is An {@link Integer} array, representing the CRC-32C of each chunk.
+   * @see CryptoHash
+   */
+  private CryptoHash(long l, int i, byte[][] bss, int[] is) {
+    length = l;
+    chunk = i;
+    chunkDigests = bss;
+    checksums = is;
+    root = root(l, i, bss);
+  }
+
+  /**
+   * Count the chunks of a file.
+   * @param l A {@link Long} value, representing the file length.
+   * @param i An {@link Integer} value, representing the chunk size.
+   * @return An {@link Integer} value.
+   * @throws IOException if there are too many chunks.
+   * @see CryptoHash
+   */
+  private static int count(long l, int i) throws IOException {
+    final long n = (l + i - 1) / i;
+    if(n > Integer.MAX_VALUE - 8) {
+      throw new IOException(String.format("file of %d bytes has too many chunks of %d bytes", l, i));
+    }
+    return (int)n;
+  }
+
+  /**
+   * Compute the root digest.
+   * @param l A {@link Long} value, representing the file length.
+   * @param i An {@link Integer} value, representing the chunk size.
+   * @param bss A {@link Byte} array array, representing the digest of each chunk.
+   * @return A {@link Byte} array, holding the root digest.
+   * @see CryptoHash
+   */
+  private static byte[] root(long l, int i, byte[][] bss) {
+    MessageDigest md = digests.get();
+    md.reset();
+    byte[][] level = bss;
+    while(level.length > 1) {
+      byte[][] up = new byte[(level.length + 1) / 2][];
+      for(int k = 0; k < up.length; k++) {
+        if(2 * k + 1 < level.length) {
+          md.update((byte)1);
+          md.update(level[2 * k]);
+          md.update(level[2 * k + 1]);
+          up[k] = md.digest();
+        } else {
+          up[k] = level[2 * k];
+        }
+      }
+      level = up;
+    }
+    md.update((byte)2);
+    md.update(ByteBuffer.allocate(12).putLong(l).putInt(i).array());
+    md.update((level.length == 0) ? new byte[digestLength] : level[0]);
+    return md.digest();
+  }
+
+  /**
+   * Hash one chunk.
+   * @param fc A {@link FileChannel} object, representing the file.
+   * @param p A {@link Long} value, representing the chunk's position.
+   * @param n An {@link Integer} value, representing the chunk's length.
+   * @param md A {@link MessageDigest} object, to digest the chunk into, or {@code null} to skip the digest.
+   * @param cs A {@link Checksum} object, to checksum the chunk into.
+   * @throws IOException
+   * @see CryptoHash
+   */
+  private static void hash(FileChannel fc, long p, int n, MessageDigest md, Checksum cs) throws IOException {
+    MappedByteBuffer mbb = fc.map(FileChannel.MapMode.READ_ONLY, p, n);
+    byte[] bs = scratches.get();
+    if(md != null) {
+      md.reset();
+      md.update((byte)0);
+    }
+    while(mbb.hasRemaining()) {
+      final int k = Math.min(bs.length, mbb.remaining());
+      mbb.get(bs, 0, k);
+      if(md != null) {
+        md.update(bs, 0, k);
+      }
+      cs.update(bs, 0, k);
+    }
+  }
+
+  /**
+   * Hash a file. The chunks are hashed in parallel, on the common pool.
+   * @param f A {@link File} object, representing the file.
+   * @param i An {@link Integer} value, representing the chunk size.
+   * @return A {@link CryptoHash} object.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see CryptoHash
+   */
+  static CryptoHash hash(File f, int i) throws IOException {
+    if(i <= 0) {
+      throw new IllegalArgumentException(String.format("chunk=%d", i));
+    }
+    try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+      final long l = fc.size();
+      byte[][] bss = new byte[count(l, i)][];
+      int[] is = new int[bss.length];
+      try {
+        IntStream.range(0, bss.length).parallel().forEach((int k) -> {
+          final long p = (long)k * i;
+          MessageDigest md = digests.get();
+          Checksum cs = Crc32c.supplier.get();
+          try {
+            hash(fc, p, (int)Math.min(i, l - p), md, cs);
+          } catch(IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          bss[k] = md.digest();
+          is[k] = (int)cs.getValue();
+        });
+      } catch(UncheckedIOException e) {
+        throw e.getCause();
+      }
+      return new CryptoHash(l, i, bss, is);
+    }
+  }
+
+  /**
+   * Check chunks of a file against a tree. The chunks are checked in parallel, on the common pool. If the file length
+   * is not the tree's, every chunk asked for fails.
+   * @param h A {@link CryptoHash} object, representing the tree.
+   * @param f A {@link File} object, representing the file.
+   * @param b A {@link Boolean} value, representing whether to check only the CRC-32C, which is much faster, and finds
+   *        accidental damage, but not deliberate tampering.
+   * @param ls A {@link Long} array, representing offsets within the chunks to check; every chunk if empty.
+   * @return An {@link Integer} array, holding the indices of the chunks that failed, in order; empty if none failed.
+   * @throws IOException if the file cannot be read.
+   * @throws IndexOutOfBoundsException if an offset is not within the tree's length.
+   * @see CryptoHash
+   */
+  static int[] verify(CryptoHash h, File f, boolean b, long[] ls) throws IOException {
+    final int[] ks;
+    if(ls.length == 0) {
+      ks = IntStream.range(0, h.getChunkCount()).toArray();
+    } else {
+      int[] is = new int[ls.length];
+      for(int k = 0; k < ls.length; k++) {
+        is[k] = h.getChunk(ls[k]);
+      }
+      ks = IntStream.of(is).sorted().distinct().toArray();
+    }
+    try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+      if(fc.size() != h.length) {
+        return ks;
+      }
+      boolean[] bad = new boolean[ks.length];
+      try {
+        IntStream.range(0, ks.length).parallel().forEach((int k) -> {
+          final long p = (long)ks[k] * h.chunk;
+          MessageDigest md = b ? null : digests.get();
+          Checksum cs = Crc32c.supplier.get();
+          try {
+            hash(fc, p, (int)Math.min(h.chunk, h.length - p), md, cs);
+          } catch(IOException e) {
+            throw new UncheckedIOException(e);
+          }
+          bad[k] = (int)cs.getValue() != h.checksums[ks[k]]
+              || (md != null && !MessageDigest.isEqual(md.digest(), h.chunkDigests[ks[k]]));
+        });
+      } catch(UncheckedIOException e) {
+        throw e.getCause();
+      }
+      return IntStream.range(0, ks.length).filter((int k) -> bad[k]).map((int k) -> ks[k]).toArray();
+    }
+  }
+
+  /**
+   * Get the file length.
+   * @return A {@link Long} value.
+   * @see CryptoHash
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Get the chunk size.
+   * @return An {@link Integer} value.
+   * @see CryptoHash
+   */
+  public int getChunkSize() {
+    return chunk;
+  }
+
+  /**
+   * Get the number of chunks.
+   * @return An {@link Integer} value.
+   * @see CryptoHash
+   */
+  public int getChunkCount() {
+    return chunkDigests.length;
+  }
+
+  /**
+   * Get the index of the chunk holding a file offset.
+   * @param l A {@link Long} value, representing the offset.
+   * @return An {@link Integer} value.
+   * @throws IndexOutOfBoundsException if {@code l} is not within the file.
+   * @see CryptoHash
+   */
+  public int getChunk(long l) {
+    if(l < 0 || l >= length) {
+      throw new IndexOutOfBoundsException(String.format("offset=%d, length=%d", l, length));
+    }
+    return (int)(l / chunk);
+  }
+
+  /**
+   * Get the SHA-256 digest of a chunk.
+   * @param i An {@link Integer} value, representing the chunk's index.
+   * @return A {@link Byte} array, holding a copy of the digest.
+   * @throws ArrayIndexOutOfBoundsException if {@code i} is not a chunk index.
+   * @see CryptoHash
+   */
+  public byte[] getDigest(int i) {
+    return chunkDigests[i].clone();
+  }
+
+  /**
+   * Get the CRC-32C of a chunk.
+   * @param i An {@link Integer} value, representing the chunk's index.
+   * @return A {@link Long} value, of 32 bits.
+   * @throws ArrayIndexOutOfBoundsException if {@code i} is not a chunk index.
+   * @see CryptoHash
+   */
+  public long getChecksum(int i) {
+    return checksums[i] & 0xFFFFFFFFL;
+  }
+
+  /**
+   * Get the root digest.
+   * @return A {@link Byte} array, holding a copy of the root.
+   * @see CryptoHash
+   */
+  public byte[] getRoot() {
+    return root.clone();
+  }
+
+  /**
+   * Store the tree: the magic number ({@code "ABCH"}), the version, the file length, the chunk size and the chunk
+   * count, then the digest and the CRC-32C of each chunk, then the root; every number is big-endian.
+   * @return A {@link Byte} array.
+   * @see CryptoHash
+   */
+  public byte[] toBytes() {
+    ByteBuffer bb = ByteBuffer.allocate(21 + chunkDigests.length * (digestLength + 4) + digestLength);
+    bb.putInt(magic).put(version).putLong(length).putInt(chunk).putInt(chunkDigests.length);
+    for(int k = 0; k < chunkDigests.length; k++) {
+      bb.put(chunkDigests[k]).putInt(checksums[k]);
+    }
+    return bb.put(root).array();
+  }
+
+  /**
+   * Load a tree stored by {@link #toBytes()}. The root is computed again from the chunk digests, and must match the
+   * one stored.
+   * @param bs A {@link Byte} array, representing the stored tree.
+   * @return A {@link CryptoHash} object.
+   * @throws IOException if the bytes are not a stored tree, or the root does not match.
+   * @see CryptoHash
+   */
+  public static CryptoHash fromBytes(byte[] bs) throws IOException {
+    ByteBuffer bb = ByteBuffer.wrap(bs);
+    if(bs.length < 21 + digestLength || bb.getInt() != magic) {
+      throw new IOException("not a stored hash tree");
+    }
+    final byte v = bb.get();
+    if(v != version) {
+      throw new IOException(String.format("unknown hash tree version %d", v));
+    }
+    final long l = bb.getLong();
+    final int i = bb.getInt();
+    final int n = bb.getInt();
+    if(l < 0 || i <= 0 || n != count(l, i) || bb.remaining() != (long)n * (digestLength + 4) + digestLength) {
+      throw new IOException(String.format("corrupt hash tree; length=%d, chunk=%d, count=%d", l, i, n));
+    }
+    byte[][] bss = new byte[n][digestLength];
+    int[] is = new int[n];
+    for(int k = 0; k < n; k++) {
+      bb.get(bss[k]);
+      is[k] = bb.getInt();
+    }
+    byte[] r = new byte[digestLength];
+    bb.get(r);
+    CryptoHash h = new CryptoHash(l, i, bss, is);
+    if(!MessageDigest.isEqual(r, h.root)) {
+      throw new IOException("corrupt hash tree; the root does not match");
+    }
+    return h;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return (o instanceof CryptoHash) && MessageDigest.isEqual(root, ((CryptoHash)o).root);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(root);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder(2 * digestLength);
+    for(byte b : root) {
+      sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return String.format("%s[%d bytes, %d chunks, %s]", getClass().getSimpleName(), length, chunkDigests.length, sb);
+  }
+}
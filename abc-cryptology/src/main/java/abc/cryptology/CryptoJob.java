@@ -0,0 +1,216 @@
+package abc.cryptology;
+import abc.cryptology.logics.Crypto;
+import java.io.File;
+
+
+/**
+ * A job of a {@link CryptoBatch}. This names a file, the logic to encrypt or decrypt it with, and the cipher key; once
+ * the batch has run it, it also holds the job's result: its {@link State state}, the error it failed with, if any, and
+ * how many file bytes it took how long to process.
+ * <p/>
+ * A job belongs to one batch at a time, and should not be handed to another batch until the first one is done.
+ * @author Gregory
+ * @see State
+ * @see #CryptoJob(File,Crypto,String) CryptoJob(File,Crypto,String)
+ * @see #getFile() getFile()
+ * @see #getLogic() getLogic()
+ * @see #getState() getState()
+ * @see #getError() getError()
+ * @see #getBytes() getBytes()
+ * @see #getNanos() getNanos()
+ * @see CryptoBatch
+ */
+public final class CryptoJob {
+  /**
+   * The state of a job.
+   * @see CryptoJob
+   */
+  public enum State {
+    /**
+     * Not yet started.
+     */
+    PENDING,
+    /**
+     * Started, and not yet finished.
+     */
+    RUNNING,
+    /**
+     * Finished without errors.
+     */
+    DONE,
+    /**
+     * Finished with an error; see {@link CryptoJob#getError()}.
+     */
+    FAILED,
+    /**
+     * Cancelled before it finished; a cancelled encryption leaves its file untouched.
+     */
+    CANCELLED
+  }
+
+  /**
+   * The file.
+   * @see CryptoJob
+   */
+  private final File file;
+  /**
+   * The cryptographic logic.
+   * @see CryptoJob
+   */
+  private final Crypto logic;
+  /**
+   * The cipher key.
+   * @see CryptoJob
+   */
+  final String key;
+  /**
+   * The state.
+   * @see CryptoJob
+   */
+  private volatile State state;
+  /**
+   * The error, if failed.
+   * @see CryptoJob
+   */
+  private volatile Throwable error;
+  /**
+   * The number of file bytes read or written.
+   * @see CryptoJob
+   */
+  private volatile long bytes;
+  /**
+   * The start time, and then the time taken, in nanoseconds.
+   * @see CryptoJob
+   */
+  private volatile long nanos;
+
+  /**
+   * A public constructor.
+   * @param f A {@link File} object, representing the file to encrypt into or decrypt from.
+   * @param c A {@link Crypto} object, representing the cryptographic logic.
+   * @param s A {@link String} object, representing the cipher key to use.
+   * @throws NullPointerException if any parameter is {@code null}.
+   * @see CryptoJob
+   */
+  public CryptoJob(File f, Crypto c, String s) {
+    if(f == null || c == null || s == null) {
+      throw new NullPointerException();
+    }
+    file = f;
+    logic = c;
+    key = s;
+    state = State.PENDING;
+  }
+
+  /**
+   * Get the file.
+   * @return A {@link File} object.
+   * @see CryptoJob
+   */
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Get the cryptographic logic.
+   * @return A {@link Crypto} object.
+   * @see CryptoJob
+   */
+  public Crypto getLogic() {
+    return logic;
+  }
+
+  /**
+   * Get the state.
+   * @return A {@link State} object.
+   * @see CryptoJob
+   */
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Get the error the job failed with.
+   * @return A {@link Throwable} object, or {@code null} unless {@link State#FAILED FAILED}.
+   * @see CryptoJob
+   */
+  public Throwable getError() {
+    return error;
+  }
+
+  /**
+   * Get the number of file bytes read or written.
+   * @return A {@link Long} value, {@code 0} until {@link State#DONE DONE}.
+   * @see CryptoJob
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * Get the time taken, from start to finish, in nanoseconds; this includes any wait between the disk and cipher work.
+   * @return A {@link Long} value, {@code 0} until finished.
+   * @see CryptoJob
+   */
+  public long getNanos() {
+    return (state == State.PENDING || state == State.RUNNING) ? 0L : nanos;
+  }
+
+  /**
+   * Mark the job as not yet started.
+   * @see CryptoJob
+   */
+  void reset() {
+    error = null;
+    bytes = 0L;
+    nanos = 0L;
+    state = State.PENDING;
+  }
+
+  /**
+   * Mark the job as started.
+   * @see CryptoJob
+   */
+  void begin() {
+    error = null;
+    bytes = 0L;
+    nanos = System.nanoTime();
+    state = State.RUNNING;
+  }
+
+  /**
+   * Mark the job as done.
+   * @param l A {@link Long} value, representing the number of file bytes read or written.
+   * @see CryptoJob
+   */
+  void succeed(long l) {
+    bytes = l;
+    nanos = System.nanoTime() - nanos;
+    state = State.DONE;
+  }
+
+  /**
+   * Mark the job as failed.
+   * @param t A {@link Throwable} object, representing the error.
+   * @see CryptoJob
+   */
+  void fail(Throwable t) {
+    error = t;
+    nanos = System.nanoTime() - nanos;
+    state = State.FAILED;
+  }
+
+  /**
+   * Mark the job as cancelled.
+   * @see CryptoJob
+   */
+  void cancel() {
+    nanos = (state == State.RUNNING) ? System.nanoTime() - nanos : 0L;
+    state = State.CANCELLED;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s[%s, %s]", getClass().getSimpleName(), file, state);
+  }
+}
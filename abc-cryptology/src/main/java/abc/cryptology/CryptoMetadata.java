@@ -0,0 +1,165 @@
+package abc.cryptology;
+import java.io.File;
+
+
+/**
+ * The metadata of an authenticated file. This is read from the file's plaintext header alone, without decrypting (or
+ * even reading) the cipher text after it; so probing the versions of many files costs one small read each.
+ * <p/>
+ * Files written before the metadata was added to the header (format version 1) have no content version nor length;
+ * see {@link #hasContent()}.
+ * @author Gregory
+ * @see #getFormatVersion() getFormatVersion()
+ * @see #hasContent() hasContent()
+ * @see #getVersioning() getVersioning()
+ * @see #getLength() getLength()
+ * @see #isCompressed() isCompressed()
+ * @see #getCipherMode() getCipherMode()
+ * @see #getCost() getCost()
+ * @see #isVerified() isVerified()
+ * @see AbcCryptology#performMetadataReading(File,String) AbcCryptology.performMetadataReading(File,String)
+ */
+public final class CryptoMetadata {
+  /**
+   * The format version.
+   * @see CryptoMetadata
+   */
+  private final int format;
+  /**
+   * The content version, or {@code null}.
+   * @see CryptoMetadata
+   */
+  private final byte[] versioning;
+  /**
+   * The content length, or {@code -1}.
+   * @see CryptoMetadata
+   */
+  private final long length;
+  /**
+   * Whether compressed.
+   * @see CryptoMetadata
+   */
+  private final boolean compressed;
+  /**
+   * The cipher transformation.
+   * @see CryptoMetadata
+   */
+  private final String mode;
+  /**
+   * The iteration count of the key derivation.
+   * @see CryptoMetadata
+   */
+  private final int cost;
+  /**
+   * Whether the header's own tag was checked.
+   * @see CryptoMetadata
+   */
+  private final boolean verified;
+
+  /**
+   * A package-private constructor.
+   * @param i An {@link Integer} value, representing the format version.
+   * @param bs A {@link Byte} array, representing the content version, or {@code null}.
+   * @param l A {@link Long} value, representing the content length, or {@code -1}.
+   * @param b A {@link Boolean} value, representing whether compressed.
+   * @param s A {@link String} object, representing the cipher transformation.
+   * @param j An {@link Integer} value, representing the iteration count of the key derivation.
+   * @param v A {@link Boolean} value, representing whether the header's own tag was checked.
+   * @see CryptoMetadata
+   */
+  CryptoMetadata(int i, byte[] bs, long l, boolean b, String s, int j, boolean v) {
+    format = i;
+    versioning = bs;
+    length = l;
+    compressed = b;
+    mode = s;
+    cost = j;
+    verified = v;
+  }
+
+  /**
+   * Get the format version of the file.
+   * @return An {@link Integer} value.
+   * @see CryptoMetadata
+   */
+  public int getFormatVersion() {
+    return format;
+  }
+
+  /**
+   * Check whether the header records the content version and length; that is, whether the file is of format version
+   * 2 or later.
+   * @return A {@link Boolean} value.
+   * @see CryptoMetadata
+   */
+  public boolean hasContent() {
+    return versioning != null;
+  }
+
+  /**
+   * Get the content version: the major, minor, release and build, as with
+   * {@link abc.cryptology.logics.CryptoLogicVersioning}; all zero if none was given when the file was written.
+   * @return A {@link Byte} array, of 4 bytes; or {@code null}, unless {@link #hasContent()}.
+   * @see CryptoMetadata
+   */
+  public byte[] getVersioning() {
+    return (versioning == null) ? null : versioning.clone();
+  }
+
+  /**
+   * Get the content length: the number of bytes the logic wrote, before any compression.
+   * @return A {@link Long} value; or {@code -1}, unless {@link #hasContent()}.
+   * @see CryptoMetadata
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Check whether the content is compressed.
+   * @return A {@link Boolean} value.
+   * @see CryptoMetadata
+   */
+  public boolean isCompressed() {
+    return compressed;
+  }
+
+  /**
+   * Get the cipher transformation of the content.
+   * @return A {@link String} object, such as {@code "AES/GCM/NoPadding"}.
+   * @see CryptoMetadata
+   */
+  public String getCipherMode() {
+    return mode;
+  }
+
+  /**
+   * Get the iteration count of the key derivation.
+   * @return An {@link Integer} value.
+   * @see CryptoMetadata
+   */
+  public int getCost() {
+    return cost;
+  }
+
+  /**
+   * Check whether the header was verified against its own tag, with the cipher key; that is, whether this metadata can
+   * be trusted as written by a holder of the key. Unverified metadata is only a hint.
+   * @return A {@link Boolean} value.
+   * @see CryptoMetadata
+   */
+  public boolean isVerified() {
+    return verified;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    if(versioning != null) {
+      sb.append(versioning[0] & 0xFF).append('.').append(versioning[1] & 0xFF).append('.').append(versioning[2] & 0xFF)
+          .append('.').append(versioning[3] & 0xFF);
+    }
+    return String.format("%s[format %d, version %s, %d bytes, %s%s%s]", getClass().getSimpleName(), format, sb, length,
+        mode, compressed ? ", deflated" : "", verified ? ", verified" : "");
+  }
+}
@@ -0,0 +1,312 @@
+package abc.cryptology;
+import abc.cryptology.logics.Crypto;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+
+/**
+ * An open encrypted string table. This is a read-only view of a table written by
+ * {@link AbcCryptology#performStringTableEncryption(long,String[],String,File,String,int)}: any one string is found by
+ * its index and decrypted with only the strings near it, and the strings can be iterated lazily, a block at a time; so
+ * a table of tens of thousands of strings costs only the strings actually asked for.
+ * <p/>
+ * A table is an {@link CryptoArchive archive}: a record named {@code "table"} holds the number of strings and the block
+ * size, as unsigned variable-length integers (seven bits per byte, low bits first); and each block of strings is a
+ * record of its own, named by its decimal number, holding the number of strings in it and each string's UTF-8 length,
+ * as variable-length integers, followed by the UTF-8 bytes of the strings. The last block decrypted is kept, so nearby
+ * lookups decrypt nothing more.
+ * @author Gregory
+ * @see #defaultBlock defaultBlock
+ * @see #CryptoStringTable(CryptoArchive) CryptoStringTable(CryptoArchive)
+ * @see #size() size()
+ * @see #get(int) get(int)
+ * @see #iterator() iterator()
+ * @see #close() close()
+ * @see CryptoArchive
+ * @see AbcCryptology
+ */
+public final class CryptoStringTable implements Closeable, Iterable<String> {
+  /**
+   * The default number of strings in a block.
+   * @see CryptoStringTable
+   */
+  static final int defaultBlock = 64;
+  /**
+   * The name of the table record.
+   * @see CryptoStringTable
+   */
+  private static final String table = "table";
+  /**
+   * The archive.
+   * @see CryptoStringTable
+   */
+  private final CryptoArchive archive;
+  /**
+   * The number of strings.
+   * @see CryptoStringTable
+   */
+  private final int size;
+  /**
+   * The number of strings in a block.
+   * @see CryptoStringTable
+   */
+  private final int block;
+  /**
+   * The last block decrypted, or {@code null}.
+   * @see CryptoStringTable
+   */
+  private volatile Block last;
+
+  /**
+   * A decrypted block of strings.
+   * @see CryptoStringTable
+   */
+  private static final class Block {
+    private final int index;
+    private final byte[] bytes;
+    private final int[] starts;
+
+    /**
+     * Decode the string offsets of a block.
+     * @param k An {@link Integer} value, representing the block's index.
+     * @param bs A {@link Byte} array, representing the block's plain bytes.
+     * @throws IOException if the block is corrupt.
+     */
+    private Block(int k, byte[] bs) throws IOException {
+      int[] at = {0};
+      final int n = readVarint(bs, at);
+      if(n < 0 || n > bs.length) {
+        throw new IOException(String.format("corrupt string block %d", k));
+      }
+      int[] ls = new int[n];
+      long total = 0L;
+      for(int i = 0; i < n; i++) {
+        ls[i] = readVarint(bs, at);
+        total += ls[i];
+      }
+      if(at[0] + total != bs.length) {
+        throw new IOException(String.format("corrupt string block %d", k));
+      }
+      index = k;
+      bytes = bs;
+      starts = new int[n + 1];
+      starts[0] = at[0];
+      for(int i = 0; i < n; i++) {
+        starts[i + 1] = starts[i] + ls[i];
+      }
+    }
+  }
+
+  /**
+   * A package-private constructor. This reads the table record of an open archive.
+   * @param ca A {@link CryptoArchive} object, representing the open archive.
+   * @throws IOException if the archive is not a string table.
+   * @throws GeneralSecurityException if the table record cannot be decrypted.
+   * @see CryptoStringTable
+   */
+  CryptoStringTable(CryptoArchive ca) throws IOException, GeneralSecurityException {
+    if(!ca.contains(table)) {
+      throw new IOException("not a string table");
+    }
+    byte[] bs = ca.read(table);
+    int[] at = {0};
+    final int n = readVarint(bs, at);
+    final int b = readVarint(bs, at);
+    if(n < 0 || b <= 0 || ca.size() != 1 + (n + (long)b - 1) / b) {
+      throw new IOException(String.format("corrupt string table; size=%d, block=%d", n, b));
+    }
+    archive = ca;
+    size = n;
+    block = b;
+  }
+
+  /**
+   * Write an unsigned variable-length integer.
+   * @param dos A {@link DataOutputStream} object, representing the target.
+   * @param i An {@link Integer} value, not negative.
+   * @throws IOException
+   * @see CryptoStringTable
+   */
+  static void writeVarint(DataOutputStream dos, int i) throws IOException {
+    while((i & ~0x7F) != 0) {
+      dos.writeByte((i & 0x7F) | 0x80);
+      i >>>= 7;
+    }
+    dos.writeByte(i);
+  }
+
+  /**
+   * Read an unsigned variable-length integer.
+   * @param bs A {@link Byte} array, representing the source.
+   * @param at An {@link Integer} array, holding the position to read from; it is moved past the integer.
+   * @return An {@link Integer} value.
+   * @throws IOException if the integer runs past the end, or does not fit into an {@code int}.
+   * @see CryptoStringTable
+   */
+  static int readVarint(byte[] bs, int[] at) throws IOException {
+    int i = 0;
+    for(int shift = 0; shift < 32; shift += 7) {
+      if(at[0] >= bs.length) {
+        throw new IOException("truncated variable-length integer");
+      }
+      final byte b = bs[at[0]++];
+      if(shift == 28 && (b & 0xF8) != 0) { // the fifth byte holds only the top three bits, and is always the last.
+        break;
+      }
+      i |= (b & 0x7F) << shift;
+      if(b >= 0) {
+        return i;
+      }
+    }
+    throw new IOException("variable-length integer out of range");
+  }
+
+  /**
+   * Make the archive records of a string table.
+   * @param ss A {@link String} array, representing the strings; {@code null} elements are stored as empty strings.
+   * @param i An {@link Integer} value, representing the number of strings in a block.
+   * @return A {@link Map} object, holding the logic of each record, by name, in order.
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see CryptoStringTable
+   */
+  static Map<String, Crypto> records(String[] ss, int i) {
+    if(i <= 0) {
+      throw new IllegalArgumentException(String.format("block=%d", i));
+    }
+    Map<String, Crypto> m = new LinkedHashMap<>();
+    m.put(table, new Crypto() {
+      @Override
+      public void performDecryption(DataInputStream dis) {
+      }
+
+      @Override
+      public void performEncryption(DataOutputStream dos) throws IOException {
+        writeVarint(dos, ss.length);
+        writeVarint(dos, i);
+      }
+    });
+    for(int k = 0; k * (long)i < ss.length; k++) {
+      final int from = k * i;
+      final int to = (int)Math.min(from + (long)i, ss.length);
+      m.put(Integer.toString(k), new Crypto() {
+        @Override
+        public void performDecryption(DataInputStream dis) {
+        }
+
+        @Override
+        public void performEncryption(DataOutputStream dos) throws IOException {
+          ByteArrayOutputStream baos = new ByteArrayOutputStream();
+          writeVarint(dos, to - from);
+          for(int j = from; j < to; j++) {
+            byte[] bs = (ss[j] == null) ? new byte[0] : ss[j].getBytes(StandardCharsets.UTF_8);
+            writeVarint(dos, bs.length);
+            baos.write(bs, 0, bs.length);
+          }
+          baos.writeTo(dos);
+        }
+      });
+    }
+    return m;
+  }
+
+  /**
+   * Get a block, from the last one decrypted or by decrypting it.
+   * @param k An {@link Integer} value, representing the block's index.
+   * @return A {@link Block} object.
+   * @throws IOException if the archive is closed, or the block is corrupt.
+   * @throws GeneralSecurityException if the block cannot be decrypted.
+   * @see CryptoStringTable
+   */
+  private Block block(int k) throws IOException, GeneralSecurityException {
+    Block b = last;
+    if(b == null || b.index != k) {
+      b = new Block(k, archive.read(Integer.toString(k)));
+      final int n = (int)Math.min(block, size - (long)k * block);
+      if(b.starts.length != n + 1) {
+        throw new IOException(String.format("string block %d holds %d strings, not %d", k, b.starts.length - 1, n));
+      }
+      last = b;
+    }
+    return b;
+  }
+
+  /**
+   * Get the number of strings.
+   * @return An {@link Integer} value.
+   * @see CryptoStringTable
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get one string. Only the block holding it is decrypted, unless it was the last one decrypted.
+   * @param i An {@link Integer} value, representing the string's index.
+   * @return A {@link String} object.
+   * @throws IndexOutOfBoundsException if {@code i} is not within the table.
+   * @throws IOException if the archive is closed, or the block is corrupt.
+   * @throws GeneralSecurityException if the block cannot be decrypted.
+   * @see CryptoStringTable
+   */
+  public String get(int i) throws IOException, GeneralSecurityException {
+    if(i < 0 || i >= size) {
+      throw new IndexOutOfBoundsException(String.format("index=%d, size=%d", i, size));
+    }
+    Block b = block(i / block);
+    final int j = i % block;
+    return new String(b.bytes, b.starts[j], b.starts[j + 1] - b.starts[j], StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Iterate over the strings, in order. Each block is decrypted only once the iteration reaches it; an error while
+   * decrypting is thrown as an {@link UncheckedIOException}.
+   * @return An {@link Iterator} object.
+   * @see CryptoStringTable
+   */
+  @Override
+  public Iterator<String> iterator() {
+    return new Iterator<String>() {
+      private int next;
+
+      @Override
+      public boolean hasNext() {
+        return next < size;
+      }
+
+      @Override
+      public String next() {
+        if(next >= size) {
+          throw new NoSuchElementException();
+        }
+        try {
+          return get(next++);
+        } catch(IOException e) {
+          throw new UncheckedIOException(e);
+        } catch(GeneralSecurityException e) {
+          throw new UncheckedIOException(new IOException(e));
+        }
+      }
+    };
+  }
+
+  /**
+   * Close the table, and its archive; the last block decrypted is dropped.
+   * @see CryptoStringTable
+   */
+  @Override
+  public void close() {
+    last = null;
+    archive.close();
+  }
+}
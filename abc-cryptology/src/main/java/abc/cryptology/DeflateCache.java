@@ -0,0 +1,111 @@
+package abc.cryptology;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+
+/**
+ * A deflater cache. This holds idle {@link Deflater} and {@link Inflater} instances, pooled per thread, so that a
+ * compressed file does not allocate and free the native compression state (the larger part of the work, for a small
+ * file) every time.
+ * <p/>
+ * Both are raw ("nowrap") Deflate, without the zlib header and checksum; the cipher authenticates the data instead. A
+ * pooled instance is always reset before it is pooled again, so it never carries state from its last use.
+ * @author Gregory
+ * @see #level level
+ * @see #buffer buffer
+ * @see #idle idle
+ * @see #deflaters deflaters
+ * @see #inflaters inflaters
+ * @see EncryptionAead
+ */
+final class DeflateCache {
+  /**
+   * The compression level; the fastest, since most of the size is saved at any level.
+   * @see DeflateCache
+   */
+  static final int level = Deflater.BEST_SPEED;
+  /**
+   * The size of the buffer of a compression stream.
+   * @see DeflateCache
+   */
+  static final int buffer = 8192;
+  /**
+   * The maximum number of idle deflaters, and of idle inflaters, pooled on each thread.
+   * @see DeflateCache
+   */
+  static final int idle = 4;
+  /**
+   * The idle deflaters of each thread.
+   * @see DeflateCache
+   */
+  private static final ThreadLocal<Deque<Deflater>> deflaters;
+  /**
+   * The idle inflaters of each thread.
+   * @see DeflateCache
+   */
+  private static final ThreadLocal<Deque<Inflater>> inflaters;
+
+  static {
+    deflaters = ThreadLocal.withInitial(() -> new ArrayDeque<>(idle));
+    inflaters = ThreadLocal.withInitial(() -> new ArrayDeque<>(idle));
+  }
+
+  private DeflateCache() {
+  }
+
+  /**
+   * Get a deflater from the current thread's pool, or a new one if the pool is empty. It should be given back to
+   * {@link #release(Deflater)} once its stream is closed.
+   * @return A {@link Deflater} object.
+   * @see DeflateCache
+   */
+  static Deflater borrowDeflater() {
+    Deflater d = deflaters.get().pollFirst();
+    return (d != null) ? d : new Deflater(level, true);
+  }
+
+  /**
+   * Get an inflater from the current thread's pool, or a new one if the pool is empty. It should be given back to
+   * {@link #release(Inflater)} once its stream is closed.
+   * @return An {@link Inflater} object.
+   * @see DeflateCache
+   */
+  static Inflater borrowInflater() {
+    Inflater i = inflaters.get().pollFirst();
+    return (i != null) ? i : new Inflater(true);
+  }
+
+  /**
+   * Reset a deflater, and give it back to the current thread's pool. A deflater beyond the {@link #idle idle} limit is
+   * ended.
+   * @param d A {@link Deflater} object, representing the deflater.
+   * @see DeflateCache
+   */
+  static void release(Deflater d) {
+    Deque<Deflater> dq = deflaters.get();
+    if(dq.size() < idle) {
+      d.reset();
+      dq.push(d);
+    } else {
+      d.end();
+    }
+  }
+
+  /**
+   * Reset an inflater, and give it back to the current thread's pool. An inflater beyond the {@link #idle idle} limit
+   * is ended.
+   * @param i An {@link Inflater} object, representing the inflater.
+   * @see DeflateCache
+   */
+  static void release(Inflater i) {
+    Deque<Inflater> dq = inflaters.get();
+    if(dq.size() < idle) {
+      i.reset();
+      dq.push(i);
+    } else {
+      i.end();
+    }
+  }
+}
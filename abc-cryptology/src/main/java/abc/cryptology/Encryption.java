@@ -24,6 +24,7 @@ import javax.crypto.spec.PBEParameterSpec;
  * @see #seed seed
  * @see #Encryption(long,Crypto,String)Encryption(long,Crypto,String)
  * @see #getCipher(long,int,String) getCipher(long,int,String)
+ * @see #releaseCipher(Cipher) releaseCipher(Cipher)
  * @see #performDecrypting(File,String) performDecrypting(File,String)
  * @see #performEncrypting(File,String) performEncrypting(File,String)
  * @see EncryptionBase
@@ -94,6 +95,10 @@ abstract class Encryption {
    * Get a cipher. This uses a cipher mode, encryption key, and parameter specs to initialize a cypher object. Mode may
    * likely be either {@link Cipher#DECRYPT_MODE} or {@link Cipher#ENCRYPT_MODE}....
    * <p/>
+   * The derived secret key is cached by {@link CipherCache}, keyed on the type, the seed and a digest of {@code s}, and
+   * the cipher itself is taken from a per-thread pool; it is always initialized afresh, so it is the same as a new one.
+   * It should be given back to {@link #releaseCipher(Cipher)} once its stream has been closed.
+   * <p/>
    * Also, this implementation catches but does not throw the following exceptions: {@link NoSuchAlgorithmException},
    * {@link InvalidKeySpecException}, {@link NoSuchPaddingException}, {@link InvalidKeyException}, and finally,
    * {@link InvalidAlgorithmParameterException}. (I may revisit it at a later time, as my knowledge of crypto grows.)
@@ -107,25 +112,60 @@ abstract class Encryption {
    * @throws InvalidKeyException
    * @throws InvalidAlgorithmParameterException
    * @see Encryption
+   * @see CipherCache
    * @see Random
    * @see PBEParameterSpec
    * @see PBEKeySpec
    * @see SecretKey
    * @see SecretKeyFactory
    * @see Cipher
+   * @see #releaseCipher(Cipher) releaseCipher(Cipher)
    */
   protected final Cipher getCipher(long l, int i, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
       NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
-    Random random = new Random(l);
-    byte[] salt = new byte[8];
-    random.nextBytes(salt);
-    PBEParameterSpec pspecs = new PBEParameterSpec(salt, 5);
-    SecretKey pbeKey = SecretKeyFactory.getInstance(type).generateSecret(new PBEKeySpec(s.toCharArray()));
-    Cipher cipher = Cipher.getInstance(type);
-    cipher.init(i, pbeKey, pspecs);
+    Cipher cipher = CipherCache.borrow(type);
+    CipherCache.init(cipher, type, l, i, s);
     return cipher;
   }
 
+  /**
+   * Get a cipher with a varied salt. This is the same as {@link #getCipher(long,int,String)}, except that the salt
+   * derived from the seed is combined with {@code bs}; it lets a format encrypt each of its parts under a salt of its
+   * own, while still using the cached key.
+   * @param l A {@link Long} value, representing a seed value for our {@link Random} instance.
+   * @param i An {@link Integer} value, representing the cryptography "direction".
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param bs A {@link Byte} array, representing the 8 bytes to vary the salt by.
+   * @return A {@link Cipher} instance.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @see Encryption
+   * @see CipherCache
+   * @see #getCipher(long,int,String) getCipher(long,int,String)
+   * @see #releaseCipher(Cipher) releaseCipher(Cipher)
+   */
+  protected final Cipher getCipher(long l, int i, String s, byte[] bs) throws NoSuchAlgorithmException,
+      InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+    Cipher cipher = CipherCache.borrow(type);
+    CipherCache.init(cipher, type, l, i, s, bs);
+    return cipher;
+  }
+
+  /**
+   * Release a cipher. This gives a cipher from {@link #getCipher(long,int,String)} back to the current thread's pool,
+   * once the stream using it has been closed; a cipher that is never released is simply left to the garbage collector.
+   * @param c A {@link Cipher} object, representing the cipher to release.
+   * @see Encryption
+   * @see CipherCache
+   * @see #getCipher(long,int,String) getCipher(long,int,String)
+   */
+  protected final void releaseCipher(Cipher c) {
+    CipherCache.release(c);
+  }
+
   /**
    * Perform a cryptographic reading. This uses the {@link #logic logic} object which should have been instantiated in
    * the constructor. The {@link EncryptionBase#performDecrypting(File,String)} method closes the stream.
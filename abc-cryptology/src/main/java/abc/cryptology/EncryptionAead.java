@@ -0,0 +1,550 @@
+package abc.cryptology;
+import abc.cryptology.logics.Crypto;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.GCMParameterSpec;
+
+
+/**
+ * An authenticated encryption instance. This subclass encrypts with AES-256 in GCM mode instead of the legacy PBE
+ * cipher named by the type: the AES key is derived from the cipher key once, by {@link CipherCache#kdf PBKDF2}, with a
+ * configurable iteration count, and is cached from then on; each file then costs only a fresh random nonce. The GCM
+ * tag authenticates both the cipher text and the header, so a tampered file or a wrong key is rejected before the
+ * logic sees a single byte. Optionally, the logic's bytes are compressed with raw Deflate before they are encrypted,
+ * which saves both cipher work and disk space wherever they compress well.
+ * <p/>
+ * A file begins with a header, recording the mode and the metadata; every number is big-endian:<ul>
+ * <li/>The {@link #magic magic} number ({@code int}), the {@link #version version} ({@code byte}) and the mode
+ * ({@code byte}, {@link #gcm gcm}, with the {@link #deflate deflate} flag set if compressed).
+ * <li/>The iteration count ({@code int}), the salt (16 bytes) and the nonce (12 bytes).
+ * <li/>The content version (4 bytes), the content length ({@code long}, before compression) and the header nonce (12
+ * bytes).
+ * <li/>The header tag (16 bytes): the GCM tag of no cipher text, under the header nonce, with all of the above as its
+ * associated data; so the metadata can be verified without touching the cipher text.
+ * </ul>
+ * The cipher text and its 16-byte tag follow; the whole header is its associated data. Version 1 files have only the
+ * first two lines of the header, and are still read. A file that does not begin with the magic number is a legacy file,
+ * and is decrypted the same way as {@link EncryptionBase} does, with the type given.
+ * <p/>
+ * Since the content length is in the header, the logic's bytes are gathered in memory before they are encrypted; the
+ * same as they are after they are decrypted.
+ * @author Gregory
+ * @see EncryptionBase
+ * @see #magic magic
+ * @see #version version
+ * @see #gcm gcm
+ * @see #deflate deflate
+ * @see #defaultCost defaultCost
+ * @see #maxCost maxCost
+ * @see #cost cost
+ * @see #compressed compressed
+ * @see #versioning versioning
+ * @see #EncryptionAead(long,Crypto,String,int) EncryptionAead(long,Crypto,String,int)
+ * @see #EncryptionAead(long,Crypto,String,int,boolean) EncryptionAead(long,Crypto,String,int,boolean)
+ * @see #EncryptionAead(long,Crypto,String,int,boolean,byte[]) EncryptionAead(long,Crypto,String,int,boolean,byte[])
+ * @see #readMetadata(File,String) readMetadata(File,String)
+ * @see #performDecrypting(File,String) performDecrypting(File,String)
+ * @see #performEncrypting(File,String) performEncrypting(File,String)
+ * @see #performDecrypting(byte[],int,int,String) performDecrypting(byte[],int,int,String)
+ * @see #performEncrypting(String) performEncrypting(String)
+ * @see NoSuchAlgorithmException
+ * @see InvalidKeySpecException
+ * @see NoSuchPaddingException
+ * @see InvalidKeyException
+ * @see InvalidAlgorithmParameterException
+ * @see FileNotFoundException
+ * @see IOException
+ */
+class EncryptionAead extends EncryptionBase {
+  /**
+   * The magic number, {@code "ABCG"}.
+   * @see EncryptionAead
+   */
+  static final int magic = 0x41424347;
+  /**
+   * The format version, as written; version 1 files, without the metadata, are still read.
+   * @see EncryptionAead
+   */
+  static final byte version = 2;
+  /**
+   * The mode of AES-256 in GCM mode, with a 128-bit tag.
+   * @see EncryptionAead
+   */
+  static final byte gcm = 1;
+  /**
+   * The flag of the mode, of cipher text compressed with raw Deflate before it was encrypted.
+   * @see EncryptionAead
+   */
+  static final byte deflate = 0x10;
+  /**
+   * The default iteration count of the key derivation.
+   * @see EncryptionAead
+   */
+  static final int defaultCost = 100000;
+  /**
+   * The highest iteration count of the key derivation, ten times the {@link #defaultCost defaultCost}. The count is
+   * read from the file header before anything is authenticated, so a crafted file could otherwise make a reader spend
+   * minutes deriving a key; a header asking for more is rejected before any key is derived, and no file is written
+   * with more.
+   * @see EncryptionAead
+   */
+  static final int maxCost = 10 * defaultCost;
+  /**
+   * The header length of version 1 files, in bytes.
+   * @see EncryptionAead
+   */
+  private static final int headerLength1 = 38;
+  /**
+   * The length of the header before its tag, in bytes.
+   * @see EncryptionAead
+   */
+  private static final int sealedLength = 62;
+  /**
+   * The header length, in bytes.
+   * @see EncryptionAead
+   */
+  private static final int headerLength = 78;
+  /**
+   * The AES transformation.
+   * @see EncryptionAead
+   */
+  private static final String transformation = "AES/GCM/NoPadding";
+  /**
+   * The source of nonces.
+   * @see EncryptionAead
+   */
+  private static final SecureRandom nonces;
+  /**
+   * The iteration count of the key derivation, for encryption; decryption takes it from the header.
+   * @see EncryptionAead
+   */
+  protected final int cost;
+  /**
+   * Whether to compress, for encryption; decryption takes it from the header.
+   * @see EncryptionAead
+   */
+  protected final boolean compressed;
+  /**
+   * The content version, for encryption.
+   * @see EncryptionAead
+   */
+  protected final byte[] versioning;
+
+  static {
+    nonces = new SecureRandom();
+  }
+
+  /**
+   * A protected constructor. This takes the same parameters as {@link EncryptionBase}, where the type is only used for
+   * legacy files, and the iteration count of the key derivation.
+   * @param l A {@link Long} value, representing the random {@link #seed seed}, from which the salt is made.
+   * @param c A {@link Crypto} object, representing the {@link #logic logic}.
+   * @param s A {@link String} object, representing the {@link #type type} of legacy files.
+   * @param i An {@link Integer} value, representing the iteration {@link #cost cost}.
+   * @throws IllegalArgumentException if {@code i} is not positive, or is more than {@link #maxCost maxCost}.
+   * @see Crypto
+   * @see EncryptionBase
+   * @see EncryptionAead
+   */
+  protected EncryptionAead(long l, Crypto c, String s, int i) {
+    this(l, c, s, i, false);
+  }
+
+  /**
+   * A protected constructor. This is the same as {@link #EncryptionAead(long,Crypto,String,int)}, but also chooses
+   * whether to compress.
+   * @param l A {@link Long} value, representing the random {@link #seed seed}, from which the salt is made.
+   * @param c A {@link Crypto} object, representing the {@link #logic logic}.
+   * @param s A {@link String} object, representing the {@link #type type} of legacy files.
+   * @param i An {@link Integer} value, representing the iteration {@link #cost cost}.
+   * @param b A {@link Boolean} value, representing whether to compress.
+   * @throws IllegalArgumentException if {@code i} is not positive, or is more than {@link #maxCost maxCost}.
+   * @see Crypto
+   * @see EncryptionBase
+   * @see EncryptionAead
+   */
+  protected EncryptionAead(long l, Crypto c, String s, int i, boolean b) {
+    this(l, c, s, i, b, null);
+  }
+
+  /**
+   * A protected constructor. This is the same as {@link #EncryptionAead(long,Crypto,String,int,boolean)}, but also
+   * sets the content version, written into the header.
+   * @param l A {@link Long} value, representing the random {@link #seed seed}, from which the salt is made.
+   * @param c A {@link Crypto} object, representing the {@link #logic logic}.
+   * @param s A {@link String} object, representing the {@link #type type} of legacy files.
+   * @param i An {@link Integer} value, representing the iteration {@link #cost cost}.
+   * @param b A {@link Boolean} value, representing whether to compress.
+   * @param bs A {@link Byte} array, representing the content {@link #versioning versioning}: 4 bytes, or {@code null}
+   *        for all zero.
+   * @throws IllegalArgumentException if {@code i} is not positive, or is more than {@link #maxCost maxCost}, or
+   *         {@code bs} is not 4 bytes.
+   * @see Crypto
+   * @see EncryptionBase
+   * @see EncryptionAead
+   */
+  protected EncryptionAead(long l, Crypto c, String s, int i, boolean b, byte[] bs) {
+    super(l, c, s);
+    if(i <= 0 || i > maxCost) {
+      throw new IllegalArgumentException(String.format("cost=%d", i));
+    }
+    if(bs != null && bs.length != 4) {
+      throw new IllegalArgumentException(String.format("versioning of %d bytes", bs.length));
+    }
+    cost = i;
+    compressed = b;
+    versioning = (bs == null) ? new byte[4] : bs.clone();
+  }
+
+  /**
+   * Make the salt of a seed. The salt is the same for every file of the same seed, so that the derived key can be
+   * cached across files; the nonce alone keeps each file's key stream apart.
+   * @param l A {@link Long} value, representing the seed.
+   * @return A {@link Byte} array, holding 16 bytes.
+   * @see EncryptionAead
+   */
+  private static byte[] salt(long l) {
+    try {
+      MessageDigest md = MessageDigest.getInstance("SHA-256");
+      md.update("abc.cryptology".getBytes(StandardCharsets.UTF_8));
+      byte[] bs = md.digest(ByteBuffer.allocate(8).putLong(l).array());
+      byte[] salt = new byte[16];
+      System.arraycopy(bs, 0, salt, 0, 16);
+      return salt;
+    } catch(NoSuchAlgorithmException e) { // every Java platform is required to support SHA-256.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Get an AES cipher, initialized with the derived key.
+   * @param i An {@link Integer} value, representing the cryptography "direction".
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param n An {@link Integer} value, representing the iteration count.
+   * @param salt A {@link Byte} array, representing the salt.
+   * @param nonce A {@link Byte} array, representing the nonce.
+   * @return A {@link Cipher} object, which should be given back to {@link #releaseCipher(Cipher)}.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @see EncryptionAead
+   */
+  private static Cipher getAesCipher(int i, String s, int n, byte[] salt, byte[] nonce)
+      throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException,
+      InvalidAlgorithmParameterException {
+    Cipher cipher = CipherCache.borrow(transformation);
+    CipherCache.init(cipher, n, salt, i, s, new GCMParameterSpec(128, nonce));
+    return cipher;
+  }
+
+  /**
+   * Check whether bytes begin with the header of this format.
+   * @param bs A {@link Byte} array, representing the file bytes.
+   * @param i An {@link Integer} value, representing the offset of the file bytes.
+   * @param j An {@link Integer} value, representing the length of the file bytes.
+   * @return A {@link Boolean} value, {@code false} for a legacy file.
+   * @see EncryptionAead
+   */
+  static boolean isAuthenticated(byte[] bs, int i, int j) {
+    return j >= headerLength1 && ByteBuffer.wrap(bs, i, j).getInt() == magic;
+  }
+
+  /**
+   * Check whether the bytes from a buffer's position up to its limit begin with the header of this format. The
+   * buffer's position and byte order are not changed.
+   * @param bb A {@link ByteBuffer} object, representing the file bytes.
+   * @return A {@link Boolean} value, {@code false} for a legacy file.
+   * @see EncryptionAead
+   */
+  static boolean isAuthenticated(ByteBuffer bb) {
+    return bb.remaining() >= headerLength1 && bb.duplicate().order(ByteOrder.BIG_ENDIAN).getInt() == magic;
+  }
+
+  /**
+   * Perform the decryption operation, from the bytes of a whole file, header included.
+   * @param bs A {@link Byte} array, representing the file bytes.
+   * @param i An {@link Integer} value, representing the offset of the file bytes.
+   * @param j An {@link Integer} value, representing the length of the file bytes.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the header is not of this format, the tag does not match, or the logic fails.
+   * @see EncryptionAead
+   */
+  protected void performDecrypting(byte[] bs, int i, int j, String s) throws NoSuchAlgorithmException,
+      InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException,
+      IOException {
+    if(!isAuthenticated(bs, i, j)) {
+      throw new IOException("not an authenticated file");
+    }
+    if(logic != null && s != null && !s.isEmpty()) {
+      ByteBuffer header = ByteBuffer.wrap(bs, i + 4, j - 4);
+      final byte v = header.get();
+      final byte m = header.get();
+      if((v != 1 && v != version) || (m & ~deflate) != gcm) {
+        throw new IOException(String.format("unknown file version %d or mode %d", v, m));
+      }
+      final int hl = (v == 1) ? headerLength1 : headerLength;
+      if(j < hl) {
+        throw new IOException(String.format("truncated file header; %d bytes", j));
+      }
+      final int n = header.getInt();
+      if(n <= 0 || n > maxCost) { // checked before deriving any key; the cost is not yet authenticated.
+        throw new IOException(String.format("corrupt file header; cost=%d", n));
+      }
+      byte[] salt = new byte[16];
+      byte[] nonce = new byte[12];
+      header.get(salt).get(nonce);
+      Cipher cipher = getAesCipher(Cipher.DECRYPT_MODE, s, n, salt, nonce);
+      byte[] plain;
+      try {
+        cipher.updateAAD(bs, i, hl);
+        plain = cipher.doFinal(bs, i + hl, j - hl);
+      } catch(GeneralSecurityException e) { // a bad tag: a wrong key or a tampered file; the same as the stream.
+        throw new IOException(e);
+      } finally {
+        releaseCipher(cipher);
+      }
+      Inflater inflater = ((m & deflate) != 0) ? DeflateCache.borrowInflater() : null;
+      InputStream is = new ByteArrayInputStream(plain);
+      if(inflater != null) {
+        // buffered, since a single byte read from an inflater stream runs the whole inflater.
+        is = new BufferedInputStream(new InflaterInputStream(is, inflater, DeflateCache.buffer), DeflateCache.buffer);
+      }
+      try(DataInputStream dis = new DataInputStream(is)) {
+        logic.performDecryption(dis);
+      } finally {
+        Arrays.fill(plain, (byte)0);
+        if(inflater != null) {
+          DeflateCache.release(inflater);
+        }
+      }
+    }
+  }
+
+  /**
+   * Perform the encryption operation, into the bytes of a whole file, header included.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @return A {@link Byte} array, holding the file bytes.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the logic fails.
+   * @see EncryptionAead
+   */
+  protected byte[] performEncrypting(String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, IOException {
+    if(logic == null || s == null || s.isEmpty()) {
+      return new byte[0];
+    }
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    Deflater deflater = compressed ? DeflateCache.borrowDeflater() : null;
+    long n = 0L;
+    try(DataOutputStream dos = new DataOutputStream((deflater == null) ? baos : new BufferedOutputStream(
+        new DeflaterOutputStream(baos, deflater, DeflateCache.buffer), DeflateCache.buffer))) {
+      logic.performEncryption(dos);
+    } finally { // the stream is closed by now, so the deflater has seen every byte.
+      n = (deflater == null) ? baos.size() : deflater.getBytesRead();
+      if(deflater != null) {
+        DeflateCache.release(deflater);
+      }
+    }
+    byte[] plain = baos.toByteArray();
+    byte[] header;
+    try {
+      header = header(s, n);
+    } catch(GeneralSecurityException | RuntimeException e) {
+      Arrays.fill(plain, (byte)0);
+      throw e;
+    }
+    byte[] salt = Arrays.copyOfRange(header, 10, 26);
+    byte[] nonce = Arrays.copyOfRange(header, 26, headerLength1);
+    Cipher cipher = getAesCipher(Cipher.ENCRYPT_MODE, s, cost, salt, nonce);
+    try {
+      cipher.updateAAD(header);
+      byte[] bs = new byte[headerLength + cipher.getOutputSize(plain.length)];
+      System.arraycopy(header, 0, bs, 0, headerLength);
+      cipher.doFinal(plain, 0, plain.length, bs, headerLength);
+      return bs;
+    } catch(GeneralSecurityException e) { // a short buffer; the same as the stream.
+      throw new IOException(e);
+    } finally {
+      releaseCipher(cipher);
+      Arrays.fill(plain, (byte)0);
+    }
+  }
+
+  /**
+   * Make a new file header, with fresh nonces, and seal it with its tag.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param l A {@link Long} value, representing the content length.
+   * @return A {@link Byte} array, holding the header.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the header cannot be sealed.
+   * @see EncryptionAead
+   */
+  private byte[] header(String s, long l) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, IOException {
+    byte[] nonce = new byte[12];
+    byte[] sealing = new byte[12];
+    nonces.nextBytes(nonce);
+    nonces.nextBytes(sealing);
+    byte[] salt = salt(seed);
+    ByteBuffer header = ByteBuffer.allocate(headerLength);
+    header.putInt(magic).put(version).put(compressed ? (byte)(gcm | deflate) : gcm).putInt(cost).put(salt).put(nonce)
+        .put(versioning).putLong(l).put(sealing);
+    Cipher cipher = getAesCipher(Cipher.ENCRYPT_MODE, s, cost, salt, sealing);
+    try {
+      cipher.updateAAD(header.array(), 0, sealedLength);
+      cipher.doFinal(header.array(), sealedLength);
+    } catch(GeneralSecurityException e) { // a short buffer; the same as the stream.
+      throw new IOException(e);
+    } finally {
+      releaseCipher(cipher);
+    }
+    return header.array();
+  }
+
+  /**
+   * Read the metadata of a file from its header alone. With a cipher key, the header is also verified against its own
+   * tag, which costs a key derivation the first time, and next to nothing after that; the cipher text is never read.
+   * @param f A {@link File} object, representing the file.
+   * @param s A {@link String} object, representing the cryptography "key", or {@code null} not to verify.
+   * @return A {@link CryptoMetadata} object; unverified for a version 1 file, which has no header tag.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the file is not an authenticated file, or its header tag does not match.
+   * @see EncryptionAead
+   */
+  static CryptoMetadata readMetadata(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, IOException {
+    ByteBuffer header = ByteBuffer.allocate(headerLength);
+    try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+      while(header.hasRemaining() && fc.read(header) >= 0) {
+      }
+    }
+    final int j = header.position();
+    if(!isAuthenticated(header.array(), 0, j)) {
+      throw new IOException("not an authenticated file");
+    }
+    header.position(4);
+    final byte v = header.get();
+    final byte m = header.get();
+    if((v != 1 && v != version) || (m & ~deflate) != gcm) {
+      throw new IOException(String.format("unknown file version %d or mode %d", v, m));
+    }
+    final int n = header.getInt();
+    if(n <= 0 || n > maxCost) { // checked before deriving any key; the cost is not yet authenticated.
+      throw new IOException(String.format("corrupt file header; cost=%d", n));
+    }
+    if(v == 1) {
+      return new CryptoMetadata(v, null, -1L, (m & deflate) != 0, transformation, n, false);
+    }
+    if(j < headerLength) {
+      throw new IOException(String.format("truncated file header; %d bytes", j));
+    }
+    byte[] salt = new byte[16];
+    byte[] bs = new byte[4];
+    byte[] sealing = new byte[12];
+    header.get(salt).position(headerLength1);
+    header.get(bs);
+    final long l = header.getLong();
+    header.get(sealing);
+    if(s != null) {
+      Cipher cipher = getAesCipher(Cipher.DECRYPT_MODE, s, n, salt, sealing);
+      try {
+        cipher.updateAAD(header.array(), 0, sealedLength);
+        cipher.doFinal(header.array(), sealedLength, headerLength - sealedLength);
+      } catch(GeneralSecurityException e) { // a bad tag: a wrong key or a tampered header; the same as the stream.
+        throw new IOException(e);
+      } finally {
+        CipherCache.release(cipher);
+      }
+    }
+    return new CryptoMetadata(v, bs, l, (m & deflate) != 0, transformation, n, s != null);
+  }
+
+  @Override
+  protected void performDecrypting(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, FileNotFoundException,
+      IOException {
+    if(f != null && f.exists() && logic != null && s != null && !s.isEmpty()) {
+      ByteBuffer header = ByteBuffer.allocate(headerLength1);
+      byte[] bs = null;
+      try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+        while(header.hasRemaining() && fc.read(header) >= 0) {
+        }
+        if(!header.hasRemaining() && header.getInt(0) == magic) {
+          if(fc.size() > Integer.MAX_VALUE - 8) {
+            throw new IOException(String.format("file of %d bytes is too large to decrypt at once", fc.size()));
+          }
+          ByteBuffer bb = ByteBuffer.allocate((int)fc.size());
+          header.flip();
+          bb.put(header);
+          while(bb.hasRemaining() && fc.read(bb) >= 0) {
+          }
+          bs = bb.array();
+        }
+      }
+      if(bs == null) { // a legacy file.
+        super.performDecrypting(f, s);
+      } else {
+        performDecrypting(bs, 0, bs.length, s);
+      }
+    }
+  }
+
+  @Override
+  protected void performEncrypting(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, FileNotFoundException,
+      IOException {
+    if(f != null && f.exists() && logic != null && s != null && !s.isEmpty()) {
+      byte[] bs = performEncrypting(s);
+      try(FileOutputStream fos = new FileOutputStream(f)) {
+        fos.write(bs);
+      }
+    }
+  }
+}
@@ -0,0 +1,360 @@
+package abc.cryptology;
+import abc.cryptology.logics.Crypto;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+
+
+/**
+ * An archive encryption instance. This subclass keeps many small records in one file, each encrypted on its own under
+ * a salt varied by a random nonce of its own, together with an index of the records that is encrypted separately; so
+ * one record can be found through the index and decrypted alone, without a pass over the rest of the file.
+ * <p/>
+ * The file layout is as follows; every number is big-endian:<ul>
+ * <li/>A header: the {@link #magic magic} number ({@code int}) and the {@link #version version} ({@code byte}).
+ * <li/>The encrypted records, one after another.
+ * <li/>The encrypted index. Its plain form is the record count ({@code int}), then for each record its name (modified
+ * UTF-8, as {@link DataOutputStream#writeUTF(String)}), position ({@code long}), encrypted length ({@code int}), plain
+ * length ({@code int}) and nonce (8 bytes).
+ * <li/>A trailer: the index nonce (8 bytes), the index position ({@code long}), the index's encrypted length
+ * ({@code int}), and the magic number again ({@code int}).
+ * </ul>
+ * @author Gregory
+ * @see Encryption
+ * @see CryptoArchive
+ * @see #magic magic
+ * @see #version version
+ * @see #logics logics
+ * @see #EncryptionArchive(long,Map,String) EncryptionArchive(long,Map,String)
+ * @see #performDecrypting(File,String) performDecrypting(File,String)
+ * @see #performEncrypting(File,String) performEncrypting(File,String)
+ * @see NoSuchAlgorithmException
+ * @see InvalidKeySpecException
+ * @see NoSuchPaddingException
+ * @see InvalidKeyException
+ * @see InvalidAlgorithmParameterException
+ * @see FileNotFoundException
+ * @see IOException
+ */
+class EncryptionArchive extends Encryption {
+  /**
+   * The magic number, {@code "ABCA"}.
+   * @see EncryptionArchive
+   */
+  static final int magic = 0x41424341;
+  /**
+   * The format version.
+   * @see EncryptionArchive
+   */
+  static final byte version = 1;
+  /**
+   * The header length, in bytes.
+   * @see EncryptionArchive
+   */
+  private static final int headerLength = 5;
+  /**
+   * The trailer length, in bytes.
+   * @see EncryptionArchive
+   */
+  private static final int trailerLength = 24;
+  /**
+   * The source of record nonces.
+   * @see EncryptionArchive
+   */
+  private static final SecureRandom nonces;
+  /**
+   * The cryptographic logic of each record, by name, in the order the records are written.
+   * @see Crypto
+   * @see EncryptionArchive
+   */
+  protected final Map<String, Crypto> logics;
+
+  static {
+    nonces = new SecureRandom();
+  }
+
+  /**
+   * A protected constructor. This takes the same seed and type as {@link EncryptionBase}, but a logic for each record,
+   * by name; the map may be {@code null} when the archive is only opened for reading.
+   * @param l A {@link Long} value, representing the random {@link #seed seed}.
+   * @param m A {@link Map} object, representing the {@link #logics logics}.
+   * @param s A {@link String} object, representing the {@link #type type}.
+   * @see Crypto
+   * @see Encryption
+   * @see EncryptionArchive
+   */
+  protected EncryptionArchive(long l, Map<String, Crypto> m, String s) {
+    super(l, null, s);
+    logics = m;
+  }
+
+  /**
+   * An index entry. This locates one record in the file.
+   * @see EncryptionArchive
+   */
+  static final class Entry {
+    final long position;
+    final int length;
+    final int plainLength;
+    final byte[] nonce;
+
+    private Entry(long p, int i, int j, byte[] bs) {
+      position = p;
+      length = i;
+      plainLength = j;
+      nonce = bs;
+    }
+  }
+
+  /**
+   * Encrypt or decrypt bytes in one go, with a cipher from the current thread's pool. The output buffer must have room
+   * for the whole output.
+   * @param i An {@link Integer} value, representing the cryptography "direction".
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param nonce A {@link Byte} array, representing the nonce.
+   * @param in A {@link ByteBuffer} object, representing the input bytes.
+   * @param out A {@link ByteBuffer} object, representing the output bytes.
+   * @return An {@link Integer} value, the number of output bytes.
+   * @throws GeneralSecurityException
+   * @see EncryptionArchive
+   */
+  private int crypt(int i, String s, byte[] nonce, ByteBuffer in, ByteBuffer out) throws GeneralSecurityException {
+    Cipher cipher = getCipher(seed, i, s, nonce);
+    try {
+      return cipher.doFinal(in, out);
+    } finally {
+      releaseCipher(cipher);
+    }
+  }
+
+  /**
+   * Get the upper bound on the decrypted length of some encrypted bytes.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param nonce A {@link Byte} array, representing the nonce.
+   * @param n An {@link Integer} value, representing the number of encrypted bytes.
+   * @return An {@link Integer} value.
+   * @throws GeneralSecurityException
+   * @see EncryptionArchive
+   */
+  private int outputSize(String s, byte[] nonce, int n) throws GeneralSecurityException {
+    Cipher cipher = getCipher(seed, Cipher.DECRYPT_MODE, s, nonce);
+    try {
+      return cipher.getOutputSize(n);
+    } finally {
+      releaseCipher(cipher);
+    }
+  }
+
+  /**
+   * Encrypt one run of plain bytes, and write it at the channel's position.
+   * @param fc A {@link FileChannel} object, representing the file.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param nonce A {@link Byte} array, representing the nonce.
+   * @param bs A {@link Byte} array, representing the plain bytes.
+   * @return An {@link Integer} value, the number of encrypted bytes written.
+   * @throws GeneralSecurityException
+   * @throws IOException
+   * @see EncryptionArchive
+   */
+  private int write(FileChannel fc, String s, byte[] nonce, byte[] bs) throws GeneralSecurityException, IOException {
+    Cipher cipher = getCipher(seed, Cipher.ENCRYPT_MODE, s, nonce);
+    ByteBuffer bb;
+    try {
+      bb = ByteBuffer.wrap(cipher.doFinal(bs));
+    } finally {
+      releaseCipher(cipher);
+    }
+    final int n = bb.remaining();
+    while(bb.hasRemaining()) {
+      fc.write(bb);
+    }
+    return n;
+  }
+
+  /**
+   * Map a whole archive file into memory, read-only.
+   * @param f A {@link File} object, representing the archive file.
+   * @return A {@link MappedByteBuffer} object.
+   * @throws IOException if the file cannot be mapped, or is larger than 2 GiB.
+   * @see EncryptionArchive
+   */
+  static MappedByteBuffer map(File f) throws IOException {
+    try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+      if(fc.size() > Integer.MAX_VALUE) {
+        throw new IOException(String.format("archive of %d bytes is too large to map", fc.size()));
+      }
+      return fc.map(FileChannel.MapMode.READ_ONLY, 0L, fc.size());
+    }
+  }
+
+  /**
+   * Read and decrypt the index of a mapped archive.
+   * @param mbb A {@link ByteBuffer} object, representing the mapped archive.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @return A {@link Map} object, holding the entry of each record by name, in the order the records were written.
+   * @throws IOException if the file is not an archive.
+   * @throws GeneralSecurityException if the index cannot be decrypted.
+   * @see EncryptionArchive
+   */
+  Map<String, Entry> index(ByteBuffer mbb, String s) throws IOException, GeneralSecurityException {
+    final int end = mbb.limit();
+    if(end < headerLength + trailerLength || mbb.getInt(0) != magic || mbb.getInt(end - 4) != magic) {
+      throw new IOException("not an archive file");
+    } else if(mbb.get(4) != version) {
+      throw new IOException(String.format("unknown archive file version %d", mbb.get(4)));
+    }
+    ByteBuffer trailer = mbb.duplicate();
+    trailer.position(end - trailerLength);
+    byte[] nonce = new byte[8];
+    trailer.get(nonce);
+    final long at = trailer.getLong();
+    final int n = trailer.getInt();
+    if(at < headerLength || n < 0 || at + n != end - trailerLength) {
+      throw new IOException("corrupt archive file trailer");
+    }
+    ByteBuffer in = mbb.duplicate();
+    in.limit((int)at + n).position((int)at);
+    ByteBuffer out = ByteBuffer.allocate(outputSize(s, nonce, n));
+    crypt(Cipher.DECRYPT_MODE, s, nonce, in, out);
+    DataInputStream dis = new DataInputStream(new ByteArrayInputStream(out.array(), 0, out.position()));
+    final int count = dis.readInt();
+    Map<String, Entry> m = new LinkedHashMap<>();
+    for(int k = 0; k < count; k++) {
+      String name = dis.readUTF();
+      final long p = dis.readLong();
+      final int i = dis.readInt();
+      final int j = dis.readInt();
+      byte[] bs = new byte[8];
+      dis.readFully(bs);
+      if(p < headerLength || i < 0 || j < 0 || p + i > at) {
+        throw new IOException(String.format("corrupt archive index entry \"%s\"", name));
+      }
+      m.put(name, new Entry(p, i, j, bs));
+    }
+    return Collections.unmodifiableMap(m);
+  }
+
+  /**
+   * Decrypt one record of a mapped archive into a buffer, from its position on. The mapped archive itself is not
+   * changed, so any number of threads may decrypt records from it at once.
+   * @param mbb A {@link ByteBuffer} object, representing the mapped archive.
+   * @param e An {@link Entry} object, representing the record's index entry.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param bb A {@link ByteBuffer} object, representing the target bytes.
+   * @throws BufferOverflowException if {@code bb} has less room than the record's plain length.
+   * @throws IOException if the record does not decrypt to its plain length.
+   * @throws GeneralSecurityException if the record cannot be decrypted.
+   * @see EncryptionArchive
+   */
+  void decrypt(ByteBuffer mbb, Entry e, String s, ByteBuffer bb) throws IOException, GeneralSecurityException {
+    if(bb.remaining() < e.plainLength) {
+      throw new BufferOverflowException();
+    }
+    ByteBuffer in = mbb.duplicate();
+    in.limit((int)e.position + e.length).position((int)e.position);
+    final int n;
+    if(bb.remaining() >= outputSize(s, e.nonce, e.length)) {
+      n = crypt(Cipher.DECRYPT_MODE, s, e.nonce, in, bb);
+    } else { // the cipher wants room for padding that the plain bytes do not take up.
+      ByteBuffer out = ByteBuffer.allocate(outputSize(s, e.nonce, e.length));
+      n = crypt(Cipher.DECRYPT_MODE, s, e.nonce, in, out);
+      out.flip();
+      bb.put(out);
+    }
+    if(n != e.plainLength) {
+      throw new IOException(String.format("record decrypted to %d bytes, not %d", n, e.plainLength));
+    }
+  }
+
+  @Override
+  protected void performDecrypting(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, FileNotFoundException,
+      IOException {
+    if(f != null && f.exists() && logics != null && s != null && !s.isEmpty()) {
+      ByteBuffer mbb = map(f);
+      try {
+        Map<String, Entry> m = index(mbb, s);
+        for(Map.Entry<String, Crypto> me : logics.entrySet()) {
+          Entry e = m.get(me.getKey());
+          if(e == null) {
+            throw new FileNotFoundException(String.format("no record \"%s\" in the archive", me.getKey()));
+          }
+          ByteBuffer bb = ByteBuffer.allocate(e.plainLength);
+          decrypt(mbb, e, s, bb);
+          try(DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bb.array()))) {
+            me.getValue().performDecryption(dis);
+          }
+        }
+      } catch(GeneralSecurityException e) { // bad padding or bad block size; the same as the stream.
+        throw new IOException(e);
+      }
+    }
+  }
+
+  @Override
+  protected void performEncrypting(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, FileNotFoundException,
+      IOException {
+    if(f != null && f.exists() && logics != null && s != null && !s.isEmpty()) {
+      try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer header = ByteBuffer.allocate(headerLength).putInt(magic).put(version);
+        header.flip();
+        while(header.hasRemaining()) {
+          fc.write(header);
+        }
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexData = new DataOutputStream(index);
+        indexData.writeInt(logics.size());
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        for(Map.Entry<String, Crypto> me : logics.entrySet()) {
+          record.reset();
+          DataOutputStream dos = new DataOutputStream(record);
+          me.getValue().performEncryption(dos);
+          dos.flush();
+          byte[] nonce = new byte[8];
+          nonces.nextBytes(nonce);
+          final long p = fc.position();
+          final int n = write(fc, s, nonce, record.toByteArray());
+          indexData.writeUTF(me.getKey());
+          indexData.writeLong(p);
+          indexData.writeInt(n);
+          indexData.writeInt(record.size());
+          indexData.write(nonce);
+        }
+        indexData.flush();
+        byte[] nonce = new byte[8];
+        nonces.nextBytes(nonce);
+        final long at = fc.position();
+        final int n = write(fc, s, nonce, index.toByteArray());
+        ByteBuffer trailer = ByteBuffer.allocate(trailerLength).put(nonce).putLong(at).putInt(n).putInt(magic);
+        trailer.flip();
+        while(trailer.hasRemaining()) {
+          fc.write(trailer);
+        }
+      } catch(GeneralSecurityException e) { // a bad block size; the same as the stream.
+        throw new IOException(e);
+      }
+    }
+  }
+}
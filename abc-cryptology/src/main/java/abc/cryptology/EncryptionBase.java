@@ -6,7 +6,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -25,6 +29,8 @@ import javax.crypto.NoSuchPaddingException;
  * @see #EncryptionBase(long,Crypto,String) EncryptionBase(long,Crypto,String)
  * @see #performDecrypting(File,String) performDecrypting(File,String)
  * @see #performEncrypting(File,String) performEncrypting(File,String)
+ * @see #performDecrypting(InputStream,String) performDecrypting(InputStream,String)
+ * @see #performEncrypting(OutputStream,String) performEncrypting(OutputStream,String)
  * @see NoSuchAlgorithmException
  * @see InvalidKeySpecException
  * @see NoSuchPaddingException
@@ -55,10 +61,14 @@ class EncryptionBase extends Encryption {
       IOException {
     if(f != null && f.exists() && logic != null && s != null && !s.isEmpty()) {
       Cipher cipher = getCipher(seed, Cipher.DECRYPT_MODE, s);
-      FileInputStream fis = new FileInputStream(f);
-      CipherInputStream cis = new CipherInputStream(fis, cipher);
-      try(DataInputStream dis = new DataInputStream(cis)) {
-        logic.performDecryption(dis);
+      try {
+        FileInputStream fis = new FileInputStream(f);
+        CipherInputStream cis = new CipherInputStream(fis, cipher);
+        try(DataInputStream dis = new DataInputStream(cis)) {
+          logic.performDecryption(dis);
+        }
+      } finally {
+        releaseCipher(cipher);
       }
     }
   }
@@ -69,11 +79,89 @@ class EncryptionBase extends Encryption {
       IOException {
     if(f != null && f.exists() && logic != null && s != null && !s.isEmpty()) {
       Cipher cipher = getCipher(seed, Cipher.ENCRYPT_MODE, s);
-      FileOutputStream fos = new FileOutputStream(f);
-      CipherOutputStream cos = new CipherOutputStream(fos, cipher);
-      try(DataOutputStream dos = new DataOutputStream(cos)) {
-        logic.performEncryption(dos);
-        dos.flush();
+      try {
+        FileOutputStream fos = new FileOutputStream(f);
+        CipherOutputStream cos = new CipherOutputStream(fos, cipher);
+        try(DataOutputStream dos = new DataOutputStream(cos)) {
+          logic.performEncryption(dos);
+          dos.flush();
+        }
+      } finally {
+        releaseCipher(cipher);
+      }
+    }
+  }
+
+  /**
+   * Perform the decryption operation, from a stream. This is the same as {@link #performDecrypting(File,String)}, but
+   * reads the cipher text from {@code is}, which is left open; the logic reads only as far as it needs to.
+   * @param is An {@link InputStream} object, representing the source of the cipher text.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException
+   * @see EncryptionBase
+   */
+  protected void performDecrypting(InputStream is, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, IOException {
+    if(is != null && logic != null && s != null && !s.isEmpty()) {
+      Cipher cipher = getCipher(seed, Cipher.DECRYPT_MODE, s);
+      try {
+        InputStream open = new FilterInputStream(is) {
+          @Override
+          public void close() { // the caller's stream stays open.
+          }
+        };
+        CipherInputStream cis = new CipherInputStream(open, cipher);
+        try(DataInputStream dis = new DataInputStream(cis)) {
+          logic.performDecryption(dis);
+        }
+      } finally {
+        releaseCipher(cipher);
+      }
+    }
+  }
+
+  /**
+   * Perform the encryption operation, into a stream. This is the same as {@link #performEncrypting(File,String)}, but
+   * writes the cipher text to {@code os}, which is flushed and left open.
+   * @param os An {@link OutputStream} object, representing the target of the cipher text.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException
+   * @see EncryptionBase
+   */
+  protected void performEncrypting(OutputStream os, String s) throws NoSuchAlgorithmException,
+      InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException,
+      IOException {
+    if(os != null && logic != null && s != null && !s.isEmpty()) {
+      Cipher cipher = getCipher(seed, Cipher.ENCRYPT_MODE, s);
+      try {
+        OutputStream open = new FilterOutputStream(os) {
+          @Override
+          public void write(byte[] bs, int i, int j) throws IOException {
+            out.write(bs, i, j);
+          }
+
+          @Override
+          public void close() throws IOException { // the caller's stream stays open.
+            flush();
+          }
+        };
+        CipherOutputStream cos = new CipherOutputStream(open, cipher);
+        try(DataOutputStream dos = new DataOutputStream(cos)) {
+          logic.performEncryption(dos);
+          dos.flush();
+        }
+      } finally {
+        releaseCipher(cipher);
       }
     }
   }
@@ -0,0 +1,207 @@
+package abc.cryptology;
+import abc.cryptology.logics.CryptoBuffer;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+
+
+/**
+ * A channel encryption instance. This subclass defines the same encryption methodology as {@link EncryptionBase}, but
+ * drives {@link Cipher#update(ByteBuffer,ByteBuffer)} over a {@link FileChannel}, through a pair of direct buffers,
+ * and hands the plain bytes to a {@link CryptoBuffer} logic instead of a data stream; so neither the cipher nor the
+ * file system is ever asked for less than a whole buffer at a time.
+ * <p/>
+ * The cipher text is byte-for-byte the same as that of EncryptionBase for the same plain bytes, so files can be read
+ * and written by either one. The direct buffers are kept per thread, and reused by later operations of the same size.
+ * @author Gregory
+ * @see Encryption
+ * @see #defaultSize defaultSize
+ * @see #bufferLogic bufferLogic
+ * @see #size size
+ * @see #EncryptionChannel(long,CryptoBuffer,String,int) EncryptionChannel(long,CryptoBuffer,String,int)
+ * @see #performDecrypting(File,String) performDecrypting(File,String)
+ * @see #performEncrypting(File,String) performEncrypting(File,String)
+ * @see NoSuchAlgorithmException
+ * @see InvalidKeySpecException
+ * @see NoSuchPaddingException
+ * @see InvalidKeyException
+ * @see InvalidAlgorithmParameterException
+ * @see FileNotFoundException
+ * @see IOException
+ */
+class EncryptionChannel extends Encryption {
+  /**
+   * The default buffer size, in bytes (64 KiB).
+   * @see EncryptionChannel
+   */
+  static final int defaultSize = 65536;
+  /**
+   * The idle buffers of each thread; index {@code 0} is the input buffer and index {@code 1} the output buffer. A
+   * running operation takes them out, so a nested operation on the same thread gets buffers of its own.
+   * @see EncryptionChannel
+   */
+  private static final ThreadLocal<ByteBuffer[]> buffers;
+  /**
+   * The buffered cryptographic logic.
+   * @see CryptoBuffer
+   * @see EncryptionChannel
+   */
+  protected final CryptoBuffer bufferLogic;
+  /**
+   * The buffer size, in bytes. This is the most plain or cipher text read or written at once.
+   * @see EncryptionChannel
+   */
+  protected final int size;
+
+  static {
+    buffers = new ThreadLocal<>();
+  }
+
+  /**
+   * A protected constructor. This takes the same seed and type as {@link EncryptionBase}, but a {@link CryptoBuffer}
+   * logic, and the buffer size.
+   * @param l A {@link Long} value, representing the random {@link #seed seed}.
+   * @param c A {@link CryptoBuffer} object, representing the {@link #bufferLogic bufferLogic}.
+   * @param s A {@link String} object, representing the {@link #type type}.
+   * @param i An {@link Integer} value, representing the buffer {@link #size size}.
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see CryptoBuffer
+   * @see Encryption
+   * @see EncryptionChannel
+   */
+  protected EncryptionChannel(long l, CryptoBuffer c, String s, int i) {
+    super(l, null, s);
+    if(i <= 0) {
+      throw new IllegalArgumentException(String.format("size=%d", i));
+    }
+    bufferLogic = c;
+    size = i;
+  }
+
+  /**
+   * Take this thread's idle buffers, or allocate new ones. Buffers smaller than needed are replaced.
+   * @param n An {@link Integer} value, representing the size of the output buffer needed.
+   * @return A {@link ByteBuffer} array, holding the cleared input and output buffers.
+   * @see EncryptionChannel
+   */
+  private ByteBuffer[] borrow(int n) {
+    ByteBuffer[] bbs = buffers.get();
+    buffers.set(null);
+    if(bbs == null) {
+      bbs = new ByteBuffer[2];
+    }
+    if(bbs[0] == null || bbs[0].capacity() != size) {
+      bbs[0] = ByteBuffer.allocateDirect(size);
+    }
+    if(bbs[1] == null || bbs[1].capacity() < n) {
+      bbs[1] = ByteBuffer.allocateDirect(n);
+    }
+    bbs[0].clear();
+    bbs[1].clear();
+    return bbs;
+  }
+
+  /**
+   * Make room in an output buffer. When fewer than {@code n} bytes are left after its position, the buffer is replaced
+   * by a larger one holding the same bytes; this only happens for ciphers that hold back more than a block.
+   * @param bb A {@link ByteBuffer} object, representing the output buffer.
+   * @param n An {@link Integer} value, representing the number of bytes needed.
+   * @return A {@link ByteBuffer} object, the same buffer or its replacement.
+   * @see EncryptionChannel
+   */
+  private static ByteBuffer ensure(ByteBuffer bb, int n) {
+    if(bb.remaining() >= n) {
+      return bb;
+    }
+    ByteBuffer b = ByteBuffer.allocateDirect(bb.position() + n);
+    bb.flip();
+    b.put(bb);
+    return b;
+  }
+
+  @Override
+  protected void performDecrypting(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, FileNotFoundException,
+      IOException {
+    if(f != null && f.exists() && bufferLogic != null && s != null && !s.isEmpty()) {
+      Cipher cipher = getCipher(seed, Cipher.DECRYPT_MODE, s);
+      ByteBuffer[] bbs = borrow(2 * cipher.getOutputSize(size));
+      try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+        ByteBuffer in = bbs[0];
+        ByteBuffer out = bbs[1];
+        while(fc.read(in) >= 0) {
+          in.flip();
+          out = ensure(out, cipher.getOutputSize(in.remaining()));
+          cipher.update(in, out);
+          in.clear();
+          out.flip();
+          bufferLogic.performDecryption(out, false);
+          out.compact();
+          if(out.position() > size) {
+            throw new IOException(String.format("%d decrypted bytes left unread; at most %d can be", out.position(),
+                size));
+          }
+        }
+        in.flip();
+        out = ensure(out, cipher.getOutputSize(0));
+        cipher.doFinal(in, out);
+        out.flip();
+        bufferLogic.performDecryption(out, true);
+        bbs[1] = out;
+      } catch(GeneralSecurityException e) { // a short buffer, bad padding or bad block size; the same as the stream.
+        throw new IOException(e);
+      } finally {
+        releaseCipher(cipher);
+        buffers.set(bbs);
+      }
+    }
+  }
+
+  @Override
+  protected void performEncrypting(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, FileNotFoundException,
+      IOException {
+    if(f != null && f.exists() && bufferLogic != null && s != null && !s.isEmpty()) {
+      Cipher cipher = getCipher(seed, Cipher.ENCRYPT_MODE, s);
+      ByteBuffer[] bbs = borrow(cipher.getOutputSize(size));
+      try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        ByteBuffer in = bbs[0];
+        ByteBuffer out = bbs[1];
+        boolean more;
+        do {
+          in.clear();
+          more = bufferLogic.performEncryption(in);
+          in.flip();
+          out.clear();
+          out = ensure(out, cipher.getOutputSize(in.remaining()));
+          if(more) {
+            cipher.update(in, out);
+          } else {
+            cipher.doFinal(in, out);
+          }
+          out.flip();
+          while(out.hasRemaining()) {
+            fc.write(out);
+          }
+        } while(more);
+        bbs[1] = out;
+      } catch(GeneralSecurityException e) { // a short buffer or bad block size; the same as the stream.
+        throw new IOException(e);
+      } finally {
+        releaseCipher(cipher);
+        buffers.set(bbs);
+      }
+    }
+  }
+}
@@ -0,0 +1,299 @@
+package abc.cryptology;
+import abc.cryptology.logics.Crypto;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+
+
+/**
+ * An in-memory encryption instance. This subclass defines the same encryption methodology as {@link EncryptionBase},
+ * but reads and writes the cipher text in byte arrays and {@link ByteBuffer}s instead of files, so nothing touches the
+ * disk; the cipher text is byte-for-byte the same as that of a file.
+ * <p/>
+ * The plain bytes pass through a scratch array kept per thread, which grows to the largest record seen and is reused by
+ * later operations; it is wiped after each use.
+ * @author Gregory
+ * @see EncryptionBase
+ * @see #scratches scratches
+ * @see #EncryptionMemory(long,Crypto,String) EncryptionMemory(long,Crypto,String)
+ * @see #performDecrypting(byte[],int,int,String) performDecrypting(byte[],int,int,String)
+ * @see #performDecrypting(ByteBuffer,String) performDecrypting(ByteBuffer,String)
+ * @see #performEncrypting(byte[],int,String) performEncrypting(byte[],int,String)
+ * @see #performEncrypting(ByteBuffer,String) performEncrypting(ByteBuffer,String)
+ * @see #performEncrypting(String) performEncrypting(String)
+ * @see NoSuchAlgorithmException
+ * @see InvalidKeySpecException
+ * @see NoSuchPaddingException
+ * @see InvalidKeyException
+ * @see InvalidAlgorithmParameterException
+ * @see IOException
+ */
+class EncryptionMemory extends EncryptionBase {
+  /**
+   * The idle scratch array of each thread. A running operation takes it out, so a nested operation on the same thread
+   * gets one of its own.
+   * @see EncryptionMemory
+   */
+  private static final ThreadLocal<Scratch> scratches;
+
+  static {
+    scratches = new ThreadLocal<>();
+  }
+
+  /**
+   * A protected constructor. This takes the same parameters as {@link EncryptionBase}.
+   * @param l A {@link Long} value, representing the random {@link #seed seed}.
+   * @param c A {@link Crypto} object, representing the {@link #logic logic}.
+   * @param s A {@link String} object, representing the {@link #type type}.
+   * @see Crypto
+   * @see EncryptionBase
+   * @see EncryptionMemory
+   */
+  protected EncryptionMemory(long l, Crypto c, String s) {
+    super(l, c, s);
+  }
+
+  /**
+   * A scratch array. This is a {@link ByteArrayOutputStream} whose array can be reached without a copy.
+   * @see EncryptionMemory
+   */
+  private static final class Scratch extends ByteArrayOutputStream {
+    private Scratch() {
+      super(256);
+    }
+
+    /**
+     * Get the array, with room for at least {@code n} bytes.
+     * @param n An {@link Integer} value, representing the number of bytes needed.
+     * @return A {@link Byte} array.
+     */
+    private byte[] array(int n) {
+      if(buf.length < n) {
+        buf = new byte[Math.max(n, buf.length << 1)];
+      }
+      return buf;
+    }
+
+    /**
+     * Wipe the first {@code n} bytes of the array, and empty the stream.
+     * @param n An {@link Integer} value, representing the number of bytes used.
+     */
+    private void wipe(int n) {
+      Arrays.fill(buf, 0, Math.min(Math.max(n, count), buf.length), (byte)0);
+      count = 0;
+    }
+  }
+
+  /**
+   * Take this thread's idle scratch array, or create a new one.
+   * @return A {@link Scratch} object, empty.
+   * @see EncryptionMemory
+   */
+  private static Scratch borrow() {
+    Scratch sc = scratches.get();
+    scratches.set(null);
+    return (sc != null) ? sc : new Scratch();
+  }
+
+  /**
+   * Hand the plain bytes in a scratch array to the logic.
+   * @param sc A {@link Scratch} object, representing the scratch array.
+   * @param n An {@link Integer} value, representing the number of plain bytes.
+   * @throws IOException
+   * @see EncryptionMemory
+   */
+  private void decrypted(Scratch sc, int n) throws IOException {
+    try(DataInputStream dis = new DataInputStream(new ByteArrayInputStream(sc.array(n), 0, n))) {
+      logic.performDecryption(dis);
+    }
+  }
+
+  /**
+   * Have the logic write its plain bytes into a scratch array.
+   * @param sc A {@link Scratch} object, representing the scratch array.
+   * @return An {@link Integer} value, the number of plain bytes.
+   * @throws IOException
+   * @see EncryptionMemory
+   */
+  private int encrypted(Scratch sc) throws IOException {
+    DataOutputStream dos = new DataOutputStream(sc);
+    logic.performEncryption(dos);
+    dos.flush();
+    return sc.size();
+  }
+
+  /**
+   * Perform the decryption operation, from a byte array.
+   * @param bs A {@link Byte} array, representing the cipher text.
+   * @param i An {@link Integer} value, representing the offset of the cipher text in {@code bs}.
+   * @param j An {@link Integer} value, representing the length of the cipher text.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the cipher text cannot be decrypted, or the logic fails.
+   * @throws IndexOutOfBoundsException if the slice is not within {@code bs}.
+   * @see EncryptionMemory
+   */
+  protected void performDecrypting(byte[] bs, int i, int j, String s) throws NoSuchAlgorithmException,
+      InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException,
+      IOException {
+    if(i < 0 || j < 0 || i > bs.length - j) {
+      throw new IndexOutOfBoundsException(String.format("offset=%d, length=%d, array length=%d", i, j, bs.length));
+    }
+    if(logic != null && s != null && !s.isEmpty()) {
+      Cipher cipher = getCipher(seed, Cipher.DECRYPT_MODE, s);
+      Scratch sc = borrow();
+      int n = 0;
+      try {
+        n = cipher.getOutputSize(j);
+        n = cipher.doFinal(bs, i, j, sc.array(n), 0);
+        decrypted(sc, n);
+      } catch(GeneralSecurityException e) { // bad padding or bad block size; the same as the stream.
+        throw new IOException(e);
+      } finally {
+        releaseCipher(cipher);
+        sc.wipe(n);
+        scratches.set(sc);
+      }
+    }
+  }
+
+  /**
+   * Perform the decryption operation, from a buffer. The cipher text is read from the buffer's position up to its
+   * limit, and its position is then moved to its limit.
+   * @param bb A {@link ByteBuffer} object, representing the cipher text.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the cipher text cannot be decrypted, or the logic fails.
+   * @see EncryptionMemory
+   */
+  protected void performDecrypting(ByteBuffer bb, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, IOException {
+    if(bb != null && logic != null && s != null && !s.isEmpty()) {
+      Cipher cipher = getCipher(seed, Cipher.DECRYPT_MODE, s);
+      Scratch sc = borrow();
+      int n = 0;
+      try {
+        n = cipher.getOutputSize(bb.remaining());
+        n = cipher.doFinal(bb, ByteBuffer.wrap(sc.array(n)));
+        decrypted(sc, n);
+      } catch(GeneralSecurityException e) { // bad padding or bad block size; the same as the stream.
+        throw new IOException(e);
+      } finally {
+        releaseCipher(cipher);
+        sc.wipe(n);
+        scratches.set(sc);
+      }
+    }
+  }
+
+  /**
+   * Perform the encryption operation, into a byte array.
+   * @param bs A {@link Byte} array, representing the target of the cipher text.
+   * @param i An {@link Integer} value, representing the offset in {@code bs} to write from.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @return An {@link Integer} value, the number of bytes written.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the logic fails.
+   * @throws BufferOverflowException if the cipher text does not fit into {@code bs}; nothing is written then.
+   * @see EncryptionMemory
+   */
+  protected int performEncrypting(byte[] bs, int i, String s) throws NoSuchAlgorithmException,
+      InvalidKeySpecException, NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException,
+      IOException {
+    return performEncrypting(ByteBuffer.wrap(bs, i, bs.length - i), s);
+  }
+
+  /**
+   * Perform the encryption operation, into a buffer. The cipher text is put from the buffer's position on, and its
+   * position is then moved past it.
+   * @param bb A {@link ByteBuffer} object, representing the target of the cipher text.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @return An {@link Integer} value, the number of bytes put.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the logic fails.
+   * @throws BufferOverflowException if the cipher text does not fit into {@code bb}; nothing is put then.
+   * @see EncryptionMemory
+   */
+  protected int performEncrypting(ByteBuffer bb, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, IOException {
+    if(bb == null || logic == null || s == null || s.isEmpty()) {
+      return 0;
+    }
+    Cipher cipher = getCipher(seed, Cipher.ENCRYPT_MODE, s);
+    Scratch sc = borrow();
+    int n = 0;
+    try {
+      n = encrypted(sc);
+      if(bb.remaining() < cipher.getOutputSize(n)) {
+        throw new BufferOverflowException();
+      }
+      return cipher.doFinal(ByteBuffer.wrap(sc.array(n), 0, n), bb);
+    } catch(GeneralSecurityException e) { // a short buffer or bad block size; the same as the stream.
+      throw new IOException(e);
+    } finally {
+      releaseCipher(cipher);
+      sc.wipe(n);
+      scratches.set(sc);
+    }
+  }
+
+  /**
+   * Perform the encryption operation, into a new byte array.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @return A {@link Byte} array, exactly as long as the cipher text.
+   * @throws NoSuchAlgorithmException
+   * @throws InvalidKeySpecException
+   * @throws NoSuchPaddingException
+   * @throws InvalidKeyException
+   * @throws InvalidAlgorithmParameterException
+   * @throws IOException if the logic fails.
+   * @see EncryptionMemory
+   */
+  protected byte[] performEncrypting(String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, IOException {
+    if(logic == null || s == null || s.isEmpty()) {
+      return new byte[0];
+    }
+    Cipher cipher = getCipher(seed, Cipher.ENCRYPT_MODE, s);
+    Scratch sc = borrow();
+    int n = 0;
+    try {
+      n = encrypted(sc);
+      return cipher.doFinal(sc.array(n), 0, n);
+    } catch(GeneralSecurityException e) { // a bad block size; the same as the stream.
+      throw new IOException(e);
+    } finally {
+      releaseCipher(cipher);
+      sc.wipe(n);
+      scratches.set(sc);
+    }
+  }
+}
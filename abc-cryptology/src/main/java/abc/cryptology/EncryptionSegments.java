@@ -0,0 +1,557 @@
+package abc.cryptology;
+import abc.cryptology.logics.Crypto;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+
+
+/**
+ * A segmented encryption instance. This subclass splits the plain bytes into fixed-size segments and encrypts each one
+ * on its own, under a salt varied by a random nonce of its own, so that segments can be encrypted and decrypted in
+ * parallel on a {@link ForkJoinPool}, and so that a byte range can be read without decrypting anything before it.
+ * <p/>
+ * The file layout is as follows; every number is big-endian:<ul>
+ * <li/>A header: the {@link #magic magic} number ({@code int}), the {@link #version version} ({@code byte}), and the
+ * segment size ({@code int}).
+ * <li/>The encrypted segments, one after another.
+ * <li/>The index: for each segment, its nonce (8 bytes) and its encrypted length ({@code int}).
+ * <li/>A trailer: the plain length ({@code long}), the segment count ({@code int}), the index position ({@code long}),
+ * and the magic number again ({@code int}).
+ * </ul>
+ * The index comes last so that a file can be written in one pass, however long the logic runs.
+ * <p/>
+ * <b>This format provides confidentiality only, not integrity.</b> Neither the segments nor the index are
+ * authenticated, and the segment cipher has no tag; so segments that are reordered, swapped, duplicated, dropped, or
+ * taken from another file under the same key, with the index and trailer changed to match, decrypt without any error,
+ * into the wrong plain bytes or a truncated whole. A changed byte inside a segment is caught only if it happens to
+ * break the padding. Where tampering matters, use the authenticated format of {@link EncryptionAead}.
+ * @author Gregory
+ * @see Encryption
+ * @see #magic magic
+ * @see #version version
+ * @see #defaultSize defaultSize
+ * @see #size size
+ * @see #EncryptionSegments(long,Crypto,String,int) EncryptionSegments(long,Crypto,String,int)
+ * @see #performDecrypting(File,String) performDecrypting(File,String)
+ * @see #performEncrypting(File,String) performEncrypting(File,String)
+ * @see #performReading(File,String,long,ByteBuffer) performReading(File,String,long,ByteBuffer)
+ * @see NoSuchAlgorithmException
+ * @see InvalidKeySpecException
+ * @see NoSuchPaddingException
+ * @see InvalidKeyException
+ * @see InvalidAlgorithmParameterException
+ * @see FileNotFoundException
+ * @see IOException
+ */
+class EncryptionSegments extends Encryption {
+  /**
+   * The magic number, {@code "ABCS"}.
+   * @see EncryptionSegments
+   */
+  static final int magic = 0x41424353;
+  /**
+   * The format version.
+   * @see EncryptionSegments
+   */
+  static final byte version = 1;
+  /**
+   * The default segment size, in bytes (1 MiB).
+   * @see EncryptionSegments
+   */
+  static final int defaultSize = 1048576;
+  /**
+   * The header length, in bytes.
+   * @see EncryptionSegments
+   */
+  private static final int headerLength = 9;
+  /**
+   * The trailer length, in bytes.
+   * @see EncryptionSegments
+   */
+  private static final int trailerLength = 24;
+  /**
+   * The source of segment nonces.
+   * @see EncryptionSegments
+   */
+  private static final SecureRandom nonces;
+  /**
+   * The segment size, in plain bytes. Every segment but the last holds exactly this many.
+   * @see EncryptionSegments
+   */
+  protected final int size;
+  /**
+   * The pool that segments are encrypted and decrypted on.
+   * @see EncryptionSegments
+   */
+  protected final ForkJoinPool pool;
+  /**
+   * The most segments in flight at once, so that a long file is never held in memory all at once.
+   * @see EncryptionSegments
+   */
+  private final int window;
+
+  static {
+    nonces = new SecureRandom();
+  }
+
+  /**
+   * A protected constructor. This takes the same seed, logic and type as {@link EncryptionBase}, and the segment size
+   * used when encrypting; when decrypting, the size is read from the file instead. Segments run on the common pool.
+   * @param l A {@link Long} value, representing the random {@link #seed seed}.
+   * @param c A {@link Crypto} object, representing the {@link #logic logic}.
+   * @param s A {@link String} object, representing the {@link #type type}.
+   * @param i An {@link Integer} value, representing the segment {@link #size size}.
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see Crypto
+   * @see Encryption
+   * @see Encryption#Encryption(long,Crypto,String)
+   * @see EncryptionSegments
+   */
+  protected EncryptionSegments(long l, Crypto c, String s, int i) {
+    super(l, c, s);
+    if(i <= 0) {
+      throw new IllegalArgumentException(String.format("size=%d", i));
+    }
+    size = i;
+    pool = ForkJoinPool.commonPool();
+    window = 2 * pool.getParallelism() + 1;
+  }
+
+  /**
+   * The index of a segmented file.
+   * @see EncryptionSegments
+   */
+  private static final class Index {
+    private final int size;
+    private final long length;
+    private final int count;
+    private final long[] offsets;
+    private final byte[][] nonces;
+
+    /**
+     * Read the index of a file.
+     * @param fc A {@link FileChannel} object, representing the file.
+     * @throws IOException if the file is not a segmented file, or cannot be read.
+     */
+    private Index(FileChannel fc) throws IOException {
+      final long end = fc.size();
+      if(end < headerLength + trailerLength) {
+        throw new IOException("not a segmented file");
+      }
+      ByteBuffer header = read(fc, 0L, headerLength);
+      ByteBuffer trailer = read(fc, end - trailerLength, trailerLength);
+      if(header.getInt() != magic || trailer.getInt(trailerLength - 4) != magic) {
+        throw new IOException("not a segmented file");
+      } else if(header.get() != version) {
+        throw new IOException(String.format("unknown segmented file version %d", header.get(4)));
+      }
+      size = header.getInt();
+      length = trailer.getLong();
+      count = trailer.getInt();
+      final long at = trailer.getLong();
+      final boolean fits = (count == 0) ? length == 0 : (count - 1L) * size < length && length <= (long)count * size;
+      if(size <= 0 || count < 0 || !fits || at + 12L * count != end - trailerLength) {
+        throw new IOException("corrupt segmented file trailer");
+      }
+      ByteBuffer index = read(fc, at, 12 * count);
+      offsets = new long[count + 1];
+      nonces = new byte[count][8];
+      offsets[0] = headerLength;
+      for(int k = 0; k < count; k++) {
+        index.get(nonces[k]);
+        final int n = index.getInt();
+        if(n < 0) {
+          throw new IOException("corrupt segmented file index");
+        }
+        offsets[k + 1] = offsets[k] + n;
+      }
+      if(offsets[count] != at) {
+        throw new IOException("corrupt segmented file index");
+      }
+    }
+
+    /**
+     * Get the plain length of a segment.
+     * @param k An {@link Integer} value, representing the index of the segment.
+     * @return An {@link Integer} value.
+     */
+    private int plain(int k) {
+      return (k == count - 1) ? (int)(length - (long)k * size) : size;
+    }
+  }
+
+  /**
+   * Read a run of bytes at a position, without moving the channel's own position; this may be called from several
+   * threads at once.
+   * @param fc A {@link FileChannel} object, representing the file.
+   * @param p A {@link Long} value, representing the position of the first byte.
+   * @param n An {@link Integer} value, representing the number of bytes.
+   * @return A {@link ByteBuffer} object, flipped, holding the bytes.
+   * @throws IOException if the file ends too soon, or cannot be read.
+   * @see EncryptionSegments
+   */
+  private static ByteBuffer read(FileChannel fc, long p, int n) throws IOException {
+    ByteBuffer bb = ByteBuffer.allocate(n);
+    while(bb.hasRemaining()) {
+      if(fc.read(bb, p + bb.position()) < 0) {
+        throw new EOFException();
+      }
+    }
+    bb.flip();
+    return bb;
+  }
+
+  /**
+   * Wait for a segment task.
+   * @param t A {@link ForkJoinTask} object, representing the task.
+   * @return A {@link Byte} array, the result of the task.
+   * @throws IOException if the task failed; a cipher failure is its cause.
+   * @see EncryptionSegments
+   */
+  private static byte[] join(ForkJoinTask<byte[]> t) throws IOException {
+    try {
+      return t.get();
+    } catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    } catch(ExecutionException e) {
+      Throwable cause = e.getCause();
+      while(cause instanceof RuntimeException && cause.getCause() != null) { // the pool wraps checked exceptions.
+        cause = cause.getCause();
+      }
+      throw (cause instanceof IOException) ? (IOException)cause : new IOException(cause);
+    }
+  }
+
+  /**
+   * Encrypt or decrypt one segment, with a cipher from the current thread's pool.
+   * @param i An {@link Integer} value, representing the cryptography "direction".
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @param nonce A {@link Byte} array, representing the segment's nonce.
+   * @param bs A {@link Byte} array, representing the input bytes.
+   * @param len An {@link Integer} value, representing the number of input bytes.
+   * @return A {@link Byte} array, the output bytes.
+   * @throws GeneralSecurityException
+   * @see EncryptionSegments
+   */
+  private byte[] crypt(int i, String s, byte[] nonce, byte[] bs, int len) throws GeneralSecurityException {
+    Cipher cipher = getCipher(seed, i, s, nonce);
+    try {
+      return cipher.doFinal(bs, 0, len);
+    } finally {
+      releaseCipher(cipher);
+    }
+  }
+
+  /**
+   * Read and decrypt one segment.
+   * @param fc A {@link FileChannel} object, representing the file.
+   * @param ix An {@link Index} object, representing the file's index.
+   * @param k An {@link Integer} value, representing the index of the segment.
+   * @param s A {@link String} object, representing the cryptography "key".
+   * @return A {@link Byte} array, the plain bytes of the segment.
+   * @throws IOException if the segment cannot be read, or does not decrypt to its expected length.
+   * @throws GeneralSecurityException
+   * @see EncryptionSegments
+   */
+  private byte[] decrypt(FileChannel fc, Index ix, int k, String s) throws IOException, GeneralSecurityException {
+    ByteBuffer bb = read(fc, ix.offsets[k], (int)(ix.offsets[k + 1] - ix.offsets[k]));
+    byte[] bs = crypt(Cipher.DECRYPT_MODE, s, ix.nonces[k], bb.array(), bb.limit());
+    if(bs.length != ix.plain(k)) {
+      throw new IOException(String.format("segment %d decrypted to %d bytes, not %d", k, bs.length, ix.plain(k)));
+    }
+    return bs;
+  }
+
+  /**
+   * The plain side of an encryption. Bytes written here are gathered into segments; each full segment is handed to
+   * the pool, and finished segments are written out in order, together with the index once the stream is closed. An
+   * aborted stream writes no index, so that a half-written file is never taken for a whole one.
+   * @see EncryptionSegments
+   */
+  private final class SegmentOutput extends OutputStream {
+    private final FileChannel fc;
+    private final String key;
+    private final ArrayDeque<ForkJoinTask<byte[]>> pending;
+    private final ArrayDeque<byte[]> pendingNonces;
+    private final ByteArrayOutputStream index;
+    private final DataOutputStream indexData;
+    private byte[] buf;
+    private int n;
+    private long total;
+    private int count;
+    private boolean closed;
+
+    private SegmentOutput(FileChannel c, String s) throws IOException {
+      fc = c;
+      key = s;
+      pending = new ArrayDeque<>();
+      pendingNonces = new ArrayDeque<>();
+      index = new ByteArrayOutputStream();
+      indexData = new DataOutputStream(index);
+      buf = new byte[size];
+      ByteBuffer header = ByteBuffer.allocate(headerLength).putInt(magic).put(version).putInt(size);
+      header.flip();
+      write(header);
+    }
+
+    private void write(ByteBuffer bb) throws IOException {
+      while(bb.hasRemaining()) {
+        fc.write(bb);
+      }
+    }
+
+    private void submit() throws IOException {
+      final byte[] bs = buf;
+      final int len = n;
+      final byte[] nonce = new byte[8];
+      nonces.nextBytes(nonce);
+      pending.add(pool.submit(() -> crypt(Cipher.ENCRYPT_MODE, key, nonce, bs, len)));
+      pendingNonces.add(nonce);
+      total += len;
+      buf = new byte[size];
+      n = 0;
+      while(pending.size() > window) {
+        drain();
+      }
+    }
+
+    private void drain() throws IOException {
+      byte[] bs = join(pending.poll());
+      indexData.write(pendingNonces.poll());
+      indexData.writeInt(bs.length);
+      count++;
+      write(ByteBuffer.wrap(bs));
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      buf[n++] = (byte)b;
+      if(n == size) {
+        submit();
+      }
+    }
+
+    @Override
+    public void write(byte[] bs, int off, int len) throws IOException {
+      while(len > 0) {
+        final int k = Math.min(len, size - n);
+        System.arraycopy(bs, off, buf, n, k);
+        n += k;
+        off += k;
+        len -= k;
+        if(n == size) {
+          submit();
+        }
+      }
+    }
+
+    /**
+     * Abort the stream: cancel the segments in flight, and cut the file back to nothing, so that it is not a segmented
+     * file; closing it afterwards does nothing.
+     * @throws IOException if the file cannot be truncated.
+     */
+    private void abort() throws IOException {
+      closed = true;
+      for(ForkJoinTask<byte[]> t : pending) {
+        t.cancel(false);
+      }
+      pending.clear();
+      pendingNonces.clear();
+      fc.truncate(0L);
+    }
+
+    @Override
+    public void close() throws IOException {
+      if(!closed) {
+        closed = true;
+        if(n > 0) {
+          submit();
+        }
+        while(!pending.isEmpty()) {
+          drain();
+        }
+        final long at = fc.position();
+        write(ByteBuffer.wrap(index.toByteArray()));
+        ByteBuffer trailer = ByteBuffer.allocate(trailerLength).putLong(total).putInt(count).putLong(at).putInt(magic);
+        trailer.flip();
+        write(trailer);
+      }
+    }
+  }
+
+  /**
+   * The plain side of a decryption. Segments are decrypted on the pool a few ahead of the reader, and read back in
+   * order.
+   * @see EncryptionSegments
+   */
+  private final class SegmentInput extends InputStream {
+    private final FileChannel fc;
+    private final Index ix;
+    private final String key;
+    private final ArrayDeque<ForkJoinTask<byte[]>> pending;
+    private int next;
+    private byte[] cur;
+    private int pos;
+
+    private SegmentInput(FileChannel c, Index i, String s) {
+      fc = c;
+      ix = i;
+      key = s;
+      pending = new ArrayDeque<>();
+    }
+
+    private boolean fill() throws IOException {
+      while(cur == null || pos == cur.length) {
+        while(next < ix.count && pending.size() < window) {
+          final int k = next++;
+          pending.add(pool.submit(() -> decrypt(fc, ix, k, key)));
+        }
+        if(pending.isEmpty()) {
+          return false;
+        }
+        cur = join(pending.poll());
+        pos = 0;
+      }
+      return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+      return fill() ? cur[pos++] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bs, int off, int len) throws IOException {
+      if(len == 0) {
+        return 0;
+      } else if(!fill()) {
+        return -1;
+      }
+      final int k = Math.min(len, cur.length - pos);
+      System.arraycopy(cur, pos, bs, off, k);
+      pos += k;
+      return k;
+    }
+
+    @Override
+    public void close() {
+      for(ForkJoinTask<byte[]> t : pending) {
+        t.cancel(false);
+      }
+      pending.clear();
+    }
+  }
+
+  @Override
+  protected void performDecrypting(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, FileNotFoundException,
+      IOException {
+    if(f != null && f.exists() && logic != null && s != null && !s.isEmpty()) {
+      try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+        Index ix = new Index(fc);
+        try(DataInputStream dis = new DataInputStream(new SegmentInput(fc, ix, s))) {
+          logic.performDecryption(dis);
+        }
+      }
+    }
+  }
+
+  @Override
+  protected void performEncrypting(File f, String s) throws NoSuchAlgorithmException, InvalidKeySpecException,
+      NoSuchPaddingException, InvalidKeyException, InvalidAlgorithmParameterException, FileNotFoundException,
+      IOException {
+    if(f != null && f.exists() && logic != null && s != null && !s.isEmpty()) {
+      try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        SegmentOutput so = new SegmentOutput(fc, s);
+        try(DataOutputStream dos = new DataOutputStream(so)) {
+          try {
+            logic.performEncryption(dos);
+            dos.flush();
+          } catch(Throwable t) { // a logic that fails part of the way leaves no file that reads as whole.
+            try {
+              so.abort();
+            } catch(IOException e) {
+              t.addSuppressed(e);
+            }
+            throw t;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Perform a cryptographic range reading. This decrypts only the segments covering the plain bytes from {@code p} on,
+   * all at once on the pool, and puts as many of those bytes as fit into {@code bb}, from its position on.
+   * @param f A {@link File} object, representing the source file.
+   * @param s A {@link String} object, representing the cipher key to use.
+   * @param p A {@link Long} value, representing the plain position of the first byte to read.
+   * @param bb A {@link ByteBuffer} object, representing the target bytes.
+   * @return An {@link Integer} value, the number of bytes read, or {@code -1} if {@code p} is at or past the end.
+   * @throws IOException if the file is not a segmented file, or cannot be read or decrypted.
+   * @throws IllegalArgumentException if {@code p} is negative.
+   * @see EncryptionSegments
+   */
+  protected int performReading(File f, String s, long p, ByteBuffer bb) throws IOException {
+    if(p < 0) {
+      throw new IllegalArgumentException(String.format("position=%d", p));
+    }
+    try(FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+      Index ix = new Index(fc);
+      if(p >= ix.length) {
+        return -1;
+      }
+      final int n = (int)Math.min(bb.remaining(), ix.length - p);
+      if(n == 0) {
+        return 0;
+      }
+      final int first = (int)(p / ix.size);
+      final int last = (int)((p + n - 1) / ix.size);
+      ArrayDeque<ForkJoinTask<byte[]>> tasks = new ArrayDeque<>(last - first + 1);
+      for(int k = first; k <= last; k++) {
+        final int j = k;
+        tasks.add(pool.submit(() -> decrypt(fc, ix, j, s)));
+      }
+      int skip = (int)(p - (long)first * ix.size);
+      int left = n;
+      try {
+        while(!tasks.isEmpty()) {
+          byte[] bs = join(tasks.poll());
+          final int k = Math.min(left, bs.length - skip);
+          bb.put(bs, skip, k);
+          left -= k;
+          skip = 0;
+        }
+      } finally {
+        for(ForkJoinTask<byte[]> t : tasks) {
+          t.cancel(false);
+        }
+      }
+      return n;
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package abc.cryptology.logics;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+
+/**
+ * Definition of buffered cryptographic logic. This is the {@link ByteBuffer} counterpart of {@link Crypto}:
+ * instead of reading and writing a data stream one value at a time, it is handed whole buffers of plain bytes, so that
+ * the cipher and the file channel underneath only ever work in large runs.
+ * <blockquote><b><i>WARNING:</i></b> Care must be taken that both of the cryptological operations
+ * ({@link #performDecryption(ByteBuffer,boolean) performDecryption(ByteBuffer,boolean)} and
+ * {@link #performEncryption(ByteBuffer) performEncryption(ByteBuffer)}) are loading and saving values in the same
+ * order, or else we will experience errors, somewhere down the line.</blockquote>
+ * The bytes are the same bytes that a {@link Crypto} logic reads and writes, so a file written by one kind of logic can
+ * be read by the other, as long as both agree on the layout. A buffer handed to either method is only valid during the
+ * call, and should not be kept.
+ * @author Gregory
+ * @see #CryptoBuffer() CryptoBuffer()
+ * @see #performDecryption(ByteBuffer,boolean) performDecryption(ByteBuffer,boolean)
+ * @see #performEncryption(ByteBuffer) performEncryption(ByteBuffer)
+ * @see Crypto
+ */
+abstract public class CryptoBuffer {
+  /**
+   * A public constructor. This does nothing.
+   * <p/>
+   * See the javadoc in this abstract class, for general cautions and warnings.
+   * @see CryptoBuffer
+   */
+  public CryptoBuffer() {
+  }
+
+  /**
+   * Perform a data-decryption operation. This is called with each run of decrypted bytes, in order, from the buffer's
+   * position up to its limit; the last call is made once the whole file has been decrypted, and {@code last} is then
+   * set.
+   * <p/>
+   * Any bytes left unread are kept, and handed over again at the front of the next call, so a value that straddles two
+   * runs can simply be left until the rest of it arrives; no more than one run's worth of bytes may be left, though.
+   * @param bb A {@link ByteBuffer} object, representing the decrypted bytes.
+   * @param last A {@link Boolean} value, representing whether this is the final run.
+   * @throws IOException on any file-IO exceptions.
+   * @see CryptoBuffer
+   * @see #performEncryption(ByteBuffer) performEncryption(ByteBuffer)
+   */
+  abstract public void performDecryption(ByteBuffer bb, boolean last) throws IOException;
+
+  /**
+   * Perform a data-encryption operation. This is called with an empty buffer, to be filled with the next run of bytes
+   * to encrypt from its position towards its limit; it is called again for as long as it returns {@code true}.
+   * @param bb A {@link ByteBuffer} object, representing the bytes to encrypt.
+   * @return A {@link Boolean} value, {@code true} if there are more bytes to come, or {@code false} after the last run.
+   * @throws IOException on any file-IO exceptions.
+   * @see CryptoBuffer
+   * @see #performDecryption(ByteBuffer,boolean) performDecryption(ByteBuffer,boolean)
+   */
+  abstract public boolean performEncryption(ByteBuffer bb) throws IOException;
+}
@@ -7,6 +7,9 @@ import java.io.IOException;
 /**
  * The cryptographic logic of String arrays. This allows reading and writing lists of {@link String} object data in an
  * automatic manner.
+ * <p/>
+ * The number of strings is written as a single byte, so at most 255 strings can be written; for more, or to read only
+ * some of them, see {@link abc.cryptology.CryptoStringTable}.
  * @author Gregory
  * @see #CryptoLogicVersioning(byte[]) CryptoLogicVersioning(byte[])
  * @see #performDecryption(DataInputStream) performDecryption(DataInputStream)
@@ -41,6 +44,10 @@ public class CryptoLogicArrayStrings extends Crypto {
   @Override
   public final void performEncryption(DataOutputStream dos) throws IOException {
     if(dos != null) {
+      if(strings.length > 0xFF) {
+        // the count is a single byte; more than that would be silently cut off when read.
+        throw new IOException(String.format("too many strings; %d, at most %d", strings.length, 0xFF));
+      }
       dos.write(strings.length);
       for(String string : strings) {
         dos.writeUTF(string.trim());
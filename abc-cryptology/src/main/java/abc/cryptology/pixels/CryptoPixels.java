@@ -1,8 +1,17 @@
 package abc.cryptology.pixels;
 import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.IntStream;
 
 
 /**
@@ -17,7 +26,22 @@ import java.util.List;
  * <p/>
  * This contains a few {@code public static final} methods that assist in taking a single graphic pixel's color values
  * and changing them into various raw data types.
+ * <p/>
+ * The raster methods do the same for many pixels at once, without a {@code Color} object: they work on packed ARGB
+ * integers (as from {@link BufferedImage#getRGB(int,int)}), in arrays, in {@link ByteBuffer}s, or straight in a
+ * {@code BufferedImage}'s own {@link DataBufferInt}, and write four values per pixel in the same alpha, blue, green and
+ * red order as {@link #asCharacters(Color)}. Nothing is allocated per pixel, and images can be done a row per thread.
  * @author Gregory
+ * @see #asCharacters(int[],int,char[],int,int) asCharacters(int[],int,char[],int,int)
+ * @see #asBytes(int[],int,byte[],int,int) asBytes(int[],int,byte[],int,int)
+ * @see #asBytes(int[],int,ByteBuffer,int) asBytes(int[],int,ByteBuffer,int)
+ * @see #fromCharacters(char[],int,int[],int,int) fromCharacters(char[],int,int[],int,int)
+ * @see #fromBytes(byte[],int,int[],int,int) fromBytes(byte[],int,int[],int,int)
+ * @see #fromBytes(ByteBuffer,int[],int,int) fromBytes(ByteBuffer,int[],int,int)
+ * @see #asCharacters(BufferedImage,char[],int,boolean) asCharacters(BufferedImage,char[],int,boolean)
+ * @see #asBytes(BufferedImage,byte[],int,boolean) asBytes(BufferedImage,byte[],int,boolean)
+ * @see #fromCharacters(char[],int,BufferedImage,boolean) fromCharacters(char[],int,BufferedImage,boolean)
+ * @see #fromBytes(byte[],int,BufferedImage,boolean) fromBytes(byte[],int,BufferedImage,boolean)
  */
 public class CryptoPixels {
   /**
@@ -69,12 +93,7 @@ public class CryptoPixels {
    * @see CryptoPixels
    */
   public static final String asString(Color color) {
-    String string = "";
-    char[] chars = asCharacters(color);
-    for(char c : chars) {
-      string += Character.toString(c);
-    }
-    return string;
+    return new String(asCharacters(color));
   }
 
   /**
@@ -122,4 +141,302 @@ public class CryptoPixels {
   public static final int[] asIntegers(Color color) {
     return new int[] {color.getAlpha(), color.getBlue(), color.getGreen(), color.getRed()};
   }
+
+  /**
+   * Check that a region lies within an array.
+   * @param l An {@link Integer} value, representing the array length.
+   * @param i An {@link Integer} value, representing the region offset.
+   * @param n A {@link Long} value, representing the region length.
+   * @throws IndexOutOfBoundsException if the region is not within the array.
+   * @see CryptoPixels
+   */
+  private static void checkRegion(int l, int i, long n) {
+    if(i < 0 || n < 0L || i > l - n) {
+      throw new IndexOutOfBoundsException(String.format("offset=%d, length=%d, array length=%d", i, n, l));
+    }
+  }
+
+  /**
+   * Swap the red and blue values of a packed pixel, so that the big-endian bytes of the result are in alpha, blue,
+   * green and red order.
+   * @param p An {@link Integer} value, representing a packed ARGB pixel.
+   * @return An {@link Integer} value, representing the packed ABGR pixel.
+   * @see CryptoPixels
+   */
+  private static int swap(int p) {
+    return (p & 0xFF00FF00) | ((p >>> 16) & 0xFF) | ((p & 0xFF) << 16);
+  }
+
+  /**
+   * Write pixels as characters, unchecked.
+   * @see CryptoPixels
+   */
+  private static void toCharacters(int[] ps, int i, char[] cs, int j, int n) {
+    for(final int end = i + n; i < end; i++, j += 4) {
+      final int p = ps[i];
+      cs[j] = (char)(p >>> 24);
+      cs[j + 1] = (char)(p & 0xFF);
+      cs[j + 2] = (char)((p >>> 8) & 0xFF);
+      cs[j + 3] = (char)((p >>> 16) & 0xFF);
+    }
+  }
+
+  /**
+   * Write pixels as bytes, unchecked.
+   * @see CryptoPixels
+   */
+  private static void toBytes(int[] ps, int i, byte[] bs, int j, int n) {
+    for(final int end = i + n; i < end; i++, j += 4) {
+      final int p = ps[i];
+      bs[j] = (byte)(p >>> 24);
+      bs[j + 1] = (byte)p;
+      bs[j + 2] = (byte)(p >>> 8);
+      bs[j + 3] = (byte)(p >>> 16);
+    }
+  }
+
+  /**
+   * Read pixels from characters, unchecked.
+   * @see CryptoPixels
+   */
+  private static void toPixels(char[] cs, int j, int[] ps, int i, int n) {
+    for(final int end = i + n; i < end; i++, j += 4) {
+      ps[i] = (cs[j] & 0xFF) << 24 | (cs[j + 3] & 0xFF) << 16 | (cs[j + 2] & 0xFF) << 8 | (cs[j + 1] & 0xFF);
+    }
+  }
+
+  /**
+   * Read pixels from bytes, unchecked.
+   * @see CryptoPixels
+   */
+  private static void toPixels(byte[] bs, int j, int[] ps, int i, int n) {
+    for(final int end = i + n; i < end; i++, j += 4) {
+      ps[i] = (bs[j] & 0xFF) << 24 | (bs[j + 3] & 0xFF) << 16 | (bs[j + 2] & 0xFF) << 8 | (bs[j + 1] & 0xFF);
+    }
+  }
+
+  /**
+   * Get characters from packed pixels. Each pixel is written as four characters, in alpha, blue, green and red order,
+   * the same as {@link #asCharacters(Color)}.
+   * @param ps An {@link Integer} array, representing the packed ARGB pixels.
+   * @param i An {@link Integer} value, representing the offset of the first pixel.
+   * @param cs A {@link Character} array, representing the target characters.
+   * @param j An {@link Integer} value, representing the offset of the first character.
+   * @param n An {@link Integer} value, representing the number of pixels.
+   * @throws IndexOutOfBoundsException if either region is not within its array.
+   * @see CryptoPixels
+   */
+  public static final void asCharacters(int[] ps, int i, char[] cs, int j, int n) {
+    checkRegion(ps.length, i, n);
+    checkRegion(cs.length, j, 4L * n);
+    toCharacters(ps, i, cs, j, n);
+  }
+
+  /**
+   * Get bytes from packed pixels. Each pixel is written as four bytes, in alpha, blue, green and red order.
+   * @param ps An {@link Integer} array, representing the packed ARGB pixels.
+   * @param i An {@link Integer} value, representing the offset of the first pixel.
+   * @param bs A {@link Byte} array, representing the target bytes.
+   * @param j An {@link Integer} value, representing the offset of the first byte.
+   * @param n An {@link Integer} value, representing the number of pixels.
+   * @throws IndexOutOfBoundsException if either region is not within its array.
+   * @see CryptoPixels
+   */
+  public static final void asBytes(int[] ps, int i, byte[] bs, int j, int n) {
+    checkRegion(ps.length, i, n);
+    checkRegion(bs.length, j, 4L * n);
+    toBytes(ps, i, bs, j, n);
+  }
+
+  /**
+   * Get bytes from packed pixels, into a buffer from its position on. Each pixel is written as four bytes, in alpha,
+   * blue, green and red order, whatever the buffer's byte order.
+   * @param ps An {@link Integer} array, representing the packed ARGB pixels.
+   * @param i An {@link Integer} value, representing the offset of the first pixel.
+   * @param bb A {@link ByteBuffer} object, representing the target bytes.
+   * @param n An {@link Integer} value, representing the number of pixels.
+   * @throws IndexOutOfBoundsException if the region is not within {@code ps}.
+   * @throws BufferOverflowException if {@code bb} has room for fewer than {@code n} pixels; nothing is put then.
+   * @see CryptoPixels
+   */
+  public static final void asBytes(int[] ps, int i, ByteBuffer bb, int n) {
+    checkRegion(ps.length, i, n);
+    if(bb.remaining() < 4L * n) {
+      throw new BufferOverflowException();
+    }
+    ByteBuffer b = bb.duplicate().order(ByteOrder.BIG_ENDIAN);
+    for(int k = 0, at = bb.position(); k < n; k++, at += 4) {
+      b.putInt(at, swap(ps[i + k]));
+    }
+    bb.position(bb.position() + 4 * n);
+  }
+
+  /**
+   * Get packed pixels from characters; this is the reverse of {@link #asCharacters(int[],int,char[],int,int)}. Only
+   * the low eight bits of each character are used.
+   * @param cs A {@link Character} array, representing the source characters.
+   * @param j An {@link Integer} value, representing the offset of the first character.
+   * @param ps An {@link Integer} array, representing the target packed ARGB pixels.
+   * @param i An {@link Integer} value, representing the offset of the first pixel.
+   * @param n An {@link Integer} value, representing the number of pixels.
+   * @throws IndexOutOfBoundsException if either region is not within its array.
+   * @see CryptoPixels
+   */
+  public static final void fromCharacters(char[] cs, int j, int[] ps, int i, int n) {
+    checkRegion(ps.length, i, n);
+    checkRegion(cs.length, j, 4L * n);
+    toPixels(cs, j, ps, i, n);
+  }
+
+  /**
+   * Get packed pixels from bytes; this is the reverse of {@link #asBytes(int[],int,byte[],int,int)}.
+   * @param bs A {@link Byte} array, representing the source bytes.
+   * @param j An {@link Integer} value, representing the offset of the first byte.
+   * @param ps An {@link Integer} array, representing the target packed ARGB pixels.
+   * @param i An {@link Integer} value, representing the offset of the first pixel.
+   * @param n An {@link Integer} value, representing the number of pixels.
+   * @throws IndexOutOfBoundsException if either region is not within its array.
+   * @see CryptoPixels
+   */
+  public static final void fromBytes(byte[] bs, int j, int[] ps, int i, int n) {
+    checkRegion(ps.length, i, n);
+    checkRegion(bs.length, j, 4L * n);
+    toPixels(bs, j, ps, i, n);
+  }
+
+  /**
+   * Get packed pixels from a buffer, from its position on; this is the reverse of
+   * {@link #asBytes(int[],int,ByteBuffer,int)}.
+   * @param bb A {@link ByteBuffer} object, representing the source bytes.
+   * @param ps An {@link Integer} array, representing the target packed ARGB pixels.
+   * @param i An {@link Integer} value, representing the offset of the first pixel.
+   * @param n An {@link Integer} value, representing the number of pixels.
+   * @throws IndexOutOfBoundsException if the region is not within {@code ps}.
+   * @throws BufferUnderflowException if {@code bb} holds fewer than {@code n} pixels; nothing is read then.
+   * @see CryptoPixels
+   */
+  public static final void fromBytes(ByteBuffer bb, int[] ps, int i, int n) {
+    checkRegion(ps.length, i, n);
+    if(bb.remaining() < 4L * n) {
+      throw new BufferUnderflowException();
+    }
+    ByteBuffer b = bb.duplicate().order(ByteOrder.BIG_ENDIAN);
+    for(int k = 0, at = bb.position(); k < n; k++, at += 4) {
+      ps[i + k] = swap(b.getInt(at));
+    }
+    bb.position(bb.position() + 4 * n);
+  }
+
+  /**
+   * A row of an image. This converts one row of pixels at a time.
+   * @see CryptoPixels
+   */
+  private interface Row {
+    /**
+     * Convert a row of pixels.
+     * @param ps An {@link Integer} array, holding the row's packed ARGB pixels.
+     * @param i An {@link Integer} value, representing the offset of the row's first pixel.
+     * @param y An {@link Integer} value, representing the row.
+     */
+    void convert(int[] ps, int i, int y);
+  }
+
+  /**
+   * Visit the rows of an image. For an image of {@link BufferedImage#TYPE_INT_ARGB TYPE_INT_ARGB}, each row is handed
+   * over in place, in the image's own {@link DataBufferInt}; for any other type, it is copied out with
+   * {@link BufferedImage#getRGB(int,int,int,int,int[],int,int) getRGB} and, when writing, back in with
+   * {@link BufferedImage#setRGB(int,int,int,int,int[],int,int) setRGB}, one row at a time.
+   * @param img A {@link BufferedImage} object, representing the image.
+   * @param w A {@link Boolean} value, representing whether the row is written to.
+   * @param b A {@link Boolean} value, representing whether to do the rows in parallel.
+   * @param r A {@link Row} object, representing the conversion.
+   * @see CryptoPixels
+   */
+  private static void rows(BufferedImage img, boolean w, boolean b, Row r) {
+    final int width = img.getWidth();
+    IntStream ys = IntStream.range(0, img.getHeight());
+    if(b) {
+      ys = ys.parallel();
+    }
+    WritableRaster wr = img.getRaster();
+    if(img.getType() == BufferedImage.TYPE_INT_ARGB && wr.getDataBuffer() instanceof DataBufferInt
+        && wr.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+      final DataBufferInt db = (DataBufferInt)wr.getDataBuffer();
+      final SinglePixelPackedSampleModel sm = (SinglePixelPackedSampleModel)wr.getSampleModel();
+      final int[] ps = db.getData();
+      final int tx = wr.getSampleModelTranslateX();
+      final int ty = wr.getSampleModelTranslateY();
+      ys.forEach((int y) -> r.convert(ps, db.getOffset() + sm.getOffset(-tx, y - ty), y));
+    } else {
+      ys.forEach((int y) -> {
+        int[] ps = img.getRGB(0, y, width, 1, null, 0, width);
+        r.convert(ps, 0, y);
+        if(w) {
+          img.setRGB(0, y, width, 1, ps, 0, width);
+        }
+      });
+    }
+  }
+
+  /**
+   * Get characters from an image. The pixels are written row by row, four characters each, the same as
+   * {@link #asCharacters(int[],int,char[],int,int)}.
+   * @param img A {@link BufferedImage} object, representing the image.
+   * @param cs A {@link Character} array, representing the target characters.
+   * @param j An {@link Integer} value, representing the offset of the first character.
+   * @param b A {@link Boolean} value, representing whether to do the rows in parallel.
+   * @throws IndexOutOfBoundsException if {@code cs} has room for fewer than all of the pixels.
+   * @see CryptoPixels
+   */
+  public static final void asCharacters(BufferedImage img, char[] cs, int j, boolean b) {
+    final int width = img.getWidth();
+    checkRegion(cs.length, j, 4L * width * img.getHeight());
+    rows(img, false, b, (int[] ps, int i, int y) -> toCharacters(ps, i, cs, j + 4 * width * y, width));
+  }
+
+  /**
+   * Get bytes from an image. The pixels are written row by row, four bytes each, the same as
+   * {@link #asBytes(int[],int,byte[],int,int)}.
+   * @param img A {@link BufferedImage} object, representing the image.
+   * @param bs A {@link Byte} array, representing the target bytes.
+   * @param j An {@link Integer} value, representing the offset of the first byte.
+   * @param b A {@link Boolean} value, representing whether to do the rows in parallel.
+   * @throws IndexOutOfBoundsException if {@code bs} has room for fewer than all of the pixels.
+   * @see CryptoPixels
+   */
+  public static final void asBytes(BufferedImage img, byte[] bs, int j, boolean b) {
+    final int width = img.getWidth();
+    checkRegion(bs.length, j, 4L * width * img.getHeight());
+    rows(img, false, b, (int[] ps, int i, int y) -> toBytes(ps, i, bs, j + 4 * width * y, width));
+  }
+
+  /**
+   * Set an image from characters; this is the reverse of {@link #asCharacters(BufferedImage,char[],int,boolean)}.
+   * @param cs A {@link Character} array, representing the source characters.
+   * @param j An {@link Integer} value, representing the offset of the first character.
+   * @param img A {@link BufferedImage} object, representing the image.
+   * @param b A {@link Boolean} value, representing whether to do the rows in parallel.
+   * @throws IndexOutOfBoundsException if {@code cs} holds fewer than all of the pixels.
+   * @see CryptoPixels
+   */
+  public static final void fromCharacters(char[] cs, int j, BufferedImage img, boolean b) {
+    final int width = img.getWidth();
+    checkRegion(cs.length, j, 4L * width * img.getHeight());
+    rows(img, true, b, (int[] ps, int i, int y) -> toPixels(cs, j + 4 * width * y, ps, i, width));
+  }
+
+  /**
+   * Set an image from bytes; this is the reverse of {@link #asBytes(BufferedImage,byte[],int,boolean)}.
+   * @param bs A {@link Byte} array, representing the source bytes.
+   * @param j An {@link Integer} value, representing the offset of the first byte.
+   * @param img A {@link BufferedImage} object, representing the image.
+   * @param b A {@link Boolean} value, representing whether to do the rows in parallel.
+   * @throws IndexOutOfBoundsException if {@code bs} holds fewer than all of the pixels.
+   * @see CryptoPixels
+   */
+  public static final void fromBytes(byte[] bs, int j, BufferedImage img, boolean b) {
+    final int width = img.getWidth();
+    checkRegion(bs.length, j, 4L * width * img.getHeight());
+    rows(img, true, b, (int[] ps, int i, int y) -> toPixels(bs, j + 4 * width * y, ps, i, width));
+  }
 }
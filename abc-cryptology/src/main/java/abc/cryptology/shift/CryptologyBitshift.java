@@ -1,4 +1,11 @@
 package abc.cryptology.shift;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
 
 
 /**
@@ -8,55 +15,158 @@ package abc.cryptology.shift;
  * <p/>
  * For example, it is possible to make a global "index" that uses this class, while other data-encrypted files will use
  * the other implementation. Having more than one methodology may strengthen the security of a program's data, perhaps.
+ * <p/>
+ * Every method works on local state only, so any number of threads may encrypt and decrypt at once. The key-chain can
+ * be replaced by {@link #loadKeychain(File)} or {@link #loadKeychain(byte[])}; an operation already running keeps the
+ * key-chain it started with, and a bulk operation uses one key-chain for all of its values.
  * @author Gregory
  * @see #decrypt(String)
  * @see #encrypt(String)
+ * @see #decrypt(char[],int,char[],int,int)
+ * @see #encrypt(char[],int,char[],int,int)
+ * @see #decrypt(CharSequence,CharBuffer)
+ * @see #encrypt(CharSequence,CharBuffer)
+ * @see #decrypt(CharSequence,Appendable)
+ * @see #encrypt(CharSequence,Appendable)
+ * @see #decrypt(String[])
+ * @see #encrypt(String[])
+ * @see #loadKeychain(byte[])
+ * @see #loadKeychain(File)
  */
 public class CryptologyBitshift {
   /**
-   * A key-chain array.
+   * A key-chain array. The array itself is never changed once set; loading a key-chain replaces it.
    * @see CryptologyBitshift
    */
-  private static final int[] keychain;
+  private static volatile int[] keychain;
+
+  static {
+    keychain = new int[] {
+      1941, 12394, 23093, 9023, 2111, 193, 93, 293
+    };
+  }
+
   /**
-   * The character's integer value.
+   * A private constructor. Goes nowhere, does nothing.
    * @see CryptologyBitshift
    */
-  private static char ch;
+  private CryptologyBitshift() {
+  }
+
   /**
-   * The character in the key-chain.
+   * Shift a run of characters. The key-chain is walked from its start at the first character.
+   * @param ks An {@link Integer} array, representing the key-chain.
+   * @param sign An {@link Integer} value, {@code 1} to encrypt or {@code -1} to decrypt.
+   * @param cs A {@link Character} array, representing the source characters.
+   * @param i An {@link Integer} value, representing the offset of the source characters.
+   * @param ds A {@link Character} array, representing the target characters; this may be {@code cs}.
+   * @param j An {@link Integer} value, representing the offset of the target characters.
+   * @param n An {@link Integer} value, representing the number of characters.
    * @see CryptologyBitshift
    */
-  private static int ck;
+  private static void shift(int[] ks, int sign, char[] cs, int i, char[] ds, int j, int n) {
+    for(int k = 0, ck = 0; k < n; k++) {
+      ds[j + k] = (char)(cs[i + k] + sign * ks[ck]);
+      if(++ck == ks.length) {
+        ck = 0;
+      }
+    }
+  }
+
   /**
-   * The length of the string.
+   * Shift a string.
+   * @param sign An {@link Integer} value, {@code 1} to encrypt or {@code -1} to decrypt.
+   * @param s A {@link String} object, representing the source characters.
+   * @return A {@link String} object.
    * @see CryptologyBitshift
    */
-  private static int length;
+  private static String shift(int sign, String s) {
+    char[] cs = s.toCharArray();
+    shift(keychain, sign, cs, 0, cs, 0, cs.length);
+    String result = new String(cs);
+    Arrays.fill(cs, Character.MIN_VALUE);
+    return result;
+  }
 
-  static {
-    //TODO: Our "keychain" is fine for now, but replace with some static method to read binary integers from a file?
-    keychain = new int[] {
-      1941, 12394, 23093, 9023, 2111, 193, 93, 293
-    };
-    clear();
+  /**
+   * Shift a character sequence into a buffer.
+   * @param sign An {@link Integer} value, {@code 1} to encrypt or {@code -1} to decrypt.
+   * @param cs A {@link CharSequence} object, representing the source characters.
+   * @param cb A {@link CharBuffer} object, representing the target characters.
+   * @see CryptologyBitshift
+   */
+  private static void shift(int sign, CharSequence cs, CharBuffer cb) {
+    final int n = cs.length();
+    if(cb.remaining() < n) {
+      throw new BufferOverflowException();
+    }
+    final int[] ks = keychain;
+    for(int k = 0, ck = 0; k < n; k++) {
+      cb.put((char)(cs.charAt(k) + sign * ks[ck]));
+      if(++ck == ks.length) {
+        ck = 0;
+      }
+    }
   }
 
   /**
-   * A private constructor. Goes nowhere, does nothing.
+   * Shift a character sequence onto an appendable.
+   * @param sign An {@link Integer} value, {@code 1} to encrypt or {@code -1} to decrypt.
+   * @param cs A {@link CharSequence} object, representing the source characters.
+   * @param a An {@link Appendable} object, representing the target characters.
+   * @throws IOException if the appendable fails.
    * @see CryptologyBitshift
    */
-  private CryptologyBitshift() {
+  private static void shift(int sign, CharSequence cs, Appendable a) throws IOException {
+    final int n = cs.length();
+    final int[] ks = keychain;
+    for(int k = 0, ck = 0; k < n; k++) {
+      a.append((char)(cs.charAt(k) + sign * ks[ck]));
+      if(++ck == ks.length) {
+        ck = 0;
+      }
+    }
+  }
+
+  /**
+   * Shift an array of strings, with one key-chain and one scratch array for all of them.
+   * @param sign An {@link Integer} value, {@code 1} to encrypt or {@code -1} to decrypt.
+   * @param ss A {@link String} array, representing the source strings; {@code null} elements are kept.
+   * @return A {@link String} array, of the same length.
+   * @see CryptologyBitshift
+   */
+  private static String[] shift(int sign, String[] ss) {
+    final int[] ks = keychain;
+    String[] result = new String[ss.length];
+    char[] cs = new char[0];
+    for(int k = 0; k < ss.length; k++) {
+      if(ss[k] != null) {
+        final int n = ss[k].length();
+        if(cs.length < n) {
+          Arrays.fill(cs, Character.MIN_VALUE);
+          cs = new char[Math.max(n, cs.length << 1)];
+        }
+        ss[k].getChars(0, n, cs, 0);
+        shift(ks, sign, cs, 0, cs, 0, n);
+        result[k] = new String(cs, 0, n);
+      }
+    }
+    Arrays.fill(cs, Character.MIN_VALUE);
+    return result;
   }
 
   /**
-   * Clear the values. This ensures encoding and decoding values cannot be "copied" from memory....
+   * Check that a region lies within an array.
+   * @param l An {@link Integer} value, representing the array length.
+   * @param i An {@link Integer} value, representing the region offset.
+   * @param n An {@link Integer} value, representing the region length.
+   * @throws IndexOutOfBoundsException if the region is not within the array.
    * @see CryptologyBitshift
    */
-  private static void clear() {
-    length = Integer.MIN_VALUE;
-    ch = Character.MIN_VALUE;
-    ck = Integer.MIN_VALUE;
+  private static void checkRegion(int l, int i, int n) {
+    if(i < 0 || n < 0 || i > l - n) {
+      throw new IndexOutOfBoundsException(String.format("offset=%d, length=%d, array length=%d", i, n, l));
+    }
   }
 
   /**
@@ -66,21 +176,7 @@ public class CryptologyBitshift {
    * @see CryptologyBitshift
    */
   public static final String decrypt(String s) {
-    clear();
-    String result = "";
-    length = s.length();
-    ck = 0;
-    for(int i = 0; i < length; i++) {
-      if(ck >= keychain.length) {
-        ck = 0;
-      }
-      ch = s.charAt(i);
-      ch -= keychain[ck];
-      result += ch;
-      ck++;
-    }
-    clear();
-    return result;
+    return shift(-1, s);
   }
 
   /**
@@ -90,20 +186,140 @@ public class CryptologyBitshift {
    * @see CryptologyBitshift
    */
   public static final String encrypt(String s) {
-    clear();
-    String result = "";
-    length = s.length();
-    ck = 0;
-    for(int i = 0; i < length; i++) {
-      if(ck >= keychain.length) {
-        ck = 0;
-      }
-      ch = s.charAt(i);
-      ch += keychain[ck];
-      result += ch;
-      ck++;
+    return shift(1, s);
+  }
+
+  /**
+   * Decrypt characters by bit-shifting, into an array. The result is the same as decrypting the source characters as a
+   * {@link String}; the source and target may be the same array, and may overlap if the target does not start after
+   * the source.
+   * @param cs A {@link Character} array, representing the data to decrypt.
+   * @param i An {@link Integer} value, representing the offset in {@code cs}.
+   * @param ds A {@link Character} array, representing the target of the decrypted data.
+   * @param j An {@link Integer} value, representing the offset in {@code ds}.
+   * @param n An {@link Integer} value, representing the number of characters.
+   * @throws IndexOutOfBoundsException if either region is not within its array.
+   * @see CryptologyBitshift
+   */
+  public static final void decrypt(char[] cs, int i, char[] ds, int j, int n) {
+    checkRegion(cs.length, i, n);
+    checkRegion(ds.length, j, n);
+    shift(keychain, -1, cs, i, ds, j, n);
+  }
+
+  /**
+   * Encrypt characters by bit-shifting, into an array. The result is the same as encrypting the source characters as a
+   * {@link String}; the source and target may be the same array, and may overlap if the target does not start after
+   * the source.
+   * @param cs A {@link Character} array, representing the data to encrypt.
+   * @param i An {@link Integer} value, representing the offset in {@code cs}.
+   * @param ds A {@link Character} array, representing the target of the encrypted data.
+   * @param j An {@link Integer} value, representing the offset in {@code ds}.
+   * @param n An {@link Integer} value, representing the number of characters.
+   * @throws IndexOutOfBoundsException if either region is not within its array.
+   * @see CryptologyBitshift
+   */
+  public static final void encrypt(char[] cs, int i, char[] ds, int j, int n) {
+    checkRegion(cs.length, i, n);
+    checkRegion(ds.length, j, n);
+    shift(keychain, 1, cs, i, ds, j, n);
+  }
+
+  /**
+   * Decrypt characters by bit-shifting, into a buffer, from its position on.
+   * @param cs A {@link CharSequence} object, representing the data to decrypt.
+   * @param cb A {@link CharBuffer} object, representing the target of the decrypted data.
+   * @throws BufferOverflowException if {@code cb} has less room than {@code cs} is long; nothing is put then.
+   * @see CryptologyBitshift
+   */
+  public static final void decrypt(CharSequence cs, CharBuffer cb) {
+    shift(-1, cs, cb);
+  }
+
+  /**
+   * Encrypt characters by bit-shifting, into a buffer, from its position on.
+   * @param cs A {@link CharSequence} object, representing the data to encrypt.
+   * @param cb A {@link CharBuffer} object, representing the target of the encrypted data.
+   * @throws BufferOverflowException if {@code cb} has less room than {@code cs} is long; nothing is put then.
+   * @see CryptologyBitshift
+   */
+  public static final void encrypt(CharSequence cs, CharBuffer cb) {
+    shift(1, cs, cb);
+  }
+
+  /**
+   * Decrypt characters by bit-shifting, onto an appendable, such as a {@link StringBuilder} or a
+   * {@link java.io.Writer}.
+   * @param cs A {@link CharSequence} object, representing the data to decrypt.
+   * @param a An {@link Appendable} object, representing the target of the decrypted data.
+   * @throws IOException if the appendable fails.
+   * @see CryptologyBitshift
+   */
+  public static final void decrypt(CharSequence cs, Appendable a) throws IOException {
+    shift(-1, cs, a);
+  }
+
+  /**
+   * Encrypt characters by bit-shifting, onto an appendable, such as a {@link StringBuilder} or a
+   * {@link java.io.Writer}.
+   * @param cs A {@link CharSequence} object, representing the data to encrypt.
+   * @param a An {@link Appendable} object, representing the target of the encrypted data.
+   * @throws IOException if the appendable fails.
+   * @see CryptologyBitshift
+   */
+  public static final void encrypt(CharSequence cs, Appendable a) throws IOException {
+    shift(1, cs, a);
+  }
+
+  /**
+   * Decrypt an array of strings by bit-shifting.
+   * @param ss A {@link String} array, representing the data to decrypt; {@code null} elements stay {@code null}.
+   * @return A {@link String} array, of the same length.
+   * @see CryptologyBitshift
+   */
+  public static final String[] decrypt(String[] ss) {
+    return shift(-1, ss);
+  }
+
+  /**
+   * Encrypt an array of strings by bit-shifting.
+   * @param ss A {@link String} array, representing the data to encrypt; {@code null} elements stay {@code null}.
+   * @return A {@link String} array, of the same length.
+   * @see CryptologyBitshift
+   */
+  public static final String[] encrypt(String[] ss) {
+    return shift(1, ss);
+  }
+
+  /**
+   * Load the key-chain from bytes. The bytes are read as big-endian 32-bit integers, the same as
+   * {@link java.io.DataInputStream#readInt()} reads them.
+   * @param bs A {@link Byte} array, representing the key-chain.
+   * @throws IllegalArgumentException if {@code bs} is empty, or its length is not a multiple of 4.
+   * @see CryptologyBitshift
+   */
+  public static final void loadKeychain(byte[] bs) {
+    if(bs.length == 0 || bs.length % 4 != 0) {
+      throw new IllegalArgumentException(String.format("keychain of %d bytes", bs.length));
+    }
+    int[] ks = new int[bs.length / 4];
+    ByteBuffer.wrap(bs).asIntBuffer().get(ks);
+    keychain = ks;
+  }
+
+  /**
+   * Load the key-chain from a file, of big-endian 32-bit integers; see {@link #loadKeychain(byte[])}.
+   * @param f A {@link File} object, representing the key-chain file.
+   * @throws IOException if the file cannot be read.
+   * @throws IllegalArgumentException if the file is empty, or its length is not a multiple of 4.
+   * @see CryptologyBitshift
+   */
+  public static final void loadKeychain(File f) throws IOException {
+    byte[] bs = Files.readAllBytes(f.toPath());
+    try {
+      loadKeychain(bs);
+    } finally {
+      Arrays.fill(bs, (byte)0);
     }
-    clear();
-    return result;
   }
 }
@@ -0,0 +1,43 @@
+package abc.cryptology;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.Test;
+
+
+/**
+ * The cached AES keys: they work with the platform's ciphers, and their bytes are zeroed when they are destroyed.
+ * @author Gregory
+ */
+public class CipherCacheTest {
+  @Test
+  public void testAesKey() throws Exception {
+    byte[] bs = new byte[32];
+    for(int i = 0; i < bs.length; i++) {
+      bs[i] = (byte)(i + 1);
+    }
+    byte[] plain = "attack at dawn".getBytes("UTF-8");
+    GCMParameterSpec spec = new GCMParameterSpec(128, new byte[12]);
+    Cipher c = Cipher.getInstance("AES/GCM/NoPadding");
+    c.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(bs.clone(), "AES"), spec);
+    byte[] sealed = c.doFinal(plain);
+
+    CipherCache.AesKey k = new CipherCache.AesKey(bs);
+    c.init(Cipher.DECRYPT_MODE, k, spec);
+    assertArrayEquals(plain, c.doFinal(sealed));
+
+    assertFalse(k.isDestroyed());
+    k.destroy();
+    assertTrue(k.isDestroyed());
+    assertArrayEquals(new byte[32], bs);
+    try {
+      k.getEncoded();
+      fail("encoded");
+    } catch(IllegalStateException e) { // the expected failure.
+    }
+  }
+}
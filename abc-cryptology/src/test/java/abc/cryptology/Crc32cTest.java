@@ -0,0 +1,66 @@
+package abc.cryptology;
+import static org.junit.Assert.assertEquals;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Checksum;
+import org.junit.Test;
+
+
+/**
+ * The CRC-32C of Java 8: known answers, and the same values byte by byte, in bulk, and from the platform's own.
+ * @author Gregory
+ */
+public class Crc32cTest {
+  private static long crc(byte[] bs) {
+    Crc32c c = new Crc32c();
+    c.update(bs, 0, bs.length);
+    return c.getValue();
+  }
+
+  @Test
+  public void testKnownAnswers() {
+    assertEquals(0x00000000L, crc(new byte[0]));
+    assertEquals(0xE3069283L, crc("123456789".getBytes(StandardCharsets.US_ASCII)));
+    byte[] bs = new byte[32]; // the iSCSI test vectors of RFC 3720, B.4.
+    assertEquals(0x8A9136AAL, crc(bs));
+    Arrays.fill(bs, (byte)0xFF);
+    assertEquals(0x62A8AB43L, crc(bs));
+    for(int i = 0; i < bs.length; i++) {
+      bs[i] = (byte)i;
+    }
+    assertEquals(0x46DD794EL, crc(bs));
+    for(int i = 0; i < bs.length; i++) {
+      bs[i] = (byte)(31 - i);
+    }
+    assertEquals(0x113FDB5CL, crc(bs));
+  }
+
+  @Test
+  public void testSlices() {
+    byte[] bs = new byte[4099];
+    new Random(22L).nextBytes(bs);
+    Checksum platform = Crc32c.supplier.get();
+    for(int off = 0; off < 9; off++) {
+      for(int len : new int[] {0, 1, 7, 8, 9, 15, 16, 17, 1000, bs.length - off}) {
+        Crc32c bulk = new Crc32c();
+        bulk.update(bs, off, len);
+        Crc32c single = new Crc32c();
+        for(int i = off; i < off + len; i++) {
+          single.update(bs[i]);
+        }
+        platform.reset();
+        platform.update(bs, off, len);
+        String s = off + ", " + len;
+        assertEquals(s, single.getValue(), bulk.getValue());
+        assertEquals(s, platform.getValue(), bulk.getValue());
+      }
+    }
+    Crc32c c = new Crc32c();
+    c.update(bs, 0, 100);
+    c.reset();
+    c.update(bs, 100, 3);
+    c.update(bs, 103, bs.length - 103);
+    assertEquals(crc(Arrays.copyOfRange(bs, 100, bs.length)), c.getValue());
+  }
+}
@@ -0,0 +1,86 @@
+package abc.cryptology;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import abc.cryptology.logics.Crypto;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+
+/**
+ * The batch engine: every job is counted as finished, even one whose logic throws an {@link Error}.
+ * @author Gregory
+ */
+public class CryptoBatchTest {
+  private static final String type = "PBEWithMD5AndDES";
+
+  /**
+   * A logic that writes an integer, or throws an {@link Error} either way.
+   */
+  private static final class Logic extends Crypto {
+    private final boolean broken;
+
+    private Logic(boolean b) {
+      broken = b;
+    }
+
+    @Override
+    public void performDecryption(DataInputStream dis) throws IOException {
+      if(broken) {
+        throw new AssertionError("decryption");
+      }
+      dis.readInt();
+    }
+
+    @Override
+    public void performEncryption(DataOutputStream dos) throws IOException {
+      if(broken) {
+        throw new AssertionError("encryption");
+      }
+      dos.writeInt(42);
+    }
+  }
+
+  private final List<File> files = new ArrayList<>();
+
+  @After
+  public void tearDown() {
+    for(File f : files) {
+      f.delete();
+    }
+  }
+
+  private List<CryptoJob> jobs(int n, int k) throws IOException {
+    List<CryptoJob> jobs = new ArrayList<>();
+    for(int i = 0; i < n; i++) {
+      if(files.size() <= i) {
+        files.add(File.createTempFile("abc-batch", ".bin"));
+      }
+      jobs.add(new CryptoJob(files.get(i), new Logic(i == k), "key"));
+    }
+    return jobs;
+  }
+
+  @Test(timeout = 30000)
+  public void testErrorFinishesJob() throws Exception {
+    List<CryptoJob> jobs = jobs(8, 3);
+    CryptoBatch b = AbcCryptology.instance.performBatchEncryption(1L, type, jobs, 2, 2, null);
+    assertTrue(b.await(20L, TimeUnit.SECONDS));
+    assertEquals(7, b.getDone());
+    assertEquals(1, b.getFailed());
+    assertTrue(jobs.get(3).getError() instanceof AssertionError);
+
+    jobs = jobs(8, 5);
+    b = AbcCryptology.instance.performBatchDecryption(1L, type, jobs, 2, 2, null);
+    assertTrue(b.await(20L, TimeUnit.SECONDS));
+    assertEquals(6, b.getDone());
+    assertEquals(2, b.getFailed());
+    assertTrue(jobs.get(5).getError() instanceof AssertionError);
+  }
+}
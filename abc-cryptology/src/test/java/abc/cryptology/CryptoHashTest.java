@@ -0,0 +1,94 @@
+package abc.cryptology;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The hash tree of a file: damaged chunks are reported by index, offsets outside of the file are rejected, and the
+ * checksums stored are those of the CRC-32C of Java 8.
+ * @author Gregory
+ */
+public class CryptoHashTest {
+  private static final int chunk = 1000;
+  private static final int length = 10500;
+
+  private File file;
+  private byte[] data;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("abc-hash", ".bin");
+    data = new byte[length];
+    new Random(9L).nextBytes(data);
+    Files.write(file.toPath(), data);
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  private void flip(long p) throws IOException {
+    try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(p);
+      int b = raf.read();
+      raf.seek(p);
+      raf.write(b ^ 0x01);
+    }
+  }
+
+  @Test
+  public void testIntact() throws IOException {
+    CryptoHash h = AbcCryptology.instance.performHashing(file, chunk);
+    assertEquals(11, h.getChunkCount());
+    assertArrayEquals(new int[0], AbcCryptology.instance.performVerification(h, file));
+    assertArrayEquals(new int[0], AbcCryptology.instance.performVerification(h, file, true));
+    assertEquals(h, CryptoHash.fromBytes(h.toBytes()));
+    for(int k = 0; k < h.getChunkCount(); k++) {
+      Crc32c c = new Crc32c();
+      c.update(data, k * chunk, Math.min(chunk, length - k * chunk));
+      assertEquals(c.getValue(), h.getChecksum(k) & 0xFFFFFFFFL);
+    }
+  }
+
+  @Test
+  public void testDamagedChunk() throws IOException {
+    CryptoHash h = AbcCryptology.instance.performHashing(file, chunk);
+    flip(4321L);
+    flip(10499L);
+    assertArrayEquals(new int[] {4, 10}, AbcCryptology.instance.performVerification(h, file));
+    assertArrayEquals(new int[] {4, 10}, AbcCryptology.instance.performVerification(h, file, true));
+    assertArrayEquals(new int[] {4}, AbcCryptology.instance.performVerification(h, file, 4999L, 100L, 4000L));
+    assertArrayEquals(new int[0], AbcCryptology.instance.performVerification(h, file, 100L, 9999L));
+  }
+
+  @Test
+  public void testChangedLength() throws IOException {
+    CryptoHash h = AbcCryptology.instance.performHashing(file, chunk);
+    try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(length - 1);
+    }
+    assertArrayEquals(new int[] {2, 7}, AbcCryptology.instance.performVerification(h, file, 7000L, 2000L));
+  }
+
+  @Test
+  public void testOffsetOutOfRange() throws IOException {
+    CryptoHash h = AbcCryptology.instance.performHashing(file, chunk);
+    for(long l : new long[] {-1L, length, Long.MAX_VALUE}) {
+      try {
+        AbcCryptology.instance.performVerification(h, file, 0L, l);
+        fail("offset " + l);
+      } catch(IndexOutOfBoundsException e) { // the expected failure.
+      }
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package abc.cryptology;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+
+
+/**
+ * The variable-length integers of a string table: round trips, and the rejection of encodings that do not fit into a
+ * non-negative {@code int}.
+ * @author Gregory
+ */
+public class CryptoStringTableTest {
+  private static int read(int... is) throws IOException {
+    byte[] bs = new byte[is.length];
+    for(int i = 0; i < is.length; i++) {
+      bs[i] = (byte)is[i];
+    }
+    int[] at = {0};
+    final int n = CryptoStringTable.readVarint(bs, at);
+    assertEquals(bs.length, at[0]);
+    return n;
+  }
+
+  private static void assertRejected(int... is) {
+    try {
+      read(is);
+      fail("read");
+    } catch(IOException e) { // the expected failure.
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    for(int i : new int[] {0, 1, 127, 128, 16383, 16384, 1 << 21, (1 << 28) - 1, 1 << 28, Integer.MAX_VALUE}) {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      CryptoStringTable.writeVarint(new DataOutputStream(baos), i);
+      byte[] bs = baos.toByteArray();
+      int[] at = {0};
+      assertEquals(i, CryptoStringTable.readVarint(bs, at));
+      assertEquals(bs.length, at[0]);
+    }
+  }
+
+  @Test
+  public void testOutOfRange() throws IOException {
+    assertEquals(Integer.MAX_VALUE, read(0xFF, 0xFF, 0xFF, 0xFF, 0x07));
+    assertRejected(0xFF, 0xFF, 0xFF, 0xFF, 0x08); // the sign bit
+    assertRejected(0x80, 0x80, 0x80, 0x80, 0x10); // bits past the 32nd
+    assertRejected(0x80, 0x80, 0x80, 0x80, 0x70);
+    assertRejected(0x80, 0x80, 0x80, 0x80, 0x80, 0x00); // a sixth byte
+    assertRejected(0x80, 0x80);
+  }
+}
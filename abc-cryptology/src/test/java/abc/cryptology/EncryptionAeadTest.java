@@ -0,0 +1,225 @@
+package abc.cryptology;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import abc.cryptology.logics.Crypto;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The authenticated file format: round trips, with and without compression, and the rejection of wrong keys, tampered
+ * files and headers asking for an unreasonable key derivation.
+ * @author Gregory
+ */
+public class EncryptionAeadTest {
+  private static final long seed = 42L;
+  private static final String type = "PBEWithMD5AndDES";
+  private static final String key = "correct horse battery staple";
+  private static final int cost = 1000;
+
+  /**
+   * A logic that writes a string and some bytes, and keeps what it reads back.
+   */
+  private static final class Logic extends Crypto {
+    private final String text;
+    private final byte[] data;
+    private String readText;
+    private byte[] readData;
+
+    private Logic(String s, byte[] bs) {
+      text = s;
+      data = bs;
+    }
+
+    @Override
+    public void performDecryption(DataInputStream dis) throws IOException {
+      readText = dis.readUTF();
+      readData = new byte[dis.readInt()];
+      dis.readFully(readData);
+    }
+
+    @Override
+    public void performEncryption(DataOutputStream dos) throws IOException {
+      dos.writeUTF(text);
+      dos.writeInt(data.length);
+      dos.write(data);
+    }
+  }
+
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("abc-aead", ".bin");
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  private static byte[] data(int n) {
+    byte[] bs = new byte[n];
+    for(int i = 0; i < n; i++) {
+      bs[i] = (byte)(i * 31 + (i >> 8));
+    }
+    return bs;
+  }
+
+  private void write(Logic c, boolean b) throws Exception {
+    AbcCryptology.instance.performAuthenticatedEncryption(seed, c, type, file, key, cost, b);
+  }
+
+  private void flip(long p) throws IOException {
+    try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(p);
+      int b = raf.read();
+      raf.seek(p);
+      raf.write(b ^ 0x01);
+    }
+  }
+
+  private void putInt(long p, int i) throws IOException {
+    try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(p);
+      raf.writeInt(i);
+    }
+  }
+
+  private void assertRejected(String k) throws Exception {
+    Logic c = new Logic("", new byte[0]);
+    try {
+      AbcCryptology.instance.performDecryption(seed, c, type, file, k);
+      fail("decrypted");
+    } catch(IOException e) { // the expected failure.
+    }
+    assertEquals(null, c.readData);
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    for(boolean b : new boolean[] {false, true}) {
+      Logic c = new Logic("héllo", data(100000));
+      write(c, b);
+      AbcCryptology.instance.performDecryption(seed, c, type, file, key);
+      assertEquals(c.text, c.readText);
+      assertArrayEquals(c.data, c.readData);
+      CryptoMetadata cm = AbcCryptology.instance.performMetadataReading(file, key);
+      assertTrue(cm.isVerified());
+      assertEquals(b, cm.isCompressed());
+      assertEquals(cost, cm.getCost());
+    }
+  }
+
+  @Test
+  public void testInMemory() throws Exception {
+    Logic c = new Logic("text", data(1000));
+    write(c, true);
+    byte[] whole = Files.readAllBytes(file.toPath());
+    byte[] bs = new byte[whole.length + 7];
+    System.arraycopy(whole, 0, bs, 5, whole.length);
+    AbcCryptology.instance.performDecryption(seed, c, type, bs, 5, whole.length, key);
+    assertArrayEquals(c.data, c.readData);
+
+    c.readData = null;
+    ByteBuffer bb = ByteBuffer.wrap(bs, 5, whole.length);
+    AbcCryptology.instance.performDecryption(seed, c, type, bb, key);
+    assertArrayEquals(c.data, c.readData);
+    assertEquals(bb.limit(), bb.position());
+
+    c.readData = null;
+    bb = ByteBuffer.allocateDirect(whole.length).order(ByteOrder.LITTLE_ENDIAN);
+    bb.put(whole).flip();
+    AbcCryptology.instance.performDecryption(seed, c, type, bb, key);
+    assertArrayEquals(c.data, c.readData);
+    assertEquals(bb.limit(), bb.position());
+
+    bs[bs.length - 8] ^= 0x01;
+    try {
+      AbcCryptology.instance.performDecryption(seed, c, type, bs, 5, whole.length, key);
+      fail("decrypted");
+    } catch(IOException e) { // the expected failure.
+    }
+  }
+
+  @Test
+  public void testCompressionShrinks() throws Exception {
+    Logic c = new Logic("", new byte[100000]);
+    write(c, true);
+    assertTrue(file.length() < 10000);
+  }
+
+  @Test
+  public void testWrongKey() throws Exception {
+    write(new Logic("text", data(1000)), false);
+    assertRejected(key + "!");
+  }
+
+  @Test
+  public void testTamperedCipherText() throws Exception {
+    write(new Logic("text", data(1000)), false);
+    flip(file.length() - 100);
+    assertRejected(key);
+  }
+
+  @Test
+  public void testTamperedTag() throws Exception {
+    write(new Logic("text", data(1000)), true);
+    flip(file.length() - 1);
+    assertRejected(key);
+  }
+
+  @Test
+  public void testTamperedHeader() throws Exception {
+    write(new Logic("text", data(1000)), false);
+    flip(45); // inside the content length
+    assertRejected(key);
+    try {
+      AbcCryptology.instance.performMetadataReading(file, key);
+      fail("verified");
+    } catch(IOException e) { // the expected failure.
+    }
+  }
+
+  @Test
+  public void testTruncated() throws Exception {
+    write(new Logic("text", data(1000)), false);
+    byte[] bs = Files.readAllBytes(file.toPath());
+    Files.write(file.toPath(), Arrays.copyOf(bs, bs.length - 20));
+    assertRejected(key);
+  }
+
+  @Test(timeout = 10000)
+  public void testExcessiveCost() throws Exception {
+    write(new Logic("text", data(1000)), false);
+    putInt(6, Integer.MAX_VALUE); // the iteration count, after the magic number, version and mode
+    assertRejected(key);
+    try {
+      AbcCryptology.instance.performMetadataReading(file, key);
+      fail("read");
+    } catch(IOException e) { // the expected failure.
+    }
+    putInt(6, EncryptionAead.maxCost + 1);
+    assertRejected(key);
+    putInt(6, 0);
+    assertRejected(key);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExcessiveCostNotWritten() throws Exception {
+    AbcCryptology.instance.performAuthenticatedEncryption(seed, new Logic("", new byte[0]), type, file, key,
+        EncryptionAead.maxCost + 1);
+  }
+}
@@ -0,0 +1,192 @@
+package abc.cryptology;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import abc.cryptology.logics.Crypto;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * The segmented file format: round trips around the segment size, range reads across segment boundaries, and the
+ * rejection of damaged trailers and of files left by a logic failing part of the way.
+ * @author Gregory
+ */
+public class EncryptionSegmentsTest {
+  private static final long seed = 42L;
+  private static final String type = "PBEWithMD5AndDES";
+  private static final String key = "correct horse battery staple";
+  private static final int size = 1000;
+
+  /**
+   * A logic that writes its bytes, failing after {@code fail} of them if that is not negative, and keeps every byte it
+   * reads back.
+   */
+  private static final class Logic extends Crypto {
+    private final byte[] data;
+    private final int fail;
+    private byte[] readData;
+
+    private Logic(byte[] bs, int i) {
+      data = bs;
+      fail = i;
+    }
+
+    @Override
+    public void performDecryption(DataInputStream dis) throws IOException {
+      ByteArrayOutputStream baos = new ByteArrayOutputStream();
+      byte[] bs = new byte[777];
+      for(int n = dis.read(bs); n >= 0; n = dis.read(bs)) {
+        baos.write(bs, 0, n);
+      }
+      readData = baos.toByteArray();
+    }
+
+    @Override
+    public void performEncryption(DataOutputStream dos) throws IOException {
+      if(fail < 0) {
+        dos.write(data);
+      } else {
+        dos.write(data, 0, fail);
+        throw new IOException("the logic failed");
+      }
+    }
+  }
+
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("abc-segments", ".bin");
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  private static byte[] data(int n) {
+    byte[] bs = new byte[n];
+    for(int i = 0; i < n; i++) {
+      bs[i] = (byte)(i * 31 + (i >> 8));
+    }
+    return bs;
+  }
+
+  private void write(Logic c) throws Exception {
+    AbcCryptology.instance.performSegmentedEncryption(seed, c, type, file, key, size);
+  }
+
+  private byte[] read() throws Exception {
+    Logic c = new Logic(null, -1);
+    AbcCryptology.instance.performSegmentedDecryption(seed, c, type, file, key);
+    return c.readData;
+  }
+
+  private int read(long p, ByteBuffer bb) throws IOException {
+    return AbcCryptology.instance.performSegmentedReading(seed, type, file, key, p, bb);
+  }
+
+  private void assertRejected() throws Exception {
+    try {
+      read();
+      fail("decrypted");
+    } catch(IOException e) { // the expected failure.
+    }
+    try {
+      read(0L, ByteBuffer.allocate(10));
+      fail("read");
+    } catch(IOException e) { // the expected failure.
+    }
+  }
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    for(int n : new int[] {0, 1, size - 1, size, size + 1, 3 * size}) {
+      byte[] bs = data(n);
+      write(new Logic(bs, -1));
+      assertArrayEquals("length " + n, bs, read());
+    }
+  }
+
+  @Test
+  public void testRangeRead() throws Exception {
+    byte[] bs = data(3 * size + 5);
+    write(new Logic(bs, -1));
+    ByteBuffer bb = ByteBuffer.allocate(2 * size);
+    assertEquals(2 * size, read(size - 10, bb));
+    assertArrayEquals(Arrays.copyOfRange(bs, size - 10, 3 * size - 10), bb.array());
+
+    bb = ByteBuffer.allocate(100);
+    bb.position(7);
+    assertEquals(15, read(3 * size - 10, bb));
+    assertEquals(22, bb.position());
+    assertArrayEquals(Arrays.copyOfRange(bs, 3 * size - 10, 3 * size + 5), Arrays.copyOfRange(bb.array(), 7, 22));
+
+    assertEquals(1, read(3 * size + 4, ByteBuffer.allocate(10)));
+    assertEquals(-1, read(3 * size + 5, ByteBuffer.allocate(10)));
+    assertEquals(0, read(0L, ByteBuffer.allocate(0)));
+  }
+
+  @Test
+  public void testTruncatedTrailer() throws Exception {
+    write(new Logic(data(2 * size), -1));
+    byte[] bs = Files.readAllBytes(file.toPath());
+    Files.write(file.toPath(), Arrays.copyOf(bs, bs.length - 1));
+    assertRejected();
+  }
+
+  @Test
+  public void testCorruptTrailer() throws Exception {
+    write(new Logic(data(2 * size), -1));
+    final long at = file.length() - 24;
+    try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(at + 8); // the segment count
+      raf.writeInt(3);
+    }
+    assertRejected();
+    try(RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.seek(at + 8);
+      raf.writeInt(2);
+      raf.seek(at);     // the plain length, one segment too long
+      raf.writeLong(3L * size);
+    }
+    assertRejected();
+  }
+
+  @Test
+  public void testCorruptIndex() throws Exception {
+    write(new Logic(data(2 * size), -1));
+    byte[] bs = Files.readAllBytes(file.toPath());
+    final int at = ByteBuffer.wrap(bs).getInt(bs.length - 24 + 16); // the low half of the index position
+    ByteBuffer.wrap(bs).putInt(at + 8, 5); // the first segment's encrypted length
+    Files.write(file.toPath(), bs);
+    assertRejected();
+  }
+
+  @Test
+  public void testFailingLogic() throws Exception {
+    write(new Logic(data(5 * size), -1));
+    try {
+      write(new Logic(data(5 * size), 3 * size + 10));
+      fail("written");
+    } catch(IOException e) {
+      assertEquals("the logic failed", e.getMessage());
+    }
+    try {
+      read();
+      fail("decrypted");
+    } catch(IOException e) { // the expected failure.
+    }
+  }
+}
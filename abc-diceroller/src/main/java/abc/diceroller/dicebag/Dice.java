@@ -1,5 +1,6 @@
 package abc.diceroller.dicebag;
-import java.util.Random;
+import abc.diceroller.random.Randomizer;
+import abc.diceroller.random.Randomizers;
 
 
 /**
@@ -11,6 +12,7 @@ import java.util.Random;
  * @see #Dice() Dice()
  * @see #Dice(int) Dice(int)
  * @see #Dice(int,int) Dice(int,int)
+ * @see #Dice(int,int,Randomizer) Dice(int,int,Randomizer)
  * @see #roll() roll()
  * @see #roll(int) roll(int)
  */
@@ -18,8 +20,9 @@ public class Dice {
   /**
    * A randomizer.
    * @see Dice
+   * @see Randomizer
    */
-  private final Random random;
+  private final Randomizer random;
   /**
    * A roll modifier.
    * @see Dice
@@ -31,10 +34,6 @@ public class Dice {
    */
   private final int sides;
 
-  {
-    random = new Random(System.currentTimeMillis());
-  }
-
   /**
    * A public constructor. This turns this die instance into a "percentile" die; its roll will produce a result in the
    * range of one to one-hundred, as an integer.
@@ -60,8 +59,25 @@ public class Dice {
    * @param j An {@link Integer} value, representing the additional {@link #modifier modifier}.
    */
   public Dice(int i, int j) {
+    this(i, j, Randomizers.defaultRandomizer());
+  }
+
+  /**
+   * A public constructor. This takes a value for the number of sides, the modifier, and the randomizer to roll with;
+   * the randomizer may be shared by many dice, if it is safe to share between the threads that roll them.
+   * @param i An {@link Integer} value, representing the number of die {@link #sides sides}.
+   * @param j An {@link Integer} value, representing the additional {@link #modifier modifier}.
+   * @param r A {@link Randomizer} object, representing the {@link #random randomizer}.
+   * @throws NullPointerException if {@code r} is {@code null}.
+   * @see Randomizers
+   */
+  public Dice(int i, int j, Randomizer r) {
+    if(r == null) {
+      throw new NullPointerException();
+    }
     sides = i;
     modifier = j;
+    random = r;
   }
 
   /**
@@ -71,6 +87,9 @@ public class Dice {
    * @return An {@link Integer} value.
    */
   public final int roll() {
+    if(sides > 0) { // unbiased, for any number of sides.
+      return modifier + random.nextInt(sides) + 1;
+    }
     return modifier + (int)(Math.floor(random.nextFloat() * sides) + 1);
   }
 
@@ -1,5 +1,6 @@
 package abc.diceroller.dicebag;
 import abc.diceroller.enums.RollMode;
+import abc.diceroller.random.Randomizer;
 
 
 /**
@@ -32,6 +33,38 @@ public class Dicebag {
     this(rm, new Dice());
   }
 
+  /**
+   * A public constructor. This instantiates what amounts to a "dice bag" in tabletop role-playing games, with the dice
+   * being set to a "percentile" die, rolled with the randomizer parameter. The randomizer comes first, so that
+   * {@code new Dicebag(rm, null)} still means {@link #Dicebag(RollMode,Dice...)}.
+   * @param r A {@link Randomizer} object, representing the randomizer of the die.
+   * @param rm A {@link RollMode} instance, representing the {@link #mode mode}.
+   * @see Dicebag
+   * @see Dice
+   * @see RollMode
+   */
+  public Dicebag(Randomizer r, RollMode rm) {
+    this(rm, new Dice(100, 0, r));
+  }
+
+  /**
+   * A public constructor. This instantiates what amounts to a "dice bag" in tabletop role-playing games, with one die
+   * of each number of sides given, all rolled with the one randomizer parameter.
+   * @param r A {@link Randomizer} object, representing the randomizer of every die.
+   * @param rm A {@link RollMode} instance, representing the {@link #mode mode}.
+   * @param is An {@link Integer} array, representing the number of sides of each die.
+   * @see Dicebag
+   * @see Dice
+   * @see RollMode
+   */
+  public Dicebag(Randomizer r, RollMode rm, int... is) {
+    mode = rm;
+    dice = new Dice[is.length];
+    for(int i = 0; i < is.length; i++) {
+      dice[i] = new Dice(is[i], 0, r);
+    }
+  }
+
   /**
    * A public constructor. This instantiates what amounts to a "dice bag" in tabletop role-playing games, with the dice
    * being set to the dice parameters.
@@ -0,0 +1,77 @@
+package abc.diceroller.random;
+
+
+/**
+ * A randomizer. This is the source of random numbers for dice, dice bags and string lists; any generator can be used
+ * by implementing {@link #nextLong() nextLong()}, and the other methods follow from it, or can be overridden where the
+ * generator has a faster way. Ready-made randomizers are made by {@link Randomizers}.
+ * <p/>
+ * Unless it says otherwise, a randomizer is <b>not</b> safe to share between threads; the exception is
+ * {@link Randomizers#threadLocal()}, the default, which is both safe and uncontended, since every thread draws from a
+ * generator of its own.
+ * @author Gregory
+ * @see #nextLong() nextLong()
+ * @see #nextInt() nextInt()
+ * @see #nextInt(int) nextInt(int)
+ * @see #nextDouble() nextDouble()
+ * @see #nextFloat() nextFloat()
+ * @see Randomizers
+ */
+public interface Randomizer {
+  /**
+   * Get the next random {@code long}, with all 64 bits random.
+   * @return A {@link Long} value.
+   * @see Randomizer
+   */
+  long nextLong();
+
+  /**
+   * Get the next random {@code int}, with all 32 bits random.
+   * @return An {@link Integer} value.
+   * @see Randomizer
+   */
+  default int nextInt() {
+    return (int)(nextLong() >>> 32);
+  }
+
+  /**
+   * Get the next random {@code int}, from zero (inclusive) to a bound (exclusive), without bias. This multiplies a
+   * random 32-bit value by the bound and keeps the high half, drawing again only in the rare case that the low half
+   * falls into the biased remainder; so a roll costs one draw and one multiplication, with no division, almost always.
+   * @param i An {@link Integer} value, representing the bound; positive.
+   * @return An {@link Integer} value.
+   * @throws IllegalArgumentException if {@code i} is not positive.
+   * @see Randomizer
+   */
+  default int nextInt(int i) {
+    if(i <= 0) {
+      throw new IllegalArgumentException(String.format("bound=%d", i));
+    }
+    long m = (nextInt() & 0xFFFFFFFFL) * i;
+    if((m & 0xFFFFFFFFL) < i) {
+      final long t = (0x100000000L - i) % i;
+      while((m & 0xFFFFFFFFL) < t) {
+        m = (nextInt() & 0xFFFFFFFFL) * i;
+      }
+    }
+    return (int)(m >>> 32);
+  }
+
+  /**
+   * Get the next random {@code double}, from zero (inclusive) to one (exclusive), with 53 random bits.
+   * @return A {@link Double} value.
+   * @see Randomizer
+   */
+  default double nextDouble() {
+    return (nextLong() >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * Get the next random {@code float}, from zero (inclusive) to one (exclusive), with 24 random bits.
+   * @return A {@link Float} value.
+   * @see Randomizer
+   */
+  default float nextFloat() {
+    return (nextInt() >>> 8) * 0x1.0p-24F;
+  }
+}
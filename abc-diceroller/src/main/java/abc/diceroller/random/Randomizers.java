@@ -0,0 +1,353 @@
+package abc.diceroller.random;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * The ready-made randomizers. Every randomizer made without a seed gets a seed of its own, from a single sequence begun
+ * at the clock; so two made in the same millisecond still roll differently (unlike two {@link java.util.Random}
+ * instances seeded with {@link System#currentTimeMillis()}). A randomizer made with a seed always rolls the same
+ * sequence, for replays and tests.
+ * <ul>
+ * <li/>{@link #threadLocal()}: {@link ThreadLocalRandom}; the default. Shareable between threads, without contention,
+ * but not seedable.
+ * <li/>{@link #splittable()}: {@link SplittableRandom}.
+ * <li/>{@link #xoroshiro()}: xoroshiro128++; the fastest, with a period of 2<sup>128</sup>&minus;1.
+ * <li/>{@link #pcg()}: PCG-XSH-RR, with 64 bits of state and 32-bit output; small and fast for {@code int} rolls.
+ * </ul>
+ * @author Gregory
+ * @see #seeds seeds
+ * @see #defaultRandomizer() defaultRandomizer()
+ * @see #threadLocal() threadLocal()
+ * @see #splittable() splittable()
+ * @see #splittable(long) splittable(long)
+ * @see #xoroshiro() xoroshiro()
+ * @see #xoroshiro(long) xoroshiro(long)
+ * @see #pcg() pcg()
+ * @see #pcg(long) pcg(long)
+ * @see #asRandom(Randomizer) asRandom(Randomizer)
+ * @see Randomizer
+ */
+public final class Randomizers {
+  /**
+   * The golden-ratio increment of the seed sequence.
+   * @see Randomizers
+   */
+  private static final long golden = 0x9E3779B97F4A7C15L;
+  /**
+   * The seed sequence.
+   * @see Randomizers
+   */
+  private static final AtomicLong seeds;
+  /**
+   * The thread-local randomizer.
+   * @see Randomizers
+   */
+  private static final Randomizer threadLocal;
+
+  static {
+    seeds = new AtomicLong(mix(System.currentTimeMillis()) ^ mix(System.nanoTime()));
+    threadLocal = new Randomizer() {
+      @Override
+      public long nextLong() {
+        return ThreadLocalRandom.current().nextLong();
+      }
+
+      @Override
+      public int nextInt() {
+        return ThreadLocalRandom.current().nextInt();
+      }
+
+      @Override
+      public int nextInt(int i) {
+        return ThreadLocalRandom.current().nextInt(i);
+      }
+
+      @Override
+      public double nextDouble() {
+        return ThreadLocalRandom.current().nextDouble();
+      }
+
+      @Override
+      public float nextFloat() {
+        return ThreadLocalRandom.current().nextFloat();
+      }
+
+      @Override
+      public String toString() {
+        return "ThreadLocalRandom";
+      }
+    };
+  }
+
+  /**
+   * A {@link SplittableRandom} randomizer.
+   * @see Randomizers
+   */
+  private static final class Splittable implements Randomizer {
+    private final SplittableRandom random;
+
+    private Splittable(long l) {
+      random = new SplittableRandom(l);
+    }
+
+    @Override
+    public long nextLong() {
+      return random.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+      return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int i) {
+      return random.nextInt(i);
+    }
+
+    @Override
+    public double nextDouble() {
+      return random.nextDouble();
+    }
+
+    @Override
+    public String toString() {
+      return "SplittableRandom";
+    }
+  }
+
+  /**
+   * A xoroshiro128++ randomizer, by David Blackman and Sebastiano Vigna; its state is seeded by SplitMix64, so that it
+   * is never all zero.
+   * @see Randomizers
+   */
+  private static final class Xoroshiro implements Randomizer {
+    private long s0;
+    private long s1;
+
+    private Xoroshiro(long l) {
+      s0 = mix(l += golden);
+      s1 = mix(l + golden);
+    }
+
+    @Override
+    public long nextLong() {
+      final long a = s0;
+      long b = s1;
+      final long r = Long.rotateLeft(a + b, 17) + a;
+      b ^= a;
+      s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+      s1 = Long.rotateLeft(b, 28);
+      return r;
+    }
+
+    @Override
+    public String toString() {
+      return "xoroshiro128++";
+    }
+  }
+
+  /**
+   * A PCG-XSH-RR randomizer, by Melissa O'Neill: a 64-bit linear congruential state, and a 32-bit output permuted by an
+   * xorshift and a random rotation.
+   * @see Randomizers
+   */
+  private static final class Pcg implements Randomizer {
+    private long state;
+    private final long increment;
+
+    private Pcg(long l) {
+      increment = (mix(l ^ golden) << 1) | 1L;
+      state = mix(l) + increment;
+      nextInt();
+    }
+
+    @Override
+    public int nextInt() {
+      final long old = state;
+      state = old * 6364136223846793005L + increment;
+      return Integer.rotateRight((int)(((old >>> 18) ^ old) >>> 27), (int)(old >>> 59));
+    }
+
+    @Override
+    public long nextLong() {
+      return ((long)nextInt() << 32) | (nextInt() & 0xFFFFFFFFL);
+    }
+
+    @Override
+    public String toString() {
+      return "PCG-XSH-RR";
+    }
+  }
+
+  /**
+   * A {@link Random} drawing from a randomizer, for code written against {@link Random}. Its seed cannot be set, since
+   * the randomizer keeps its own state; it is as safe to share between threads as the randomizer is.
+   * @see Randomizers
+   */
+  private static final class Adapter extends Random {
+    private static final long serialVersionUID = 1L;
+    private final Randomizer randomizer;
+
+    private Adapter(Randomizer r) {
+      randomizer = r;
+    }
+
+    @Override
+    public void setSeed(long l) { // called by the Random constructor, too.
+    }
+
+    @Override
+    protected int next(int i) {
+      return (int)(randomizer.nextLong() >>> (64 - i));
+    }
+
+    @Override
+    public long nextLong() {
+      return randomizer.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+      return randomizer.nextInt();
+    }
+
+    @Override
+    public int nextInt(int i) {
+      return randomizer.nextInt(i);
+    }
+
+    @Override
+    public double nextDouble() {
+      return randomizer.nextDouble();
+    }
+
+    @Override
+    public float nextFloat() {
+      return randomizer.nextFloat();
+    }
+
+    @Override
+    public String toString() {
+      return randomizer.toString();
+    }
+  }
+
+  private Randomizers() {
+  }
+
+  /**
+   * Mix the bits of a value (the finalizer of SplitMix64).
+   * @param l A {@link Long} value.
+   * @return A {@link Long} value.
+   * @see Randomizers
+   */
+  private static long mix(long l) {
+    l = (l ^ (l >>> 30)) * 0xBF58476D1CE4E5B9L;
+    l = (l ^ (l >>> 27)) * 0x94D049BB133111EBL;
+    return l ^ (l >>> 31);
+  }
+
+  /**
+   * Get the next seed of the sequence.
+   * @return A {@link Long} value.
+   * @see Randomizers
+   */
+  private static long nextSeed() {
+    return mix(seeds.addAndGet(golden));
+  }
+
+  /**
+   * Get the default randomizer: {@link #threadLocal()}.
+   * @return A {@link Randomizer} object.
+   * @see Randomizers
+   */
+  public static Randomizer defaultRandomizer() {
+    return threadLocal;
+  }
+
+  /**
+   * Get the thread-local randomizer. This is one shared instance, safe to use from any number of threads at once, each
+   * of which draws from its own {@link ThreadLocalRandom}; it cannot be seeded.
+   * @return A {@link Randomizer} object.
+   * @see Randomizers
+   */
+  public static Randomizer threadLocal() {
+    return threadLocal;
+  }
+
+  /**
+   * Make a {@link SplittableRandom} randomizer, with a seed of its own.
+   * @return A {@link Randomizer} object.
+   * @see Randomizers
+   */
+  public static Randomizer splittable() {
+    return new Splittable(nextSeed());
+  }
+
+  /**
+   * Make a {@link SplittableRandom} randomizer.
+   * @param l A {@link Long} value, representing the seed.
+   * @return A {@link Randomizer} object.
+   * @see Randomizers
+   */
+  public static Randomizer splittable(long l) {
+    return new Splittable(l);
+  }
+
+  /**
+   * Make a xoroshiro128++ randomizer, with a seed of its own.
+   * @return A {@link Randomizer} object.
+   * @see Randomizers
+   */
+  public static Randomizer xoroshiro() {
+    return new Xoroshiro(nextSeed());
+  }
+
+  /**
+   * Make a xoroshiro128++ randomizer.
+   * @param l A {@link Long} value, representing the seed.
+   * @return A {@link Randomizer} object.
+   * @see Randomizers
+   */
+  public static Randomizer xoroshiro(long l) {
+    return new Xoroshiro(l);
+  }
+
+  /**
+   * Make a PCG-XSH-RR randomizer, with a seed of its own.
+   * @return A {@link Randomizer} object.
+   * @see Randomizers
+   */
+  public static Randomizer pcg() {
+    return new Pcg(nextSeed());
+  }
+
+  /**
+   * Make a PCG-XSH-RR randomizer.
+   * @param l A {@link Long} value, representing the seed.
+   * @return A {@link Randomizer} object.
+   * @see Randomizers
+   */
+  public static Randomizer pcg(long l) {
+    return new Pcg(l);
+  }
+
+  /**
+   * Make a {@link Random} drawing from a randomizer. Its numbers all come from the randomizer, so that its seed cannot
+   * be set, and {@link Random#setSeed(long)} does nothing.
+   * @param r A {@link Randomizer} object.
+   * @return A {@link Random} object.
+   * @throws NullPointerException if {@code r} is {@code null}.
+   * @see Randomizers
+   */
+  public static Random asRandom(Randomizer r) {
+    if(r == null) {
+      throw new NullPointerException();
+    }
+    return new Adapter(r);
+  }
+}
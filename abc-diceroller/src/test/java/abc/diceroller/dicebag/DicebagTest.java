@@ -0,0 +1,43 @@
+package abc.diceroller.dicebag;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import abc.diceroller.enums.RollMode;
+import abc.diceroller.random.Randomizers;
+import org.junit.Test;
+
+
+/**
+ * The dice bag: its constructors, and rolls with a seeded randomizer.
+ * @author Gregory
+ */
+public class DicebagTest {
+  @Test
+  public void testNullDice() {
+    // this must still mean Dicebag(RollMode, Dice...), with no dice array; the randomizer constructors take the
+    // randomizer first, so they do not compete for a null second argument.
+    Dicebag d = new Dicebag(RollMode.add, null);
+    try {
+      d.roll();
+      fail("rolled");
+    } catch(NullPointerException e) { // the expected failure: there is no dice array.
+    }
+    assertEquals(0, new Dicebag(RollMode.nul, null).roll());
+  }
+
+  @Test
+  public void testRandomizer() {
+    Dicebag a = new Dicebag(Randomizers.pcg(5L), RollMode.add, 6, 6, 6);
+    Dicebag b = new Dicebag(Randomizers.pcg(5L), RollMode.add, 6, 6, 6);
+    for(int i = 0; i < 1000; i++) {
+      final int n = a.roll();
+      assertTrue(n >= 3 && n <= 18);
+      assertEquals(n, b.roll());
+    }
+    Dicebag p = new Dicebag(Randomizers.xoroshiro(5L), RollMode.add);
+    for(int i = 0; i < 1000; i++) {
+      final int n = p.roll();
+      assertTrue(n >= 1 && n <= 100);
+    }
+  }
+}
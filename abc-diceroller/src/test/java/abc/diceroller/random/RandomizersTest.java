@@ -0,0 +1,126 @@
+package abc.diceroller.random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Random;
+import org.junit.Test;
+
+
+/**
+ * The randomizers: the sequences of fixed seeds, which replays depend on; unseeded randomizers made back to back; and
+ * the bounded draws, rejections included.
+ * @author Gregory
+ */
+public class RandomizersTest {
+  /**
+   * A randomizer that returns the {@code int} values given, in order, as the high halves of its {@code long} values.
+   */
+  private static final class Script implements Randomizer {
+    private final Deque<Integer> ints = new ArrayDeque<>();
+
+    private Script(int... is) {
+      for(int i : is) {
+        ints.add(i);
+      }
+    }
+
+    @Override
+    public long nextLong() {
+      return (long)ints.remove() << 32;
+    }
+  }
+
+  private static long[] longs(Randomizer r, int n) {
+    long[] ls = new long[n];
+    for(int i = 0; i < n; i++) {
+      ls[i] = r.nextLong();
+    }
+    return ls;
+  }
+
+  @Test
+  public void testXoroshiroSequence() {
+    Randomizer r = Randomizers.xoroshiro(42L);
+    assertArrayEquals(new long[] {0xE88AF6CAEF1D3C23L, 0x54A303B2A5A54931L, 0xF370812CCD646345L,
+        0x345839C63F9ABB35L}, longs(r, 4));
+    assertEquals(0x57C3B20E, r.nextInt());
+    assertEquals(0x178A65C8, r.nextInt());
+    assertArrayEquals(longs(Randomizers.xoroshiro(42L), 100), longs(Randomizers.xoroshiro(42L), 100));
+  }
+
+  @Test
+  public void testPcgSequence() {
+    Randomizer r = Randomizers.pcg(42L);
+    assertArrayEquals(new long[] {0xF123665ED01B4084L, 0x7053E38BE228D2FFL, 0x4313B5C01E46FD92L,
+        0x64D868616F16106BL}, longs(r, 4));
+    assertEquals(0xA2574946, r.nextInt());
+    assertEquals(0xAF254046, r.nextInt());
+    assertArrayEquals(longs(Randomizers.pcg(42L), 100), longs(Randomizers.pcg(42L), 100));
+  }
+
+  @Test
+  public void testUnseeded() {
+    assertFalse(Arrays.equals(longs(Randomizers.xoroshiro(), 4), longs(Randomizers.xoroshiro(), 4)));
+    assertFalse(Arrays.equals(longs(Randomizers.pcg(), 4), longs(Randomizers.pcg(), 4)));
+    assertFalse(Arrays.equals(longs(Randomizers.splittable(), 4), longs(Randomizers.splittable(), 4)));
+  }
+
+  @Test
+  public void testBoundedRange() {
+    for(Randomizer r : new Randomizer[] {Randomizers.xoroshiro(1L), Randomizers.pcg(1L), Randomizers.threadLocal()}) {
+      int[] counts = new int[6];
+      for(int i = 0; i < 60000; i++) {
+        assertEquals(0, r.nextInt(1));
+        counts[r.nextInt(6)]++;
+        final int k = r.nextInt(Integer.MAX_VALUE);
+        assertTrue(k >= 0 && k < Integer.MAX_VALUE);
+        final double d = r.nextDouble();
+        assertTrue(d >= 0.0D && d < 1.0D);
+        final float f = r.nextFloat();
+        assertTrue(f >= 0.0F && f < 1.0F);
+      }
+      for(int n : counts) {
+        assertTrue(r + ": " + n, n > 9000 && n < 11000);
+      }
+    }
+  }
+
+  @Test
+  public void testBoundedRejection() {
+    // the low half of 0 * 6 is below (2^32 - 6) % 6 = 4, so it is drawn again; (2^31 + 1) * 6 = 3 * 2^32 + 6 gives 3.
+    assertEquals(3, new Script(0, 0x80000001).nextInt(6));
+    // (2^32 - 2^31 - 1) % (2^31 - 1) = 2, so 0 is drawn again; (2^32 - 1) * (2^31 - 1) gives 2^31 - 2.
+    assertEquals(Integer.MAX_VALUE - 1, new Script(0, 0xFFFFFFFF).nextInt(Integer.MAX_VALUE));
+    // nothing is below (2^32 - 1) % 1 = 0.
+    assertEquals(0, new Script(0).nextInt(1));
+    assertEquals(5, new Script(0xFFFFFFFF).nextInt(6));
+    for(int i : new int[] {0, -1, Integer.MIN_VALUE}) {
+      try {
+        new Script().nextInt(i);
+        fail("bound " + i);
+      } catch(IllegalArgumentException e) { // the expected failure.
+      }
+    }
+  }
+
+  @Test
+  public void testAsRandom() {
+    Random r = Randomizers.asRandom(Randomizers.pcg(42L));
+    r.setSeed(1L);
+    Randomizer p = Randomizers.pcg(42L);
+    assertEquals(p.nextLong(), r.nextLong());
+    assertEquals(p.nextInt(6), r.nextInt(6));
+    assertEquals(p.nextDouble(), r.nextDouble(), 0.0D);
+    assertEquals("PCG-XSH-RR", r.toString());
+    try {
+      Randomizers.asRandom(null);
+      fail("null");
+    } catch(NullPointerException e) { // the expected failure.
+    }
+  }
+}
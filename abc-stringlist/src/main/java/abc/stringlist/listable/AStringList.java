@@ -1,4 +1,6 @@
 package abc.stringlist.listable;
+import abc.diceroller.random.Randomizer;
+import abc.diceroller.random.Randomizers;
 import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.File;
@@ -24,8 +26,9 @@ abstract public class AStringList {
   protected final File file;
   /**
    * The randomizer. This is used with {@code turnover} to obtain a random position in the array, for the returned
-   * object.
+   * object. A list made with a {@link Randomizer} draws from it, through {@link Randomizers#asRandom(Randomizer)}.
    * @see AStringList
+   * @see Randomizer
    */
   protected final Random random;
   /**
@@ -50,10 +53,6 @@ abstract public class AStringList {
    */
   protected final double turnover;   // the turnover factor; this is multiplied by the total array size, to
 
-  {
-    random = new Random(System.currentTimeMillis());
-  }
-
   /**
    * A public constructor.
    * @param b A {@link Boolean} condition, representing whether the list is reversable.
@@ -63,6 +62,22 @@ abstract public class AStringList {
    * @see AStringList
    */
   public AStringList(boolean b, double d, File f) throws FileNotFoundException, IOException {
+    this(b, d, f, Randomizers.defaultRandomizer());
+  }
+
+  /**
+   * A public constructor, with a randomizer.
+   * @param b A {@link Boolean} condition, representing whether the list is reversable.
+   * @param d A {@link Double} value, representing the turnover rate.
+   * @param f A {@link File} object, representing the file for the list.
+   * @param r A {@link Randomizer} object, representing the {@link #random randomizer}.
+   * @throws java.io.FileNotFoundException
+   * @throws NullPointerException if {@code r} is {@code null}.
+   * @see AStringList
+   * @see Randomizers
+   */
+  public AStringList(boolean b, double d, File f, Randomizer r) throws FileNotFoundException, IOException {
+    random = Randomizers.asRandom(r);
     reversable = b;
     file = f;
     stringsLast = AStringList.this.parse();
@@ -1,4 +1,5 @@
 package abc.stringlist.listable;
+import abc.diceroller.random.Randomizer;
 import java.io.File;
 import java.io.IOException;
 
@@ -20,6 +21,19 @@ public class ListBasic extends AStringList {
     super(b, d, f);
   }
 
+  /**
+   * A public constructor, with a randomizer.
+   * @param b A {@link Boolean} condition, representing whether the list is reversable.
+   * @param d A {@link Double} value, representing the turnover rate.
+   * @param f A {@link File} object, representing the file for the list.
+   * @param r A {@link Randomizer} object, representing the randomizer.
+   * @throws java.io.FileNotFoundException
+   * @see ListBasic
+   */
+  public ListBasic(boolean b, double d, File f, Randomizer r) throws IOException {
+    super(b, d, f, r);
+  }
+
   @Override
   public String toString() {
     return String.format("%s:%s", getClass().getSimpleName(), " - A basic list.");